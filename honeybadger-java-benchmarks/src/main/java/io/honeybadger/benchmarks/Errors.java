@@ -0,0 +1,28 @@
+package io.honeybadger.benchmarks;
+
+/**
+ * Builds errors with stacks of a given depth.
+ */
+final class Errors {
+    private Errors() {
+    }
+
+    /**
+     * @param depth number of frames added below the caller's stack
+     * @param causes number of causes chained below the error
+     * @return error thrown at the given depth
+     */
+    static Throwable atDepth(final int depth, final int causes) {
+        if (depth > 1) {
+            return atDepth(depth - 1, causes);
+        }
+
+        Throwable cause = null;
+
+        for (int i = causes; i > 0; i--) {
+            cause = new IllegalStateException("Cause " + i, cause);
+        }
+
+        return new RuntimeException("Benchmark error", cause);
+    }
+}
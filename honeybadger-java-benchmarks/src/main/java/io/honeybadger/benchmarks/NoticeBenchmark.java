@@ -0,0 +1,64 @@
+package io.honeybadger.benchmarks;
+
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.dto.Backtrace;
+import io.honeybadger.reporter.dto.Causes;
+import io.honeybadger.reporter.dto.Notice;
+import io.honeybadger.reporter.dto.NoticeDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an error into a notice, at varying stack depths.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoticeBenchmark {
+    @Param({"10", "50", "200"})
+    public int depth;
+
+    @Param({"0", "3"})
+    public int causes;
+
+    private StandardConfigContext config;
+    private Throwable error;
+
+    @Setup
+    public void setup() {
+        config = new StandardConfigContext();
+        config.setApplicationPackage("io.honeybadger.benchmarks");
+        error = Errors.atDepth(depth, causes);
+    }
+
+    @Benchmark
+    public Notice notice() {
+        return Notice.deferred(config)
+                .setError(new NoticeDetails(config, error))
+                .enrich();
+    }
+
+    @Benchmark
+    public Backtrace backtrace() {
+        return new Backtrace(config, error);
+    }
+
+    @Benchmark
+    public Causes causes() {
+        return new Causes(config, error);
+    }
+}
@@ -0,0 +1,258 @@
+package io.honeybadger.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a reduced benchmark suite and fails when the time or the memory
+ * allocated per operation regresses beyond a tolerance compared to the
+ * baseline checked into the repository.
+ *
+ * Settings are read from system properties:
+ * <ul>
+ *     <li>{@code benchmark.gate.tolerance} - allowed relative increase of
+ *         the time per operation, 0.5 by default</li>
+ *     <li>{@code benchmark.gate.allocationTolerance} - allowed relative
+ *         increase of the bytes allocated per operation, 0.05 by default</li>
+ *     <li>{@code benchmark.gate.update} - true to write the results as the
+ *         new baseline instead of comparing them</li>
+ * </ul>
+ *
+ * Time per operation depends on the machine, so the baseline should be
+ * recorded on the machine that runs the gate.
+ */
+public final class RegressionGate {
+    static final String NANOS_PER_OP = "ns_per_op";
+    static final String BYTES_PER_OP = "bytes_per_op";
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private RegressionGate() {
+    }
+
+    /**
+     * @param args path of the baseline file
+     * @throws IOException if the baseline can't be read or written
+     * @throws RunnerException if the benchmarks fail to run
+     */
+    public static void main(final String[] args) throws IOException, RunnerException {
+        if (args.length != 1) {
+            System.err.println("Usage: RegressionGate <baseline.json>");
+            System.exit(2);
+        }
+
+        final Map<String, Map<String, Double>> results = measure(new Runner(options()).run());
+        final int status = check(new File(args[0]), results, Boolean.getBoolean("benchmark.gate.update"),
+                tolerance("benchmark.gate.tolerance", 0.5),
+                tolerance("benchmark.gate.allocationTolerance", 0.05));
+
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Compares the results to the baseline, or records them as the new
+     * baseline.
+     *
+     * @return exit status, 0 if no benchmark regressed
+     */
+    static int check(final File baselineFile, final Map<String, Map<String, Double>> results,
+                     final boolean update, final double timeTolerance,
+                     final double allocationTolerance) throws IOException {
+        if (update) {
+            writeBaseline(baselineFile, results);
+            System.out.printf("Wrote baseline %s%n", baselineFile);
+            return 0;
+        }
+
+        if (!baselineFile.exists()) {
+            System.err.printf("No baseline at %s; run with -Dbenchmark.gate.update=true to record one%n",
+                    baselineFile);
+            return 1;
+        }
+
+        final List<String> regressions = compare(MAPPER.readTree(baselineFile), results,
+                timeTolerance, allocationTolerance);
+
+        if (!regressions.isEmpty()) {
+            System.err.println("Benchmarks regressed beyond the tolerance or are missing:");
+
+            for (String regression : regressions) {
+                System.err.println("  " + regression);
+            }
+
+            return 1;
+        }
+
+        System.out.println("No benchmark regressed beyond the tolerance");
+        return 0;
+    }
+
+    static Options options() {
+        return new OptionsBuilder()
+                .include(ReportErrorBenchmark.class.getSimpleName() + ".reportError$")
+                .include(NoticeBenchmark.class.getSimpleName() + ".backtrace$")
+                .include(SerializationBenchmark.class.getSimpleName() + ".objectMapper$")
+                .param("depth", "50")
+                .param("causes", "0")
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .addProfiler(GCProfiler.class)
+                .build();
+    }
+
+    /**
+     * @return time and bytes allocated per operation by benchmark name
+     */
+    static Map<String, Map<String, Double>> measure(final Collection<RunResult> runs) {
+        final Map<String, Map<String, Double>> results = new TreeMap<>();
+
+        for (RunResult run : runs) {
+            final Map<String, Double> values = new TreeMap<>();
+            values.put(NANOS_PER_OP, run.getPrimaryResult().getScore());
+
+            final Result<?> allocation = run.getSecondaryResults().get(ALLOCATION);
+
+            if (allocation != null) {
+                values.put(BYTES_PER_OP, allocation.getScore());
+            }
+
+            results.put(shortName(run.getParams().getBenchmark()), values);
+        }
+
+        return results;
+    }
+
+    /**
+     * @return name of a benchmark without the package, such as
+     *         NoticeBenchmark.backtrace
+     */
+    static String shortName(final String benchmark) {
+        final String prefix = RegressionGate.class.getPackage().getName() + ".";
+        return benchmark.startsWith(prefix) ? benchmark.substring(prefix.length()) : benchmark;
+    }
+
+    /**
+     * @return description of each value that regressed beyond its tolerance
+     *         or that has a baseline but is missing from the results
+     */
+    static List<String> compare(final JsonNode baseline, final Map<String, Map<String, Double>> results,
+                                final double timeTolerance, final double allocationTolerance) {
+        final List<String> regressions = new ArrayList<>();
+
+        for (Map.Entry<String, Map<String, Double>> result : results.entrySet()) {
+            final JsonNode expected = baseline.path(result.getKey());
+
+            if (expected.isMissingNode()) {
+                System.out.printf("%s has no baseline%n", result.getKey());
+                continue;
+            }
+
+            for (Map.Entry<String, Double> value : result.getValue().entrySet()) {
+                final JsonNode expectedValue = expected.path(value.getKey());
+
+                if (!expectedValue.isNumber()) {
+                    continue;
+                }
+
+                final double tolerance = BYTES_PER_OP.equals(value.getKey()) ?
+                        allocationTolerance : timeTolerance;
+                final double limit = expectedValue.doubleValue() * (1.0 + tolerance);
+                final String line = String.format(Locale.ROOT, "%s %s: %.1f (baseline %.1f, limit %.1f)",
+                        result.getKey(), value.getKey(), value.getValue(), expectedValue.doubleValue(), limit);
+
+                System.out.println(line);
+
+                if (value.getValue() > limit) {
+                    regressions.add(line);
+                }
+            }
+        }
+
+        // A benchmark that was renamed or no longer runs mustn't pass silently
+        final Iterator<Map.Entry<String, JsonNode>> benchmarks = baseline.fields();
+
+        while (benchmarks.hasNext()) {
+            final Map.Entry<String, JsonNode> benchmark = benchmarks.next();
+            final Map<String, Double> values = results.get(benchmark.getKey());
+
+            if (values == null) {
+                regressions.add(benchmark.getKey() + ": missing from the results");
+                continue;
+            }
+
+            final Iterator<String> names = benchmark.getValue().fieldNames();
+
+            while (names.hasNext()) {
+                final String name = names.next();
+
+                if (!values.containsKey(name)) {
+                    regressions.add(benchmark.getKey() + " " + name + ": missing from the results");
+                }
+            }
+        }
+
+        return regressions;
+    }
+
+    private static void writeBaseline(final File file, final Map<String, Map<String, Double>> results)
+            throws IOException {
+        final ObjectNode root = MAPPER.createObjectNode();
+
+        for (Map.Entry<String, Map<String, Double>> result : results.entrySet()) {
+            final ObjectNode values = root.putObject(result.getKey());
+
+            for (Map.Entry<String, Double> value : result.getValue().entrySet()) {
+                values.put(value.getKey(), Math.round(value.getValue() * 10.0) / 10.0);
+            }
+        }
+
+        MAPPER.writeValue(file, root);
+    }
+
+    private static double tolerance(final String property, final double defaultValue) {
+        final String value = System.getProperty(property);
+
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+
+        final double tolerance = Double.parseDouble(value.trim());
+
+        if (tolerance < 0.0) {
+            throw new IllegalArgumentException(property + " must not be negative");
+        }
+
+        return tolerance;
+    }
+}
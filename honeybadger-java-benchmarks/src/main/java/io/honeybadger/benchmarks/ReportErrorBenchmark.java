@@ -0,0 +1,59 @@
+package io.honeybadger.benchmarks;
+
+import io.honeybadger.reporter.HoneybadgerReporter;
+import io.honeybadger.reporter.NoticeReportResult;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end cost of reporting an error, from capturing its stack to
+ * receiving the API's response from a local stub server.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = StubApiServer.NO_DELAY)
+@State(Scope.Benchmark)
+public class ReportErrorBenchmark {
+    private StubApiServer server;
+    private HoneybadgerReporter reporter;
+    private Throwable error;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        server = new StubApiServer();
+
+        StandardConfigContext config = new StandardConfigContext("benchmark");
+        config.setHoneybadgerUrl(server.getUri());
+        config.setApplicationPackage("io.honeybadger.benchmarks");
+
+        reporter = new HoneybadgerReporter(config);
+        error = Errors.atDepth(50, 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reporter.close();
+        server.close();
+    }
+
+    @Benchmark
+    public NoticeReportResult reportError() {
+        return reporter.reportError(error);
+    }
+}
@@ -0,0 +1,65 @@
+package io.honeybadger.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.dto.Notice;
+import io.honeybadger.reporter.dto.NoticeDetails;
+import io.honeybadger.reporter.dto.NoticeJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing a notice, with the mapper the reporter uses and with
+ * Jackson's bean serializers for comparison.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    /** Configured like the reporter's mapper. */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .registerModule(NoticeJsonWriter.module());
+    private static final ObjectMapper BEAN_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    @Param({"10", "200"})
+    public int depth;
+
+    private Notice notice;
+
+    @Setup
+    public void setup() {
+        StandardConfigContext config = new StandardConfigContext();
+        config.setApplicationPackage("io.honeybadger.benchmarks");
+        notice = Notice.deferred(config)
+                .setError(new NoticeDetails(config, Errors.atDepth(depth, 2)))
+                .enrich();
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws IOException {
+        return OBJECT_MAPPER.writeValueAsBytes(notice);
+    }
+
+    @Benchmark
+    public byte[] beanSerializers() throws IOException {
+        return BEAN_MAPPER.writeValueAsBytes(notice);
+    }
+}
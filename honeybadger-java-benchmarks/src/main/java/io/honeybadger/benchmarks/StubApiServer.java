@@ -0,0 +1,69 @@
+package io.honeybadger.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the Honeybadger API that accepts every notice.
+ *
+ * The JDK server writes the response headers and body separately. Unless
+ * the forked JVM is started with {@link #NO_DELAY}, Nagle's algorithm holds
+ * back the body until the client's delayed acknowledgement of the headers,
+ * which adds tens of milliseconds to every request.
+ */
+final class StubApiServer implements AutoCloseable {
+    /** JVM argument turning off Nagle's algorithm for the JDK server. */
+    static final String NO_DELAY = "-Dsun.net.httpserver.nodelay=true";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] response = String.format("{\"id\":\"%s\"}", UUID.randomUUID())
+            .getBytes(StandardCharsets.UTF_8);
+
+    StubApiServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI getUri() {
+        return URI.create(String.format("http://%s:%d",
+                server.getAddress().getHostString(), server.getAddress().getPort()));
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final byte[] buffer = new byte[8192];
+
+        try (InputStream in = exchange.getRequestBody()) {
+            while (in.read(buffer) != -1) {
+                // Drain the notice
+            }
+        }
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(201, response.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
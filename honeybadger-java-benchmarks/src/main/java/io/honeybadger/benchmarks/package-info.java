@@ -0,0 +1,5 @@
+/**
+ * JMH benchmarks of the reporting path, from capturing an error to sending
+ * its notice.
+ */
+package io.honeybadger.benchmarks;
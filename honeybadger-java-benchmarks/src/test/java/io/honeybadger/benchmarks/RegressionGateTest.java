@@ -0,0 +1,103 @@
+package io.honeybadger.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RegressionGateTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void passesWithinTolerance() throws Exception {
+        List<String> regressions = RegressionGate.compare(baseline(), results("A.run", 149.0, 1049.0),
+                0.5, 0.05);
+
+        assertTrue(regressions.toString(), regressions.isEmpty());
+    }
+
+    @Test
+    public void reportsTimeAndAllocationBeyondTheirTolerances() throws Exception {
+        List<String> regressions = RegressionGate.compare(baseline(), results("A.run", 151.0, 1051.0),
+                0.5, 0.05);
+
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(0), regressions.get(0).startsWith("A.run bytes_per_op: 1051.0"));
+        assertTrue(regressions.get(1), regressions.get(1).startsWith("A.run ns_per_op: 151.0"));
+    }
+
+    @Test
+    public void skipsBenchmarksAndValuesWithoutBaseline() throws Exception {
+        JsonNode baseline = mapper.readTree("{\"B.run\":{\"ns_per_op\":100.0}}");
+        Map<String, Map<String, Double>> results = results("New.run", 1.0e9, 1.0e9);
+        results.putAll(results("B.run", 100.0, 1.0e9));
+
+        assertTrue(RegressionGate.compare(baseline, results, 0.0, 0.0).isEmpty());
+    }
+
+    @Test
+    public void reportsBenchmarksAndValuesMissingFromTheResults() throws Exception {
+        JsonNode baseline = mapper.readTree("{\"A.run\":{\"ns_per_op\":100.0,\"bytes_per_op\":1000.0},"
+                + "\"B.run\":{\"ns_per_op\":100.0}}");
+        Map<String, Map<String, Double>> results = results("A.run", 100.0, 1000.0);
+        results.get("A.run").remove(RegressionGate.BYTES_PER_OP);
+
+        List<String> regressions = RegressionGate.compare(baseline, results, 0.5, 0.05);
+
+        assertEquals(2, regressions.size());
+        assertEquals("A.run bytes_per_op: missing from the results", regressions.get(0));
+        assertEquals("B.run: missing from the results", regressions.get(1));
+    }
+
+    @Test
+    public void failsWithoutBaselineFile() throws Exception {
+        File missing = new File(folder.getRoot(), "missing.json");
+
+        assertEquals(1, RegressionGate.check(missing, results("A.run", 100.0, 1000.0), false, 0.5, 0.05));
+    }
+
+    @Test
+    public void comparesToRecordedBaseline() throws Exception {
+        File file = new File(folder.getRoot(), "baseline.json");
+
+        assertEquals(0, RegressionGate.check(file, results("A.run", 100.04, 1000.0), true, 0.5, 0.05));
+        assertEquals(100.0, mapper.readTree(file).path("A.run").path(RegressionGate.NANOS_PER_OP)
+                .doubleValue(), 0.0);
+        assertEquals(0, RegressionGate.check(file, results("A.run", 120.0, 1000.0), false, 0.5, 0.05));
+        assertEquals(1, RegressionGate.check(file, results("A.run", 100.0, 2000.0), false, 0.5, 0.05));
+    }
+
+    @Test
+    public void namesBenchmarksWithoutThePackage() {
+        assertEquals("NoticeBenchmark.backtrace",
+                RegressionGate.shortName("io.honeybadger.benchmarks.NoticeBenchmark.backtrace"));
+        assertEquals("other.Benchmark.run", RegressionGate.shortName("other.Benchmark.run"));
+    }
+
+    private JsonNode baseline() throws Exception {
+        return mapper.readTree("{\"A.run\":{\"ns_per_op\":100.0,\"bytes_per_op\":1000.0}}");
+    }
+
+    private static Map<String, Map<String, Double>> results(final String benchmark, final double nanos,
+                                                            final double bytes) {
+        Map<String, Double> values = new TreeMap<>();
+        values.put(RegressionGate.NANOS_PER_OP, nanos);
+        values.put(RegressionGate.BYTES_PER_OP, bytes);
+
+        Map<String, Map<String, Double>> results = new TreeMap<>();
+        results.put(benchmark, values);
+        return results;
+    }
+}
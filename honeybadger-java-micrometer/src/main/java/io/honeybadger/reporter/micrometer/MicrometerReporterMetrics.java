@@ -0,0 +1,180 @@
+package io.honeybadger.reporter.micrometer;
+
+import io.honeybadger.reporter.metrics.ReporterMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+/**
+ * {@link ReporterMetrics} recorded in a Micrometer {@link MeterRegistry}.
+ * Pass it to the reporter to publish its metrics wherever the application
+ * publishes its own:
+ *
+ * <pre>
+ * new HoneybadgerReporter(config, null, null, new MicrometerReporterMetrics(registry));
+ * </pre>
+ *
+ * The meters are:
+ * <ul>
+ *     <li>{@code honeybadger.reporter.notices} - counter of notices tagged
+ *         with the outcome: submitted, excluded, sent or dropped</li>
+ *     <li>{@code honeybadger.reporter.retries} - counter of requests made
+ *         again after a failed attempt</li>
+ *     <li>{@code honeybadger.reporter.responses} - counter of responses
+ *         tagged with the status code, or network_error</li>
+ *     <li>{@code honeybadger.reporter.send.latency} - timer of the time from
+ *         the first attempt to send a notice to the response accepting it</li>
+ *     <li>{@code honeybadger.reporter.payload.size} - distribution of the
+ *         request payload sizes in bytes</li>
+ *     <li>{@code honeybadger.reporter.queue.depth} - gauge of the notices
+ *         waiting to be sent</li>
+ * </ul>
+ *
+ * @since 2.1.3
+ */
+public final class MicrometerReporterMetrics implements ReporterMetrics {
+    private static final String NOTICES = "honeybadger.reporter.notices";
+    private static final String RESPONSES = "honeybadger.reporter.responses";
+    private static final String NETWORK_ERROR = "network_error";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Counter submitted;
+    private final Counter excluded;
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter retried;
+    private final Timer latency;
+    private final DistributionSummary payloadSize;
+    private final AtomicReference<IntSupplier> queueDepth = new AtomicReference<>();
+    private final ConcurrentMap<Integer, Counter> responses = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry registry to record the metrics in
+     */
+    public MicrometerReporterMetrics(final MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * @param registry registry to record the metrics in
+     * @param tags tags added to every meter, for example to tell several
+     *             reporters apart
+     */
+    public MicrometerReporterMetrics(final MeterRegistry registry, final Iterable<Tag> tags) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Meter registry must not be null");
+        }
+
+        this.registry = registry;
+        this.tags = Tags.of(tags);
+        this.submitted = notices("submitted");
+        this.excluded = notices("excluded");
+        this.sent = notices("sent");
+        this.dropped = notices("dropped");
+        this.retried = Counter.builder("honeybadger.reporter.retries")
+                .description("Requests to the Honeybadger API made again after a failed attempt")
+                .tags(this.tags)
+                .register(registry);
+        this.latency = Timer.builder("honeybadger.reporter.send.latency")
+                .description("Time from the first attempt to send a notice to the response accepting it")
+                .tags(this.tags)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.payloadSize = DistributionSummary.builder("honeybadger.reporter.payload.size")
+                .description("Size of the JSON payloads sent to the Honeybadger API")
+                .baseUnit("bytes")
+                .tags(this.tags)
+                .register(registry);
+
+        Gauge.builder("honeybadger.reporter.queue.depth", queueDepth, MicrometerReporterMetrics::depthOf)
+                .description("Notices waiting to be sent")
+                .tags(this.tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    @Override
+    public void noticeSubmitted() {
+        submitted.increment();
+    }
+
+    @Override
+    public void noticeExcluded() {
+        excluded.increment();
+    }
+
+    @Override
+    public void noticeDropped() {
+        dropped.increment();
+    }
+
+    @Override
+    public void noticesDropped(final long count) {
+        dropped.increment(count);
+    }
+
+    @Override
+    public void noticeRetried() {
+        retried.increment();
+    }
+
+    @Override
+    public void payloadSerialized(final long bytes) {
+        payloadSize.record(bytes);
+    }
+
+    @Override
+    public void noticeSent(final long latencyNanos) {
+        sent.increment();
+        latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void noticesSent(final long count, final long latencyNanos) {
+        sent.increment(count);
+
+        // A timer records one value at a time; count is at most a batch
+        for (long i = 0; i < count; i++) {
+            latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void responseReceived(final int statusCode) {
+        responses.computeIfAbsent(statusCode, code -> Counter.builder(RESPONSES)
+                .description("Responses from the Honeybadger API")
+                .tags(tags)
+                .tag("status", code < 0 ? NETWORK_ERROR : String.valueOf(code))
+                .register(registry))
+                .increment();
+    }
+
+    @Override
+    public void bindQueueDepth(final IntSupplier depth) {
+        queueDepth.set(depth);
+    }
+
+    private Counter notices(final String outcome) {
+        return Counter.builder(NOTICES)
+                .description("Notices handled by the Honeybadger reporter")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static double depthOf(final AtomicReference<IntSupplier> depth) {
+        final IntSupplier supplier = depth.get();
+        return supplier == null ? 0.0 : supplier.getAsInt();
+    }
+}
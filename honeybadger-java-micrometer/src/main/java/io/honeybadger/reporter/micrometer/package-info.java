@@ -0,0 +1,7 @@
+/**
+ * Bridge recording the metrics of the Honeybadger reporter in a Micrometer
+ * registry.
+ *
+ * @since 2.1.3
+ */
+package io.honeybadger.reporter.micrometer;
@@ -0,0 +1,71 @@
+package io.honeybadger.reporter.micrometer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class MicrometerReporterMetricsTest {
+    @Test
+    public void recordsEventsAsMeters() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerReporterMetrics metrics = new MicrometerReporterMetrics(registry, Tags.of("app", "test"));
+
+        metrics.noticeSubmitted();
+        metrics.noticeSubmitted();
+        metrics.noticeExcluded();
+        metrics.noticeSent(TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.noticeRetried();
+        metrics.payloadSerialized(1024);
+        metrics.responseReceived(201);
+        metrics.responseReceived(201);
+        metrics.responseReceived(-1);
+        metrics.bindQueueDepth(() -> 7);
+
+        assertEquals(2.0, registry.get("honeybadger.reporter.notices")
+                .tags("app", "test", "outcome", "submitted").counter().count(), 0.0);
+        assertEquals(1.0, registry.get("honeybadger.reporter.notices")
+                .tag("outcome", "excluded").counter().count(), 0.0);
+        assertEquals(1.0, registry.get("honeybadger.reporter.notices")
+                .tag("outcome", "sent").counter().count(), 0.0);
+        assertEquals(0.0, registry.get("honeybadger.reporter.notices")
+                .tag("outcome", "dropped").counter().count(), 0.0);
+        assertEquals(1.0, registry.get("honeybadger.reporter.retries").counter().count(), 0.0);
+        assertEquals(2.0, registry.get("honeybadger.reporter.responses")
+                .tag("status", "201").counter().count(), 0.0);
+        assertEquals(1.0, registry.get("honeybadger.reporter.responses")
+                .tag("status", "network_error").counter().count(), 0.0);
+        assertEquals(5.0, registry.get("honeybadger.reporter.send.latency").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1024.0, registry.get("honeybadger.reporter.payload.size").summary()
+                .totalAmount(), 0.0);
+        assertEquals(7.0, registry.get("honeybadger.reporter.queue.depth").gauge().value(), 0.0);
+    }
+
+    @Test
+    public void countsSeveralNoticesAtOnce() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerReporterMetrics metrics = new MicrometerReporterMetrics(registry);
+
+        metrics.noticesDropped(1000);
+        metrics.noticesSent(3, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(1000.0, registry.get("honeybadger.reporter.notices")
+                .tag("outcome", "dropped").counter().count(), 0.0);
+        assertEquals(3.0, registry.get("honeybadger.reporter.notices")
+                .tag("outcome", "sent").counter().count(), 0.0);
+        assertEquals(3, registry.get("honeybadger.reporter.send.latency").timer().count());
+    }
+
+    @Test
+    public void queueDepthIsZeroUntilBound() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new MicrometerReporterMetrics(registry);
+
+        assertEquals(0.0, registry.get("honeybadger.reporter.queue.depth").gauge().value(), 0.0);
+    }
+}
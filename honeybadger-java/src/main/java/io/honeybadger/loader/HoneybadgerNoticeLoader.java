@@ -5,20 +5,27 @@ import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.InjectableValues;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.honeybadger.reporter.config.ConfigContext;
 import io.honeybadger.reporter.dto.Notice;
+import io.honeybadger.reporter.transport.NoticeTransport;
+import io.honeybadger.reporter.transport.PooledHttpNoticeTransport;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
-import org.apache.http.client.fluent.Request;
-import org.apache.http.client.fluent.Response;
+import org.apache.http.client.methods.HttpGet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Utility class used to load a fault's details into a readable object
@@ -32,9 +39,11 @@ import java.util.UUID;
  * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
  * @since 1.0.9
  */
-public class HoneybadgerNoticeLoader {
+public class HoneybadgerNoticeLoader implements Closeable {
     private static final int RETRIES = 3;
     public static final int RETRY_DELAY_MILLIS = 5000;
+    /** Method of a backtrace element standing for several omitted frames. */
+    private static final Pattern OMITTED_FRAMES = Pattern.compile("\\[(\\d+) (\\w+) frames omitted\\]");
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
@@ -43,9 +52,21 @@ public class HoneybadgerNoticeLoader {
                     .setSerializationInclusion(Include.NON_NULL);
 
     private ConfigContext config;
+    private final NoticeTransport transport;
 
     public HoneybadgerNoticeLoader(final ConfigContext config) {
+        this(config, new PooledHttpNoticeTransport(config));
+    }
+
+    /**
+     * @param config configuration to load notices with
+     * @param transport transport used to reach the Honeybadger API
+     * @since 2.1.3
+     */
+    public HoneybadgerNoticeLoader(final ConfigContext config,
+                                   final NoticeTransport transport) {
         this.config = config;
+        this.transport = transport;
     }
 
     String pullFaultJson(final UUID faultId) throws IOException {
@@ -64,17 +85,15 @@ public class HoneybadgerNoticeLoader {
 
         logger.debug("Querying for error details: {}", baseURI);
 
-        Response response;
         HttpResponse httpResponse = null;
 
         // We loop here because the API returns 404 when the notice still
         // hasn't finished processing
         for (int i = 0; i < RETRIES; i++) {
-            response = Request.Get(withAuth)
-                              .addHeader("Accept", "application/json")
-                              .execute();
+            HttpGet request = new HttpGet(withAuth);
+            request.addHeader("Accept", "application/json");
 
-            httpResponse = response.returnResponse();
+            httpResponse = transport.execute(request);
 
             if (httpResponse.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
                 break;
@@ -102,6 +121,20 @@ public class HoneybadgerNoticeLoader {
     }
 
     public Notice findErrorDetails(final UUID faultId) throws IOException {
+        return findErrorDetails(faultId, false);
+    }
+
+    /**
+     * @param faultId id of the notice to load
+     * @param expandFramesInCommon true to restore the frames omitted from
+     *                             causes because they were the same as in
+     *                             the enclosing error
+     * @return the notice
+     * @throws IOException if the notice can't be read
+     * @since 2.1.3
+     */
+    public Notice findErrorDetails(final UUID faultId, final boolean expandFramesInCommon)
+            throws IOException {
         String jsonText = pullFaultJson(faultId);
 
         // HACK: Since our API is not symmetric, we do this in order to rename fields
@@ -110,6 +143,10 @@ public class HoneybadgerNoticeLoader {
         JsonNode cgiData = originalJson.get("web_environment");
         ((ObjectNode)originalJson.get("request"))
                 .replace("cgi_data", cgiData);
+
+        if (expandFramesInCommon) {
+            expandFramesInCommon(originalJson);
+        }
         Notice error;
 
         InjectableValues.Std injectableValues = new InjectableValues.Std();
@@ -119,4 +156,73 @@ public class HoneybadgerNoticeLoader {
         error = OBJECT_MAPPER.readValue(originalJson.toString(), Notice.class);
         return error;
     }
+
+    /**
+     * Restores the frames omitted from the causes of a notice because they
+     * were the same as the bottom of the enclosing error's backtrace. Each
+     * cause carrying a {@code frames_in_common} count gets that many frames
+     * appended from its enclosing backtrace, outermost cause first, so the
+     * enclosing backtrace is always complete when it is copied from. The
+     * count is in stack frames, so an element summarizing omitted frames,
+     * such as {@code [12 truncated frames omitted]}, stands for that many
+     * frames and is copied as is, or with a smaller count when only some of
+     * its frames are in common.
+     *
+     * @param notice notice JSON or the JSON of its error details; modified
+     *               in place
+     * @since 2.1.3
+     */
+    public static void expandFramesInCommon(final JsonNode notice) {
+        final JsonNode error = notice.has("error") ? notice.get("error") : notice;
+        final JsonNode causes = error.get("causes");
+        JsonNode enclosing = error.get("backtrace");
+
+        if (causes == null || !causes.isArray()) {
+            return;
+        }
+
+        // Causes are listed innermost first
+        for (int i = causes.size() - 1; i >= 0; i--) {
+            final JsonNode cause = causes.get(i);
+            final JsonNode backtrace = cause.get("backtrace");
+            final JsonNode inCommon = cause.get("frames_in_common");
+
+            if (inCommon != null && backtrace instanceof ArrayNode && enclosing != null) {
+                ((ArrayNode) backtrace).addAll(bottomFrames(enclosing, inCommon.asInt()));
+                ((ObjectNode) cause).remove("frames_in_common");
+            }
+
+            enclosing = backtrace;
+        }
+    }
+
+    /**
+     * @return copies of the elements at the bottom of a backtrace that make
+     *         up a number of stack frames
+     */
+    private static List<JsonNode> bottomFrames(final JsonNode backtrace, final int frames) {
+        final List<JsonNode> bottom = new ArrayList<>();
+        int covered = 0;
+
+        for (int i = backtrace.size() - 1; i >= 0 && covered < frames; i--) {
+            final ObjectNode element = (ObjectNode) backtrace.get(i).deepCopy();
+            final Matcher summary = OMITTED_FRAMES.matcher(element.path("method").asText());
+            int count = summary.matches() ? Integer.parseInt(summary.group(1)) : 1;
+
+            if (covered + count > frames) {
+                count = frames - covered;
+                element.put("method", String.format("[%d %s frames omitted]", count, summary.group(2)));
+            }
+
+            bottom.add(0, element);
+            covered += count;
+        }
+
+        return bottom;
+    }
+
+    @Override
+    public void close() throws IOException {
+        transport.close();
+    }
 }
@@ -0,0 +1,555 @@
+package io.honeybadger.reporter;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import io.honeybadger.reporter.dto.Notice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link NoticeReporter} implementation that captures errors on the calling
+ * thread and hands them to a bounded queue that is drained by a small pool of
+ * sender threads. This keeps the HTTP round trip (and any retries) off of
+ * application threads.
+ *
+ * Request details and thread-local state like the MDC are captured before the
+ * notice is queued, so it is safe to report errors from within a servlet or
+ * Play request. The actual delivery is performed by a wrapped
+ * {@link HoneybadgerReporter}.
+ *
+ * When the batch size is greater than one, each sender thread collects up
+ * to that many queued notices (waiting at most the flush interval) and sends
+ * them in a single request. If the API doesn't offer a batch endpoint the
+ * notices are sent individually instead.
+ *
+ * The {@link NoticeReporter} methods return immediately with null because the
+ * result is not known yet. Use the reportErrorAsync() methods when the
+ * result of the submission is needed, or use {@link HoneybadgerReporter}
+ * directly if the caller must block until the error ID is returned.
+ *
+ * @since 2.1.3
+ */
+public class AsyncNoticeReporter implements NoticeReporter, Closeable {
+    /**
+     * Policy applied when a notice is reported and the send queue is full.
+     */
+    public enum OverflowPolicy {
+        /** The notice being reported is discarded. */
+        DROP_NEWEST,
+        /** The oldest queued notice is discarded to make room. */
+        DROP_OLDEST,
+        /** The reporting thread waits up to the configured timeout for room. */
+        BLOCK;
+
+        /**
+         * Parses a configuration value into a policy.
+         *
+         * @param value configuration value (eg drop_newest)
+         * @return matching policy or {@link #DROP_NEWEST} if the value is not recognized
+         */
+        static OverflowPolicy parse(final String value) {
+            if (value == null || value.isEmpty()) {
+                return DROP_NEWEST;
+            }
+
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                LoggerFactory.getLogger(AsyncNoticeReporter.class)
+                        .warn("Unknown overflow policy [{}]. Using drop_newest.", value);
+                return DROP_NEWEST;
+            }
+        }
+    }
+
+    /**
+     * Notice waiting to be sent along with the future to complete.
+     */
+    private static final class PendingNotice {
+        private final Notice notice;
+        private final Throwable error;
+        private final CompletableFuture<NoticeReportResult> future =
+                new CompletableFuture<>();
+
+        PendingNotice(final Notice notice, final Throwable error) {
+            this.notice = notice;
+            this.error = error;
+        }
+    }
+
+    private static final long POLL_INTERVAL_MILLIS = 100L;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000L;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final HoneybadgerReporter delegate;
+    private final BlockingQueue<PendingNotice> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final ExecutorService senders;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new asynchronous reporter configured from the delegate's
+     * configuration context.
+     *
+     * @param delegate reporter used to build and send notices
+     */
+    public AsyncNoticeReporter(final HoneybadgerReporter delegate) {
+        this(delegate,
+             valueOrDefault(delegate.getConfig().getAsyncQueueCapacity(),
+                     DefaultsConfigContext.DEFAULT_ASYNC_QUEUE_CAPACITY),
+             valueOrDefault(delegate.getConfig().getAsyncSenderThreads(),
+                     DefaultsConfigContext.DEFAULT_ASYNC_SENDER_THREADS),
+             OverflowPolicy.parse(delegate.getConfig().getAsyncOverflowPolicy()),
+             valueOrDefault(delegate.getConfig().getAsyncBlockTimeout(),
+                     DefaultsConfigContext.DEFAULT_ASYNC_BLOCK_TIMEOUT),
+             valueOrDefault(delegate.getConfig().getBatchSize(),
+                     DefaultsConfigContext.DEFAULT_BATCH_SIZE),
+             valueOrDefault(delegate.getConfig().getBatchFlushInterval(),
+                     DefaultsConfigContext.DEFAULT_BATCH_FLUSH_INTERVAL));
+    }
+
+    /**
+     * Creates a new asynchronous reporter.
+     *
+     * @param delegate reporter used to build and send notices
+     * @param capacity maximum number of notices waiting to be sent
+     * @param senderThreads number of threads sending notices
+     * @param overflowPolicy policy applied when the queue is full
+     * @param blockTimeoutMillis time to wait for room when the policy is {@link OverflowPolicy#BLOCK}
+     */
+    public AsyncNoticeReporter(final HoneybadgerReporter delegate,
+                               final int capacity,
+                               final int senderThreads,
+                               final OverflowPolicy overflowPolicy,
+                               final long blockTimeoutMillis) {
+        this(delegate, capacity, senderThreads, overflowPolicy, blockTimeoutMillis, 1, 0);
+    }
+
+    /**
+     * Creates a new asynchronous reporter that sends notices in batches.
+     * A batch is sent as soon as it holds batchSize notices or when
+     * flushIntervalMillis have passed since its first notice was taken
+     * from the queue, whichever comes first.
+     *
+     * @param delegate reporter used to build and send notices
+     * @param capacity maximum number of notices waiting to be sent
+     * @param senderThreads number of threads sending notices
+     * @param overflowPolicy policy applied when the queue is full
+     * @param blockTimeoutMillis time to wait for room when the policy is {@link OverflowPolicy#BLOCK}
+     * @param batchSize maximum number of notices sent in one request, 1 disables batching
+     * @param flushIntervalMillis maximum time to wait for a batch to fill
+     */
+    @SuppressWarnings("ParameterNumber")
+    public AsyncNoticeReporter(final HoneybadgerReporter delegate,
+                               final int capacity,
+                               final int senderThreads,
+                               final OverflowPolicy overflowPolicy,
+                               final long blockTimeoutMillis,
+                               final int batchSize,
+                               final long flushIntervalMillis) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate reporter must not be null");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0");
+        }
+        if (senderThreads < 1) {
+            throw new IllegalArgumentException("Number of sender threads must be greater than 0");
+        }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Overflow policy must not be null");
+        }
+        if (blockTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Block timeout must be greater than or equal to 0");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("Flush interval must be greater than or equal to 0");
+        }
+
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.senders = Executors.newFixedThreadPool(senderThreads, new SenderThreadFactory());
+        delegate.getMetrics().bindQueueDepth(queue::size);
+
+        for (int i = 0; i < senderThreads; i++) {
+            senders.execute(this::drain);
+        }
+    }
+
+    @Override
+    public NoticeReportResult reportError(final Throwable error) {
+        return reportError(error, null, null, Collections.emptySet(), null);
+    }
+
+    @Override
+    public NoticeReportResult reportError(final Throwable error, final Object request) {
+        return reportError(error, request, null, Collections.emptySet(), null);
+    }
+
+    @Override
+    public NoticeReportResult reportError(final Throwable error, final Object request,
+                                          final String message) {
+        return reportError(error, request, message, Collections.emptySet(), null);
+    }
+
+    @Override
+    public NoticeReportResult reportError(final Throwable error, final Object request,
+                                          final String message, final Iterable<String> tags) {
+        return reportError(error, request, message, tags, null);
+    }
+
+    /**
+     * Queues the error to be sent and returns immediately.
+     *
+     * @param error       error to report
+     * @param request     Object to parse for request properties
+     * @param message     message to report instead of message associated with exception
+     * @param tags        tag values (duplicates will be removed)
+     * @param fingerprint custom fingerprint (used to group errors)
+     * @return always null because the error has not been sent yet
+     */
+    @Override
+    @SuppressWarnings("FutureReturnValueIgnored") // Callers wanting the result use reportErrorAsync()
+    public NoticeReportResult reportError(final Throwable error, final Object request,
+                                          final String message, final Iterable<String> tags,
+                                          final String fingerprint) {
+        reportErrorAsync(error, request, message, tags, fingerprint);
+        return null;
+    }
+
+    /**
+     * Queues any Java {@link java.lang.Throwable} to be sent to the
+     * Honeybadger error reporting interface.
+     *
+     * @param error error to report
+     * @return future completed with the result, or with null if the error was ignored or dropped
+     */
+    public CompletableFuture<NoticeReportResult> reportErrorAsync(final Throwable error) {
+        return reportErrorAsync(error, null, null, Collections.emptySet(), null);
+    }
+
+    /**
+     * Queues any Java {@link java.lang.Throwable} to be sent to the
+     * Honeybadger error reporting interface.
+     *
+     * @param error error to report
+     * @param request Object to parse for request properties
+     * @return future completed with the result, or with null if the error was ignored or dropped
+     */
+    public CompletableFuture<NoticeReportResult> reportErrorAsync(final Throwable error,
+                                                                  final Object request) {
+        return reportErrorAsync(error, request, null, Collections.emptySet(), null);
+    }
+
+    /**
+     * Queues any Java {@link java.lang.Throwable} to be sent to the
+     * Honeybadger error reporting interface.
+     *
+     * @param error       error to report
+     * @param request     Object to parse for request properties
+     * @param message     message to report instead of message associated with exception
+     * @param tags        tag values (duplicates will be removed)
+     * @param fingerprint custom fingerprint (used to group errors)
+     * @return future completed with the result, or with null if the error was ignored or dropped
+     */
+    public CompletableFuture<NoticeReportResult> reportErrorAsync(final Throwable error,
+                                                                  final Object request,
+                                                                  final String message,
+                                                                  final Iterable<String> tags,
+                                                                  final String fingerprint) {
+        if (error == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (closed) {
+            logger.warn("Reporter is closed. Error will not be sent to Honeybadger.", error);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final Set<String> tagsSet = delegate.aggregateTags(tags);
+        final Notice notice = delegate.buildNotice(error, delegate.toRequestDetails(request),
+                message, tagsSet, fingerprint);
+
+        if (notice == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final PendingNotice pending = new PendingNotice(notice, error);
+        enqueue(pending);
+
+        return pending.future;
+    }
+
+    @Override
+    public ConfigContext getConfig() {
+        return delegate.getConfig();
+    }
+
+    /**
+     * @return number of notices waiting to be sent
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return number of notices discarded because the queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Stops accepting new notices and waits a short time for the queued
+     * notices to be sent. The delegate reporter is closed afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        senders.shutdown();
+
+        try {
+            if (!senders.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            senders.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        PendingNotice pending;
+        while ((pending = queue.poll()) != null) {
+            drop(pending, "reporter was closed");
+        }
+
+        try {
+            delegate.close();
+        } catch (IOException e) {
+            logger.warn("Unable to close the Honeybadger transport", e);
+        }
+    }
+
+    private void enqueue(final PendingNotice pending) {
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!queue.offer(pending)) {
+                    final PendingNotice oldest = queue.poll();
+
+                    if (oldest != null) {
+                        drop(oldest, "queue is full");
+                    }
+                }
+                break;
+            case BLOCK:
+                try {
+                    if (!queue.offer(pending, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        drop(pending, "queue is full");
+                    }
+                } catch (InterruptedException e) {
+                    drop(pending, "reporting thread was interrupted");
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case DROP_NEWEST:
+            default:
+                if (!queue.offer(pending)) {
+                    drop(pending, "queue is full");
+                }
+                break;
+        }
+    }
+
+    private void drop(final PendingNotice pending, final String reason) {
+        droppedCount.incrementAndGet();
+        delegate.getMetrics().noticeDropped();
+        logger.debug("Dropping notice because {}: {}", reason, pending.error.getClass().getName());
+        pending.future.complete(null);
+    }
+
+    /**
+     * Sender loop executed by every thread in the pool. Once the reporter is
+     * closed, the loop continues until the queue is empty.
+     */
+    private void drain() {
+        while (!closed || !queue.isEmpty()) {
+            final PendingNotice pending;
+
+            try {
+                pending = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (pending == null) {
+                continue;
+            }
+
+            if (batchSize > 1) {
+                sendBatch(fillBatch(pending));
+            } else {
+                send(pending);
+            }
+        }
+    }
+
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void send(final PendingNotice pending) {
+        try {
+            delegate.sendNoticeAsync(pending.notice, pending.error).whenComplete((result, e) -> {
+                if (e == null) {
+                    pending.future.complete(result);
+                } else {
+                    fail(pending, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            fail(pending, e);
+        }
+    }
+
+    private void fail(final PendingNotice pending, final Throwable e) {
+        logger.error("Unexpected error sending notice to Honeybadger", e);
+        pending.future.completeExceptionally(e);
+    }
+
+    /**
+     * Collects queued notices into a batch until it is full or the flush
+     * interval has passed.
+     *
+     * @param first notice that started the batch
+     * @return batch of at least one notice
+     */
+    private List<PendingNotice> fillBatch(final PendingNotice first) {
+        final List<PendingNotice> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+
+            final long remaining = deadline - System.nanoTime();
+
+            if (batch.size() == batchSize || remaining <= 0 || closed) {
+                break;
+            }
+
+            try {
+                final PendingNotice next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+
+                if (next == null) {
+                    break;
+                }
+
+                batch.add(next);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return batch;
+    }
+
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void sendBatch(final List<PendingNotice> batch) {
+        if (batch.size() == 1) {
+            send(batch.get(0));
+            return;
+        }
+
+        final List<Notice> notices = new ArrayList<>(batch.size());
+        for (PendingNotice pending : batch) {
+            notices.add(pending.notice);
+        }
+
+        try {
+            delegate.sendNoticeBatchAsync(notices).whenComplete((ids, e) -> {
+                if (e == null) {
+                    completeBatch(batch, ids);
+                } else {
+                    for (PendingNotice pending : batch) {
+                        fail(pending, e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            for (PendingNotice pending : batch) {
+                fail(pending, e);
+            }
+        }
+    }
+
+    private void completeBatch(final List<PendingNotice> batch, final List<UUID> ids) {
+        // The batch endpoint isn't available, so fall back to one request per notice
+        if (ids == null) {
+            for (PendingNotice pending : batch) {
+                send(pending);
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            final PendingNotice pending = batch.get(i);
+            final UUID id = ids.get(i);
+
+            if (id == null) {
+                pending.future.complete(null);
+            } else {
+                pending.future.complete(new NoticeReportResult(id, pending.notice, pending.error));
+            }
+        }
+    }
+
+    private static int valueOrDefault(final Integer value, final int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Creates named daemon threads so that sender threads never keep the JVM
+     * from exiting.
+     */
+    private static final class SenderThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+        private final int poolNumber = POOL_COUNT.incrementAndGet();
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, String.format("honeybadger-sender-%d-%d",
+                    poolNumber, threadCount.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -5,32 +5,70 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
 import io.honeybadger.reporter.config.SystemSettingsConfigContext;
+import io.honeybadger.reporter.dedup.NoticeDeduplicator;
+import io.honeybadger.reporter.dedup.SamplingPolicy;
+import io.honeybadger.reporter.dto.HostIdentity;
 import io.honeybadger.reporter.dto.HttpServletRequestFactory;
 import io.honeybadger.reporter.dto.Notice;
+import io.honeybadger.reporter.dto.NoticeJsonWriter;
 import io.honeybadger.reporter.dto.NoticeDetails;
 import io.honeybadger.reporter.dto.PlayHttpRequestFactory;
+import io.honeybadger.reporter.metrics.DefaultReporterMetrics;
+import io.honeybadger.reporter.metrics.JmxMetricsAdapter;
+import io.honeybadger.reporter.metrics.ReporterMetrics;
+import io.honeybadger.reporter.metrics.Slf4jMetricsAdapter;
+import io.honeybadger.reporter.spool.MappedFileNoticeSpool;
+import io.honeybadger.reporter.spool.MemoryNoticeSpool;
+import io.honeybadger.reporter.spool.NoticeSpool;
+import io.honeybadger.reporter.stats.StatsSampler;
+import io.honeybadger.reporter.transport.CircuitBreaker;
+import io.honeybadger.reporter.transport.ExponentialBackoffRetryPolicy;
+import io.honeybadger.reporter.transport.NoticeTransport;
+import io.honeybadger.reporter.transport.PooledHttpNoticeTransport;
+import io.honeybadger.reporter.transport.RetryPolicy;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.HttpVersion;
+import org.apache.http.client.entity.GzipDecompressingEntity;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.client.fluent.Response;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.management.JMException;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Reporter utility class that gives a simple interface for sending Java
@@ -40,19 +78,84 @@ import java.util.UUID;
  * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
  * @since 1.0.0
  */
-public class HoneybadgerReporter implements NoticeReporter {
+public class HoneybadgerReporter implements NoticeReporter, Closeable {
     private static Set<Class<?>> exceptionContextClasses = findExceptionContextClasses();
 
     private ConfigContext config;
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
-            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .registerModule(NoticeJsonWriter.module());
+    private static final String BATCH_PATH = "v1/notices/batch";
+    /** Time close() waits for a retry that is being sent. */
+    private static final long CLOSE_TIMEOUT_MILLIS = 10000;
+    private static final AtomicInteger REPORTER_COUNT = new AtomicInteger();
+    private volatile boolean batchEndpointAvailable = true;
+    private final NoticeTransport transport;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final NoticeSpool spool;
+    private final NoticeDeduplicator deduplicator;
+    private final SamplingPolicy samplingPolicy;
+    private final ReporterMetrics metrics;
+    private final boolean legacySendOverridden = overridesLegacySend(getClass());
+    private JmxMetricsAdapter jmxMetrics;
+    private Slf4jMetricsAdapter metricsLogger;
+    private StatsSampler statsSampler;
+    private final List<NoticeFilter> filters = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Set<RetryingDelivery<?>> pendingRetries = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean closed = false;
 
     public HoneybadgerReporter() {
         this(new SystemSettingsConfigContext());
     }
 
     public HoneybadgerReporter(final ConfigContext config) {
+        this(config, null);
+    }
+
+    /**
+     * @param config configuration to report with
+     * @param transport transport used to reach the Honeybadger API or null
+     *                  to use a {@link PooledHttpNoticeTransport} configured
+     *                  from the passed configuration
+     * @since 2.1.3
+     */
+    public HoneybadgerReporter(final ConfigContext config, final NoticeTransport transport) {
+        this(config, transport, null);
+    }
+
+    /**
+     * @param config configuration to report with
+     * @param transport transport used to reach the Honeybadger API or null
+     *                  to use a {@link PooledHttpNoticeTransport} configured
+     *                  from the passed configuration
+     * @param retryPolicy policy deciding when failed reports are retried or
+     *                    null to use an {@link ExponentialBackoffRetryPolicy}
+     *                    configured from the passed configuration
+     * @since 2.1.3
+     */
+    public HoneybadgerReporter(final ConfigContext config, final NoticeTransport transport,
+                               final RetryPolicy retryPolicy) {
+        this(config, transport, retryPolicy, null);
+    }
+
+    /**
+     * @param config configuration to report with
+     * @param transport transport used to reach the Honeybadger API or null
+     *                  to use a {@link PooledHttpNoticeTransport} configured
+     *                  from the passed configuration
+     * @param retryPolicy policy deciding when failed reports are retried or
+     *                    null to use an {@link ExponentialBackoffRetryPolicy}
+     *                    configured from the passed configuration
+     * @param metrics metrics recording what the reporter does or null to
+     *                keep them in a {@link DefaultReporterMetrics}
+     * @since 2.1.3
+     */
+    public HoneybadgerReporter(final ConfigContext config, final NoticeTransport transport,
+                               final RetryPolicy retryPolicy, final ReporterMetrics metrics) {
         this.setConfig(config);
 
         if (config.getApiKey() == null) {
@@ -73,6 +176,35 @@ public class HoneybadgerReporter implements NoticeReporter {
             throw new IllegalArgumentException("Honeybadger property honeybadger.maximum_retry_attempts must be an " +
                     "integer greater than or equal to 0");
         }
+        if (config.getGzipLevel() != null &&
+                (config.getGzipLevel() < 1 || config.getGzipLevel() > 9)) {
+            throw new IllegalArgumentException("Honeybadger property honeybadger.gzip_level must be an " +
+                    "integer between 1 and 9");
+        }
+        if (config.getStatsSampleInterval() != null && config.getStatsSampleInterval() < 0) {
+            throw new IllegalArgumentException("Honeybadger property honeybadger.stats_sample_interval must be an " +
+                    "integer greater than or equal to 0");
+        }
+
+        this.retryPolicy = retryPolicy == null ?
+                ExponentialBackoffRetryPolicy.fromConfig(config) : retryPolicy;
+        this.circuitBreaker = createCircuitBreaker(config);
+        this.spool = createSpool(config);
+        this.deduplicator = NoticeDeduplicator.fromConfig(config, this::recordEvicted);
+        this.samplingPolicy = SamplingPolicy.fromConfig(config);
+        this.transport = transport == null ? new PooledHttpNoticeTransport(config) : transport;
+        this.metrics = metrics == null ? new DefaultReporterMetrics() : metrics;
+
+        if (this.metrics instanceof DefaultReporterMetrics) {
+            exposeMetrics(config, (DefaultReporterMetrics) this.metrics);
+        }
+
+        // The hostname may need a DNS lookup, so it is found ahead of the first error
+        HostIdentity.prefetch();
+        this.statsSampler = StatsSampler.acquire(config);
+
+        // Notices left over from a previous run are sent in the background
+        scheduleDrain(0);
     }
 
     /**
@@ -128,7 +260,7 @@ public class HoneybadgerReporter implements NoticeReporter {
                                           final Object request,
                                           final String message,
                                           final Iterable<String> tags) {
-        return reportError(error, request, message, Collections.emptySet(), null);
+        return reportError(error, request, message, tags, null);
     }
 
     /**
@@ -156,40 +288,124 @@ public class HoneybadgerReporter implements NoticeReporter {
         }
 
         final Set<String> tagsSet = aggregateTags(tags);
+        final io.honeybadger.reporter.dto.Request requestDetails = toRequestDetails(request);
 
-        if (request == null) {
-            return submitError(error, null, message, tagsSet, fingerprint);
+        return submitError(error, requestDetails, message, tagsSet, fingerprint);
+    }
+
+    @Override
+    public ConfigContext getConfig() {
+        return config;
+    }
+
+    /**
+     * @return transport used to reach the Honeybadger API
+     */
+    public NoticeTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * @return circuit breaker guarding the Honeybadger API or null if it is
+     *         disabled
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return deduplicator suppressing repeated errors or null if no
+     *         deduplication window or rate limit is configured
+     */
+    public NoticeDeduplicator getDeduplicator() {
+        return deduplicator;
+    }
+
+    /**
+     * @return policy sending a share of noisy errors or null if no sampling
+     *         rules are configured
+     */
+    public SamplingPolicy getSamplingPolicy() {
+        return samplingPolicy;
+    }
+
+    /**
+     * @return spool holding notices that couldn't be delivered because the
+     *         Honeybadger API was unavailable
+     */
+    public NoticeSpool getSpool() {
+        return spool;
+    }
+
+    /**
+     * @return metrics recording what the reporter does
+     * @since 2.1.3
+     */
+    public ReporterMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Cancels scheduled retries, waits up to ten seconds for a retry that is
+     * being sent, and releases the spool, the statistics sampler and the
+     * connections held by the transport. The reporter must not be used after it has been closed.
+     *
+     * @throws IOException thrown when the transport fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+
+        final ScheduledExecutorService scheduler;
+
+        synchronized (this) {
+            scheduler = retryScheduler;
         }
 
-        final io.honeybadger.reporter.dto.Request requestDetails;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            awaitRetriesInFlight(scheduler);
+        }
 
-        // CUSTOM USAGE OF REQUEST DTO
-        if (request instanceof io.honeybadger.reporter.dto.Request) {
-            logger.debug("Reporting using a request DTO");
-            requestDetails = (io.honeybadger.reporter.dto.Request)request;
+        for (RetryingDelivery<?> retry : pendingRetries) {
+            retry.giveUp();
+        }
+        pendingRetries.clear();
 
-        // SERVLET REQUEST - ALSO USED BY SPRING
-        } else if (supportsHttpServletRequest() && request instanceof javax.servlet.http.HttpServletRequest)  {
-            logger.debug("Reporting from a servlet context");
-            requestDetails =  HttpServletRequestFactory.create(getConfig(),
-                    (javax.servlet.http.HttpServletRequest) request);
+        synchronized (this) {
+            if (jmxMetrics != null) {
+                jmxMetrics.close();
+            }
 
-        // PLAY FRAMEWORK REQUEST
-        } else if (supportsPlayHttpRequest() && request instanceof play.mvc.Http.Request) {
-            logger.debug("Reporting from the Play Framework");
-            requestDetails = PlayHttpRequestFactory.create(getConfig(),
-                    (play.mvc.Http.Request)request);
-        } else {
-            logger.debug("No request object available");
-            requestDetails = null;
+            if (metricsLogger != null) {
+                metricsLogger.close();
+            }
+
+            if (statsSampler != null) {
+                statsSampler.release();
+                statsSampler = null;
+            }
         }
 
-        return submitError(error, requestDetails, message, tagsSet, fingerprint);
+        try {
+            spool.close();
+        } finally {
+            transport.close();
+        }
     }
 
-    @Override
-    public ConfigContext getConfig() {
-        return config;
+    /**
+     * Waits for a retry or spool drain that is already sending, so that its
+     * payload buffers and the spool aren't released while it uses them.
+     */
+    private void awaitRetriesInFlight(final ScheduledExecutorService scheduler) {
+        try {
+            if (!scheduler.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                logger.warn("Closing the Honeybadger reporter while a retry is still being sent");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
@@ -229,6 +445,41 @@ public class HoneybadgerReporter implements NoticeReporter {
         return Collections.unmodifiableSet(tagHashSet);
     }
 
+    /**
+     * Converts a framework specific request object into a request DTO. This
+     * must be invoked on the thread that is handling the request because
+     * servlet and Play request objects are not valid outside of it.
+     *
+     * @param request Object to parse for request properties
+     * @return request DTO or null if the request type is not supported
+     */
+    protected io.honeybadger.reporter.dto.Request toRequestDetails(final Object request) {
+        if (request == null) {
+            return null;
+        }
+
+        // CUSTOM USAGE OF REQUEST DTO
+        if (request instanceof io.honeybadger.reporter.dto.Request) {
+            logger.debug("Reporting using a request DTO");
+            return (io.honeybadger.reporter.dto.Request)request;
+
+        // SERVLET REQUEST - ALSO USED BY SPRING
+        } else if (supportsHttpServletRequest() && request instanceof javax.servlet.http.HttpServletRequest)  {
+            logger.debug("Reporting from a servlet context");
+            return HttpServletRequestFactory.create(getConfig(),
+                    (javax.servlet.http.HttpServletRequest) request);
+
+        // PLAY FRAMEWORK REQUEST
+        } else if (supportsPlayHttpRequest() && request instanceof play.mvc.Http.Request) {
+            logger.debug("Reporting from the Play Framework");
+            return PlayHttpRequestFactory.create(getConfig(),
+                    (play.mvc.Http.Request)request);
+        } else {
+            logger.debug("No request object available");
+            return null;
+        }
+    }
+
     @SuppressWarnings("LiteralClassName")
     protected boolean supportsHttpServletRequest() {
         try {
@@ -254,13 +505,49 @@ public class HoneybadgerReporter implements NoticeReporter {
                                              final String message,
                                              final Set<String> tags,
                                              final String fingerprint) {
-        final String errorClassName = error.getClass().getName();
-        if (errorClassName != null &&
-                getConfig().getExcludedClasses().contains(errorClassName)) {
+        final Notice notice = buildNotice(error, request, message, tags, fingerprint);
+
+        if (notice == null) {
             return null;
         }
 
-        final Notice notice = new Notice(getConfig());
+        return sendNotice(notice, error);
+    }
+
+    /**
+     * Assembles the notice DTO for an error. The error is first passed
+     * through the filter chain: excluded classes, the filters added with
+     * {@link #addFilter(NoticeFilter)}, sampling and then deduplication, so
+     * dropped errors cost no more than the filters. Only what describes the
+     * moment of the error is captured here: the MDC, the backtrace, the time
+     * and the latest statistics. The rest of the server details and the
+     * system properties are added by {@link Notice#enrich()} when the notice
+     * is sent, which for queued notices is on the sender thread.
+     *
+     * @param error error to report
+     * @param request request DTO or null
+     * @param message message to report instead of message associated with exception
+     * @param tags tag values
+     * @param fingerprint custom fingerprint (used to group errors)
+     * @return notice to send or null if the error class is excluded, the
+     *         error is rejected by a filter, isn't sampled or it is
+     *         suppressed as a repeat
+     */
+    protected Notice buildNotice(final Throwable error,
+                                 final io.honeybadger.reporter.dto.Request request,
+                                 final String message,
+                                 final Set<String> tags,
+                                 final String fingerprint) {
+        final NoticeCandidate candidate = new NoticeCandidate(getConfig(), error, request,
+                message, tags, fingerprint);
+        metrics.noticeSubmitted();
+
+        if (!isAccepted(candidate)) {
+            metrics.noticeExcluded();
+            return null;
+        }
+
+        final Notice notice = Notice.deferred(getConfig());
 
         final String reportedMessage;
         if (message != null && !message.isEmpty()) {
@@ -274,45 +561,766 @@ public class HoneybadgerReporter implements NoticeReporter {
             notice.setRequest(request);
         }
 
-        /* We may need to retry sending the JSON, so we temporarily keep it as a string.
-           Future enhancement may convert this to a stream, but that's likely to require a
-           bit more testing.
-         */
-        String json;
+        final long occurrences = candidate.getOccurrences();
+        final double sampleRate = candidate.getSampleRate();
+
+        if (occurrences > 1 || sampleRate < 1.0) {
+            notice.setSampling(occurrences, sampleRate / occurrences);
+        }
+
+        return notice;
+    }
+
+    /**
+     * Runs an error through the filter chain. Sampling and deduplication
+     * come last, since they record every occurrence they let through.
+     *
+     * @param candidate error about to be reported
+     * @return true if the error should be reported
+     */
+    private boolean isAccepted(final NoticeCandidate candidate) {
+        final String errorClassName = candidate.getErrorClassName();
+
+        if (getConfig().getExcludedClasses().contains(errorClassName)) {
+            return false;
+        }
+
+        for (NoticeFilter filter : filters) {
+            if (!filter.accept(candidate)) {
+                logger.debug("Error rejected by filter: {}", errorClassName);
+                return false;
+            }
+        }
+
+        if (samplingPolicy != null) {
+            final double sampleRate = samplingPolicy.sampleRate(candidate.getError(),
+                    candidate.getTags(), candidate.getRequest());
+
+            if (!samplingPolicy.isSampled(candidate.getGroupingFingerprint(), sampleRate,
+                    System.currentTimeMillis())) {
+                logger.debug("Error not sampled: {}", errorClassName);
+                return false;
+            }
+
+            candidate.setSampleRate(sampleRate);
+        }
+
+        if (deduplicator != null) {
+            final long occurrences = deduplicator.admit(candidate.getGroupingFingerprint());
+
+            if (occurrences == NoticeDeduplicator.SUPPRESSED) {
+                logger.debug("Suppressed repeated error: {}", errorClassName);
+                return false;
+            }
+
+            candidate.setOccurrences(occurrences);
+        }
+
+        return true;
+    }
+
+    /**
+     * Counts the occurrences suppressed as repeats that were lost because
+     * the deduplicator forgot their fingerprint before reporting them.
+     *
+     * @param occurrences number of occurrences lost
+     */
+    private void recordEvicted(final long occurrences) {
+        metrics.noticesDropped(occurrences);
+    }
+
+    /**
+     * Adds a filter that decides which errors are reported. Filters run in
+     * the order they were added, after the excluded classes are checked and
+     * before sampling and deduplication.
+     *
+     * @param filter filter to add
+     * @since 2.1.3
+     */
+    public void addFilter(final NoticeFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must not be null");
+        }
+
+        filters.add(filter);
+    }
+
+    /**
+     * Serializes a notice and sends it to the Honeybadger API, retrying up
+     * to the configured maximum number of retries. The retries are made on
+     * the retry thread while the caller waits for their result, for at most
+     * the time during which a retry may start
+     * ({@code honeybadger.retry_max_elapsed}). After that the retries go
+     * on in the background.
+     *
+     * @param notice notice to send
+     * @param error original error, used for logging and the result
+     * @return result of the submission or null if it could not be delivered
+     *         or is still being retried
+     */
+    protected NoticeReportResult sendNotice(final Notice notice, final Throwable error) {
+        final CompletableFuture<NoticeReportResult> result = sendNoticeAsync(notice, error);
+
+        if (result.isDone()) {
+            return result.join();
+        }
+
         try {
-            json = OBJECT_MAPPER.writeValueAsString(notice);
+            return result.get(maximumWait(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (TimeoutException e) {
+            logger.debug("Still retrying to send the error to Honeybadger in the background");
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return milliseconds a synchronous report waits for its retries
+     */
+    private long maximumWait() {
+        final Integer maxElapsed = config.getRetryMaxElapsed();
+
+        return maxElapsed == null || maxElapsed <= 0 ?
+                DefaultsConfigContext.DEFAULT_RETRY_MAX_ELAPSED : maxElapsed;
+    }
+
+    /**
+     * Serializes a notice and sends it to the Honeybadger API. The first
+     * attempt is made on the calling thread; retries are scheduled on a
+     * background thread so that the caller never sleeps or retries.
+     *
+     * @param notice notice to send
+     * @param error original error, used for logging and the result
+     * @return future result of the submission, completed with null if the
+     *         notice could not be delivered
+     * @since 2.1.3
+     */
+    protected CompletableFuture<NoticeReportResult> sendNoticeAsync(final Notice notice,
+                                                                    final Throwable error) {
+        notice.enrich();
+
+        /* The notice is streamed onto the connection. It is only kept in a
+         * (pooled) buffer when it may have to be sent again. */
+        final JsonStreamingEntity entity = newEntity(notice,
+                config.getMaximumErrorReportingRetries() > 0);
+
+        final RetryingDelivery<NoticeReportResult> delivery = new RetryingDelivery<>(
+                "to send the error", error, null, 1, new Delivery<NoticeReportResult>() {
+            @Override
+            public HttpResponse send() throws IOException {
+                return sendToHoneybadger(entity);
+            }
+
+            @Override
+            public boolean isFinal(final HttpResponse response) {
+                return response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED;
+            }
+
+            @Override
+            public boolean isDelivered(final HttpResponse response) {
+                return isFinal(response);
+            }
+
+            @Override
+            public NoticeReportResult handle(final HttpResponse response) throws IOException {
+                return new NoticeReportResult(parseErrorId(response), notice, error);
+            }
+
+            @Override
+            public void spill() {
+                spillNotice(notice);
+            }
+        });
+
+        return delivery.start(entity);
+    }
+
+    /**
+     * Sends several notices to the Honeybadger API in a single request. The
+     * notices are streamed as a JSON array and the endpoint is expected to
+     * respond with an array containing an object with an id for each notice,
+     * in the same order.
+     *
+     * @param notices notices to send
+     * @return future error IDs in the same order as the notices, with null
+     *         entries for notices that weren't accepted, or a future of null
+     *         if the batch endpoint isn't available and the notices should
+     *         be sent individually, as they always are when a subclass
+     *         overrides the deprecated {@link #sendToHoneybadger(String)}
+     */
+    protected CompletableFuture<List<UUID>> sendNoticeBatchAsync(final List<Notice> notices) {
+        if (!batchEndpointAvailable || legacySendOverridden) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        for (Notice notice : notices) {
+            notice.enrich();
+        }
+
+        final JsonStreamingEntity entity = newEntity(notices,
+                config.getMaximumErrorReportingRetries() > 0);
+        final String description = String.format("to send a batch of %d errors", notices.size());
+
+        final RetryingDelivery<List<UUID>> delivery = new RetryingDelivery<>(description, null,
+                Collections.nCopies(notices.size(), null), notices.size(), new Delivery<List<UUID>>() {
+            @Override
+            public HttpResponse send() throws IOException {
+                return sendBatchToHoneybadger(entity);
+            }
+
+            @Override
+            public boolean isFinal(final HttpResponse response) {
+                return isDelivered(response) ||
+                        isBatchEndpointMissing(response.getStatusLine().getStatusCode());
+            }
+
+            @Override
+            public boolean isDelivered(final HttpResponse response) {
+                final int responseCode = response.getStatusLine().getStatusCode();
+
+                return responseCode == HttpStatus.SC_CREATED || responseCode == HttpStatus.SC_OK;
+            }
+
+            @Override
+            public List<UUID> handle(final HttpResponse response) throws IOException {
+                final int responseCode = response.getStatusLine().getStatusCode();
+
+                if (isBatchEndpointMissing(responseCode)) {
+                    logger.info("Honeybadger batch endpoint is not available. Response was [{}]. " +
+                            "Notices will be sent individually.", responseCode);
+                    batchEndpointAvailable = false;
+                    return null;
+                }
+
+                return parseErrorIds(response, notices.size());
+            }
+
+            @Override
+            public void spill() {
+                for (Notice notice : notices) {
+                    spillNotice(notice);
+                }
+            }
+        });
+
+        return delivery.start(entity);
+    }
+
+    private static boolean isBatchEndpointMissing(final int responseCode) {
+        return responseCode == HttpStatus.SC_NOT_FOUND ||
+                responseCode == HttpStatus.SC_METHOD_NOT_ALLOWED ||
+                responseCode == HttpStatus.SC_NOT_IMPLEMENTED;
+    }
+
+    /**
+     * @return policy deciding when failed reports are retried
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Lazily starts the single daemon thread that runs delayed retries, so
+     * reporters that never back off never create it.
+     *
+     * @return executor for delayed retries
+     */
+    private synchronized ScheduledExecutorService retryScheduler() {
+        if (closed) {
+            throw new RejectedExecutionException("Reporter is closed");
+        }
+
+        if (retryScheduler == null) {
+            retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "honeybadger-retry");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return retryScheduler;
+    }
+
+    private CircuitBreaker createCircuitBreaker(final ConfigContext configContext) {
+        if (Boolean.FALSE.equals(configContext.isCircuitBreakerEnabled())) {
+            return null;
+        }
+
+        return new CircuitBreaker(
+                valueOrDefault(configContext.getCircuitBreakerWindowSize(),
+                        DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE),
+                valueOrDefault(configContext.getCircuitBreakerFailureRate(),
+                        DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE),
+                valueOrDefault(configContext.getCircuitBreakerOpenDuration(),
+                        DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION));
+    }
+
+    /**
+     * Registers the metrics as an MBean and starts writing them to the log
+     * when the configuration asks for it.
+     */
+    private synchronized void exposeMetrics(final ConfigContext configContext,
+                                            final DefaultReporterMetrics defaultMetrics) {
+        if (Boolean.TRUE.equals(configContext.isMetricsJmxEnabled())) {
+            final String name = "reporter-" + REPORTER_COUNT.incrementAndGet();
+
+            try {
+                jmxMetrics = JmxMetricsAdapter.register(defaultMetrics, name);
+            } catch (JMException e) {
+                logger.warn("Unable to register the Honeybadger reporter metrics as {}", name, e);
+            }
+        }
+
+        final int logInterval = valueOrDefault(configContext.getMetricsLogInterval(),
+                DefaultsConfigContext.DEFAULT_METRICS_LOG_INTERVAL);
+
+        if (logInterval > 0) {
+            metricsLogger = new Slf4jMetricsAdapter(defaultMetrics);
+            metricsLogger.start(logInterval);
+        }
+    }
+
+    private NoticeSpool createSpool(final ConfigContext configContext) {
+        if (configContext.getSpoolDirectory() != null) {
+            try {
+                return MappedFileNoticeSpool.fromConfig(configContext);
+            } catch (IOException e) {
+                logger.warn("Unable to open the notice spool in {}. Spooling in memory instead.",
+                        configContext.getSpoolDirectory(), e);
+            }
+        }
+
+        return new MemoryNoticeSpool(valueOrDefault(configContext.getSpoolMaxNotices(),
+                DefaultsConfigContext.DEFAULT_SPOOL_MAX_NOTICES));
+    }
+
+    /**
+     * Feeds the circuit breaker with the outcome of a request.
+     *
+     * @param statusCode response status code or -1 for a network error
+     */
+    private void recordOutcome(final int statusCode) {
+        if (circuitBreaker == null) {
+            return;
+        }
+
+        if (!isUnavailable(statusCode)) {
+            circuitBreaker.onSuccess();
+            scheduleDrain(0);
+        } else if (circuitBreaker.onFailure()) {
+            logger.warn("Honeybadger API is unavailable. Notices will be spooled for {}ms.",
+                    circuitBreaker.getOpenDurationMillis());
+            scheduleDrain(circuitBreaker.getOpenDurationMillis());
+        }
+    }
+
+    /**
+     * Only network errors and responses that say the API can't take
+     * requests right now count against the circuit; a rejected notice still
+     * means the API is up.
+     *
+     * @param statusCode response status code or -1 for a network error
+     * @return true if the outcome means the API is unavailable
+     */
+    private static boolean isUnavailable(final int statusCode) {
+        return statusCode < 0 || statusCode >= 500 ||
+                statusCode == HttpStatus.SC_REQUEST_TIMEOUT || statusCode == 429;
+    }
+
+    private void spillNotice(final Notice notice) {
+        try {
+            if (!spool.offer(OBJECT_MAPPER.writeValueAsBytes(notice))) {
+                metrics.noticeDropped();
+            }
         } catch (JsonProcessingException e) {
             logger.error("JSON Serialization of the Notice Failed.", e);
-            logger.error("Original Error", error);
-            return null;
+            metrics.noticeDropped();
+            return;
+        }
+
+        // The pass waits for the circuit to let a trial request through
+        scheduleDrain(spoolRetryDelay());
+    }
+
+    /**
+     * @return time to wait before spooled notices are sent again after the
+     *         API was found to be unavailable
+     */
+    private long spoolRetryDelay() {
+        if (circuitBreaker == null) {
+            return DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+        }
+
+        return circuitBreaker.getOpenDurationMillis();
+    }
+
+    /**
+     * Schedules a background pass over the spool unless one is already
+     * scheduled or running, which keeps the spool single-consumer.
+     *
+     * @param delayMillis time to wait before sending spooled notices
+     */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void scheduleDrain(final long delayMillis) {
+        if (spool.size() == 0 || !drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            retryScheduler().schedule(this::drainSpool, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            drainScheduled.set(false);
         }
+    }
+
+    private void drainSpool() {
+        long nextPassMillis = -1;
+
+        try {
+            nextPassMillis = sendSpooledNotices();
+        } finally {
+            drainScheduled.set(false);
+        }
+
+        if (nextPassMillis >= 0) {
+            scheduleDrain(nextPassMillis);
+        }
+    }
+
+    /**
+     * Sends spooled notices oldest first while the circuit allows it. A
+     * notice is removed once the API has answered it; a failure ends the
+     * pass and leaves the notice for the next one.
+     *
+     * @return delay before the next pass or -1 if none is needed
+     */
+    private long sendSpooledNotices() {
+        byte[] payload;
+
+        while (!closed && (payload = spool.peek()) != null) {
+            if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+                return circuitBreaker.getOpenDurationMillis();
+            }
+
+            final long startNanos = System.nanoTime();
+            int statusCode;
 
-        for (int retries = 0; retries <= config.getMaximumErrorReportingRetries(); retries++) {
             try {
-                HttpResponse response = sendToHoneybadger(json)
-                        .returnResponse();
-                int responseCode = response.getStatusLine().getStatusCode();
+                statusCode = sendToHoneybadger(new ByteArrayEntity(payload, ContentType.APPLICATION_JSON))
+                        .getStatusLine().getStatusCode();
+            } catch (IOException e) {
+                logger.debug("Unable to send spooled notice to Honeybadger", e);
+                statusCode = -1;
+            }
 
-                if (responseCode != HttpStatus.SC_CREATED) {
-                    logger.error("Honeybadger did not respond with the " +
-                                    "correct code. Response was [{}]. Retries={}, Maximum={}",
-                            responseCode, retries, config.getMaximumErrorReportingRetries());
-                } else {
-                    UUID id = parseErrorId(response);
+            metrics.responseReceived(statusCode);
+
+            if (isUnavailable(statusCode)) {
+                if (circuitBreaker != null && circuitBreaker.onFailure()) {
+                    logger.warn("Honeybadger API is unavailable. Notices will be spooled for {}ms.",
+                            circuitBreaker.getOpenDurationMillis());
+                }
+
+                return spoolRetryDelay();
+            }
+
+            spool.remove();
+
+            if (statusCode == HttpStatus.SC_CREATED) {
+                metrics.noticeSent(System.nanoTime() - startNanos);
+            } else {
+                metrics.noticeDropped();
+            }
+
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess();
+            }
+        }
+
+        return -1;
+    }
+
+    private static int valueOrDefault(final Integer value, final int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * A single request to the Honeybadger API and the interpretation of its
+     * response.
+     *
+     * @param <T> type of the result
+     */
+    private interface Delivery<T> {
+        HttpResponse send() throws IOException;
+
+        /**
+         * @param response response to an attempt
+         * @return true if the response ends the retries
+         */
+        boolean isFinal(HttpResponse response);
+
+        /**
+         * @param response final response
+         * @return true if the response means the notices were accepted
+         */
+        boolean isDelivered(HttpResponse response);
+
+        T handle(HttpResponse response) throws IOException;
+
+        /**
+         * Stores the payload locally because the API is unavailable.
+         */
+        void spill();
+    }
+
+    /**
+     * Runs the attempts of a {@link Delivery}. The first attempt is made
+     * on the current thread; every retry is scheduled on the retry thread
+     * after the delay chosen by the retry policy, even when it is 0, so the
+     * caller never makes more than one request.
+     *
+     * @param <T> type of the result
+     */
+    private final class RetryingDelivery<T> implements Runnable {
+        private final String description;
+        private final Throwable error;
+        private final T failureValue;
+        private final int noticeCount;
+        private final Delivery<T> delivery;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final long startNanos = System.nanoTime();
+        private JsonStreamingEntity entity;
+        private int attempts = 0;
+        private boolean lastAttemptUnavailable = false;
+        private volatile boolean spilled = false;
+
+        RetryingDelivery(final String description, final Throwable error,
+                         final T failureValue, final int noticeCount, final Delivery<T> delivery) {
+            this.description = description;
+            this.error = error;
+            this.failureValue = failureValue;
+            this.noticeCount = noticeCount;
+            this.delivery = delivery;
+        }
+
+        @SuppressWarnings("FutureReturnValueIgnored")
+        CompletableFuture<T> start(final JsonStreamingEntity payload) {
+            entity = payload;
+            future.whenComplete((result, e) -> payload.close());
+            run();
+            return future;
+        }
 
-                    return new NoticeReportResult(id, notice, error);
+        @Override
+        public void run() {
+            pendingRetries.remove(this);
+
+            final int maxRetries = config.getMaximumErrorReportingRetries();
+
+            if (future.isDone()) {
+                return;
+            }
+
+            if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+                logger.debug("Honeybadger circuit breaker is open. Spooling instead of trying {}.",
+                        description);
+                spill();
+                giveUp();
+                return;
+            }
+
+            final int retries = attempts++;
+            HttpResponse response = null;
+            IOException failure = null;
+
+            if (retries > 0) {
+                metrics.noticeRetried();
+            }
+
+            try {
+                response = delivery.send();
+
+                if (retries == 0 && entity.getSerializedBytes() >= 0) {
+                    metrics.payloadSerialized(entity.getSerializedBytes());
                 }
+
+                metrics.responseReceived(response.getStatusLine().getStatusCode());
+                lastAttemptUnavailable = isUnavailable(response.getStatusLine().getStatusCode());
+                recordOutcome(response.getStatusLine().getStatusCode());
+            } catch (JsonProcessingException e) {
+                logger.error("JSON Serialization of the Notice Failed.", e);
+                logOriginalError();
+                giveUp();
+                return;
             } catch (IOException e) {
+                failure = e;
+                lastAttemptUnavailable = true;
+                metrics.responseReceived(-1);
+                recordOutcome(-1);
+            } catch (RuntimeException e) {
+                if (future.completeExceptionally(e)) {
+                    recordDropped();
+                }
+                return;
+            }
+
+            if (response != null) {
+                if (delivery.isFinal(response)) {
+                    try {
+                        final T result = delivery.handle(response);
+                        recordDelivered(response);
+                        future.complete(result);
+                        return;
+                    } catch (IOException e) {
+                        failure = e;
+                        response = null;
+                    }
+                } else {
+                    logger.error("Honeybadger did not respond with the " +
+                                    "correct code. Response was [{}]. Retries={}, Maximum={}",
+                            response.getStatusLine().getStatusCode(), retries, maxRetries);
+                }
+            }
+
+            if (failure != null) {
                 String msg = String.format("There was an error when trying " +
-                                "to send the error to " +
-                                "Honeybadger. Retries=%d, Maximum=%d", retries,
-                        config.getMaximumErrorReportingRetries());
-                logger.error(msg, e);
+                                "%s to Honeybadger. Retries=%d, Maximum=%d",
+                        description, retries, maxRetries);
+                logger.error(msg, failure);
+                logOriginalError();
+            }
+
+            if (retries >= maxRetries) {
+                spillIfUnavailable();
+                giveUp();
+                return;
+            }
+
+            final long delay = retryPolicy.delayBeforeRetry(attempts,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                    response, failure);
+
+            if (delay == RetryPolicy.GIVE_UP) {
+                logger.warn("Not retrying the attempt {} to Honeybadger", description);
+                spillIfUnavailable();
+                giveUp();
+                return;
+            }
+
+            // Even a retry without delay leaves the caller's thread
+            schedule(delay);
+        }
+
+        @SuppressWarnings("FutureReturnValueIgnored")
+        private void schedule(final long delay) {
+            pendingRetries.add(this);
+
+            try {
+                retryScheduler().schedule(this, delay, TimeUnit.MILLISECONDS);
+                logger.debug("Retrying the attempt {} to Honeybadger in {}ms", description, delay);
+            } catch (RejectedExecutionException e) {
+                pendingRetries.remove(this);
+                giveUp();
+            }
+        }
+
+        void giveUp() {
+            if (future.complete(failureValue) && !spilled) {
+                recordDropped();
+            }
+        }
+
+        /**
+         * Keeps the payload for a later attempt when the retries ran out
+         * because the API was unavailable, rather than because it rejected
+         * the payload.
+         */
+        private void spillIfUnavailable() {
+            if (lastAttemptUnavailable) {
+                logger.info("Spooling the attempt {} to Honeybadger until the API recovers", description);
+                spill();
+            }
+        }
+
+        private void spill() {
+            spilled = true;
+            delivery.spill();
+        }
+
+        private void recordDelivered(final HttpResponse response) {
+            if (!delivery.isDelivered(response)) {
+                return;
+            }
+
+            metrics.noticesSent(noticeCount, System.nanoTime() - startNanos);
+        }
+
+        private void recordDropped() {
+            metrics.noticesDropped(noticeCount);
+        }
+
+        private void logOriginalError() {
+            if (error != null) {
                 logger.error("Original Error", error);
             }
         }
+    }
+
+    /**
+     * Creates the request entity for a payload, compressing it when gzip is
+     * enabled in the configuration.
+     *
+     * @param value notice or list of notices to serialize
+     * @param replayable true if the request may be retried
+     * @return entity that streams the value as JSON
+     */
+    private JsonStreamingEntity newEntity(final Object value, final boolean replayable) {
+        final boolean gzip = Boolean.TRUE.equals(config.isGzipRequestsEnabled());
+        final Integer level = config.getGzipLevel();
+        final Integer threshold = config.getGzipThreshold();
+
+        return new JsonStreamingEntity(OBJECT_MAPPER, value, replayable, gzip,
+                level == null ? DefaultsConfigContext.DEFAULT_GZIP_LEVEL : level,
+                threshold == null ? DefaultsConfigContext.DEFAULT_GZIP_THRESHOLD : threshold);
+    }
+
+    private List<UUID> parseErrorIds(final HttpResponse response, final int expected)
+            throws IOException {
+        final List<UUID> ids = new ArrayList<>(expected);
+
+        try (InputStream in = response.getEntity().getContent();
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+
+            JsonNode responseNode = OBJECT_MAPPER.readTree(reader);
+
+            if (responseNode != null && responseNode.isArray()) {
+                for (JsonNode item : responseNode) {
+                    if (ids.size() == expected) {
+                        break;
+                    }
+
+                    if (item.hasNonNull("id")) {
+                        ids.add(UUID.fromString(item.get("id").textValue()));
+                    } else {
+                        ids.add(null);
+                    }
+                }
+            }
+        }
+
+        while (ids.size() < expected) {
+            ids.add(null);
+        }
 
-        return null;
+        return ids;
     }
 
     private UUID parseErrorId(final HttpResponse response)
@@ -355,27 +1363,38 @@ public class HoneybadgerReporter implements NoticeReporter {
     /**
      * Send an error encoded in JSON to the Honeybadger API.
      *
-     * @param jsonError Error JSON payload
-     * @return Status code from the Honeybadger API
+     * @param jsonError entity that writes the error JSON payload
+     * @return Response from the Honeybadger API
      * @throws IOException thrown when a network exception was encountered
      */
-    protected Response sendToHoneybadger(final String jsonError) throws IOException {
+    protected HttpResponse sendToHoneybadger(final HttpEntity jsonError) throws IOException {
+        if (legacySendOverridden) {
+            return sendToHoneybadger(EntityUtils.toString(decoded(jsonError), StandardCharsets.UTF_8))
+                    .returnResponse();
+        }
+
         URI honeybadgerUrl = URI.create(
                 String.format("%s/%s", getConfig().getHoneybadgerUrl(), "v1/notices"));
-        Request request = buildRequest(honeybadgerUrl, jsonError);
+        HttpPost request = buildRequest(honeybadgerUrl, jsonError);
 
-        return request.execute();
+        return transport.execute(request);
     }
 
     /**
-     * Builds a Apache HTTP Client request object configured for calling the
-     * Honeybadger API.
+     * Send an error encoded in JSON to the Honeybadger API without going
+     * through the pooled transport.
      *
-     * @param honeybadgerUrl Endpoint location
      * @param jsonError Error JSON payload
-     * @return a configured request object
+     * @return Status code from the Honeybadger API
+     * @throws IOException thrown when a network exception was encountered
+     * @deprecated Override {@link #sendToHoneybadger(HttpEntity)} instead.
+     *             Subclasses that still override this method are called with
+     *             the uncompressed payload of every notice.
      */
-    private Request buildRequest(final URI honeybadgerUrl, final String jsonError) {
+    @Deprecated
+    protected Response sendToHoneybadger(final String jsonError) throws IOException {
+        URI honeybadgerUrl = URI.create(
+                String.format("%s/%s", getConfig().getHoneybadgerUrl(), "v1/notices"));
         Request request = Request
                .Post(honeybadgerUrl)
                .addHeader("X-API-Key", getConfig().getApiKey())
@@ -383,13 +1402,8 @@ public class HoneybadgerReporter implements NoticeReporter {
                .version(HttpVersion.HTTP_1_1)
                .bodyString(jsonError, ContentType.APPLICATION_JSON);
 
-        if (System.getProperty("http.proxyHost") != null &&
-            !System.getProperty("http.proxyHost").isEmpty()) {
-            int port = Integer.parseInt(System.getProperty("http.proxyPort"));
-            HttpHost proxy = new HttpHost(System.getProperty("http.proxyHost"),
-                                          port);
-
-            request.viaProxy(proxy);
+        if (getConfig().getHttpProxyHost() != null && getConfig().getHttpProxyPort() != null) {
+            request.viaProxy(new HttpHost(getConfig().getHttpProxyHost(), getConfig().getHttpProxyPort()));
         }
 
         if (getConfig().getSocketTimeout() != null) {
@@ -400,6 +1414,66 @@ public class HoneybadgerReporter implements NoticeReporter {
             request.connectTimeout(getConfig().getConnectTimeout());
         }
 
+        return request.execute();
+    }
+
+    /**
+     * Checks whether a reporter class still overrides the deprecated
+     * {@link #sendToHoneybadger(String)} so that notices keep reaching it.
+     */
+    static boolean overridesLegacySend(final Class<?> type) {
+        for (Class<?> c = type; c != null && c != HoneybadgerReporter.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("sendToHoneybadger", String.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // keep looking in the superclass
+            }
+        }
+
+        return false;
+    }
+
+    private static HttpEntity decoded(final HttpEntity entity) {
+        if (entity.getContentEncoding() != null
+                && "gzip".equalsIgnoreCase(entity.getContentEncoding().getValue())) {
+            return new GzipDecompressingEntity(entity);
+        }
+
+        return entity;
+    }
+
+    /**
+     * Send a batch of errors to the Honeybadger API batch endpoint.
+     *
+     * @param batch entity containing a JSON array of notices
+     * @return Response from the Honeybadger API
+     * @throws IOException thrown when a network exception was encountered
+     */
+    protected HttpResponse sendBatchToHoneybadger(final HttpEntity batch) throws IOException {
+        URI honeybadgerUrl = URI.create(
+                String.format("%s/%s", getConfig().getHoneybadgerUrl(), BATCH_PATH));
+        HttpPost request = buildRequest(honeybadgerUrl, batch);
+
+        return transport.execute(request);
+    }
+
+    /**
+     * Builds a Apache HTTP Client request object configured for calling the
+     * Honeybadger API. Proxy and timeout settings are applied by the
+     * transport.
+     *
+     * @param honeybadgerUrl Endpoint location
+     * @param body JSON payload
+     * @return a configured request object
+     */
+    private HttpPost buildRequest(final URI honeybadgerUrl, final HttpEntity body) {
+        HttpPost request = new HttpPost(honeybadgerUrl);
+        request.setProtocolVersion(HttpVersion.HTTP_1_1);
+        request.addHeader("X-API-Key", getConfig().getApiKey());
+        request.addHeader("Accept", "application/json");
+        request.setEntity(body);
+
         return request;
     }
 
@@ -0,0 +1,374 @@
+package io.honeybadger.reporter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.Header;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP entity that serializes an object as JSON through a
+ * {@link JsonGenerator} directly onto the request output stream instead of
+ * building the whole payload in memory first.
+ *
+ * A replayable entity also copies the bytes into a pooled
+ * {@link ReplayBuffer} while they are streamed, so a retried request resends
+ * exactly the same payload without serializing it again. The buffer is
+ * returned to the pool when the entity is closed. Entities that will only be
+ * sent once skip the copy entirely.
+ *
+ * When gzip is enabled the payload is compressed while it is streamed.
+ * Because the Content-Encoding header has to be chosen before the body is
+ * written, the entity first serializes the value into a buffer that gives up
+ * once it holds more than the threshold. A payload that fits is sent as is
+ * from that small buffer; a larger one is compressed. Only a short prefix of
+ * a large payload is serialized twice, and the raw and compressed forms are
+ * never held in memory together.
+ *
+ * @since 2.1.3
+ */
+final class JsonStreamingEntity extends AbstractHttpEntity implements Closeable {
+    private final ObjectMapper mapper;
+    private final Object value;
+    private final boolean replayable;
+    private final boolean gzip;
+    private final int gzipLevel;
+    private final int gzipThreshold;
+    private ReplayBuffer buffer;
+    private boolean buffered;
+    private boolean prepared;
+    private byte[] small;
+    private long serializedBytes = -1;
+
+    JsonStreamingEntity(final ObjectMapper mapper, final Object value,
+                        final boolean replayable) {
+        this(mapper, value, replayable, false, 0, 0);
+    }
+
+    /**
+     * @param mapper mapper used to serialize the value
+     * @param value value to serialize
+     * @param replayable true if the entity may be written more than once
+     * @param gzip true to compress payloads larger than the threshold
+     * @param gzipLevel compression level from 1 to 9
+     * @param gzipThreshold payload size in bytes below which compression is skipped
+     */
+    JsonStreamingEntity(final ObjectMapper mapper, final Object value,
+                        final boolean replayable, final boolean gzip,
+                        final int gzipLevel, final int gzipThreshold) {
+        this.mapper = mapper;
+        this.value = value;
+        this.replayable = replayable;
+        this.gzip = gzip;
+        this.gzipLevel = gzipLevel;
+        this.gzipThreshold = gzipThreshold;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return replayable;
+    }
+
+    /**
+     * @return length of the payload if it has already been serialized in
+     *         full, otherwise -1 because it isn't known until it is written
+     */
+    @Override
+    public long getContentLength() {
+        prepare();
+
+        if (small != null) {
+            return small.length;
+        }
+
+        return buffered ? buffer.size() : -1;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return getContentLength() < 0;
+    }
+
+    @Override
+    public Header getContentEncoding() {
+        prepare();
+        return super.getContentEncoding();
+    }
+
+    /**
+     * @return true if the payload is sent gzip compressed
+     */
+    boolean isCompressed() {
+        prepare();
+        return super.getContentEncoding() != null;
+    }
+
+    /**
+     * @return size in bytes of the JSON before compression the last time the
+     *         value was serialized, or -1 if it hasn't been serialized yet
+     */
+    long getSerializedBytes() {
+        return serializedBytes;
+    }
+
+    /**
+     * Only used by callers that pull the body instead of letting it be
+     * written, so buffering here is acceptable.
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @Override
+    public void writeTo(final OutputStream out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream must not be null");
+        }
+
+        prepare();
+
+        if (small != null) {
+            out.write(small);
+            return;
+        }
+
+        if (buffered) {
+            buffer.replay(out);
+            return;
+        }
+
+        if (!replayable) {
+            writeBody(out);
+            return;
+        }
+
+        if (buffer == null) {
+            buffer = new ReplayBuffer();
+        } else {
+            // A previous attempt failed part way through the payload
+            buffer.reset();
+        }
+
+        writeBody(new TeeOutputStream(out, buffer));
+        buffered = true;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * Returns the replay buffer, if one was used, to the pool.
+     */
+    @Override
+    public void close() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+            buffered = false;
+        }
+    }
+
+    /**
+     * Decides whether the payload is compressed by serializing the value
+     * into a buffer that refuses to grow past the threshold.
+     */
+    private void prepare() {
+        if (prepared) {
+            return;
+        }
+
+        prepared = true;
+
+        if (!gzip) {
+            return;
+        }
+
+        final ThresholdOutputStream probe = new ThresholdOutputStream(gzipThreshold);
+
+        try {
+            serialize(probe);
+            small = probe.toByteArray();
+        } catch (IOException e) {
+            // Over the threshold, or serialization failed and the error will
+            // surface again when the body is written
+            setContentEncoding("gzip");
+        }
+    }
+
+    private void writeBody(final OutputStream out) throws IOException {
+        if (super.getContentEncoding() == null) {
+            serialize(out);
+            return;
+        }
+
+        try (GZIPOutputStream compressed = new LeveledGzipOutputStream(
+                new NonClosingOutputStream(out), gzipLevel)) {
+            serialize(compressed);
+        }
+    }
+
+    private void serialize(final OutputStream out) throws IOException {
+        final CountingOutputStream counted = new CountingOutputStream(out);
+
+        // The generator would otherwise close the socket stream when it is done
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(counted, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            mapper.writeValue(generator, value);
+        }
+
+        serializedBytes = counted.count;
+    }
+
+    /**
+     * Collects bytes until the limit is reached and then aborts the write.
+     */
+    private static final class ThresholdOutputStream extends OutputStream {
+        private final int limit;
+        private final ByteArrayOutputStream bytes;
+
+        ThresholdOutputStream(final int limit) {
+            this.limit = limit;
+            this.bytes = new ByteArrayOutputStream(Math.min(limit, 1024));
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (bytes.size() + 1 > limit) {
+                throw new ThresholdExceededException();
+            }
+
+            bytes.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (bytes.size() + len > limit) {
+                throw new ThresholdExceededException();
+            }
+
+            bytes.write(b, off, len);
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Thrown by the probe to stop serialization early. It carries no stack
+     * trace because it is expected.
+     */
+    private static final class ThresholdExceededException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        ThresholdExceededException() {
+            super("Payload exceeds compression threshold");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Gzip stream with a configurable compression level.
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(final OutputStream out, final int level) throws IOException {
+            super(out, ReplayBuffer.SEGMENT_SIZE);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * Lets the gzip stream be closed, which releases its native deflater,
+     * without closing the connection stream underneath it.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Counts the bytes written by the generator, which writes whole buffers
+     * at a time, so counting costs an addition per buffer.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * Writes every byte to the socket and to the replay buffer.
+     */
+    private static final class TeeOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final ReplayBuffer copy;
+
+        TeeOutputStream(final OutputStream out, final ReplayBuffer copy) {
+            this.out = out;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
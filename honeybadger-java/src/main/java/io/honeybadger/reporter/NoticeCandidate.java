@@ -0,0 +1,118 @@
+package io.honeybadger.reporter;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import io.honeybadger.reporter.dedup.Fingerprints;
+import io.honeybadger.reporter.dto.ApplicationPackageMatcher;
+import io.honeybadger.reporter.dto.Request;
+
+import java.util.Set;
+
+/**
+ * Identity of an error that is about to be reported, as seen by
+ * {@link NoticeFilter}s. The grouping fingerprint is only computed when a
+ * filter asks for it.
+ *
+ * @since 2.1.3
+ */
+public final class NoticeCandidate {
+    private final ConfigContext config;
+    private final Throwable error;
+    private final Request request;
+    private final String message;
+    private final Set<String> tags;
+    private final String fingerprint;
+    private String groupingFingerprint;
+    private long occurrences = 1;
+    private double sampleRate = 1.0;
+
+    NoticeCandidate(final ConfigContext config, final Throwable error, final Request request,
+                    final String message, final Set<String> tags, final String fingerprint) {
+        this.config = config;
+        this.error = error;
+        this.request = request;
+        this.message = message;
+        this.tags = tags;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * @return error being reported
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * @return name of the class of the error
+     */
+    public String getErrorClassName() {
+        return error.getClass().getName();
+    }
+
+    /**
+     * @return request the error occurred in or null
+     */
+    public Request getRequest() {
+        return request;
+    }
+
+    /**
+     * @return message to report instead of the message of the error or null
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return tags of the notice
+     */
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return fingerprint passed by the caller or null
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return fingerprint that repeats of the error are grouped by: the
+     *         fingerprint passed by the caller or one computed from the
+     *         error's class and topmost application frames
+     */
+    public String getGroupingFingerprint() {
+        if (groupingFingerprint == null) {
+            final Integer frames = config.getDedupFrames();
+            groupingFingerprint = Fingerprints.of(error, fingerprint,
+                    ApplicationPackageMatcher.forConfig(config),
+                    frames == null ? DefaultsConfigContext.DEFAULT_DEDUP_FRAMES : frames);
+        }
+
+        return groupingFingerprint;
+    }
+
+    /**
+     * @return number of occurrences the notice stands for
+     */
+    public long getOccurrences() {
+        return occurrences;
+    }
+
+    /**
+     * @return share of the occurrences of the error that are sent
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    void setOccurrences(final long occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    void setSampleRate(final double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
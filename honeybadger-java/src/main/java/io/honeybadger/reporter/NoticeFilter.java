@@ -0,0 +1,18 @@
+package io.honeybadger.reporter;
+
+/**
+ * Decides whether an error is reported. Filters run on the thread reporting
+ * the error before the notice is assembled, so rejected errors cost no more
+ * than the filters themselves. A filter should only look at the cheap
+ * identity data of the candidate.
+ *
+ * @since 2.1.3
+ */
+@FunctionalInterface
+public interface NoticeFilter {
+    /**
+     * @param candidate error about to be reported
+     * @return true to report the error, false to drop it
+     */
+    boolean accept(NoticeCandidate candidate);
+}
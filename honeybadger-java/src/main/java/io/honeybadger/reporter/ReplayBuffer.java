@@ -0,0 +1,122 @@
+package io.honeybadger.reporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Output stream that stores what is written to it in fixed size segments
+ * borrowed from a process wide pool, so that a serialized payload can be
+ * written again without being serialized again. Segments are handed back to
+ * the pool by {@link #release()}, which keeps the garbage produced per report
+ * constant no matter how large the payloads are.
+ *
+ * Instances are not thread-safe.
+ *
+ * @since 2.1.3
+ */
+final class ReplayBuffer extends OutputStream {
+    static final int SEGMENT_SIZE = 8 * 1024;
+
+    /** Upper bound on the memory retained by the pool between reports. */
+    private static final int MAX_POOLED_SEGMENTS = 128;
+
+    private static final BlockingQueue<byte[]> POOL =
+            new ArrayBlockingQueue<>(MAX_POOLED_SEGMENTS);
+
+    private final List<byte[]> segments = new ArrayList<>();
+    private int size;
+
+    @Override
+    public void write(final int b) {
+        final int offset = size % SEGMENT_SIZE;
+
+        if (offset == 0 && size / SEGMENT_SIZE == segments.size()) {
+            segments.add(borrow());
+        }
+
+        segments.get(size / SEGMENT_SIZE)[offset] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        int written = 0;
+
+        while (written < len) {
+            final int offset = size % SEGMENT_SIZE;
+
+            if (offset == 0 && size / SEGMENT_SIZE == segments.size()) {
+                segments.add(borrow());
+            }
+
+            final int chunk = Math.min(len - written, SEGMENT_SIZE - offset);
+            System.arraycopy(b, off + written, segments.get(size / SEGMENT_SIZE), offset, chunk);
+            written += chunk;
+            size += chunk;
+        }
+    }
+
+    /**
+     * @return number of bytes held by the buffer
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Writes the buffered bytes to another stream.
+     *
+     * @param out stream to copy the buffered bytes to
+     * @throws IOException thrown when the target stream fails
+     */
+    void replay(final OutputStream out) throws IOException {
+        int remaining = size;
+
+        for (byte[] segment : segments) {
+            if (remaining == 0) {
+                break;
+            }
+
+            final int chunk = Math.min(remaining, SEGMENT_SIZE);
+            out.write(segment, 0, chunk);
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Discards the buffered bytes but keeps the segments for reuse by this
+     * buffer.
+     */
+    void reset() {
+        size = 0;
+    }
+
+    /**
+     * Discards the buffered bytes and hands the segments back to the pool.
+     */
+    void release() {
+        for (byte[] segment : segments) {
+            // When the pool is full the segment is simply left to the GC
+            POOL.offer(segment);
+        }
+
+        segments.clear();
+        size = 0;
+    }
+
+    /**
+     * @return number of segments currently available in the pool
+     */
+    static int pooledSegments() {
+        return POOL.size();
+    }
+
+    private static byte[] borrow() {
+        final byte[] segment = POOL.poll();
+        return segment == null ? new byte[SEGMENT_SIZE] : segment;
+    }
+}
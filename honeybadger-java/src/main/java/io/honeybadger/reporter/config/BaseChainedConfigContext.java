@@ -38,6 +38,48 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
     private Integer maximumErrorReportingRetries;
     private Integer socketTimeout;
     private Integer connectTimeout;
+    private Integer asyncQueueCapacity;
+    private Integer asyncSenderThreads;
+    private String asyncOverflowPolicy;
+    private Integer asyncBlockTimeout;
+    private Integer batchSize;
+    private Integer batchFlushInterval;
+    private Integer maxConnectionsPerRoute;
+    private Integer connectionIdleTimeout;
+    private Boolean gzipRequestsEnabled;
+    private Integer gzipLevel;
+    private Integer gzipThreshold;
+    private Integer retryBaseDelay;
+    private Integer retryMaxDelay;
+    private Integer retryMaxElapsed;
+    private Boolean circuitBreakerEnabled;
+    private Integer circuitBreakerWindowSize;
+    private Integer circuitBreakerFailureRate;
+    private Integer circuitBreakerOpenDuration;
+    private Integer spoolMaxNotices;
+    private String spoolDirectory;
+    private Integer spoolSegmentSize;
+    private Integer spoolMaxSize;
+    private Integer spoolMaxAge;
+    private Integer spoolSyncInterval;
+    private Integer dedupWindow;
+    private Integer dedupMaxFingerprints;
+    private Integer dedupFrames;
+    private Integer rateLimitPerFingerprint;
+    private Integer rateLimitGlobal;
+    private String samplingRules;
+    private Integer samplingPeriod;
+    private Integer maxBacktraceDepth;
+    private Boolean collapseRepeatedFramesEnabled;
+    private Boolean omitCommonFramesEnabled;
+    private String excludedApplicationPackages;
+    private String mdcAllowedKeys;
+    private Integer mdcMaxSize;
+    private Boolean metricsJmxEnabled;
+    private Integer metricsLogInterval;
+    private Integer statsSampleInterval;
+    private Boolean jvmStatsEnabled;
+    private Boolean deadlockDetectionEnabled;
 
     /**
      * Constructor that prepopulates configuration context with the default
@@ -202,6 +244,426 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
         return this;
     }
 
+    @Override
+    public Integer getAsyncQueueCapacity() {
+        return asyncQueueCapacity;
+    }
+
+    public BaseChainedConfigContext setAsyncQueueCapacity(final Integer asyncQueueCapacity) {
+        this.asyncQueueCapacity = asyncQueueCapacity;
+        return this;
+    }
+
+    @Override
+    public Integer getAsyncSenderThreads() {
+        return asyncSenderThreads;
+    }
+
+    public BaseChainedConfigContext setAsyncSenderThreads(final Integer asyncSenderThreads) {
+        this.asyncSenderThreads = asyncSenderThreads;
+        return this;
+    }
+
+    @Override
+    public String getAsyncOverflowPolicy() {
+        return asyncOverflowPolicy;
+    }
+
+    public BaseChainedConfigContext setAsyncOverflowPolicy(final String asyncOverflowPolicy) {
+        this.asyncOverflowPolicy = asyncOverflowPolicy;
+        return this;
+    }
+
+    @Override
+    public Integer getAsyncBlockTimeout() {
+        return asyncBlockTimeout;
+    }
+
+    public BaseChainedConfigContext setAsyncBlockTimeout(final Integer asyncBlockTimeout) {
+        this.asyncBlockTimeout = asyncBlockTimeout;
+        return this;
+    }
+
+    @Override
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public BaseChainedConfigContext setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @Override
+    public Integer getBatchFlushInterval() {
+        return batchFlushInterval;
+    }
+
+    public BaseChainedConfigContext setBatchFlushInterval(final Integer batchFlushInterval) {
+        this.batchFlushInterval = batchFlushInterval;
+        return this;
+    }
+
+    @Override
+    public Integer getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public BaseChainedConfigContext setMaxConnectionsPerRoute(final Integer maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    @Override
+    public Integer getConnectionIdleTimeout() {
+        return connectionIdleTimeout;
+    }
+
+    public BaseChainedConfigContext setConnectionIdleTimeout(final Integer connectionIdleTimeout) {
+        this.connectionIdleTimeout = connectionIdleTimeout;
+        return this;
+    }
+
+    @Override
+    public Boolean isGzipRequestsEnabled() {
+        return gzipRequestsEnabled;
+    }
+
+    public BaseChainedConfigContext setGzipRequestsEnabled(final Boolean gzipRequestsEnabled) {
+        this.gzipRequestsEnabled = gzipRequestsEnabled;
+        return this;
+    }
+
+    @Override
+    public Integer getGzipLevel() {
+        return gzipLevel;
+    }
+
+    public BaseChainedConfigContext setGzipLevel(final Integer gzipLevel) {
+        this.gzipLevel = gzipLevel;
+        return this;
+    }
+
+    @Override
+    public Integer getGzipThreshold() {
+        return gzipThreshold;
+    }
+
+    public BaseChainedConfigContext setGzipThreshold(final Integer gzipThreshold) {
+        this.gzipThreshold = gzipThreshold;
+        return this;
+    }
+
+    @Override
+    public Integer getRetryBaseDelay() {
+        return retryBaseDelay;
+    }
+
+    public BaseChainedConfigContext setRetryBaseDelay(final Integer retryBaseDelay) {
+        this.retryBaseDelay = retryBaseDelay;
+        return this;
+    }
+
+    @Override
+    public Integer getRetryMaxDelay() {
+        return retryMaxDelay;
+    }
+
+    public BaseChainedConfigContext setRetryMaxDelay(final Integer retryMaxDelay) {
+        this.retryMaxDelay = retryMaxDelay;
+        return this;
+    }
+
+    @Override
+    public Integer getRetryMaxElapsed() {
+        return retryMaxElapsed;
+    }
+
+    public BaseChainedConfigContext setRetryMaxElapsed(final Integer retryMaxElapsed) {
+        this.retryMaxElapsed = retryMaxElapsed;
+        return this;
+    }
+
+    @Override
+    public Boolean isCircuitBreakerEnabled() {
+        return circuitBreakerEnabled;
+    }
+
+    public BaseChainedConfigContext setCircuitBreakerEnabled(final Boolean circuitBreakerEnabled) {
+        this.circuitBreakerEnabled = circuitBreakerEnabled;
+        return this;
+    }
+
+    @Override
+    public Integer getCircuitBreakerWindowSize() {
+        return circuitBreakerWindowSize;
+    }
+
+    public BaseChainedConfigContext setCircuitBreakerWindowSize(final Integer circuitBreakerWindowSize) {
+        this.circuitBreakerWindowSize = circuitBreakerWindowSize;
+        return this;
+    }
+
+    @Override
+    public Integer getCircuitBreakerFailureRate() {
+        return circuitBreakerFailureRate;
+    }
+
+    public BaseChainedConfigContext setCircuitBreakerFailureRate(final Integer circuitBreakerFailureRate) {
+        this.circuitBreakerFailureRate = circuitBreakerFailureRate;
+        return this;
+    }
+
+    @Override
+    public Integer getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration;
+    }
+
+    public BaseChainedConfigContext setCircuitBreakerOpenDuration(final Integer circuitBreakerOpenDuration) {
+        this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+        return this;
+    }
+
+    @Override
+    public Integer getSpoolMaxNotices() {
+        return spoolMaxNotices;
+    }
+
+    public BaseChainedConfigContext setSpoolMaxNotices(final Integer spoolMaxNotices) {
+        this.spoolMaxNotices = spoolMaxNotices;
+        return this;
+    }
+
+    @Override
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public BaseChainedConfigContext setSpoolDirectory(final String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+        return this;
+    }
+
+    @Override
+    public Integer getSpoolSegmentSize() {
+        return spoolSegmentSize;
+    }
+
+    public BaseChainedConfigContext setSpoolSegmentSize(final Integer spoolSegmentSize) {
+        this.spoolSegmentSize = spoolSegmentSize;
+        return this;
+    }
+
+    @Override
+    public Integer getSpoolMaxSize() {
+        return spoolMaxSize;
+    }
+
+    public BaseChainedConfigContext setSpoolMaxSize(final Integer spoolMaxSize) {
+        this.spoolMaxSize = spoolMaxSize;
+        return this;
+    }
+
+    @Override
+    public Integer getSpoolMaxAge() {
+        return spoolMaxAge;
+    }
+
+    public BaseChainedConfigContext setSpoolMaxAge(final Integer spoolMaxAge) {
+        this.spoolMaxAge = spoolMaxAge;
+        return this;
+    }
+
+    @Override
+    public Integer getSpoolSyncInterval() {
+        return spoolSyncInterval;
+    }
+
+    public BaseChainedConfigContext setSpoolSyncInterval(final Integer spoolSyncInterval) {
+        this.spoolSyncInterval = spoolSyncInterval;
+        return this;
+    }
+
+    @Override
+    public Integer getDedupWindow() {
+        return dedupWindow;
+    }
+
+    public BaseChainedConfigContext setDedupWindow(final Integer dedupWindow) {
+        this.dedupWindow = dedupWindow;
+        return this;
+    }
+
+    @Override
+    public Integer getDedupMaxFingerprints() {
+        return dedupMaxFingerprints;
+    }
+
+    public BaseChainedConfigContext setDedupMaxFingerprints(final Integer dedupMaxFingerprints) {
+        this.dedupMaxFingerprints = dedupMaxFingerprints;
+        return this;
+    }
+
+    @Override
+    public Integer getDedupFrames() {
+        return dedupFrames;
+    }
+
+    public BaseChainedConfigContext setDedupFrames(final Integer dedupFrames) {
+        this.dedupFrames = dedupFrames;
+        return this;
+    }
+
+    @Override
+    public Integer getRateLimitPerFingerprint() {
+        return rateLimitPerFingerprint;
+    }
+
+    public BaseChainedConfigContext setRateLimitPerFingerprint(final Integer rateLimitPerFingerprint) {
+        this.rateLimitPerFingerprint = rateLimitPerFingerprint;
+        return this;
+    }
+
+    @Override
+    public Integer getRateLimitGlobal() {
+        return rateLimitGlobal;
+    }
+
+    public BaseChainedConfigContext setRateLimitGlobal(final Integer rateLimitGlobal) {
+        this.rateLimitGlobal = rateLimitGlobal;
+        return this;
+    }
+
+    @Override
+    public String getSamplingRules() {
+        return samplingRules;
+    }
+
+    public BaseChainedConfigContext setSamplingRules(final String samplingRules) {
+        this.samplingRules = samplingRules;
+        return this;
+    }
+
+    @Override
+    public Integer getSamplingPeriod() {
+        return samplingPeriod;
+    }
+
+    public BaseChainedConfigContext setSamplingPeriod(final Integer samplingPeriod) {
+        this.samplingPeriod = samplingPeriod;
+        return this;
+    }
+
+    @Override
+    public Integer getMaxBacktraceDepth() {
+        return maxBacktraceDepth;
+    }
+
+    public BaseChainedConfigContext setMaxBacktraceDepth(final Integer maxBacktraceDepth) {
+        this.maxBacktraceDepth = maxBacktraceDepth;
+        return this;
+    }
+
+    @Override
+    public Boolean isCollapseRepeatedFramesEnabled() {
+        return collapseRepeatedFramesEnabled;
+    }
+
+    public BaseChainedConfigContext setCollapseRepeatedFramesEnabled(final Boolean collapseRepeatedFramesEnabled) {
+        this.collapseRepeatedFramesEnabled = collapseRepeatedFramesEnabled;
+        return this;
+    }
+
+    @Override
+    public Boolean isOmitCommonFramesEnabled() {
+        return omitCommonFramesEnabled;
+    }
+
+    public BaseChainedConfigContext setOmitCommonFramesEnabled(final Boolean omitCommonFramesEnabled) {
+        this.omitCommonFramesEnabled = omitCommonFramesEnabled;
+        return this;
+    }
+
+    @Override
+    public String getExcludedApplicationPackages() {
+        return excludedApplicationPackages;
+    }
+
+    public BaseChainedConfigContext setExcludedApplicationPackages(final String excludedApplicationPackages) {
+        this.excludedApplicationPackages = excludedApplicationPackages;
+        return this;
+    }
+
+    @Override
+    public String getMdcAllowedKeys() {
+        return mdcAllowedKeys;
+    }
+
+    public BaseChainedConfigContext setMdcAllowedKeys(final String mdcAllowedKeys) {
+        this.mdcAllowedKeys = mdcAllowedKeys;
+        return this;
+    }
+
+    @Override
+    public Integer getMdcMaxSize() {
+        return mdcMaxSize;
+    }
+
+    public BaseChainedConfigContext setMdcMaxSize(final Integer mdcMaxSize) {
+        this.mdcMaxSize = mdcMaxSize;
+        return this;
+    }
+
+    @Override
+    public Boolean isMetricsJmxEnabled() {
+        return metricsJmxEnabled;
+    }
+
+    public BaseChainedConfigContext setMetricsJmxEnabled(final Boolean metricsJmxEnabled) {
+        this.metricsJmxEnabled = metricsJmxEnabled;
+        return this;
+    }
+
+    @Override
+    public Integer getMetricsLogInterval() {
+        return metricsLogInterval;
+    }
+
+    public BaseChainedConfigContext setMetricsLogInterval(final Integer metricsLogInterval) {
+        this.metricsLogInterval = metricsLogInterval;
+        return this;
+    }
+
+    @Override
+    public Integer getStatsSampleInterval() {
+        return statsSampleInterval;
+    }
+
+    public BaseChainedConfigContext setStatsSampleInterval(final Integer statsSampleInterval) {
+        this.statsSampleInterval = statsSampleInterval;
+        return this;
+    }
+
+    @Override
+    public Boolean isJvmStatsEnabled() {
+        return jvmStatsEnabled;
+    }
+
+    public BaseChainedConfigContext setJvmStatsEnabled(final Boolean jvmStatsEnabled) {
+        this.jvmStatsEnabled = jvmStatsEnabled;
+        return this;
+    }
+
+    @Override
+    public Boolean isDeadlockDetectionEnabled() {
+        return deadlockDetectionEnabled;
+    }
+
+    public BaseChainedConfigContext setDeadlockDetectionEnabled(final Boolean deadlockDetectionEnabled) {
+        this.deadlockDetectionEnabled = deadlockDetectionEnabled;
+        return this;
+    }
+
     /**
      * Overwrites the configuration values with the values of the passed context
      * if those values are not null and aren't empty.
@@ -267,6 +729,174 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
         if (context.getConnectTimeout() != null) {
             this.connectTimeout = context.getConnectTimeout();
         }
+
+        if (context.getAsyncQueueCapacity() != null) {
+            this.asyncQueueCapacity = context.getAsyncQueueCapacity();
+        }
+
+        if (context.getAsyncSenderThreads() != null) {
+            this.asyncSenderThreads = context.getAsyncSenderThreads();
+        }
+
+        if (isPresent(context.getAsyncOverflowPolicy())) {
+            this.asyncOverflowPolicy = context.getAsyncOverflowPolicy();
+        }
+
+        if (context.getAsyncBlockTimeout() != null) {
+            this.asyncBlockTimeout = context.getAsyncBlockTimeout();
+        }
+
+        if (context.getBatchSize() != null) {
+            this.batchSize = context.getBatchSize();
+        }
+
+        if (context.getBatchFlushInterval() != null) {
+            this.batchFlushInterval = context.getBatchFlushInterval();
+        }
+
+        if (context.getMaxConnectionsPerRoute() != null) {
+            this.maxConnectionsPerRoute = context.getMaxConnectionsPerRoute();
+        }
+
+        if (context.getConnectionIdleTimeout() != null) {
+            this.connectionIdleTimeout = context.getConnectionIdleTimeout();
+        }
+
+        if (context.isGzipRequestsEnabled() != null) {
+            this.gzipRequestsEnabled = context.isGzipRequestsEnabled();
+        }
+
+        if (context.getGzipLevel() != null) {
+            this.gzipLevel = context.getGzipLevel();
+        }
+
+        if (context.getGzipThreshold() != null) {
+            this.gzipThreshold = context.getGzipThreshold();
+        }
+
+        if (context.getRetryBaseDelay() != null) {
+            this.retryBaseDelay = context.getRetryBaseDelay();
+        }
+
+        if (context.getRetryMaxDelay() != null) {
+            this.retryMaxDelay = context.getRetryMaxDelay();
+        }
+
+        if (context.getRetryMaxElapsed() != null) {
+            this.retryMaxElapsed = context.getRetryMaxElapsed();
+        }
+
+        if (context.isCircuitBreakerEnabled() != null) {
+            this.circuitBreakerEnabled = context.isCircuitBreakerEnabled();
+        }
+
+        if (context.getCircuitBreakerWindowSize() != null) {
+            this.circuitBreakerWindowSize = context.getCircuitBreakerWindowSize();
+        }
+
+        if (context.getCircuitBreakerFailureRate() != null) {
+            this.circuitBreakerFailureRate = context.getCircuitBreakerFailureRate();
+        }
+
+        if (context.getCircuitBreakerOpenDuration() != null) {
+            this.circuitBreakerOpenDuration = context.getCircuitBreakerOpenDuration();
+        }
+
+        if (context.getSpoolMaxNotices() != null) {
+            this.spoolMaxNotices = context.getSpoolMaxNotices();
+        }
+
+        if (isPresent(context.getSpoolDirectory())) {
+            this.spoolDirectory = context.getSpoolDirectory();
+        }
+
+        if (context.getSpoolSegmentSize() != null) {
+            this.spoolSegmentSize = context.getSpoolSegmentSize();
+        }
+
+        if (context.getSpoolMaxSize() != null) {
+            this.spoolMaxSize = context.getSpoolMaxSize();
+        }
+
+        if (context.getSpoolMaxAge() != null) {
+            this.spoolMaxAge = context.getSpoolMaxAge();
+        }
+
+        if (context.getSpoolSyncInterval() != null) {
+            this.spoolSyncInterval = context.getSpoolSyncInterval();
+        }
+
+        if (context.getDedupWindow() != null) {
+            this.dedupWindow = context.getDedupWindow();
+        }
+
+        if (context.getDedupMaxFingerprints() != null) {
+            this.dedupMaxFingerprints = context.getDedupMaxFingerprints();
+        }
+
+        if (context.getDedupFrames() != null) {
+            this.dedupFrames = context.getDedupFrames();
+        }
+
+        if (context.getRateLimitPerFingerprint() != null) {
+            this.rateLimitPerFingerprint = context.getRateLimitPerFingerprint();
+        }
+
+        if (context.getRateLimitGlobal() != null) {
+            this.rateLimitGlobal = context.getRateLimitGlobal();
+        }
+
+        if (isPresent(context.getSamplingRules())) {
+            this.samplingRules = context.getSamplingRules();
+        }
+
+        if (context.getSamplingPeriod() != null) {
+            this.samplingPeriod = context.getSamplingPeriod();
+        }
+
+        if (context.getMaxBacktraceDepth() != null) {
+            this.maxBacktraceDepth = context.getMaxBacktraceDepth();
+        }
+
+        if (context.isCollapseRepeatedFramesEnabled() != null) {
+            this.collapseRepeatedFramesEnabled = context.isCollapseRepeatedFramesEnabled();
+        }
+
+        if (context.isOmitCommonFramesEnabled() != null) {
+            this.omitCommonFramesEnabled = context.isOmitCommonFramesEnabled();
+        }
+
+        if (isPresent(context.getExcludedApplicationPackages())) {
+            this.excludedApplicationPackages = context.getExcludedApplicationPackages();
+        }
+
+        if (isPresent(context.getMdcAllowedKeys())) {
+            this.mdcAllowedKeys = context.getMdcAllowedKeys();
+        }
+
+        if (context.getMdcMaxSize() != null) {
+            this.mdcMaxSize = context.getMdcMaxSize();
+        }
+
+        if (context.isMetricsJmxEnabled() != null) {
+            this.metricsJmxEnabled = context.isMetricsJmxEnabled();
+        }
+
+        if (context.getMetricsLogInterval() != null) {
+            this.metricsLogInterval = context.getMetricsLogInterval();
+        }
+
+        if (context.getStatsSampleInterval() != null) {
+            this.statsSampleInterval = context.getStatsSampleInterval();
+        }
+
+        if (context.isJvmStatsEnabled() != null) {
+            this.jvmStatsEnabled = context.isJvmStatsEnabled();
+        }
+
+        if (context.isDeadlockDetectionEnabled() != null) {
+            this.deadlockDetectionEnabled = context.isDeadlockDetectionEnabled();
+        }
     }
 
     @SuppressWarnings("HiddenField")
@@ -299,7 +929,49 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
                 Objects.equals(httpProxyPort, that.httpProxyPort) &&
                 Objects.equals(maximumErrorReportingRetries, that.maximumErrorReportingRetries) &&
                 Objects.equals(socketTimeout, that.socketTimeout) &&
-                Objects.equals(connectTimeout, that.connectTimeout);
+                Objects.equals(connectTimeout, that.connectTimeout) &&
+                Objects.equals(asyncQueueCapacity, that.asyncQueueCapacity) &&
+                Objects.equals(asyncSenderThreads, that.asyncSenderThreads) &&
+                Objects.equals(asyncOverflowPolicy, that.asyncOverflowPolicy) &&
+                Objects.equals(asyncBlockTimeout, that.asyncBlockTimeout) &&
+                Objects.equals(batchSize, that.batchSize) &&
+                Objects.equals(batchFlushInterval, that.batchFlushInterval) &&
+                Objects.equals(maxConnectionsPerRoute, that.maxConnectionsPerRoute) &&
+                Objects.equals(connectionIdleTimeout, that.connectionIdleTimeout) &&
+                Objects.equals(gzipRequestsEnabled, that.gzipRequestsEnabled) &&
+                Objects.equals(gzipLevel, that.gzipLevel) &&
+                Objects.equals(gzipThreshold, that.gzipThreshold) &&
+                Objects.equals(retryBaseDelay, that.retryBaseDelay) &&
+                Objects.equals(retryMaxDelay, that.retryMaxDelay) &&
+                Objects.equals(retryMaxElapsed, that.retryMaxElapsed) &&
+                Objects.equals(circuitBreakerEnabled, that.circuitBreakerEnabled) &&
+                Objects.equals(circuitBreakerWindowSize, that.circuitBreakerWindowSize) &&
+                Objects.equals(circuitBreakerFailureRate, that.circuitBreakerFailureRate) &&
+                Objects.equals(circuitBreakerOpenDuration, that.circuitBreakerOpenDuration) &&
+                Objects.equals(spoolMaxNotices, that.spoolMaxNotices) &&
+                Objects.equals(spoolDirectory, that.spoolDirectory) &&
+                Objects.equals(spoolSegmentSize, that.spoolSegmentSize) &&
+                Objects.equals(spoolMaxSize, that.spoolMaxSize) &&
+                Objects.equals(spoolMaxAge, that.spoolMaxAge) &&
+                Objects.equals(spoolSyncInterval, that.spoolSyncInterval) &&
+                Objects.equals(dedupWindow, that.dedupWindow) &&
+                Objects.equals(dedupMaxFingerprints, that.dedupMaxFingerprints) &&
+                Objects.equals(dedupFrames, that.dedupFrames) &&
+                Objects.equals(rateLimitPerFingerprint, that.rateLimitPerFingerprint) &&
+                Objects.equals(rateLimitGlobal, that.rateLimitGlobal) &&
+                Objects.equals(samplingRules, that.samplingRules) &&
+                Objects.equals(samplingPeriod, that.samplingPeriod) &&
+                Objects.equals(maxBacktraceDepth, that.maxBacktraceDepth) &&
+                Objects.equals(collapseRepeatedFramesEnabled, that.collapseRepeatedFramesEnabled) &&
+                Objects.equals(omitCommonFramesEnabled, that.omitCommonFramesEnabled) &&
+                Objects.equals(excludedApplicationPackages, that.excludedApplicationPackages) &&
+                Objects.equals(mdcAllowedKeys, that.mdcAllowedKeys) &&
+                Objects.equals(mdcMaxSize, that.mdcMaxSize) &&
+                Objects.equals(metricsJmxEnabled, that.metricsJmxEnabled) &&
+                Objects.equals(metricsLogInterval, that.metricsLogInterval) &&
+                Objects.equals(statsSampleInterval, that.statsSampleInterval) &&
+                Objects.equals(jvmStatsEnabled, that.jvmStatsEnabled) &&
+                Objects.equals(deadlockDetectionEnabled, that.deadlockDetectionEnabled);
     }
 
     @Override
@@ -320,6 +992,48 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
                 ", maximumErrorReportingRetries=" + maximumErrorReportingRetries +
                 ", socketTimeout=" + socketTimeout +
                 ", connectTimeout=" + connectTimeout +
+                ", asyncQueueCapacity=" + asyncQueueCapacity +
+                ", asyncSenderThreads=" + asyncSenderThreads +
+                ", asyncOverflowPolicy='" + asyncOverflowPolicy + '\'' +
+                ", asyncBlockTimeout=" + asyncBlockTimeout +
+                ", batchSize=" + batchSize +
+                ", batchFlushInterval=" + batchFlushInterval +
+                ", maxConnectionsPerRoute=" + maxConnectionsPerRoute +
+                ", connectionIdleTimeout=" + connectionIdleTimeout +
+                ", gzipRequestsEnabled=" + gzipRequestsEnabled +
+                ", gzipLevel=" + gzipLevel +
+                ", gzipThreshold=" + gzipThreshold +
+                ", retryBaseDelay=" + retryBaseDelay +
+                ", retryMaxDelay=" + retryMaxDelay +
+                ", retryMaxElapsed=" + retryMaxElapsed +
+                ", circuitBreakerEnabled=" + circuitBreakerEnabled +
+                ", circuitBreakerWindowSize=" + circuitBreakerWindowSize +
+                ", circuitBreakerFailureRate=" + circuitBreakerFailureRate +
+                ", circuitBreakerOpenDuration=" + circuitBreakerOpenDuration +
+                ", spoolMaxNotices=" + spoolMaxNotices +
+                ", spoolDirectory='" + spoolDirectory + '\'' +
+                ", spoolSegmentSize=" + spoolSegmentSize +
+                ", spoolMaxSize=" + spoolMaxSize +
+                ", spoolMaxAge=" + spoolMaxAge +
+                ", spoolSyncInterval=" + spoolSyncInterval +
+                ", dedupWindow=" + dedupWindow +
+                ", dedupMaxFingerprints=" + dedupMaxFingerprints +
+                ", dedupFrames=" + dedupFrames +
+                ", rateLimitPerFingerprint=" + rateLimitPerFingerprint +
+                ", rateLimitGlobal=" + rateLimitGlobal +
+                ", samplingRules='" + samplingRules + '\'' +
+                ", samplingPeriod=" + samplingPeriod +
+                ", maxBacktraceDepth=" + maxBacktraceDepth +
+                ", collapseRepeatedFramesEnabled=" + collapseRepeatedFramesEnabled +
+                ", omitCommonFramesEnabled=" + omitCommonFramesEnabled +
+                ", excludedApplicationPackages='" + excludedApplicationPackages + '\'' +
+                ", mdcAllowedKeys='" + mdcAllowedKeys + '\'' +
+                ", mdcMaxSize=" + mdcMaxSize +
+                ", metricsJmxEnabled=" + metricsJmxEnabled +
+                ", metricsLogInterval=" + metricsLogInterval +
+                ", statsSampleInterval=" + statsSampleInterval +
+                ", jvmStatsEnabled=" + jvmStatsEnabled +
+                ", deadlockDetectionEnabled=" + deadlockDetectionEnabled +
                 '}';
     }
 
@@ -328,7 +1042,22 @@ public abstract class BaseChainedConfigContext implements ConfigContext {
         return Objects.hash(environment, honeybadgerUrl, apiKey, excludedSysProps, excludedParams,
                 excludedClasses, applicationPackage, honeybadgerReadApiKey, feedbackFormDisplayed,
                 feedbackFormPath, httpProxyHost, httpProxyPort, maximumErrorReportingRetries,
-                socketTimeout, connectTimeout);
+                socketTimeout, connectTimeout, asyncQueueCapacity,
+                asyncSenderThreads, asyncOverflowPolicy, asyncBlockTimeout,
+                batchSize, batchFlushInterval, maxConnectionsPerRoute,
+                connectionIdleTimeout, gzipRequestsEnabled, gzipLevel,
+                gzipThreshold, retryBaseDelay, retryMaxDelay, retryMaxElapsed,
+                circuitBreakerEnabled, circuitBreakerWindowSize,
+                circuitBreakerFailureRate, circuitBreakerOpenDuration,
+                spoolMaxNotices, spoolDirectory, spoolSegmentSize, spoolMaxSize,
+                spoolMaxAge, spoolSyncInterval, dedupWindow,
+                dedupMaxFingerprints, dedupFrames, rateLimitPerFingerprint,
+                rateLimitGlobal, samplingRules, samplingPeriod,
+                maxBacktraceDepth, collapseRepeatedFramesEnabled,
+                omitCommonFramesEnabled, excludedApplicationPackages,
+                mdcAllowedKeys, mdcMaxSize, metricsJmxEnabled,
+                metricsLogInterval, statsSampleInterval, jvmStatsEnabled,
+                deadlockDetectionEnabled);
     }
 
     protected Boolean getFeedbackFormDisplayed() {
@@ -5,7 +5,9 @@ import java.util.Set;
 
 /**
  * Interface defining the common properties needed to configure a
- * {@link io.honeybadger.reporter.NoticeReporter}.
+ * {@link io.honeybadger.reporter.NoticeReporter}. Properties added after
+ * 2.1.2 default to the values of {@link DefaultsConfigContext}, so existing
+ * implementations keep compiling.
  *
  * @author <a href="https://github.com/dekobon">Elijah Zupancic</a>
  * @since 1.0.10
@@ -29,7 +31,7 @@ public interface ConfigContext {
     /** @return Set of exception classes to ignore */
     Set<String> getExcludedClasses();
 
-    /** @return String that maps a package to an application */
+    /** @return comma separated package prefixes that map classes to an application */
     String getApplicationPackage();
 
     /** @return Honeybadger Read API key */
@@ -56,4 +58,214 @@ public interface ConfigContext {
 
     /** @return Timeout for initial connect within HTTP client */
     Integer getConnectTimeout();
+
+    /** @return Maximum number of notices waiting to be sent by an asynchronous reporter */
+    default Integer getAsyncQueueCapacity() {
+        return DefaultsConfigContext.DEFAULT_ASYNC_QUEUE_CAPACITY;
+    }
+
+    /** @return Number of threads sending notices for an asynchronous reporter */
+    default Integer getAsyncSenderThreads() {
+        return DefaultsConfigContext.DEFAULT_ASYNC_SENDER_THREADS;
+    }
+
+    /** @return What an asynchronous reporter does when its queue is full: drop_newest, drop_oldest or block */
+    default String getAsyncOverflowPolicy() {
+        return DefaultsConfigContext.DEFAULT_ASYNC_OVERFLOW_POLICY;
+    }
+
+    /** @return Milliseconds to wait for queue space when the overflow policy is block */
+    default Integer getAsyncBlockTimeout() {
+        return DefaultsConfigContext.DEFAULT_ASYNC_BLOCK_TIMEOUT;
+    }
+
+    /** @return Maximum number of notices an asynchronous reporter sends in a single request */
+    default Integer getBatchSize() {
+        return DefaultsConfigContext.DEFAULT_BATCH_SIZE;
+    }
+
+    /** @return Milliseconds to wait for a batch to fill before sending it */
+    default Integer getBatchFlushInterval() {
+        return DefaultsConfigContext.DEFAULT_BATCH_FLUSH_INTERVAL;
+    }
+
+    /** @return maximum number of pooled connections kept per API host */
+    default Integer getMaxConnectionsPerRoute() {
+        return DefaultsConfigContext.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    }
+
+    /** @return milliseconds a pooled connection may stay idle before it is closed */
+    default Integer getConnectionIdleTimeout() {
+        return DefaultsConfigContext.DEFAULT_CONNECTION_IDLE_TIMEOUT;
+    }
+
+    /** @return true when notice payloads are sent with gzip content encoding */
+    default Boolean isGzipRequestsEnabled() {
+        return false;
+    }
+
+    /** @return gzip compression level from 1 (fastest) to 9 (smallest) */
+    default Integer getGzipLevel() {
+        return DefaultsConfigContext.DEFAULT_GZIP_LEVEL;
+    }
+
+    /** @return payload size in bytes below which notices are sent uncompressed */
+    default Integer getGzipThreshold() {
+        return DefaultsConfigContext.DEFAULT_GZIP_THRESHOLD;
+    }
+
+    /** @return base delay in milliseconds of the exponential backoff between retries */
+    default Integer getRetryBaseDelay() {
+        return DefaultsConfigContext.DEFAULT_RETRY_BASE_DELAY;
+    }
+
+    /** @return maximum delay in milliseconds between two retries */
+    default Integer getRetryMaxDelay() {
+        return DefaultsConfigContext.DEFAULT_RETRY_MAX_DELAY;
+    }
+
+    /** @return milliseconds after the first attempt during which retries may start */
+    default Integer getRetryMaxElapsed() {
+        return DefaultsConfigContext.DEFAULT_RETRY_MAX_ELAPSED;
+    }
+
+    /** @return true when sends are short-circuited while the Honeybadger API is failing */
+    default Boolean isCircuitBreakerEnabled() {
+        return true;
+    }
+
+    /** @return number of recent requests the circuit breaker failure rate is computed over */
+    default Integer getCircuitBreakerWindowSize() {
+        return DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+    }
+
+    /** @return percentage of failed requests in the window that opens the circuit */
+    default Integer getCircuitBreakerFailureRate() {
+        return DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE;
+    }
+
+    /** @return milliseconds the circuit stays open before a trial request is let through */
+    default Integer getCircuitBreakerOpenDuration() {
+        return DefaultsConfigContext.DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+    }
+
+    /** @return maximum number of notices kept locally while the Honeybadger API is unreachable */
+    default Integer getSpoolMaxNotices() {
+        return DefaultsConfigContext.DEFAULT_SPOOL_MAX_NOTICES;
+    }
+
+    /** @return directory of the durable notice spool or null to spool in memory */
+    default String getSpoolDirectory() {
+        return null;
+    }
+
+    /** @return size in bytes of each memory-mapped spool segment file */
+    default Integer getSpoolSegmentSize() {
+        return DefaultsConfigContext.DEFAULT_SPOOL_SEGMENT_SIZE;
+    }
+
+    /** @return maximum size in bytes of all spool segment files together */
+    default Integer getSpoolMaxSize() {
+        return DefaultsConfigContext.DEFAULT_SPOOL_MAX_SIZE;
+    }
+
+    /** @return milliseconds after which a spooled notice is discarded */
+    default Integer getSpoolMaxAge() {
+        return DefaultsConfigContext.DEFAULT_SPOOL_MAX_AGE;
+    }
+
+    /** @return milliseconds between group commits of the durable spool to disk or 0 to leave flushing to the operating system */
+    default Integer getSpoolSyncInterval() {
+        return DefaultsConfigContext.DEFAULT_SPOOL_SYNC_INTERVAL;
+    }
+
+    /** @return milliseconds during which repeats of an error are collapsed into a single notice or 0 to send every occurrence */
+    default Integer getDedupWindow() {
+        return DefaultsConfigContext.DEFAULT_DEDUP_WINDOW;
+    }
+
+    /** @return maximum number of error fingerprints tracked for deduplication */
+    default Integer getDedupMaxFingerprints() {
+        return DefaultsConfigContext.DEFAULT_DEDUP_MAX_FINGERPRINTS;
+    }
+
+    /** @return number of application stack frames included in a computed fingerprint */
+    default Integer getDedupFrames() {
+        return DefaultsConfigContext.DEFAULT_DEDUP_FRAMES;
+    }
+
+    /** @return notices sent per minute for each fingerprint or 0 for no limit */
+    default Integer getRateLimitPerFingerprint() {
+        return DefaultsConfigContext.DEFAULT_RATE_LIMIT_PER_FINGERPRINT;
+    }
+
+    /** @return notices sent per minute in total or 0 for no limit */
+    default Integer getRateLimitGlobal() {
+        return DefaultsConfigContext.DEFAULT_RATE_LIMIT_GLOBAL;
+    }
+
+    /** @return comma separated rules of the form kind:pattern=rate that select the share of errors sent */
+    default String getSamplingRules() {
+        return null;
+    }
+
+    /** @return milliseconds during which a sampled fingerprint is either sent or dropped on every node */
+    default Integer getSamplingPeriod() {
+        return DefaultsConfigContext.DEFAULT_SAMPLING_PERIOD;
+    }
+
+    /** @return maximum number of frames reported for each throwable or 0 for no limit */
+    default Integer getMaxBacktraceDepth() {
+        return DefaultsConfigContext.DEFAULT_MAX_BACKTRACE_DEPTH;
+    }
+
+    /** @return flag indicating if recursive and reflection frame runs are collapsed */
+    default Boolean isCollapseRepeatedFramesEnabled() {
+        return false;
+    }
+
+    /** @return flag indicating if frames a cause shares with its enclosing error are omitted */
+    default Boolean isOmitCommonFramesEnabled() {
+        return false;
+    }
+
+    /** @return comma separated prefixes of classes that don't belong to the application even though they are in an application package */
+    default String getExcludedApplicationPackages() {
+        return null;
+    }
+
+    /** @return comma separated MDC keys included in notices or null to include every key */
+    default String getMdcAllowedKeys() {
+        return null;
+    }
+
+    /** @return maximum number of characters of MDC keys and values included in a notice or 0 for no limit */
+    default Integer getMdcMaxSize() {
+        return DefaultsConfigContext.DEFAULT_MDC_MAX_SIZE;
+    }
+
+    /** @return flag indicating if the reporter metrics are registered as an MBean */
+    default Boolean isMetricsJmxEnabled() {
+        return false;
+    }
+
+    /** @return milliseconds between summaries of the reporter metrics written to the log, 0 to disable them */
+    default Integer getMetricsLogInterval() {
+        return DefaultsConfigContext.DEFAULT_METRICS_LOG_INTERVAL;
+    }
+
+    /** @return milliseconds between two samples of the memory, load and JVM statistics reported with notices */
+    default Integer getStatsSampleInterval() {
+        return DefaultsConfigContext.DEFAULT_STATS_SAMPLE_INTERVAL;
+    }
+
+    /** @return flag indicating if garbage collection, thread and pool statistics are sampled from the JVM */
+    default Boolean isJvmStatsEnabled() {
+        return true;
+    }
+
+    /** @return flag indicating if the JVM statistics count deadlocked threads, which stops the JVM at a safepoint */
+    default Boolean isDeadlockDetectionEnabled() {
+        return false;
+    }
 }
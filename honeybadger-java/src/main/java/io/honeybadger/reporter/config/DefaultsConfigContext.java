@@ -35,6 +35,93 @@ public class DefaultsConfigContext implements ConfigContext {
 
     public static final Integer DEFAULT_MAXIMUM_ERROR_REPORTING_RETRIES = 3;
 
+    public static final Integer DEFAULT_ASYNC_QUEUE_CAPACITY = 1024;
+
+    public static final Integer DEFAULT_ASYNC_SENDER_THREADS = 2;
+
+    public static final String DEFAULT_ASYNC_OVERFLOW_POLICY = "drop_newest";
+
+    public static final Integer DEFAULT_ASYNC_BLOCK_TIMEOUT = 100;
+
+    public static final Integer DEFAULT_BATCH_SIZE = 1;
+
+    public static final Integer DEFAULT_BATCH_FLUSH_INTERVAL = 250;
+
+    /** Default maximum number of pooled connections per API host. */
+    public static final Integer DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 4;
+
+    /** Default idle time in milliseconds before a pooled connection is evicted. */
+    public static final Integer DEFAULT_CONNECTION_IDLE_TIMEOUT = 30000;
+
+    /** Default gzip compression level. */
+    public static final Integer DEFAULT_GZIP_LEVEL = 6;
+
+    /** Default payload size in bytes below which compression is skipped. */
+    public static final Integer DEFAULT_GZIP_THRESHOLD = 1024;
+
+    /** Default base backoff delay. */
+    public static final Integer DEFAULT_RETRY_BASE_DELAY = 250;
+
+    /** Default maximum delay between two retries. */
+    public static final Integer DEFAULT_RETRY_MAX_DELAY = 30000;
+
+    /** Default time budget for retrying a report. */
+    public static final Integer DEFAULT_RETRY_MAX_ELAPSED = 120000;
+
+    /** Default number of requests in the circuit breaker window. */
+    public static final Integer DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+
+    /** Default failure percentage that opens the circuit. */
+    public static final Integer DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE = 50;
+
+    /** Default time the circuit stays open. */
+    public static final Integer DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = 30000;
+
+    /** Default maximum number of spooled notices. */
+    public static final Integer DEFAULT_SPOOL_MAX_NOTICES = 1000;
+
+    /** Default size of a spool segment file. */
+    public static final Integer DEFAULT_SPOOL_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    /** Default maximum size of the durable spool. */
+    public static final Integer DEFAULT_SPOOL_MAX_SIZE = 64 * 1024 * 1024;
+
+    /** Default maximum age of a spooled notice. */
+    public static final Integer DEFAULT_SPOOL_MAX_AGE = 24 * 60 * 60 * 1000;
+
+    /** Default group commit interval, leaving flushing to the operating system. */
+    public static final Integer DEFAULT_SPOOL_SYNC_INTERVAL = 0;
+
+    /** Default deduplication window, sending every occurrence. */
+    public static final Integer DEFAULT_DEDUP_WINDOW = 0;
+
+    /** Default maximum number of tracked fingerprints. */
+    public static final Integer DEFAULT_DEDUP_MAX_FINGERPRINTS = 10000;
+
+    /** Default number of frames in a computed fingerprint. */
+    public static final Integer DEFAULT_DEDUP_FRAMES = 5;
+
+    /** Default per-fingerprint rate limit, which is unlimited. */
+    public static final Integer DEFAULT_RATE_LIMIT_PER_FINGERPRINT = 0;
+
+    /** Default global rate limit, which is unlimited. */
+    public static final Integer DEFAULT_RATE_LIMIT_GLOBAL = 0;
+
+    /** Default length of a sampling period. */
+    public static final Integer DEFAULT_SAMPLING_PERIOD = 60000;
+
+    /** Default backtrace depth, which is unlimited. */
+    public static final Integer DEFAULT_MAX_BACKTRACE_DEPTH = 0;
+
+    /** Default maximum number of MDC characters in a notice, which is unlimited. */
+    public static final Integer DEFAULT_MDC_MAX_SIZE = 0;
+
+    /** Default interval between metrics summaries, which disables them. */
+    public static final Integer DEFAULT_METRICS_LOG_INTERVAL = 0;
+
+    /** Default interval between two statistics samples. */
+    public static final Integer DEFAULT_STATS_SAMPLE_INTERVAL = 1000;
+
     public DefaultsConfigContext() {
     }
 
@@ -122,4 +209,214 @@ public class DefaultsConfigContext implements ConfigContext {
     public Integer getConnectTimeout() {
         return null;
     }
+
+    @Override
+    public Integer getAsyncQueueCapacity() {
+        return DEFAULT_ASYNC_QUEUE_CAPACITY;
+    }
+
+    @Override
+    public Integer getAsyncSenderThreads() {
+        return DEFAULT_ASYNC_SENDER_THREADS;
+    }
+
+    @Override
+    public String getAsyncOverflowPolicy() {
+        return DEFAULT_ASYNC_OVERFLOW_POLICY;
+    }
+
+    @Override
+    public Integer getAsyncBlockTimeout() {
+        return DEFAULT_ASYNC_BLOCK_TIMEOUT;
+    }
+
+    @Override
+    public Integer getBatchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
+    @Override
+    public Integer getBatchFlushInterval() {
+        return DEFAULT_BATCH_FLUSH_INTERVAL;
+    }
+
+    @Override
+    public Integer getMaxConnectionsPerRoute() {
+        return DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    }
+
+    @Override
+    public Integer getConnectionIdleTimeout() {
+        return DEFAULT_CONNECTION_IDLE_TIMEOUT;
+    }
+
+    @Override
+    public Boolean isGzipRequestsEnabled() {
+        return false;
+    }
+
+    @Override
+    public Integer getGzipLevel() {
+        return DEFAULT_GZIP_LEVEL;
+    }
+
+    @Override
+    public Integer getGzipThreshold() {
+        return DEFAULT_GZIP_THRESHOLD;
+    }
+
+    @Override
+    public Integer getRetryBaseDelay() {
+        return DEFAULT_RETRY_BASE_DELAY;
+    }
+
+    @Override
+    public Integer getRetryMaxDelay() {
+        return DEFAULT_RETRY_MAX_DELAY;
+    }
+
+    @Override
+    public Integer getRetryMaxElapsed() {
+        return DEFAULT_RETRY_MAX_ELAPSED;
+    }
+
+    @Override
+    public Boolean isCircuitBreakerEnabled() {
+        return true;
+    }
+
+    @Override
+    public Integer getCircuitBreakerWindowSize() {
+        return DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE;
+    }
+
+    @Override
+    public Integer getCircuitBreakerFailureRate() {
+        return DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE;
+    }
+
+    @Override
+    public Integer getCircuitBreakerOpenDuration() {
+        return DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION;
+    }
+
+    @Override
+    public Integer getSpoolMaxNotices() {
+        return DEFAULT_SPOOL_MAX_NOTICES;
+    }
+
+    @Override
+    public String getSpoolDirectory() {
+        return null;
+    }
+
+    @Override
+    public Integer getSpoolSegmentSize() {
+        return DEFAULT_SPOOL_SEGMENT_SIZE;
+    }
+
+    @Override
+    public Integer getSpoolMaxSize() {
+        return DEFAULT_SPOOL_MAX_SIZE;
+    }
+
+    @Override
+    public Integer getSpoolMaxAge() {
+        return DEFAULT_SPOOL_MAX_AGE;
+    }
+
+    @Override
+    public Integer getSpoolSyncInterval() {
+        return DEFAULT_SPOOL_SYNC_INTERVAL;
+    }
+
+    @Override
+    public Integer getDedupWindow() {
+        return DEFAULT_DEDUP_WINDOW;
+    }
+
+    @Override
+    public Integer getDedupMaxFingerprints() {
+        return DEFAULT_DEDUP_MAX_FINGERPRINTS;
+    }
+
+    @Override
+    public Integer getDedupFrames() {
+        return DEFAULT_DEDUP_FRAMES;
+    }
+
+    @Override
+    public Integer getRateLimitPerFingerprint() {
+        return DEFAULT_RATE_LIMIT_PER_FINGERPRINT;
+    }
+
+    @Override
+    public Integer getRateLimitGlobal() {
+        return DEFAULT_RATE_LIMIT_GLOBAL;
+    }
+
+    @Override
+    public String getSamplingRules() {
+        return null;
+    }
+
+    @Override
+    public Integer getSamplingPeriod() {
+        return DEFAULT_SAMPLING_PERIOD;
+    }
+
+    @Override
+    public Integer getMaxBacktraceDepth() {
+        return DEFAULT_MAX_BACKTRACE_DEPTH;
+    }
+
+    @Override
+    public Boolean isCollapseRepeatedFramesEnabled() {
+        return false;
+    }
+
+    @Override
+    public Boolean isOmitCommonFramesEnabled() {
+        return false;
+    }
+
+    @Override
+    public String getExcludedApplicationPackages() {
+        return null;
+    }
+
+    @Override
+    public String getMdcAllowedKeys() {
+        return null;
+    }
+
+    @Override
+    public Integer getMdcMaxSize() {
+        return DEFAULT_MDC_MAX_SIZE;
+    }
+
+    @Override
+    public Boolean isMetricsJmxEnabled() {
+        return false;
+    }
+
+    @Override
+    public Integer getMetricsLogInterval() {
+        return DEFAULT_METRICS_LOG_INTERVAL;
+    }
+
+    @Override
+    public Integer getStatsSampleInterval() {
+        return DEFAULT_STATS_SAMPLE_INTERVAL;
+    }
+
+    @Override
+    public Boolean isJvmStatsEnabled() {
+        return true;
+    }
+
+    @Override
+    public Boolean isDeadlockDetectionEnabled() {
+        return false;
+    }
 }
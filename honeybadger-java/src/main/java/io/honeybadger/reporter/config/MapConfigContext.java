@@ -94,6 +94,174 @@ public class MapConfigContext implements ConfigContext {
     public static final String CONNECT_TIMEOUT =
             "honeybadger.connect_timeout";
 
+    /** System property key identifying the capacity of the asynchronous send queue. */
+    public static final String ASYNC_QUEUE_CAPACITY_KEY =
+            "honeybadger.async_queue_capacity";
+
+    /** System property key identifying the number of asynchronous sender threads. */
+    public static final String ASYNC_SENDER_THREADS_KEY =
+            "honeybadger.async_sender_threads";
+
+    /** System property key identifying the policy applied when the asynchronous send queue is full. */
+    public static final String ASYNC_OVERFLOW_POLICY_KEY =
+            "honeybadger.async_overflow_policy";
+
+    /** System property key identifying how long to block waiting for queue space. */
+    public static final String ASYNC_BLOCK_TIMEOUT_KEY =
+            "honeybadger.async_block_timeout";
+
+    /** System property key identifying the maximum number of notices sent in a single request. */
+    public static final String BATCH_SIZE_KEY =
+            "honeybadger.batch_size";
+
+    /** System property key identifying how long to wait for a batch to fill. */
+    public static final String BATCH_FLUSH_INTERVAL_KEY =
+            "honeybadger.batch_flush_interval";
+
+    /** Maximum number of pooled connections kept per API host. */
+    public static final String MAX_CONNECTIONS_PER_ROUTE_KEY =
+            "honeybadger.max_connections_per_route";
+
+    /** Milliseconds a pooled connection may stay idle before it is closed. */
+    public static final String CONNECTION_IDLE_TIMEOUT_KEY =
+            "honeybadger.connection_idle_timeout";
+
+    /** Flag indicating that notice payloads are sent gzip compressed. */
+    public static final String GZIP_REQUESTS_KEY =
+            "honeybadger.gzip_requests";
+
+    /** Gzip compression level from 1 (fastest) to 9 (smallest). */
+    public static final String GZIP_LEVEL_KEY =
+            "honeybadger.gzip_level";
+
+    /** Payload size in bytes below which notices are sent uncompressed. */
+    public static final String GZIP_THRESHOLD_KEY =
+            "honeybadger.gzip_threshold";
+
+    /** Base delay in milliseconds of the exponential backoff between retries. */
+    public static final String RETRY_BASE_DELAY_KEY =
+            "honeybadger.retry_base_delay";
+
+    /** Maximum delay in milliseconds between two retries. */
+    public static final String RETRY_MAX_DELAY_KEY =
+            "honeybadger.retry_max_delay";
+
+    /** Milliseconds after the first attempt during which retries may start. */
+    public static final String RETRY_MAX_ELAPSED_KEY =
+            "honeybadger.retry_max_elapsed";
+
+    /** Flag indicating that sends are short-circuited while the Honeybadger API is failing. */
+    public static final String CIRCUIT_BREAKER_ENABLED_KEY =
+            "honeybadger.circuit_breaker_enabled";
+
+    /** Number of recent requests the circuit breaker failure rate is computed over. */
+    public static final String CIRCUIT_BREAKER_WINDOW_SIZE_KEY =
+            "honeybadger.circuit_breaker_window_size";
+
+    /** Percentage of failed requests in the window that opens the circuit. */
+    public static final String CIRCUIT_BREAKER_FAILURE_RATE_KEY =
+            "honeybadger.circuit_breaker_failure_rate";
+
+    /** Milliseconds the circuit stays open before a trial request is let through. */
+    public static final String CIRCUIT_BREAKER_OPEN_DURATION_KEY =
+            "honeybadger.circuit_breaker_open_duration";
+
+    /** Maximum number of notices kept locally while the Honeybadger API is unreachable. */
+    public static final String SPOOL_MAX_NOTICES_KEY =
+            "honeybadger.spool_max_notices";
+
+    /** Directory of the durable notice spool. Notices are spooled in memory when it isn't set. */
+    public static final String SPOOL_DIRECTORY_KEY =
+            "honeybadger.spool_directory";
+
+    /** Size in bytes of each memory-mapped spool segment file. */
+    public static final String SPOOL_SEGMENT_SIZE_KEY =
+            "honeybadger.spool_segment_size";
+
+    /** Maximum size in bytes of all spool segment files together. */
+    public static final String SPOOL_MAX_SIZE_KEY =
+            "honeybadger.spool_max_size";
+
+    /** Milliseconds after which a spooled notice is discarded. */
+    public static final String SPOOL_MAX_AGE_KEY =
+            "honeybadger.spool_max_age";
+
+    /** Milliseconds between group commits of the durable spool to disk, or 0 to leave flushing to the operating system. */
+    public static final String SPOOL_SYNC_INTERVAL_KEY =
+            "honeybadger.spool_sync_interval";
+
+    /** Milliseconds during which repeats of an error are collapsed into a single notice. */
+    public static final String DEDUP_WINDOW_KEY =
+            "honeybadger.dedup_window";
+
+    /** Maximum number of error fingerprints tracked for deduplication. */
+    public static final String DEDUP_MAX_FINGERPRINTS_KEY =
+            "honeybadger.dedup_max_fingerprints";
+
+    /** Number of application stack frames included in a computed fingerprint. */
+    public static final String DEDUP_FRAMES_KEY =
+            "honeybadger.dedup_frames";
+
+    /** Notices sent per minute for each fingerprint, or 0 for no limit. */
+    public static final String RATE_LIMIT_PER_FINGERPRINT_KEY =
+            "honeybadger.rate_limit_per_fingerprint";
+
+    /** Notices sent per minute in total, or 0 for no limit. */
+    public static final String RATE_LIMIT_GLOBAL_KEY =
+            "honeybadger.rate_limit_global";
+
+    /** Comma separated rules of the form kind:pattern=rate that select the share of errors sent. */
+    public static final String SAMPLING_RULES_KEY =
+            "honeybadger.sampling_rules";
+
+    /** Milliseconds during which a sampled fingerprint is either sent or dropped on every node. */
+    public static final String SAMPLING_PERIOD_KEY =
+            "honeybadger.sampling_period";
+
+    /** Maximum number of frames reported for each throwable, or 0 for no limit. */
+    public static final String MAX_BACKTRACE_DEPTH_KEY =
+            "honeybadger.max_backtrace_depth";
+
+    /** Flag indicating if recursive and reflection frame runs are collapsed. */
+    public static final String COLLAPSE_REPEATED_FRAMES_KEY =
+            "honeybadger.collapse_repeated_frames";
+
+    /** Flag indicating if frames a cause shares with its enclosing error are omitted. */
+    public static final String OMIT_COMMON_FRAMES_KEY =
+            "honeybadger.omit_common_frames";
+
+    /** Comma separated prefixes of classes that don't belong to the application even though they are in an application package. */
+    public static final String EXCLUDED_APPLICATION_PACKAGES_KEY =
+            "honeybadger.excluded_application_packages";
+
+    /** Comma separated MDC keys included in notices, or null to include every key. */
+    public static final String MDC_ALLOWED_KEYS_KEY =
+            "honeybadger.mdc_allowed_keys";
+
+    /** Maximum number of characters of MDC keys and values included in a notice or 0 for no limit. */
+    public static final String MDC_MAX_SIZE_KEY =
+            "honeybadger.mdc_max_size";
+
+    /** Flag indicating if the reporter metrics are registered as an MBean. */
+    public static final String METRICS_JMX_ENABLED_KEY =
+            "honeybadger.metrics_jmx_enabled";
+
+    /** Milliseconds between summaries of the reporter metrics written to the log, 0 to disable them. */
+    public static final String METRICS_LOG_INTERVAL_KEY =
+            "honeybadger.metrics_log_interval";
+
+    /** Milliseconds between two samples of the memory, load and JVM statistics reported with notices. */
+    public static final String STATS_SAMPLE_INTERVAL_KEY =
+            "honeybadger.stats_sample_interval";
+
+    /** Flag indicating if garbage collection, thread and pool statistics are sampled from the JVM. */
+    public static final String JVM_STATS_ENABLED_KEY =
+            "honeybadger.jvm_stats_enabled";
+
+    /** Flag indicating if the JVM statistics count deadlocked threads, which stops the JVM at a safepoint. */
+    public static final String DEADLOCK_DETECTION_ENABLED_KEY =
+            "honeybadger.deadlock_detection_enabled";
+
     // I know manually adding them all sucks, but it is the simplest operation
     // for a shared library. We could do all sorts of complicated reflection
     // or annotation processing, but they are error-prone.
@@ -106,7 +274,24 @@ public class MapConfigContext implements ConfigContext {
             READ_API_KEY_PROP_KEY, READ_API_KEY_ENV, DISPLAY_FEEDBACK_FORM_KEY,
             FEEDBACK_FORM_TEMPLATE_PATH_KEY, HTTP_PROXY_HOST_KEY,
             HTTP_PROXY_PORT_KEY, HONEYBADGER_MAXIMUM_ERROR_REPORTING_RETRIES_KEY,
-            SOCKET_TIMEOUT, CONNECT_TIMEOUT
+            SOCKET_TIMEOUT, CONNECT_TIMEOUT, ASYNC_QUEUE_CAPACITY_KEY,
+            ASYNC_SENDER_THREADS_KEY, ASYNC_OVERFLOW_POLICY_KEY,
+            ASYNC_BLOCK_TIMEOUT_KEY, BATCH_SIZE_KEY, BATCH_FLUSH_INTERVAL_KEY,
+            MAX_CONNECTIONS_PER_ROUTE_KEY, CONNECTION_IDLE_TIMEOUT_KEY,
+            GZIP_REQUESTS_KEY, GZIP_LEVEL_KEY, GZIP_THRESHOLD_KEY,
+            RETRY_BASE_DELAY_KEY, RETRY_MAX_DELAY_KEY, RETRY_MAX_ELAPSED_KEY,
+            CIRCUIT_BREAKER_ENABLED_KEY, CIRCUIT_BREAKER_WINDOW_SIZE_KEY,
+            CIRCUIT_BREAKER_FAILURE_RATE_KEY, CIRCUIT_BREAKER_OPEN_DURATION_KEY,
+            SPOOL_MAX_NOTICES_KEY, SPOOL_DIRECTORY_KEY, SPOOL_SEGMENT_SIZE_KEY,
+            SPOOL_MAX_SIZE_KEY, SPOOL_MAX_AGE_KEY, SPOOL_SYNC_INTERVAL_KEY,
+            DEDUP_WINDOW_KEY, DEDUP_MAX_FINGERPRINTS_KEY, DEDUP_FRAMES_KEY,
+            RATE_LIMIT_PER_FINGERPRINT_KEY, RATE_LIMIT_GLOBAL_KEY,
+            SAMPLING_RULES_KEY, SAMPLING_PERIOD_KEY, MAX_BACKTRACE_DEPTH_KEY,
+            COLLAPSE_REPEATED_FRAMES_KEY, OMIT_COMMON_FRAMES_KEY,
+            EXCLUDED_APPLICATION_PACKAGES_KEY, MDC_ALLOWED_KEYS_KEY,
+            MDC_MAX_SIZE_KEY, METRICS_JMX_ENABLED_KEY, METRICS_LOG_INTERVAL_KEY,
+            STATS_SAMPLE_INTERVAL_KEY, JVM_STATS_ENABLED_KEY,
+            DEADLOCK_DETECTION_ENABLED_KEY
     };
 
     private final Map<?, ?> backingMap;
@@ -230,6 +415,216 @@ public class MapConfigContext implements ConfigContext {
         return parseInteger(CONNECT_TIMEOUT);
     }
 
+    @Override
+    public Integer getAsyncQueueCapacity() {
+        return parseInteger(ASYNC_QUEUE_CAPACITY_KEY);
+    }
+
+    @Override
+    public Integer getAsyncSenderThreads() {
+        return parseInteger(ASYNC_SENDER_THREADS_KEY);
+    }
+
+    @Override
+    public String getAsyncOverflowPolicy() {
+        return normalizeEmptyAndNullAndDefaultToStringValue(ASYNC_OVERFLOW_POLICY_KEY);
+    }
+
+    @Override
+    public Integer getAsyncBlockTimeout() {
+        return parseInteger(ASYNC_BLOCK_TIMEOUT_KEY);
+    }
+
+    @Override
+    public Integer getBatchSize() {
+        return parseInteger(BATCH_SIZE_KEY);
+    }
+
+    @Override
+    public Integer getBatchFlushInterval() {
+        return parseInteger(BATCH_FLUSH_INTERVAL_KEY);
+    }
+
+    @Override
+    public Integer getMaxConnectionsPerRoute() {
+        return parseInteger(MAX_CONNECTIONS_PER_ROUTE_KEY);
+    }
+
+    @Override
+    public Integer getConnectionIdleTimeout() {
+        return parseInteger(CONNECTION_IDLE_TIMEOUT_KEY);
+    }
+
+    @Override
+    public Boolean isGzipRequestsEnabled() {
+        return parseBoolean(GZIP_REQUESTS_KEY);
+    }
+
+    @Override
+    public Integer getGzipLevel() {
+        return parseInteger(GZIP_LEVEL_KEY);
+    }
+
+    @Override
+    public Integer getGzipThreshold() {
+        return parseInteger(GZIP_THRESHOLD_KEY);
+    }
+
+    @Override
+    public Integer getRetryBaseDelay() {
+        return parseInteger(RETRY_BASE_DELAY_KEY);
+    }
+
+    @Override
+    public Integer getRetryMaxDelay() {
+        return parseInteger(RETRY_MAX_DELAY_KEY);
+    }
+
+    @Override
+    public Integer getRetryMaxElapsed() {
+        return parseInteger(RETRY_MAX_ELAPSED_KEY);
+    }
+
+    @Override
+    public Boolean isCircuitBreakerEnabled() {
+        return parseBoolean(CIRCUIT_BREAKER_ENABLED_KEY);
+    }
+
+    @Override
+    public Integer getCircuitBreakerWindowSize() {
+        return parseInteger(CIRCUIT_BREAKER_WINDOW_SIZE_KEY);
+    }
+
+    @Override
+    public Integer getCircuitBreakerFailureRate() {
+        return parseInteger(CIRCUIT_BREAKER_FAILURE_RATE_KEY);
+    }
+
+    @Override
+    public Integer getCircuitBreakerOpenDuration() {
+        return parseInteger(CIRCUIT_BREAKER_OPEN_DURATION_KEY);
+    }
+
+    @Override
+    public Integer getSpoolMaxNotices() {
+        return parseInteger(SPOOL_MAX_NOTICES_KEY);
+    }
+
+    @Override
+    public String getSpoolDirectory() {
+        return normalizeEmptyAndNullAndDefaultToStringValue(SPOOL_DIRECTORY_KEY);
+    }
+
+    @Override
+    public Integer getSpoolSegmentSize() {
+        return parseInteger(SPOOL_SEGMENT_SIZE_KEY);
+    }
+
+    @Override
+    public Integer getSpoolMaxSize() {
+        return parseInteger(SPOOL_MAX_SIZE_KEY);
+    }
+
+    @Override
+    public Integer getSpoolMaxAge() {
+        return parseInteger(SPOOL_MAX_AGE_KEY);
+    }
+
+    @Override
+    public Integer getSpoolSyncInterval() {
+        return parseInteger(SPOOL_SYNC_INTERVAL_KEY);
+    }
+
+    @Override
+    public Integer getDedupWindow() {
+        return parseInteger(DEDUP_WINDOW_KEY);
+    }
+
+    @Override
+    public Integer getDedupMaxFingerprints() {
+        return parseInteger(DEDUP_MAX_FINGERPRINTS_KEY);
+    }
+
+    @Override
+    public Integer getDedupFrames() {
+        return parseInteger(DEDUP_FRAMES_KEY);
+    }
+
+    @Override
+    public Integer getRateLimitPerFingerprint() {
+        return parseInteger(RATE_LIMIT_PER_FINGERPRINT_KEY);
+    }
+
+    @Override
+    public Integer getRateLimitGlobal() {
+        return parseInteger(RATE_LIMIT_GLOBAL_KEY);
+    }
+
+    @Override
+    public String getSamplingRules() {
+        return normalizeEmptyAndNullAndDefaultToStringValue(SAMPLING_RULES_KEY);
+    }
+
+    @Override
+    public Integer getSamplingPeriod() {
+        return parseInteger(SAMPLING_PERIOD_KEY);
+    }
+
+    @Override
+    public Integer getMaxBacktraceDepth() {
+        return parseInteger(MAX_BACKTRACE_DEPTH_KEY);
+    }
+
+    @Override
+    public Boolean isCollapseRepeatedFramesEnabled() {
+        return parseBoolean(COLLAPSE_REPEATED_FRAMES_KEY);
+    }
+
+    @Override
+    public Boolean isOmitCommonFramesEnabled() {
+        return parseBoolean(OMIT_COMMON_FRAMES_KEY);
+    }
+
+    @Override
+    public String getExcludedApplicationPackages() {
+        return normalizeEmptyAndNullAndDefaultToStringValue(EXCLUDED_APPLICATION_PACKAGES_KEY);
+    }
+
+    @Override
+    public String getMdcAllowedKeys() {
+        return normalizeEmptyAndNullAndDefaultToStringValue(MDC_ALLOWED_KEYS_KEY);
+    }
+
+    @Override
+    public Integer getMdcMaxSize() {
+        return parseInteger(MDC_MAX_SIZE_KEY);
+    }
+
+    @Override
+    public Boolean isMetricsJmxEnabled() {
+        return parseBoolean(METRICS_JMX_ENABLED_KEY);
+    }
+
+    @Override
+    public Integer getMetricsLogInterval() {
+        return parseInteger(METRICS_LOG_INTERVAL_KEY);
+    }
+
+    @Override
+    public Integer getStatsSampleInterval() {
+        return parseInteger(STATS_SAMPLE_INTERVAL_KEY);
+    }
+
+    @Override
+    public Boolean isJvmStatsEnabled() {
+        return parseBoolean(JVM_STATS_ENABLED_KEY);
+    }
+
+    @Override
+    public Boolean isDeadlockDetectionEnabled() {
+        return parseBoolean(DEADLOCK_DETECTION_ENABLED_KEY);
+    }
+
     /**
      * Allows the caller to perform a put operation on the backing map of the
      * context. This is typically used by other {@link ConfigContext}
@@ -0,0 +1,67 @@
+package io.honeybadger.reporter.dedup;
+
+import io.honeybadger.reporter.dto.ApplicationPackageMatcher;
+
+/**
+ * Computes the keys that repeated errors are grouped by.
+ *
+ * @since 2.1.3
+ */
+public final class Fingerprints {
+    private Fingerprints() {
+    }
+
+    /**
+     * Computes the fingerprint of an error. An explicit fingerprint is used
+     * as is. Otherwise the fingerprint is the class of the error followed by
+     * its topmost application frames, or by its topmost frames when none of
+     * them belong to the application. Line numbers are part of the frames,
+     * so the same exception thrown from two places has two fingerprints.
+     *
+     * @param error error to compute the fingerprint of
+     * @param explicitFingerprint fingerprint passed by the caller or null
+     * @param applicationPackages matcher of application frames or null
+     * @param frames maximum number of frames included
+     * @return fingerprint of the error
+     */
+    public static String of(final Throwable error, final String explicitFingerprint,
+                            final ApplicationPackageMatcher applicationPackages, final int frames) {
+        if (explicitFingerprint != null && !explicitFingerprint.isEmpty()) {
+            return explicitFingerprint;
+        }
+
+        final StackTraceElement[] trace = error.getStackTrace();
+        final StringBuilder fingerprint = new StringBuilder(error.getClass().getName());
+        int appended = appendFrames(fingerprint, trace, applicationPackages, frames);
+
+        if (appended == 0) {
+            appendFrames(fingerprint, trace, null, frames);
+        }
+
+        return fingerprint.toString();
+    }
+
+    private static int appendFrames(final StringBuilder fingerprint, final StackTraceElement[] trace,
+                                    final ApplicationPackageMatcher applicationPackages,
+                                    final int frames) {
+        int appended = 0;
+
+        for (int i = 0; i < trace.length && appended < frames; i++) {
+            final StackTraceElement frame = trace[i];
+
+            if (applicationPackages != null && !applicationPackages.matches(frame.getClassName())) {
+                continue;
+            }
+
+            fingerprint.append('|')
+                    .append(frame.getClassName())
+                    .append('.')
+                    .append(frame.getMethodName())
+                    .append(':')
+                    .append(frame.getLineNumber());
+            appended++;
+        }
+
+        return appended;
+    }
+}
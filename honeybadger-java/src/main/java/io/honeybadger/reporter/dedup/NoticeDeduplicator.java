@@ -0,0 +1,307 @@
+package io.honeybadger.reporter.dedup;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Decides which occurrences of an error are reported, keyed by fingerprint.
+ *
+ * Within the deduplication window only the first occurrence of a
+ * fingerprint is admitted. Occurrences beyond the per-fingerprint and
+ * global rate limits are suppressed as well. Suppressed occurrences are
+ * only counted: the next admitted occurrence of the same fingerprint
+ * reports how many occurrences it stands for, from which its sample rate
+ * follows. No notice is sent when a window ends, so the occurrences
+ * suppressed at the end of a burst are only reported if the error recurs.
+ *
+ * Fingerprints are tracked in a concurrent map, so a repeat only locks its
+ * own fingerprint. When the map grows beyond its bound, the least recently
+ * seen of a few sampled fingerprints is forgotten, which approximates least
+ * recently used eviction without ordering the map on every lookup. The
+ * suppressed occurrences of a forgotten fingerprint can no longer be
+ * reported, so they are counted as evicted and passed to the eviction
+ * listener.
+ *
+ * @since 2.1.3
+ */
+public class NoticeDeduplicator {
+    /** Returned by {@link #admit(String)} for a suppressed occurrence. */
+    public static final long SUPPRESSED = 0L;
+
+    /** Number of fingerprints compared to choose the one to forget. */
+    static final int EVICTION_SAMPLES = 8;
+
+    private final long windowNanos;
+    private final int maxFingerprints;
+    private final int perFingerprintLimit;
+    private final TokenBucket globalBucket;
+    private final LongConsumer evictionListener;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong suppressed = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    /**
+     * @param windowMillis time after an admitted occurrence during which
+     *                     repeats are suppressed or 0 for no window
+     * @param maxFingerprints maximum number of fingerprints tracked
+     * @param perFingerprintLimit occurrences admitted per minute for each
+     *                            fingerprint or 0 for no limit
+     * @param globalLimit occurrences admitted per minute in total or 0 for
+     *                    no limit
+     */
+    public NoticeDeduplicator(final long windowMillis, final int maxFingerprints,
+                              final int perFingerprintLimit, final int globalLimit) {
+        this(windowMillis, maxFingerprints, perFingerprintLimit, globalLimit, null);
+    }
+
+    /**
+     * @param windowMillis time after an admitted occurrence during which
+     *                     repeats are suppressed or 0 for no window
+     * @param maxFingerprints maximum number of fingerprints tracked
+     * @param perFingerprintLimit occurrences admitted per minute for each
+     *                            fingerprint or 0 for no limit
+     * @param globalLimit occurrences admitted per minute in total or 0 for
+     *                    no limit
+     * @param evictionListener called with the number of suppressed
+     *                         occurrences lost when a fingerprint is
+     *                         forgotten, or null
+     */
+    public NoticeDeduplicator(final long windowMillis, final int maxFingerprints,
+                              final int perFingerprintLimit, final int globalLimit,
+                              final LongConsumer evictionListener) {
+        if (windowMillis < 0 || perFingerprintLimit < 0 || globalLimit < 0) {
+            throw new IllegalArgumentException("Deduplication window and rate limits must not be negative");
+        }
+
+        if (maxFingerprints < 1) {
+            throw new IllegalArgumentException("Maximum number of fingerprints must be greater than 0");
+        }
+
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxFingerprints = maxFingerprints;
+        this.perFingerprintLimit = perFingerprintLimit;
+        this.globalBucket = globalLimit > 0 ? new TokenBucket(globalLimit, globalLimit) : null;
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Creates a deduplicator from the deduplication settings of a
+     * configuration.
+     *
+     * @param config configuration to read
+     * @return new deduplicator or null if no window or limit is configured
+     */
+    public static NoticeDeduplicator fromConfig(final ConfigContext config) {
+        return fromConfig(config, null);
+    }
+
+    /**
+     * Creates a deduplicator from the deduplication settings of a
+     * configuration.
+     *
+     * @param config configuration to read
+     * @param evictionListener called with the number of suppressed
+     *                         occurrences lost when a fingerprint is
+     *                         forgotten, or null
+     * @return new deduplicator or null if no window or limit is configured
+     */
+    public static NoticeDeduplicator fromConfig(final ConfigContext config,
+                                                final LongConsumer evictionListener) {
+        final int window = valueOrDefault(config.getDedupWindow(),
+                DefaultsConfigContext.DEFAULT_DEDUP_WINDOW);
+        final int perFingerprint = valueOrDefault(config.getRateLimitPerFingerprint(),
+                DefaultsConfigContext.DEFAULT_RATE_LIMIT_PER_FINGERPRINT);
+        final int global = valueOrDefault(config.getRateLimitGlobal(),
+                DefaultsConfigContext.DEFAULT_RATE_LIMIT_GLOBAL);
+
+        if (window == 0 && perFingerprint == 0 && global == 0) {
+            return null;
+        }
+
+        return new NoticeDeduplicator(window,
+                valueOrDefault(config.getDedupMaxFingerprints(),
+                        DefaultsConfigContext.DEFAULT_DEDUP_MAX_FINGERPRINTS),
+                perFingerprint, global, evictionListener);
+    }
+
+    /**
+     * Records an occurrence of an error.
+     *
+     * @param fingerprint fingerprint of the error
+     * @return number of occurrences the notice for this occurrence stands
+     *         for, including itself, or {@link #SUPPRESSED} if no notice
+     *         should be sent
+     */
+    public long admit(final String fingerprint) {
+        final long now = System.nanoTime();
+
+        while (true) {
+            final Entry entry = entry(fingerprint, now);
+
+            synchronized (entry) {
+                // An entry forgotten since the lookup is looked up again
+                if (!entry.evicted) {
+                    return admit(entry, now);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of occurrences suppressed so far
+     */
+    public long getSuppressedCount() {
+        return suppressed.get();
+    }
+
+    /**
+     * @return number of suppressed occurrences lost because their
+     *         fingerprint was forgotten before they could be reported
+     */
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    /**
+     * @return number of fingerprints currently tracked
+     */
+    public int getFingerprintCount() {
+        return entries.size();
+    }
+
+    private long admit(final Entry entry, final long now) {
+        entry.lastSeenNanos = now;
+
+        if (entry.admitted && now - entry.windowStartNanos < windowNanos) {
+            return suppress(entry);
+        }
+
+        if (entry.bucket != null && !entry.bucket.tryAcquire(now)) {
+            return suppress(entry);
+        }
+
+        if (globalBucket != null && !globalBucket.tryAcquire(now)) {
+            return suppress(entry);
+        }
+
+        final long occurrences = entry.pending + 1;
+        entry.pending = 0;
+        entry.admitted = true;
+        entry.windowStartNanos = now;
+        return occurrences;
+    }
+
+    private Entry entry(final String fingerprint, final long now) {
+        final Entry existing = entries.get(fingerprint);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        final Entry created = new Entry(perFingerprintLimit > 0 ?
+                new TokenBucket(perFingerprintLimit, perFingerprintLimit) : null, now);
+        final Entry entry = entries.putIfAbsent(fingerprint, created);
+
+        if (entry != null) {
+            return entry;
+        }
+
+        evictWhileFull(created);
+        return created;
+    }
+
+    /**
+     * Forgets fingerprints until the map is back within its bound. Each
+     * round compares the first few fingerprints of the map, which are
+     * spread over it by their hash, and forgets the least recently seen.
+     *
+     * @param added entry just added, which is never forgotten
+     */
+    private void evictWhileFull(final Entry added) {
+        while (entries.size() > maxFingerprints) {
+            final Iterator<Map.Entry<String, Entry>> candidates = entries.entrySet().iterator();
+            Map.Entry<String, Entry> oldest = null;
+            int sampled = 0;
+
+            while (sampled < EVICTION_SAMPLES && candidates.hasNext()) {
+                final Map.Entry<String, Entry> candidate = candidates.next();
+
+                if (candidate.getValue() == added) {
+                    continue;
+                }
+
+                sampled++;
+
+                if (oldest == null ||
+                        candidate.getValue().lastSeenNanos - oldest.getValue().lastSeenNanos < 0) {
+                    oldest = candidate;
+                }
+            }
+
+            if (oldest == null) {
+                return;
+            }
+
+            evict(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private void evict(final String fingerprint, final Entry entry) {
+        final long lost;
+
+        synchronized (entry) {
+            if (entry.evicted || !entries.remove(fingerprint, entry)) {
+                return;
+            }
+
+            entry.evicted = true;
+            lost = entry.pending;
+        }
+
+        if (lost > 0) {
+            evicted.addAndGet(lost);
+
+            if (evictionListener != null) {
+                evictionListener.accept(lost);
+            }
+        }
+    }
+
+    private long suppress(final Entry entry) {
+        entry.pending++;
+        suppressed.incrementAndGet();
+        return SUPPRESSED;
+    }
+
+    private static int valueOrDefault(final Integer value, final int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Occurrence state of a single fingerprint, guarded by its own lock.
+     * The time it was last seen is also read without the lock to choose
+     * the fingerprint to forget.
+     */
+    private static final class Entry {
+        private final TokenBucket bucket;
+        private volatile long lastSeenNanos;
+        private long windowStartNanos;
+        private long pending;
+        private boolean admitted;
+        private boolean evicted;
+
+        Entry(final TokenBucket bucket, final long nowNanos) {
+            this.bucket = bucket;
+            this.windowStartNanos = nowNanos;
+            this.lastSeenNanos = nowNanos;
+        }
+    }
+}
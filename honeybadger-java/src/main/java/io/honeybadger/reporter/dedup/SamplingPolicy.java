@@ -0,0 +1,213 @@
+package io.honeybadger.reporter.dedup;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import io.honeybadger.reporter.dto.Request;
+import io.honeybadger.util.HBCollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Sends only a share of the occurrences of noisy errors.
+ *
+ * A policy is a list of rules of the form {@code kind:pattern=rate}, where
+ * the rate is between 0 and 1 and the kind is one of
+ * <ul>
+ *     <li>{@code class} - the error is an instance of the named class</li>
+ *     <li>{@code tag} - the notice carries the tag</li>
+ *     <li>{@code url} - the request URL matches the pattern, in which
+ *         {@code *} stands for any sequence of characters</li>
+ * </ul>
+ * The first matching rule decides the sample rate; errors that match no
+ * rule are always sent.
+ *
+ * Sampling is deterministic: whether an occurrence is sent depends only on
+ * its fingerprint and the current sampling period. All nodes of a cluster
+ * therefore send the same fingerprints at the same time, and each
+ * fingerprint is sent during a share of the periods equal to its rate.
+ *
+ * @since 2.1.3
+ */
+public class SamplingPolicy {
+    private static final double UNIT = 1.0 / (1L << 53);
+
+    private final List<Rule> rules;
+    private final long periodMillis;
+
+    /**
+     * @param rules comma separated sampling rules
+     * @param periodMillis length of a sampling period
+     */
+    public SamplingPolicy(final String rules, final long periodMillis) {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("Sampling period must be greater than 0");
+        }
+
+        final List<Rule> parsed = new ArrayList<>();
+
+        for (String rule : HBCollectionUtils.parseNaiveCsvString(rules)) {
+            parsed.add(Rule.parse(rule.trim()));
+        }
+
+        this.rules = Collections.unmodifiableList(parsed);
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * Creates a policy from the sampling settings of a configuration.
+     *
+     * @param config configuration to read
+     * @return new policy or null if no sampling rules are configured
+     */
+    public static SamplingPolicy fromConfig(final ConfigContext config) {
+        final String rules = config.getSamplingRules();
+
+        if (rules == null || rules.trim().isEmpty()) {
+            return null;
+        }
+
+        final Integer period = config.getSamplingPeriod();
+
+        return new SamplingPolicy(rules, period == null ?
+                DefaultsConfigContext.DEFAULT_SAMPLING_PERIOD : period);
+    }
+
+    /**
+     * @param error error being reported
+     * @param tags tags of the notice
+     * @param request request the error occurred in or null
+     * @return share of the occurrences that should be sent
+     */
+    public double sampleRate(final Throwable error, final Set<String> tags, final Request request) {
+        for (Rule rule : rules) {
+            if (rule.matches(error, tags, request)) {
+                return rule.rate;
+            }
+        }
+
+        return 1.0;
+    }
+
+    /**
+     * Decides whether an occurrence is sent.
+     *
+     * @param fingerprint fingerprint of the error
+     * @param sampleRate share of the occurrences that should be sent
+     * @param nowMillis current time
+     * @return true if the occurrence should be sent
+     */
+    public boolean isSampled(final String fingerprint, final double sampleRate, final long nowMillis) {
+        if (sampleRate >= 1.0) {
+            return true;
+        }
+
+        if (sampleRate <= 0.0) {
+            return false;
+        }
+
+        // String.hashCode() is specified, so every JVM agrees on the hash
+        final long period = Math.floorDiv(nowMillis, periodMillis);
+        final long hash = mix(fingerprint.hashCode() * 0x9E3779B97F4A7C15L + period);
+
+        return (hash >>> 11) * UNIT < sampleRate;
+    }
+
+    /**
+     * Finalizer of MurmurHash3, which spreads every input bit over the
+     * whole output.
+     */
+    private static long mix(final long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * A single sampling rule.
+     */
+    private static final class Rule {
+        private final String kind;
+        private final String value;
+        private final Pattern urlPattern;
+        private final double rate;
+
+        private Rule(final String kind, final String value, final double rate) {
+            this.kind = kind;
+            this.value = value;
+            this.urlPattern = "url".equals(kind) ? globToPattern(value) : null;
+            this.rate = rate;
+        }
+
+        static Rule parse(final String rule) {
+            final int colon = rule.indexOf(':');
+            final int equals = rule.lastIndexOf('=');
+
+            if (colon < 1 || equals < colon + 2) {
+                throw new IllegalArgumentException("Invalid sampling rule: " + rule);
+            }
+
+            final String kind = rule.substring(0, colon).trim();
+
+            if (!"class".equals(kind) && !"tag".equals(kind) && !"url".equals(kind)) {
+                throw new IllegalArgumentException("Unknown sampling rule kind: " + rule);
+            }
+
+            final double rate;
+
+            try {
+                rate = Double.parseDouble(rule.substring(equals + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid sample rate: " + rule, e);
+            }
+
+            if (!(rate >= 0.0 && rate <= 1.0)) {
+                throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + rule);
+            }
+
+            return new Rule(kind, rule.substring(colon + 1, equals).trim(), rate);
+        }
+
+        boolean matches(final Throwable error, final Set<String> tags, final Request request) {
+            switch (kind) {
+                case "class":
+                    for (Class<?> type = error.getClass(); type != null; type = type.getSuperclass()) {
+                        if (type.getName().equals(value)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case "tag":
+                    return tags != null && tags.contains(value);
+                default:
+                    return request != null && request.getUrl() != null &&
+                            urlPattern.matcher(request.getUrl()).matches();
+            }
+        }
+
+        private static Pattern globToPattern(final String glob) {
+            final StringBuilder regex = new StringBuilder();
+
+            final String[] parts = glob.split("\\*", -1);
+
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    regex.append(".*");
+                }
+
+                if (!parts[i].isEmpty()) {
+                    regex.append(Pattern.quote(parts[i]));
+                }
+            }
+
+            return Pattern.compile(regex.toString());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.honeybadger.reporter.dedup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The bucket holds up to a burst of tokens and is
+ * refilled at a steady rate.
+ *
+ * Rather than counting tokens, the bucket tracks the time at which it will
+ * be full again (the generic cell rate algorithm), so its whole state is a
+ * single {@link AtomicLong} and acquiring a token is one compare-and-set.
+ *
+ * @since 2.1.3
+ */
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAtNanos;
+
+    /**
+     * @param permitsPerMinute rate at which tokens are added
+     * @param burst maximum number of tokens held
+     */
+    public TokenBucket(final int permitsPerMinute, final int burst) {
+        if (permitsPerMinute < 1 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket rate and burst must be greater than 0");
+        }
+
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.fullAtNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param nowNanos current value of {@link System#nanoTime()}
+     * @return true if a token was taken
+     */
+    public boolean tryAcquire(final long nowNanos) {
+        while (true) {
+            final long current = fullAtNanos.get();
+            // A bucket that filled up in the past doesn't bank extra tokens
+            final long start = current - nowNanos < 0 ? nowNanos : current;
+
+            if (start - nowNanos > toleranceNanos) {
+                return false;
+            }
+
+            if (fullAtNanos.compareAndSet(current, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Client-side suppression of repeated and sampled errors. Errors are keyed
+ * by a fingerprint so that a burst of the same failure is collapsed into
+ * few notices, each carrying the number of occurrences it stands for, and
+ * so that sampling policies and per-fingerprint and global rate limits can
+ * be applied before a notice is even assembled.
+ *
+ * @since 2.1.3
+ */
+package io.honeybadger.reporter.dedup;
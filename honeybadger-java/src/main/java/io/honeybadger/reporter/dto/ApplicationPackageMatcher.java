@@ -0,0 +1,210 @@
+package io.honeybadger.reporter.dto;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.util.HBCollectionUtils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decides whether a class belongs to the application, given a list of
+ * application package prefixes and a list of excluded prefixes, such as
+ * vendored libraries inside an application package. The longest matching
+ * prefix decides; a class matching no prefix doesn't belong to the
+ * application.
+ *
+ * The prefixes are compiled into a trie, so a lookup walks the class name
+ * once regardless of the number of prefixes. Matchers are cached by their
+ * prefixes, so every backtrace element of a reporter shares the same one.
+ *
+ * @since 2.1.3
+ */
+public final class ApplicationPackageMatcher {
+    private static final byte NONE = 0;
+    private static final byte INCLUDE = 1;
+    private static final byte EXCLUDE = 2;
+
+    /** Number of distinct prefix lists kept compiled. */
+    private static final int MAX_COMPILED = 16;
+
+    private static final ConcurrentMap<List<String>, ApplicationPackageMatcher> COMPILED =
+            new ConcurrentHashMap<>();
+    private static volatile ApplicationPackageMatcher lastUsed;
+
+    private final String applicationPackages;
+    private final String excludedPackages;
+    /** Sorted characters leading out of each node. */
+    private final char[][] labels;
+    /** Node reached through the character at the same position in labels. */
+    private final int[][] children;
+    /** Whether a prefix ends at each node, and of which kind. */
+    private final byte[] marks;
+
+    private ApplicationPackageMatcher(final String applicationPackages,
+                                      final String excludedPackages) {
+        final Node root = new Node();
+        int nodes = 1;
+
+        for (String prefix : HBCollectionUtils.parseNaiveCsvString(applicationPackages)) {
+            nodes += root.insert(prefix.trim(), INCLUDE);
+        }
+
+        // Inserted last, so an excluded prefix wins over the same included one
+        for (String prefix : HBCollectionUtils.parseNaiveCsvString(excludedPackages)) {
+            nodes += root.insert(prefix.trim(), EXCLUDE);
+        }
+
+        this.applicationPackages = applicationPackages;
+        this.excludedPackages = excludedPackages;
+        this.labels = new char[nodes][];
+        this.children = new int[nodes][];
+        this.marks = new byte[nodes];
+
+        flatten(root);
+    }
+
+    /**
+     * @param applicationPackages comma separated application package
+     *                            prefixes or null
+     * @param excludedPackages comma separated prefixes of classes that don't
+     *                         belong to the application even though they are
+     *                         in an application package or null
+     * @return new matcher
+     */
+    public static ApplicationPackageMatcher compile(final String applicationPackages,
+                                                    final String excludedPackages) {
+        return new ApplicationPackageMatcher(applicationPackages, excludedPackages);
+    }
+
+    /**
+     * @param config configuration to read the package prefixes from
+     * @return matcher for the package prefixes currently configured, shared
+     *         with every other caller using the same prefixes
+     */
+    public static ApplicationPackageMatcher forConfig(final ConfigContext config) {
+        final String applicationPackages = config.getApplicationPackage();
+        final String excludedPackages = config.getExcludedApplicationPackages();
+        final ApplicationPackageMatcher recent = lastUsed;
+
+        if (recent != null && recent.isCompiledFrom(applicationPackages, excludedPackages)) {
+            return recent;
+        }
+
+        if (COMPILED.size() >= MAX_COMPILED) {
+            COMPILED.clear();
+        }
+
+        final ApplicationPackageMatcher matcher = COMPILED.computeIfAbsent(
+                Arrays.asList(applicationPackages, excludedPackages),
+                key -> compile(applicationPackages, excludedPackages));
+        lastUsed = matcher;
+
+        return matcher;
+    }
+
+    /**
+     * @param name class name or qualified method name
+     * @return true if the name belongs to the application
+     */
+    public boolean matches(final String name) {
+        if (name == null) {
+            return false;
+        }
+
+        int node = 0;
+        byte decision = NONE;
+
+        for (int i = 0; i < name.length(); i++) {
+            final int edge = Arrays.binarySearch(labels[node], name.charAt(i));
+
+            if (edge < 0) {
+                break;
+            }
+
+            node = children[node][edge];
+
+            if (marks[node] != NONE) {
+                decision = marks[node];
+            }
+        }
+
+        return decision == INCLUDE;
+    }
+
+    boolean isCompiledFrom(final String otherApplicationPackages, final String otherExcludedPackages) {
+        return Objects.equals(applicationPackages, otherApplicationPackages) &&
+                Objects.equals(excludedPackages, otherExcludedPackages);
+    }
+
+    /**
+     * Numbers the nodes breadth first and copies them into the arrays.
+     */
+    private void flatten(final Node root) {
+        final Queue<Node> queue = new ArrayDeque<>();
+        root.id = 0;
+        queue.add(root);
+        int next = 1;
+
+        while (!queue.isEmpty()) {
+            final Node node = queue.remove();
+            final char[] nodeLabels = new char[node.children.size()];
+            final int[] nodeChildren = new int[node.children.size()];
+            int i = 0;
+
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                child.getValue().id = next++;
+                nodeLabels[i] = child.getKey();
+                nodeChildren[i] = child.getValue().id;
+                queue.add(child.getValue());
+                i++;
+            }
+
+            labels[node.id] = nodeLabels;
+            children[node.id] = nodeChildren;
+            marks[node.id] = node.mark;
+        }
+    }
+
+    /**
+     * Trie node used while compiling.
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private byte mark = NONE;
+        private int id;
+
+        /**
+         * @return number of nodes created
+         */
+        int insert(final String prefix, final byte prefixMark) {
+            if (prefix.isEmpty()) {
+                return 0;
+            }
+
+            Node node = this;
+            int created = 0;
+
+            for (int i = 0; i < prefix.length(); i++) {
+                Node child = node.children.get(prefix.charAt(i));
+
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(prefix.charAt(i), child);
+                    created++;
+                }
+
+                node = child;
+            }
+
+            node.mark = prefixMark;
+            return created;
+        }
+    }
+}
@@ -7,6 +7,9 @@ import io.honeybadger.reporter.config.ConfigContext;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Class representing an ordered collection of backtrace elements.
@@ -18,6 +21,23 @@ public class Backtrace extends ArrayList<BacktraceElement>
         implements Serializable {
     private static final long serialVersionUID = 5788866962863555294L;
 
+    /** Longest block of frames recognized as recursion. */
+    private static final int MAX_RECURSION_PERIOD = 8;
+    /** Number of back to back repeats of a block that count as recursion. */
+    private static final int MIN_RECURSION_REPEATS = 3;
+    private static final String[] REFLECTION_PREFIXES = {
+            "sun.reflect.", "jdk.internal.reflect.", "java.lang.reflect.",
+            "java.lang.invoke.", "com.sun.proxy.", "jdk.proxy"
+    };
+
+    /** Classes whose frames lead from a reportError call to the capture. */
+    private static final Set<String> REPORTER_CLASSES = new HashSet<>(Arrays.asList(
+            "io.honeybadger.reporter.HoneybadgerReporter",
+            "io.honeybadger.reporter.AsyncNoticeReporter",
+            "io.honeybadger.reporter.dto.Backtrace",
+            "io.honeybadger.reporter.dto.CallerFrames",
+            "io.honeybadger.reporter.dto.NoticeDetails"));
+
     private final ConfigContext config;
 
     /**
@@ -51,8 +71,120 @@ public class Backtrace extends ArrayList<BacktraceElement>
      * @param error Error or Exception instance
      */
     void addTrace(final Throwable error) {
-        for (StackTraceElement trace : error.getStackTrace()) {
-            add(new BacktraceElement(config, trace));
+        addFrames(error.getStackTrace());
+    }
+
+    /**
+     * Adds frames to the collection, limited to the configured maximum depth
+     * and, when enabled, with recursive and reflection frame runs collapsed
+     * into a single summary element.
+     *
+     * @param trace frames, innermost first
+     */
+    void addFrames(final StackTraceElement[] trace) {
+        final Integer maxDepth = config.getMaxBacktraceDepth();
+        final int limit = maxDepth != null && maxDepth > 0 ?
+                Math.min(maxDepth, trace.length) : trace.length;
+        final boolean collapse = Boolean.TRUE.equals(config.isCollapseRepeatedFramesEnabled());
+        final BacktraceElementCache cache = BacktraceElementCache.getInstance();
+        ensureCapacity(size() + limit + 1);
+
+        int i = 0;
+
+        while (i < limit) {
+            if (collapse) {
+                final int collapsed = collapseRun(trace, i, limit, cache);
+
+                if (collapsed > 0) {
+                    i += collapsed;
+                    continue;
+                }
+            }
+
+            add(cache.get(config, trace[i]));
+            i++;
+        }
+
+        if (limit < trace.length) {
+            add(summary(trace.length - limit, "truncated"));
+        }
+    }
+
+    /**
+     * Adds a collapsed run of frames starting at a position, if there is
+     * one.
+     *
+     * @return number of frames consumed or 0 if there is no run to collapse
+     */
+    private int collapseRun(final StackTraceElement[] trace, final int start, final int limit,
+                            final BacktraceElementCache cache) {
+        // Recursion: the same block of frames repeated back to back
+        for (int period = 1; period <= MAX_RECURSION_PERIOD && start + period * 2 <= limit; period++) {
+            int repeats = 1;
+
+            while (start + (repeats + 1) * period <= limit &&
+                    isRepeat(trace, start, start + repeats * period, period)) {
+                repeats++;
+            }
+
+            if (repeats >= MIN_RECURSION_REPEATS) {
+                for (int i = start; i < start + period; i++) {
+                    add(cache.get(config, trace[i]));
+                }
+
+                add(summary((repeats - 1) * period, "recursive"));
+                return repeats * period;
+            }
         }
+
+        int end = start;
+
+        while (end < limit && isReflectionFrame(trace[end].getClassName())) {
+            end++;
+        }
+
+        if (end - start >= 2) {
+            add(summary(end - start, "reflection"));
+            return end - start;
+        }
+
+        return 0;
+    }
+
+    private static boolean isRepeat(final StackTraceElement[] trace, final int block,
+                                    final int candidate, final int period) {
+        for (int i = 0; i < period; i++) {
+            if (!trace[block + i].equals(trace[candidate + i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isReflectionFrame(final String className) {
+        for (String prefix : REFLECTION_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+
+        return className.contains("$$EnhancerBySpringCGLIB$$") ||
+                className.contains("$$FastClassBySpringCGLIB$$");
+    }
+
+    private BacktraceElement summary(final int frames, final String kind) {
+        return new BacktraceElement(config, null, null,
+                String.format("[%d %s frames omitted]", frames, kind));
+    }
+
+    /**
+     * @param className name of the class of a frame
+     * @return true if the frame belongs to the reporter itself
+     */
+    static boolean isReporterFrame(final String className) {
+        final int nested = className.indexOf('$');
+
+        return REPORTER_CLASSES.contains(nested < 0 ? className : className.substring(0, nested));
     }
 }
@@ -83,19 +83,15 @@ public class BacktraceElement implements Serializable {
     }
 
     static String formatMethod(final StackTraceElement element) {
-        return String.format("%s.%s",
-                element.getClassName(), element.getMethodName());
+        return element.getClassName() + '.' + element.getMethodName();
     }
 
     Context calculateContext(final String methodName) {
-        final String appPackage = config.getApplicationPackage();
         final Context methodContext;
 
-        if (appPackage == null || appPackage.isEmpty()) {
+        if (methodName == null || methodName.isEmpty()) {
             methodContext = Context.ALL;
-        } else if (methodName == null || methodName.isEmpty()) {
-            methodContext = Context.ALL;
-        } else if (methodName.startsWith(appPackage)) {
+        } else if (ApplicationPackageMatcher.forConfig(config).matches(methodName)) {
             methodContext = Context.APP;
         } else {
             methodContext = Context.ALL;
@@ -0,0 +1,160 @@
+package io.honeybadger.reporter.dto;
+
+import io.honeybadger.reporter.config.ConfigContext;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares {@link BacktraceElement} instances between backtraces. Recurring
+ * errors keep producing the same frames, and a cached element already
+ * carries its formatted method name and context, so a hit allocates
+ * nothing.
+ *
+ * The cache is bounded with two generations: frames are added to the young
+ * generation and, when it is full, the young generation becomes the old one
+ * and the previous old generation is dropped. A frame found in the old
+ * generation is moved back to the young one. This approximates LRU without
+ * any bookkeeping on a hit.
+ *
+ * An element is only reused for the configuration it was built with, since
+ * its context depends on the application packages.
+ *
+ * @since 2.1.3
+ */
+public final class BacktraceElementCache {
+    /** Default number of frames held by each generation. */
+    public static final int DEFAULT_GENERATION_SIZE = 4096;
+
+    private static final BacktraceElementCache INSTANCE =
+            new BacktraceElementCache(DEFAULT_GENERATION_SIZE);
+
+    private final int generationSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile ConcurrentMap<StackTraceElement, Entry> young;
+    private volatile ConcurrentMap<StackTraceElement, Entry> old;
+
+    /**
+     * @param generationSize maximum number of frames in each generation
+     */
+    BacktraceElementCache(final int generationSize) {
+        if (generationSize < 1) {
+            throw new IllegalArgumentException("Generation size must be greater than 0");
+        }
+
+        this.generationSize = generationSize;
+        this.young = new ConcurrentHashMap<>();
+        this.old = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return cache shared by all backtraces
+     */
+    public static BacktraceElementCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param config configuration the element is built with
+     * @param frame stack frame
+     * @return element for the frame, shared when possible
+     */
+    BacktraceElement get(final ConfigContext config, final StackTraceElement frame) {
+        final ApplicationPackageMatcher matcher = ApplicationPackageMatcher.forConfig(config);
+        final ConcurrentMap<StackTraceElement, Entry> currentYoung = young;
+        Entry entry = currentYoung.get(frame);
+
+        if (entry != null && entry.isFor(config, matcher)) {
+            hits.increment();
+            return entry.element;
+        }
+
+        entry = old.get(frame);
+
+        if (entry == null || !entry.isFor(config, matcher)) {
+            misses.increment();
+            entry = new Entry(new BacktraceElement(config, frame), config, matcher);
+        } else {
+            hits.increment();
+        }
+
+        if (currentYoung.size() >= generationSize) {
+            rotate(currentYoung);
+        }
+
+        young.put(frame, entry);
+        return entry.element;
+    }
+
+    private synchronized void rotate(final ConcurrentMap<StackTraceElement, Entry> full) {
+        // Another thread may have rotated already
+        if (young == full) {
+            old = full;
+            young = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * @return number of lookups served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups that built a new element
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return share of lookups served from the cache, between 0 and 1
+     */
+    public double getHitRate() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return number of frames currently cached, counting frames present
+     *         in both generations twice
+     */
+    public int size() {
+        return young.size() + old.size();
+    }
+
+    /**
+     * Drops all cached frames and resets the metrics.
+     */
+    public synchronized void clear() {
+        young = new ConcurrentHashMap<>();
+        old = new ConcurrentHashMap<>();
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * A cached element and the settings it was built with.
+     */
+    private static final class Entry {
+        private final BacktraceElement element;
+        private final ConfigContext config;
+        private final ApplicationPackageMatcher matcher;
+
+        Entry(final BacktraceElement element, final ConfigContext config,
+              final ApplicationPackageMatcher matcher) {
+            this.element = element;
+            this.config = config;
+            this.matcher = matcher;
+        }
+
+        boolean isFor(final ConfigContext other, final ApplicationPackageMatcher otherMatcher) {
+            return config == other && matcher == otherMatcher;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.honeybadger.reporter.dto;
+
+import java.util.Arrays;
+
+/**
+ * Captures the frames of the code that reported an error.
+ *
+ * This implementation fills in the whole stack of the current thread and
+ * copies the requested part. On Java 9 and later the multi-release jar
+ * replaces it with one based on StackWalker, which only walks as many
+ * frames as are needed.
+ *
+ * @since 2.1.3
+ */
+final class CallerFrames {
+    private CallerFrames() {
+    }
+
+    /**
+     * @param maxDepth maximum number of frames or 0 for no limit
+     * @return frames of the caller of the reporter, innermost first
+     */
+    static StackTraceElement[] capture(final int maxDepth) {
+        final StackTraceElement[] trace = new Throwable().getStackTrace();
+        int start = 0;
+
+        while (start < trace.length && Backtrace.isReporterFrame(trace[start].getClassName())) {
+            start++;
+        }
+
+        final int end = maxDepth > 0 ? Math.min(trace.length, start + maxDepth) : trace.length;
+
+        return Arrays.copyOfRange(trace, start, end);
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.honeybadger.reporter.config.ConfigContext;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -21,11 +22,50 @@ public class Cause implements Serializable {
     private final String className;
     private final String message;
     private final Backtrace backtrace;
+    @JsonProperty("frames_in_common")
+    private final Integer framesInCommon;
 
     public Cause(final ConfigContext config, final Throwable error) {
+        this(config, error, null);
+    }
+
+    /**
+     * Creates a cause without the frames at the bottom of its stack that are
+     * the same as the bottom of the enclosing error's stack, like the
+     * "... n more" line of {@link Throwable#printStackTrace()}. Only their
+     * number is kept, from which the receiving side can restore them. The
+     * stacks are compared before the depth limit and collapsing are applied,
+     * which then only apply to the frames that are left.
+     *
+     * @param config configuration the cause is reported with
+     * @param error cause to report
+     * @param enclosingTrace stack of the error this error caused or null to
+     *                       keep every frame
+     * @since 2.1.3
+     */
+    Cause(final ConfigContext config, final Throwable error,
+          final StackTraceElement[] enclosingTrace) {
+        final StackTraceElement[] trace = error.getStackTrace();
+        final int inCommon = enclosingTrace == null ? 0 : framesInCommon(trace, enclosingTrace);
+
         this.className = error.getClass().getName();
         this.message = error.getMessage();
-        this.backtrace = new Backtrace(config, error);
+        this.backtrace = new Backtrace(config);
+        this.backtrace.addFrames(inCommon == 0 ? trace : Arrays.copyOf(trace, trace.length - inCommon));
+        this.framesInCommon = inCommon == 0 ? null : inCommon;
+    }
+
+    private static int framesInCommon(final StackTraceElement[] trace,
+                                      final StackTraceElement[] enclosingTrace) {
+        int i = trace.length - 1;
+        int j = enclosingTrace.length - 1;
+
+        while (i >= 0 && j >= 0 && trace[i].equals(enclosingTrace[j])) {
+            i--;
+            j--;
+        }
+
+        return trace.length - 1 - i;
     }
 
     @Override
@@ -35,12 +75,13 @@ public class Cause implements Serializable {
         Cause cause = (Cause) o;
         return Objects.equals(getClassName(), cause.getClassName()) &&
                 Objects.equals(getMessage(), cause.getMessage()) &&
-                Objects.equals(getBacktrace(), cause.getBacktrace());
+                Objects.equals(getBacktrace(), cause.getBacktrace()) &&
+                Objects.equals(getFramesInCommon(), cause.getFramesInCommon());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getClassName(), getMessage(), getBacktrace());
+        return Objects.hash(getClassName(), getMessage(), getBacktrace(), getFramesInCommon());
     }
 
     public String getClassName() {
@@ -54,4 +95,14 @@ public class Cause implements Serializable {
     public Backtrace getBacktrace() {
         return backtrace;
     }
+
+    /**
+     * @return number of frames omitted from the bottom of the backtrace
+     *         because they are the same as in the enclosing backtrace or
+     *         null if none were omitted
+     * @since 2.1.3
+     */
+    public Integer getFramesInCommon() {
+        return framesInCommon;
+    }
 }
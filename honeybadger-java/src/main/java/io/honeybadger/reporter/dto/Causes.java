@@ -25,16 +25,22 @@ public class Causes extends LinkedList<Cause> implements Serializable {
         addCauses(config, rootError);
     }
 
+    /**
+     * Adds the causes of an error, innermost first. When enabled, each cause
+     * leaves out the frames it shares with the error it caused.
+     */
     void addCauses(final ConfigContext config, final Throwable rootError) {
         if (rootError.getCause() == null) return;
 
-        Throwable lastCause = null;
+        final boolean omitCommonFrames = Boolean.TRUE.equals(config.isOmitCommonFramesEnabled());
+        Throwable lastCause = rootError;
         Throwable nextCause = rootError.getCause();
 
         int iterations = 0;
 
         do {
-            addFirst(new Cause(config, nextCause));
+            addFirst(new Cause(config, nextCause,
+                    omitCommonFrames ? lastCause.getStackTrace() : null));
             ++iterations;
             lastCause = nextCause;
             nextCause = nextCause.getCause();
@@ -0,0 +1,148 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Resource usage and limits of the control group (container) the JVM runs
+ * in. Unlike the host wide values in {@link Memory}, these describe the
+ * resources actually available to the process. Memory values are in
+ * mebibytes.
+ *
+ * @since 2.1.3
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CgroupStats implements Serializable {
+    private static final long serialVersionUID = 7137626208101417006L;
+
+    private final Integer version;
+    @JsonProperty("memory_usage")
+    private final Number memoryUsage;
+    @JsonProperty("memory_limit")
+    private final Number memoryLimit;
+    @JsonProperty("cpu_periods")
+    private final Number cpuPeriods;
+    @JsonProperty("cpu_throttled_periods")
+    private final Number cpuThrottledPeriods;
+    @JsonProperty("cpu_throttled_usec")
+    private final Number cpuThrottledMicros;
+    @JsonProperty("cpu_pressure")
+    private final Pressure cpuPressure;
+    @JsonProperty("memory_pressure")
+    private final Pressure memoryPressure;
+    @JsonProperty("io_pressure")
+    private final Pressure ioPressure;
+
+    @SuppressWarnings("ParameterNumber")
+    // No reason to be restrictive for a DTO
+    @JsonCreator
+    public CgroupStats(@JsonProperty("version") final Integer version,
+                       @JsonProperty("memory_usage") final Number memoryUsage,
+                       @JsonProperty("memory_limit") final Number memoryLimit,
+                       @JsonProperty("cpu_periods") final Number cpuPeriods,
+                       @JsonProperty("cpu_throttled_periods") final Number cpuThrottledPeriods,
+                       @JsonProperty("cpu_throttled_usec") final Number cpuThrottledMicros,
+                       @JsonProperty("cpu_pressure") final Pressure cpuPressure,
+                       @JsonProperty("memory_pressure") final Pressure memoryPressure,
+                       @JsonProperty("io_pressure") final Pressure ioPressure) {
+        this.version = version;
+        this.memoryUsage = memoryUsage;
+        this.memoryLimit = memoryLimit;
+        this.cpuPeriods = cpuPeriods;
+        this.cpuThrottledPeriods = cpuThrottledPeriods;
+        this.cpuThrottledMicros = cpuThrottledMicros;
+        this.cpuPressure = cpuPressure;
+        this.memoryPressure = memoryPressure;
+        this.ioPressure = ioPressure;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || !(o instanceof CgroupStats)) {
+            return false;
+        }
+
+        final CgroupStats that = (CgroupStats) o;
+        return Objects.equals(getVersion(), that.getVersion()) &&
+                Objects.equals(getMemoryUsage(), that.getMemoryUsage()) &&
+                Objects.equals(getMemoryLimit(), that.getMemoryLimit()) &&
+                Objects.equals(getCpuPeriods(), that.getCpuPeriods()) &&
+                Objects.equals(getCpuThrottledPeriods(), that.getCpuThrottledPeriods()) &&
+                Objects.equals(getCpuThrottledMicros(), that.getCpuThrottledMicros()) &&
+                Objects.equals(getCpuPressure(), that.getCpuPressure()) &&
+                Objects.equals(getMemoryPressure(), that.getMemoryPressure()) &&
+                Objects.equals(getIoPressure(), that.getIoPressure());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getVersion(), getMemoryUsage(), getMemoryLimit(), getCpuPeriods(),
+                getCpuThrottledPeriods(), getCpuThrottledMicros(), getCpuPressure(),
+                getMemoryPressure(), getIoPressure());
+    }
+
+    @Override
+    public String toString() {
+        return "CgroupStats{" +
+                "version=" + getVersion() +
+                ", memory_usage=" + getMemoryUsage() +
+                ", memory_limit=" + getMemoryLimit() +
+                ", cpu_periods=" + getCpuPeriods() +
+                ", cpu_throttled_periods=" + getCpuThrottledPeriods() +
+                ", cpu_throttled_usec=" + getCpuThrottledMicros() +
+                ", cpu_pressure=" + getCpuPressure() +
+                ", memory_pressure=" + getMemoryPressure() +
+                ", io_pressure=" + getIoPressure() +
+                '}';
+    }
+
+    /**
+     * @return cgroup version, 1 or 2
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    public Number getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    /**
+     * @return memory limit or null if the memory isn't limited
+     */
+    public Number getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    public Number getCpuPeriods() {
+        return cpuPeriods;
+    }
+
+    public Number getCpuThrottledPeriods() {
+        return cpuThrottledPeriods;
+    }
+
+    public Number getCpuThrottledMicros() {
+        return cpuThrottledMicros;
+    }
+
+    public Pressure getCpuPressure() {
+        return cpuPressure;
+    }
+
+    public Pressure getMemoryPressure() {
+        return memoryPressure;
+    }
+
+    public Pressure getIoPressure() {
+        return ioPressure;
+    }
+}
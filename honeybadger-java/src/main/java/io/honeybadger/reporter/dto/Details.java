@@ -9,9 +9,6 @@ import org.slf4j.MDC;
 import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.TreeMap;
 
 /**
  * Class representing metadata and run-time state.
@@ -23,6 +20,12 @@ public class Details extends LinkedHashMap<String, Map<String, String>>
         implements Serializable {
     private static final long serialVersionUID = -6238693264237448645L;
 
+    /**
+     * Name of the section describing how many occurrences a notice stands for.
+     * @since 2.1.3
+     */
+    public static final String SAMPLING_SECTION = "Sampling";
+
     private final ConfigContext config;
 
     @JsonCreator
@@ -31,8 +34,15 @@ public class Details extends LinkedHashMap<String, Map<String, String>>
     }
 
     void addDefaultDetails() {
+        addDefaultDetails(MdcSnapshot.capture(config));
+    }
+
+    /**
+     * @param mdc MDC properties captured on the thread that reported the error
+     */
+    void addDefaultDetails(final Map<String, String> mdc) {
         put("System Properties", systemProperties());
-        put("MDC Properties", mdcProperties());
+        put("MDC Properties", mdc);
     }
 
     protected static LinkedHashMap<String, String> mdcProperties() {
@@ -50,31 +60,11 @@ public class Details extends LinkedHashMap<String, Map<String, String>>
         return map;
     }
 
+    /**
+     * @return system properties that aren't excluded, shared with other
+     *         notices as long as the properties don't change
+     */
     protected Map<String, String> systemProperties() {
-        TreeMap<String, String> map = new TreeMap<>();
-        Set<String> excludedSysProps = config.getExcludedSysProps();
-
-        for (Map.Entry<Object, Object> entry: System.getProperties().entrySet()) {
-            final Object key = entry.getKey();
-
-            if (key == null) {
-                continue;
-            }
-
-            final String stringKey = Objects.toString(key);
-
-            if (stringKey.isEmpty()) {
-                continue;
-            }
-
-            // We skip all excluded properties
-            if (excludedSysProps.contains(stringKey)) {
-                continue;
-            }
-
-            map.put(stringKey, entry.getValue().toString());
-        }
-
-        return map;
+        return SystemPropertiesSnapshot.get(config.getExcludedSysProps());
     }
 }
@@ -0,0 +1,172 @@
+package io.honeybadger.reporter.dto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hostname, project root and process id of the running JVM. They don't
+ * change while the JVM runs, but finding the hostname may need a DNS
+ * lookup that blocks for seconds, so they are looked up once on a
+ * background thread and shared by all notices.
+ *
+ * The snapshot is refreshed in the background once it is older than the
+ * refresh interval; notices keep using the previous snapshot meanwhile.
+ * Until the first lookup has finished, notices use a provisional snapshot
+ * that takes the hostname from the environment or, on Linux, from the
+ * kernel, neither of which needs a DNS lookup.
+ *
+ * @since 2.1.3
+ */
+public final class HostIdentity {
+    /** Age after which the snapshot is looked up again. */
+    static final long REFRESH_INTERVAL_NANOS = TimeUnit.HOURS.toNanos(1);
+    /** Files holding the hostname, read for the provisional snapshot. */
+    private static final Path[] HOSTNAME_FILES = {
+            Paths.get("/proc/sys/kernel/hostname"), Paths.get("/etc/hostname")
+    };
+
+    private static final AtomicBoolean REFRESHING = new AtomicBoolean();
+    private static volatile HostIdentity current;
+
+    private final String hostname;
+    private final String projectRoot;
+    private final Integer pid;
+    private final long capturedAtNanos;
+
+    HostIdentity(final String hostname, final String projectRoot, final Integer pid,
+                 final long capturedAtNanos) {
+        this.hostname = hostname;
+        this.projectRoot = projectRoot;
+        this.pid = pid;
+        this.capturedAtNanos = capturedAtNanos;
+    }
+
+    /**
+     * Starts looking up the snapshot in the background, unless it is
+     * already available or being looked up. Called when a reporter is
+     * created, so that the lookup is usually done before the first error.
+     */
+    public static void prefetch() {
+        if (current == null) {
+            refreshAsync();
+        }
+    }
+
+    /**
+     * @return latest snapshot or a provisional one if the first lookup
+     *         hasn't finished yet; never blocks on a DNS lookup
+     */
+    public static HostIdentity get() {
+        final HostIdentity snapshot = current;
+
+        if (snapshot == null) {
+            refreshAsync();
+            return provisional();
+        }
+
+        if (System.nanoTime() - snapshot.capturedAtNanos > REFRESH_INTERVAL_NANOS) {
+            refreshAsync();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Looks up the snapshot on the calling thread and makes it the current
+     * one.
+     *
+     * @return new snapshot
+     */
+    static HostIdentity refresh() {
+        final HostIdentity snapshot = new HostIdentity(ServerDetails.hostname(),
+                ServerDetails.projectRoot(), ServerDetails.pid(), System.nanoTime());
+        current = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Forgets the current snapshot.
+     */
+    static void reset() {
+        current = null;
+    }
+
+    private static void refreshAsync() {
+        if (!REFRESHING.compareAndSet(false, true)) {
+            return;
+        }
+
+        final Thread thread = new Thread(() -> {
+            try {
+                refresh();
+            } finally {
+                REFRESHING.set(false);
+            }
+        }, "honeybadger-host-identity");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    static HostIdentity provisional() {
+        String host = System.getenv("HOSTNAME");
+
+        if (host == null) {
+            host = System.getenv("COMPUTERNAME");
+        }
+
+        if (host == null) {
+            host = hostnameFromFiles(HOSTNAME_FILES);
+        }
+
+        return new HostIdentity(host == null ? "unknown" : host,
+                ServerDetails.projectRoot(), ServerDetails.pid(), System.nanoTime());
+    }
+
+    /**
+     * @param files files holding the hostname on their first line, in the
+     *              order they are tried
+     * @return hostname from the first file that has one or null if none do
+     */
+    static String hostnameFromFiles(final Path... files) {
+        for (Path file : files) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                final String line = reader.readLine();
+
+                if (line != null && !line.trim().isEmpty()) {
+                    return line.trim();
+                }
+            } catch (IOException e) {
+                // Try the next file
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the hostname of the system reporting the error
+     */
+    public String getHostname() {
+        return hostname;
+    }
+
+    /**
+     * @return the directory in which the JVM was started
+     */
+    public String getProjectRoot() {
+        return projectRoot;
+    }
+
+    /**
+     * @return process id or null if not found
+     */
+    public Integer getPid() {
+        return pid;
+    }
+}
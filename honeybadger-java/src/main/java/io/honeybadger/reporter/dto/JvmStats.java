@@ -0,0 +1,72 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Runtime statistics of the JVM, organized in named sections such as
+ * garbage collection, threads, buffer pools and memory pools. Sections are
+ * open ended, so additional statistics can be contributed without changing
+ * this class. Instances are immutable, since one snapshot is shared by many
+ * notices.
+ *
+ * @since 2.1.3
+ */
+public final class JvmStats implements Serializable {
+    private static final long serialVersionUID = 2958473307412268335L;
+
+    private final Map<String, Object> sections;
+
+    /**
+     * @param sections statistics by section name, in reporting order
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public JvmStats(final Map<String, Object> sections) {
+        this.sections = Collections.unmodifiableMap(new LinkedHashMap<>(sections));
+    }
+
+    /**
+     * @return statistics by section name
+     */
+    @JsonAnyGetter
+    public Map<String, Object> getSections() {
+        return sections;
+    }
+
+    /**
+     * @param name name of a section
+     * @return statistics of the section or null if there is no such section
+     */
+    public Object getSection(final String name) {
+        return sections.get(name);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || !(o instanceof JvmStats)) {
+            return false;
+        }
+
+        return Objects.equals(sections, ((JvmStats) o).sections);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sections);
+    }
+
+    @Override
+    public String toString() {
+        return "JvmStats" + sections;
+    }
+}
@@ -0,0 +1,283 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import io.honeybadger.util.HBCollectionUtils;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable copy of the MDC of the thread that reported an error. The MDC
+ * is thread-local, so it has to be copied on the reporting thread; the copy
+ * is kept as a flat array of interleaved keys and values, which is written
+ * to the notice without any further copying.
+ *
+ * When MDC keys are allowed explicitly, only those keys are looked up and
+ * the rest of the MDC is never copied. If a maximum number of characters
+ * is configured, entries beyond it are left out, and the number of entries
+ * left out is reported under {@link #OMITTED_KEY}.
+ *
+ * @since 2.1.3
+ */
+@JsonSerialize(using = MdcSnapshot.Serializer.class)
+public final class MdcSnapshot extends AbstractMap<String, String> implements Serializable {
+    private static final long serialVersionUID = 4433506127302465707L;
+
+    /** Key under which the number of entries left out is reported. */
+    public static final String OMITTED_KEY = "honeybadger.omitted_entries";
+
+    private static final String[] NO_ENTRIES = new String[0];
+    private static volatile AllowedKeys lastAllowedKeys;
+
+    /** Keys at even and values at odd positions. */
+    private final String[] entries;
+    private final int omitted;
+
+    private MdcSnapshot(final String[] entries, final int omitted) {
+        this.entries = entries;
+        this.omitted = omitted;
+    }
+
+    /**
+     * Copies the MDC of the calling thread.
+     *
+     * @param config configuration holding the allowed keys and size limit
+     * @return new snapshot
+     */
+    public static MdcSnapshot capture(final ConfigContext config) {
+        final Integer configuredMaxSize = config.getMdcMaxSize();
+        final int maxSize = configuredMaxSize == null ?
+                DefaultsConfigContext.DEFAULT_MDC_MAX_SIZE : configuredMaxSize;
+        final String[] allowedKeys = allowedKeys(config.getMdcAllowedKeys());
+
+        if (allowedKeys == null) {
+            @SuppressWarnings("unchecked")
+            final Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return of(mdc, maxSize);
+        }
+
+        final Builder builder = new Builder(allowedKeys.length, maxSize);
+
+        for (String key : allowedKeys) {
+            builder.add(key, MDC.get(key));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param mdc MDC entries or null
+     * @param maxSize maximum number of characters of keys and values or 0
+     *                for no limit
+     * @return new snapshot
+     */
+    static MdcSnapshot of(final Map<String, String> mdc, final int maxSize) {
+        if (mdc == null || mdc.isEmpty()) {
+            return new MdcSnapshot(NO_ENTRIES, 0);
+        }
+
+        final Builder builder = new Builder(mdc.size(), maxSize);
+
+        for (Map.Entry<String, String> entry : mdc.entrySet()) {
+            builder.add(entry.getKey(), entry.getValue());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @return parsed allowed keys, reusing the last parse of the same setting
+     */
+    private static String[] allowedKeys(final String setting) {
+        if (setting == null || setting.trim().isEmpty()) {
+            return null;
+        }
+
+        final AllowedKeys last = lastAllowedKeys;
+
+        if (last != null && last.setting.equals(setting)) {
+            return last.keys;
+        }
+
+        final Collection<String> parsed = HBCollectionUtils.parseNaiveCsvString(setting);
+        final String[] keys = new String[parsed.size()];
+        int i = 0;
+
+        for (String key : parsed) {
+            keys[i++] = key.trim();
+        }
+
+        lastAllowedKeys = new AllowedKeys(setting, keys);
+        return keys;
+    }
+
+    /**
+     * @return number of MDC entries left out because of the size limit
+     */
+    public int getOmittedCount() {
+        return omitted;
+    }
+
+    @Override
+    public int size() {
+        return entries.length / 2 + (omitted > 0 ? 1 : 0);
+    }
+
+    @Override
+    public String get(final Object key) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i].equals(key)) {
+                return entries[i + 1];
+            }
+        }
+
+        return omitted > 0 && OMITTED_KEY.equals(key) ? String.valueOf(omitted) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<Entry<String, String>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size();
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        final int i = 2 * next++;
+
+                        if (i == entries.length) {
+                            return new SimpleImmutableEntry<>(OMITTED_KEY, String.valueOf(omitted));
+                        }
+
+                        return new SimpleImmutableEntry<>(entries[i], entries[i + 1]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return MdcSnapshot.this.size();
+            }
+        };
+    }
+
+    /**
+     * Java serialization writes the entries as a plain map.
+     */
+    private Object writeReplace() {
+        return new LinkedHashMap<>(this);
+    }
+
+    /**
+     * Collects entries until the size limit is reached.
+     */
+    private static final class Builder {
+        private final int maxSize;
+        private String[] entries;
+        private int length = 0;
+        private int size = 0;
+        private int omitted = 0;
+
+        Builder(final int capacity, final int maxSize) {
+            this.entries = new String[2 * capacity];
+            this.maxSize = maxSize;
+        }
+
+        void add(final String key, final String value) {
+            if (key == null || value == null) {
+                return;
+            }
+
+            final int entrySize = key.length() + value.length();
+
+            if (maxSize > 0 && size + entrySize > maxSize) {
+                omitted++;
+                return;
+            }
+
+            size += entrySize;
+            entries[length++] = key;
+            entries[length++] = value;
+        }
+
+        MdcSnapshot build() {
+            return new MdcSnapshot(length == entries.length ? entries :
+                    Arrays.copyOf(entries, length), omitted);
+        }
+    }
+
+    /**
+     * Allowed keys parsed from a setting.
+     */
+    private static final class AllowedKeys {
+        private final String setting;
+        private final String[] keys;
+
+        AllowedKeys(final String setting, final String[] keys) {
+            this.setting = setting;
+            this.keys = keys;
+        }
+    }
+
+    /**
+     * Writes the entries straight from the array.
+     */
+    static final class Serializer extends StdSerializer<MdcSnapshot> {
+        private static final long serialVersionUID = -1794170366316934866L;
+
+        Serializer() {
+            super(MdcSnapshot.class);
+        }
+
+        @Override
+        public void serialize(final MdcSnapshot value, final JsonGenerator gen,
+                              final SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value, value.size());
+
+            for (int i = 0; i < value.entries.length; i += 2) {
+                gen.writeStringField(value.entries[i], value.entries[i + 1]);
+            }
+
+            if (value.omitted > 0) {
+                gen.writeStringField(OMITTED_KEY, String.valueOf(value.omitted));
+            }
+
+            gen.writeEndObject();
+        }
+
+        @Override
+        public boolean isEmpty(final SerializerProvider provider, final MdcSnapshot value) {
+            return value.isEmpty();
+        }
+    }
+}
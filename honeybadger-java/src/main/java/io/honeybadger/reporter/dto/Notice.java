@@ -6,8 +6,12 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.stats.StatsSampler;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -31,6 +35,12 @@ public class Notice implements Serializable {
     // implementers may not have available like the Servlet API
     private Request request;
     private NoticeDetails error;
+    /** MDC captured for a deferred notice until it is enriched. */
+    private transient Map<String, String> deferredMdc;
+    /** Time a deferred notice was created, reported once it is enriched. */
+    private transient Instant deferredTime;
+    /** Statistics sampled when a deferred notice was created. */
+    private transient Stats deferredStats;
 
     public Notice(final ConfigContext config) {
         this.config = config;
@@ -39,6 +49,67 @@ public class Notice implements Serializable {
         this.details.addDefaultDetails();
     }
 
+    private Notice(final ConfigContext config, final Map<String, String> mdc,
+                   final Instant time, final Stats stats) {
+        this.config = config;
+        this.deferredMdc = mdc;
+        this.deferredTime = time;
+        this.deferredStats = stats;
+    }
+
+    /**
+     * Creates a notice whose server details and default details are only
+     * added by {@link #enrich()}, so that the work is skipped for notices
+     * that are never sent and can be done on another thread. The MDC, the
+     * time and the latest statistics describe the moment of the error, so
+     * they are captured right away.
+     *
+     * @param config configuration the notice is reported with
+     * @return new notice
+     * @since 2.1.3
+     */
+    public static Notice deferred(final ConfigContext config) {
+        return deferred(config, Instant.now(), StatsSampler.getInstance().current());
+    }
+
+    static Notice deferred(final ConfigContext config, final Instant time, final Stats stats) {
+        return new Notice(config, MdcSnapshot.capture(config), time, stats);
+    }
+
+    /**
+     * Adds the server details and default details to a notice created with
+     * {@link #deferred(ConfigContext)}. The server details report the time
+     * and statistics captured when the notice was created, however late it
+     * is enriched. The default details come before any details already set.
+     * Does nothing for a notice that was already enriched or wasn't
+     * deferred.
+     *
+     * @return this notice
+     * @since 2.1.3
+     */
+    public Notice enrich() {
+        if (deferredMdc == null) {
+            return this;
+        }
+
+        if (server == null) {
+            server = new ServerDetails(config, HostIdentity.get(), deferredTime, deferredStats);
+        }
+
+        final Details enriched = new Details(config);
+        enriched.addDefaultDetails(deferredMdc);
+
+        if (details != null) {
+            enriched.putAll(details);
+        }
+
+        details = enriched;
+        deferredMdc = null;
+        deferredTime = null;
+        deferredStats = null;
+        return this;
+    }
+
     @JsonCreator
     public Notice(@JacksonInject("config") final ConfigContext config,
                   @JsonProperty("id") final Long id,
@@ -87,6 +158,28 @@ public class Notice implements Serializable {
         return this;
     }
 
+    /**
+     * Records that this notice stands for more than a single occurrence of
+     * the error, because repeats were suppressed or the error is sampled.
+     *
+     * @param occurrences number of occurrences the notice stands for
+     * @param sampleRate share of the occurrences that are sent, between 0
+     *                   and 1
+     * @return this notice
+     * @since 2.1.3
+     */
+    public Notice setSampling(final long occurrences, final double sampleRate) {
+        if (details == null) {
+            details = new Details(config);
+        }
+
+        final Map<String, String> sampling = new LinkedHashMap<>();
+        sampling.put("occurrences", String.valueOf(occurrences));
+        sampling.put("sample_rate", String.valueOf(sampleRate));
+        details.put(Details.SAMPLING_SECTION, sampling);
+        return this;
+    }
+
     public Request getRequest() {
         return request;
     }
@@ -47,6 +47,15 @@ public class NoticeDetails implements Serializable {
         this.message = message;
         this.tags = tags;
         this.backtrace = new Backtrace(config, error);
+
+        /* Errors without a stack of their own, such as preallocated errors
+         * or those thrown by the JIT's fast throw optimization, are reported
+         * with the frames of the code that reported them. */
+        if (backtrace.isEmpty()) {
+            final Integer maxDepth = config.getMaxBacktraceDepth();
+            backtrace.addFrames(CallerFrames.capture(maxDepth == null ? 0 : maxDepth));
+        }
+
         this.causes = new Causes(config, error);
         this.fingerprint = fingerprint;
     }
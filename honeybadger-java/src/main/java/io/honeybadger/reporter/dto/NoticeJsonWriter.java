@@ -0,0 +1,583 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes a {@link Notice} as JSON with a streaming generator, without the
+ * reflection and per-property lookups of Jackson's bean serializers. Field
+ * names are encoded once, numbers are written through their primitive
+ * types and the nested sections of a notice are written inline.
+ *
+ * The output is identical to that of an {@link com.fasterxml.jackson.databind.ObjectMapper}
+ * with {@link com.fasterxml.jackson.annotation.JsonInclude.Include#NON_NULL}
+ * inclusion, which is how the reporter serializes notices. Only the exact
+ * DTO classes are written by hand; subclasses, which may carry properties of
+ * their own, and any values of other types are handed back to Jackson.
+ *
+ * @since 2.1.3
+ */
+public final class NoticeJsonWriter {
+    private static final SerializableString ID = name("id");
+    private static final SerializableString REQUEST = name("request");
+    private static final SerializableString NOTIFIER = name("notifier");
+    private static final SerializableString SERVER = name("server");
+    private static final SerializableString DETAILS = name("details");
+    private static final SerializableString ERROR = name("error");
+
+    private static final SerializableString NAME = name("name");
+    private static final SerializableString URL = name("url");
+    private static final SerializableString VERSION = name("version");
+
+    private static final SerializableString ENVIRONMENT_NAME = name("environment_name");
+    private static final SerializableString HOSTNAME = name("hostname");
+    private static final SerializableString PROJECT_ROOT = name("project_root");
+    private static final SerializableString PID = name("pid");
+    private static final SerializableString TIME = name("time");
+    private static final SerializableString STATS = name("stats");
+
+    private static final SerializableString MEM = name("mem");
+    private static final SerializableString LOAD = name("load");
+    private static final SerializableString CGROUP = name("cgroup");
+    private static final SerializableString JVM = name("jvm");
+
+    private static final SerializableString TOTAL = name("total");
+    private static final SerializableString FREE = name("free");
+    private static final SerializableString BUFFERS = name("buffers");
+    private static final SerializableString CACHED = name("cached");
+    private static final SerializableString VM_FREE = name("vm_free");
+    private static final SerializableString VM_MAX = name("vm_max");
+    private static final SerializableString VM_TOTAL = name("vm_total");
+    private static final SerializableString VM_HEAP = name("vm_heap");
+    private static final SerializableString VM_NONHEAP = name("vm_nonheap");
+    private static final SerializableString VM_FREE_TOTAL = name("vm_free_total");
+
+    private static final SerializableString ONE = name("one");
+    private static final SerializableString FIVE = name("five");
+    private static final SerializableString FIFTEEN = name("fifteen");
+
+    private static final SerializableString CGROUP_VERSION = name("version");
+    private static final SerializableString MEMORY_USAGE = name("memory_usage");
+    private static final SerializableString MEMORY_LIMIT = name("memory_limit");
+    private static final SerializableString CPU_PERIODS = name("cpu_periods");
+    private static final SerializableString CPU_THROTTLED_PERIODS = name("cpu_throttled_periods");
+    private static final SerializableString CPU_THROTTLED_USEC = name("cpu_throttled_usec");
+    private static final SerializableString CPU_PRESSURE = name("cpu_pressure");
+    private static final SerializableString MEMORY_PRESSURE = name("memory_pressure");
+    private static final SerializableString IO_PRESSURE = name("io_pressure");
+
+    private static final SerializableString SOME_AVG10 = name("some_avg10");
+    private static final SerializableString SOME_AVG60 = name("some_avg60");
+    private static final SerializableString SOME_AVG300 = name("some_avg300");
+    private static final SerializableString FULL_AVG10 = name("full_avg10");
+    private static final SerializableString FULL_AVG60 = name("full_avg60");
+    private static final SerializableString FULL_AVG300 = name("full_avg300");
+
+    private static final SerializableString CLASS = name("class");
+    private static final SerializableString MESSAGE = name("message");
+    private static final SerializableString TAGS = name("tags");
+    private static final SerializableString BACKTRACE = name("backtrace");
+    private static final SerializableString CAUSES = name("causes");
+    private static final SerializableString FINGERPRINT = name("fingerprint");
+    private static final SerializableString FRAMES_IN_COMMON = name("frames_in_common");
+
+    private static final SerializableString NUMBER = name("number");
+    private static final SerializableString FILE = name("file");
+    private static final SerializableString METHOD = name("method");
+    private static final SerializableString CONTEXT = name("context");
+
+    private static final SerializableString PARAMS = name("params");
+    private static final SerializableString SESSION = name("session");
+    private static final SerializableString CGI_DATA = name("cgi_data");
+
+    /** Class of the maps returned by {@link Collections#unmodifiableMap(Map)}. */
+    private static final Class<?> UNMODIFIABLE_MAP =
+            Collections.unmodifiableMap(new HashMap<>()).getClass();
+
+    private NoticeJsonWriter() {
+    }
+
+    /**
+     * @return module that makes a mapper serialize notices with this writer
+     */
+    public static Module module() {
+        final SimpleModule module = new SimpleModule("NoticeJsonWriter");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(final SerializationConfig config,
+                                                      final BeanDescription beanDesc,
+                                                      final JsonSerializer<?> serializer) {
+                return beanDesc.getBeanClass() == Notice.class ? new Serializer() : serializer;
+            }
+        });
+        return module;
+    }
+
+    /**
+     * Writes a notice as a JSON object.
+     *
+     * @param notice notice to write
+     * @param gen generator to write to
+     * @param provider provider for the values handed back to Jackson
+     * @throws IOException if the generator fails to write
+     */
+    public static void write(final Notice notice, final JsonGenerator gen,
+                             final SerializerProvider provider) throws IOException {
+        gen.writeStartObject(notice);
+
+        if (notice.getId() != null) {
+            gen.writeFieldName(ID);
+            gen.writeNumber(notice.getId());
+        }
+
+        if (notice.getRequest() != null) {
+            gen.writeFieldName(REQUEST);
+            writeRequest(notice.getRequest(), gen, provider);
+        }
+
+        if (notice.getNotifier() != null) {
+            gen.writeFieldName(NOTIFIER);
+            writeNotifier(notice.getNotifier(), gen, provider);
+        }
+
+        if (notice.getServer() != null) {
+            gen.writeFieldName(SERVER);
+            writeServer(notice.getServer(), gen, provider);
+        }
+
+        if (notice.getDetails() != null) {
+            gen.writeFieldName(DETAILS);
+            writeMap(notice.getDetails(), gen, provider);
+        }
+
+        if (notice.getError() != null) {
+            gen.writeFieldName(ERROR);
+            writeError(notice.getError(), gen, provider);
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeNotifier(final Notifier notifier, final JsonGenerator gen,
+                                      final SerializerProvider provider) throws IOException {
+        if (notifier.getClass() != Notifier.class) {
+            provider.defaultSerializeValue(notifier, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+        writeString(NAME, notifier.getName(), gen);
+        writeString(URL, notifier.getUrl(), gen);
+        writeString(VERSION, notifier.getVersion(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeServer(final ServerDetails server, final JsonGenerator gen,
+                                    final SerializerProvider provider) throws IOException {
+        if (server.getClass() != ServerDetails.class) {
+            provider.defaultSerializeValue(server, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+        writeString(ENVIRONMENT_NAME, server.getEnvironmentName(), gen);
+        writeString(HOSTNAME, server.getHostname(), gen);
+        writeString(PROJECT_ROOT, server.getProjectRoot(), gen);
+        writeNumber(PID, server.getPid(), gen);
+        writeString(TIME, server.getTime(), gen);
+
+        if (server.getStats() != null) {
+            gen.writeFieldName(STATS);
+            writeStats(server.getStats(), gen, provider);
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeStats(final Stats stats, final JsonGenerator gen,
+                                   final SerializerProvider provider) throws IOException {
+        if (stats.getClass() != Stats.class) {
+            provider.defaultSerializeValue(stats, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+
+        if (stats.getMem() != null) {
+            gen.writeFieldName(MEM);
+            writeMemory(stats.getMem(), gen, provider);
+        }
+
+        if (stats.getLoad() != null) {
+            gen.writeFieldName(LOAD);
+            writeLoad(stats.getLoad(), gen, provider);
+        }
+
+        if (stats.getCgroup() != null) {
+            gen.writeFieldName(CGROUP);
+            writeCgroup(stats.getCgroup(), gen, provider);
+        }
+
+        if (stats.getJvm() != null) {
+            gen.writeFieldName(JVM);
+            writeMap(stats.getJvm().getSections(), gen, provider);
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeMemory(final Memory mem, final JsonGenerator gen,
+                                    final SerializerProvider provider) throws IOException {
+        if (mem.getClass() != Memory.class) {
+            provider.defaultSerializeValue(mem, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+        writeNumber(TOTAL, mem.getTotal(), gen);
+        writeNumber(FREE, mem.getFree(), gen);
+        writeNumber(BUFFERS, mem.getBuffers(), gen);
+        writeNumber(CACHED, mem.getCached(), gen);
+        writeNumber(VM_FREE, mem.getVmFree(), gen);
+        writeNumber(VM_MAX, mem.getVmMax(), gen);
+        writeNumber(VM_TOTAL, mem.getVmTotal(), gen);
+        writeNumber(VM_HEAP, mem.getVmHeap(), gen);
+        writeNumber(VM_NONHEAP, mem.getVmNonheap(), gen);
+        writeNumber(VM_FREE_TOTAL, mem.getFreeTotal(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeLoad(final Load load, final JsonGenerator gen,
+                                  final SerializerProvider provider) throws IOException {
+        if (load.getClass() != Load.class) {
+            provider.defaultSerializeValue(load, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+        writeNumber(ONE, load.getOne(), gen);
+        writeNumber(FIVE, load.getFive(), gen);
+        writeNumber(FIFTEEN, load.getFifteen(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeCgroup(final CgroupStats cgroup, final JsonGenerator gen,
+                                    final SerializerProvider provider) throws IOException {
+        if (cgroup.getClass() != CgroupStats.class) {
+            provider.defaultSerializeValue(cgroup, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+        writeNumber(CGROUP_VERSION, cgroup.getVersion(), gen);
+        writeNumber(MEMORY_USAGE, cgroup.getMemoryUsage(), gen);
+        writeNumber(MEMORY_LIMIT, cgroup.getMemoryLimit(), gen);
+        writeNumber(CPU_PERIODS, cgroup.getCpuPeriods(), gen);
+        writeNumber(CPU_THROTTLED_PERIODS, cgroup.getCpuThrottledPeriods(), gen);
+        writeNumber(CPU_THROTTLED_USEC, cgroup.getCpuThrottledMicros(), gen);
+        writePressure(CPU_PRESSURE, cgroup.getCpuPressure(), gen, provider);
+        writePressure(MEMORY_PRESSURE, cgroup.getMemoryPressure(), gen, provider);
+        writePressure(IO_PRESSURE, cgroup.getIoPressure(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static void writePressure(final SerializableString name, final Pressure pressure,
+                                      final JsonGenerator gen,
+                                      final SerializerProvider provider) throws IOException {
+        if (pressure == null) {
+            return;
+        }
+
+        gen.writeFieldName(name);
+
+        if (pressure.getClass() != Pressure.class) {
+            provider.defaultSerializeValue(pressure, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+        writeNumber(SOME_AVG10, pressure.getSomeAvg10(), gen);
+        writeNumber(SOME_AVG60, pressure.getSomeAvg60(), gen);
+        writeNumber(SOME_AVG300, pressure.getSomeAvg300(), gen);
+        writeNumber(FULL_AVG10, pressure.getFullAvg10(), gen);
+        writeNumber(FULL_AVG60, pressure.getFullAvg60(), gen);
+        writeNumber(FULL_AVG300, pressure.getFullAvg300(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeError(final NoticeDetails error, final JsonGenerator gen,
+                                   final SerializerProvider provider) throws IOException {
+        if (error.getClass() != NoticeDetails.class) {
+            provider.defaultSerializeValue(error, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+        writeString(CLASS, error.getClassName(), gen);
+        writeString(MESSAGE, error.getMessage(), gen);
+
+        if (error.getTags() != null) {
+            gen.writeFieldName(TAGS);
+            writeStrings(error.getTags(), gen);
+        }
+
+        if (error.getBacktrace() != null) {
+            gen.writeFieldName(BACKTRACE);
+            writeBacktrace(error.getBacktrace(), gen, provider);
+        }
+
+        if (error.getCauses() != null) {
+            gen.writeFieldName(CAUSES);
+            writeCauses(error.getCauses(), gen, provider);
+        }
+
+        writeString(FINGERPRINT, error.getFingerprint(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeCauses(final Causes causes, final JsonGenerator gen,
+                                    final SerializerProvider provider) throws IOException {
+        if (causes.getClass() != Causes.class) {
+            provider.defaultSerializeValue(causes, gen);
+            return;
+        }
+
+        gen.writeStartArray();
+
+        for (Cause cause : causes) {
+            if (cause == null) {
+                gen.writeNull();
+            } else if (cause.getClass() != Cause.class) {
+                provider.defaultSerializeValue(cause, gen);
+            } else {
+                gen.writeStartObject();
+                writeString(MESSAGE, cause.getMessage(), gen);
+
+                if (cause.getBacktrace() != null) {
+                    gen.writeFieldName(BACKTRACE);
+                    writeBacktrace(cause.getBacktrace(), gen, provider);
+                }
+
+                writeString(CLASS, cause.getClassName(), gen);
+                writeNumber(FRAMES_IN_COMMON, cause.getFramesInCommon(), gen);
+                gen.writeEndObject();
+            }
+        }
+
+        gen.writeEndArray();
+    }
+
+    private static void writeBacktrace(final Backtrace backtrace, final JsonGenerator gen,
+                                       final SerializerProvider provider) throws IOException {
+        if (backtrace.getClass() != Backtrace.class) {
+            provider.defaultSerializeValue(backtrace, gen);
+            return;
+        }
+
+        gen.writeStartArray();
+
+        for (BacktraceElement element : backtrace) {
+            if (element == null) {
+                gen.writeNull();
+            } else if (element.getClass() != BacktraceElement.class) {
+                provider.defaultSerializeValue(element, gen);
+            } else {
+                gen.writeStartObject();
+                writeString(NUMBER, element.getNumber(), gen);
+                writeString(FILE, element.getFile(), gen);
+                writeString(METHOD, element.getMethod(), gen);
+                writeString(CONTEXT, element.getContext(), gen);
+                gen.writeEndObject();
+            }
+        }
+
+        gen.writeEndArray();
+    }
+
+    private static void writeRequest(final Request request, final JsonGenerator gen,
+                                     final SerializerProvider provider) throws IOException {
+        if (request.getClass() != Request.class) {
+            provider.defaultSerializeValue(request, gen);
+            return;
+        }
+
+        gen.writeStartObject();
+        writeMapField(CONTEXT, request.getContext(), gen, provider);
+        writeString(URL, request.getUrl(), gen);
+        writeMapField(PARAMS, request.getParams(), gen, provider);
+        writeMapField(SESSION, request.getSession(), gen, provider);
+        writeMapField(CGI_DATA, request.getCgiData(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private static void writeMapField(final SerializableString name, final Map<String, ?> map,
+                                      final JsonGenerator gen,
+                                      final SerializerProvider provider) throws IOException {
+        if (map != null) {
+            gen.writeFieldName(name);
+            writeMap(map, gen, provider);
+        }
+    }
+
+    /**
+     * Writes the maps of a notice, leaving out null values as the mapper's
+     * inclusion does. Maps of other classes, such as the shared snapshots
+     * with serializers of their own, are handed back to Jackson.
+     */
+    private static void writeMap(final Map<String, ?> map, final JsonGenerator gen,
+                                 final SerializerProvider provider) throws IOException {
+        if (!isPlainMap(map)) {
+            provider.defaultSerializeValue(map, gen);
+            return;
+        }
+
+        gen.writeStartObject(map);
+
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            final Object value = entry.getValue();
+
+            if (value == null) {
+                continue;
+            }
+
+            gen.writeFieldName(entry.getKey());
+            writeValue(value, gen, provider);
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeValue(final Object value, final JsonGenerator gen,
+                                   final SerializerProvider provider) throws IOException {
+        if (value instanceof String) {
+            gen.writeString((String) value);
+        } else if (value instanceof Number) {
+            writeNumber((Number) value, gen, provider);
+        } else if (value instanceof Boolean) {
+            gen.writeBoolean((Boolean) value);
+        } else if (value instanceof Map && isPlainMap((Map<?, ?>) value) &&
+                hasStringKeys((Map<?, ?>) value)) {
+            @SuppressWarnings("unchecked")
+            final Map<String, ?> map = (Map<String, ?>) value;
+            writeMap(map, gen, provider);
+        } else {
+            provider.defaultSerializeValue(value, gen);
+        }
+    }
+
+    private static boolean isPlainMap(final Map<?, ?> map) {
+        final Class<?> type = map.getClass();
+
+        return type == LinkedHashMap.class || type == HashMap.class || type == TreeMap.class ||
+                type == UNMODIFIABLE_MAP || type == Details.class || type == Context.class ||
+                type == Params.class || type == Session.class || type == CgiData.class;
+    }
+
+    private static boolean hasStringKeys(final Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void writeStrings(final Collection<String> values, final JsonGenerator gen)
+            throws IOException {
+        gen.writeStartArray();
+
+        for (String value : values) {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeString(value);
+            }
+        }
+
+        gen.writeEndArray();
+    }
+
+    private static void writeString(final SerializableString name, final String value,
+                                    final JsonGenerator gen) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeNumber(final SerializableString name, final Number value,
+                                    final JsonGenerator gen) throws IOException {
+        if (value != null) {
+            gen.writeFieldName(name);
+            writeNumber(value, gen, null);
+        }
+    }
+
+    /**
+     * Writes a number the way Jackson's number serializers do, going through
+     * the primitive type for the common boxes.
+     */
+    private static void writeNumber(final Number value, final JsonGenerator gen,
+                                    final SerializerProvider provider) throws IOException {
+        if (value instanceof Integer) {
+            gen.writeNumber(value.intValue());
+        } else if (value instanceof Long) {
+            gen.writeNumber(value.longValue());
+        } else if (value instanceof Double) {
+            gen.writeNumber(value.doubleValue());
+        } else if (value instanceof Float) {
+            gen.writeNumber(value.floatValue());
+        } else if (value instanceof Short || value instanceof Byte) {
+            gen.writeNumber(value.intValue());
+        } else if (value instanceof BigDecimal) {
+            gen.writeNumber((BigDecimal) value);
+        } else if (value instanceof BigInteger) {
+            gen.writeNumber((BigInteger) value);
+        } else if (provider != null) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeNumber(value.toString());
+        }
+    }
+
+    private static SerializableString name(final String value) {
+        return new SerializedString(value);
+    }
+
+    /**
+     * Serializer installed by {@link #module()}.
+     */
+    private static final class Serializer extends StdSerializer<Notice> {
+        private static final long serialVersionUID = -3224217669312719758L;
+
+        Serializer() {
+            super(Notice.class);
+        }
+
+        @Override
+        public void serialize(final Notice value, final JsonGenerator gen,
+                              final SerializerProvider provider) throws IOException {
+            write(value, gen, provider);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Pressure stall information of a resource: the share of time, in percent
+ * averaged over 10, 60 and 300 seconds, in which some or all tasks were
+ * stalled waiting for it.
+ *
+ * @since 2.1.3
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Pressure implements Serializable {
+    private static final long serialVersionUID = -2291785262430153735L;
+
+    @JsonProperty("some_avg10")
+    private final Number someAvg10;
+    @JsonProperty("some_avg60")
+    private final Number someAvg60;
+    @JsonProperty("some_avg300")
+    private final Number someAvg300;
+    @JsonProperty("full_avg10")
+    private final Number fullAvg10;
+    @JsonProperty("full_avg60")
+    private final Number fullAvg60;
+    @JsonProperty("full_avg300")
+    private final Number fullAvg300;
+
+    @JsonCreator
+    public Pressure(@JsonProperty("some_avg10") final Number someAvg10,
+                    @JsonProperty("some_avg60") final Number someAvg60,
+                    @JsonProperty("some_avg300") final Number someAvg300,
+                    @JsonProperty("full_avg10") final Number fullAvg10,
+                    @JsonProperty("full_avg60") final Number fullAvg60,
+                    @JsonProperty("full_avg300") final Number fullAvg300) {
+        this.someAvg10 = someAvg10;
+        this.someAvg60 = someAvg60;
+        this.someAvg300 = someAvg300;
+        this.fullAvg10 = fullAvg10;
+        this.fullAvg60 = fullAvg60;
+        this.fullAvg300 = fullAvg300;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || !(o instanceof Pressure)) {
+            return false;
+        }
+
+        final Pressure pressure = (Pressure) o;
+        return Objects.equals(getSomeAvg10(), pressure.getSomeAvg10()) &&
+                Objects.equals(getSomeAvg60(), pressure.getSomeAvg60()) &&
+                Objects.equals(getSomeAvg300(), pressure.getSomeAvg300()) &&
+                Objects.equals(getFullAvg10(), pressure.getFullAvg10()) &&
+                Objects.equals(getFullAvg60(), pressure.getFullAvg60()) &&
+                Objects.equals(getFullAvg300(), pressure.getFullAvg300());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getSomeAvg10(), getSomeAvg60(), getSomeAvg300(),
+                getFullAvg10(), getFullAvg60(), getFullAvg300());
+    }
+
+    @Override
+    public String toString() {
+        return "Pressure{" +
+                "some_avg10=" + getSomeAvg10() +
+                ", some_avg60=" + getSomeAvg60() +
+                ", some_avg300=" + getSomeAvg300() +
+                ", full_avg10=" + getFullAvg10() +
+                ", full_avg60=" + getFullAvg60() +
+                ", full_avg300=" + getFullAvg300() +
+                '}';
+    }
+
+    public Number getSomeAvg10() {
+        return someAvg10;
+    }
+
+    public Number getSomeAvg60() {
+        return someAvg60;
+    }
+
+    public Number getSomeAvg300() {
+        return someAvg300;
+    }
+
+    public Number getFullAvg10() {
+        return fullAvg10;
+    }
+
+    public Number getFullAvg60() {
+        return fullAvg60;
+    }
+
+    public Number getFullAvg300() {
+        return fullAvg300;
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.stats.StatsSampler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,11 +15,10 @@ import java.io.Serializable;
 import java.lang.management.ManagementFactory;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Objects;
-import java.util.TimeZone;
 
 /**
  * Server details at the time an error occurred.
@@ -30,6 +30,8 @@ import java.util.TimeZone;
 public class ServerDetails implements Serializable {
     private static final long serialVersionUID = 4689643321013504425L;
     private static Logger logger = LoggerFactory.getLogger(ServerDetails.class);
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm'Z'").withZone(ZoneOffset.UTC);
     @JsonProperty("environment_name")
     private final String environmentName;
     private final String hostname;
@@ -40,12 +42,34 @@ public class ServerDetails implements Serializable {
     private final Stats stats;
 
     public ServerDetails(final ConfigContext context) {
+        this(context, HostIdentity.get());
+    }
+
+    /**
+     * @param context configuration the notice is reported with
+     * @param host hostname, project root and process id to report
+     * @since 2.1.3
+     */
+    public ServerDetails(final ConfigContext context, final HostIdentity host) {
+        this(context, host, Instant.now(), StatsSampler.getInstance().current());
+    }
+
+    /**
+     * @param context configuration the notice is reported with
+     * @param host hostname, project root and process id to report
+     * @param occurredAt time the error occurred
+     * @param stats memory and load statistics sampled when the error
+     *              occurred
+     * @since 2.1.3
+     */
+    public ServerDetails(final ConfigContext context, final HostIdentity host,
+                         final Instant occurredAt, final Stats stats) {
         this.environmentName = context.getEnvironment();
-        this.hostname = hostname();
-        this.projectRoot = projectRoot();
-        this.pid = pid();
-        this.time = time();
-        this.stats = new Stats();
+        this.hostname = host.getHostname();
+        this.projectRoot = host.getProjectRoot();
+        this.pid = host.getPid();
+        this.time = TIME_FORMATTER.format(occurredAt);
+        this.stats = stats;
     }
 
     @JsonCreator
@@ -131,10 +155,7 @@ public class ServerDetails implements Serializable {
      * @return The current time in ISO-8601 format.
      */
     public static String time() {
-        TimeZone tz = TimeZone.getTimeZone("UTC");
-        DateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm'Z'");
-        formatter.setTimeZone(tz);
-        return formatter.format(new Date());
+        return TIME_FORMATTER.format(Instant.now());
     }
 
     @Override
@@ -28,17 +28,63 @@ public class Stats implements Serializable {
     }
 
     private final Load load;
+    private final CgroupStats cgroup;
+    private final JvmStats jvm;
 
     public Stats() {
         this.mem = new Memory();
         this.load = new Load();
+        this.cgroup = null;
+        this.jvm = null;
     }
 
+    public Stats(final Memory mem, final Load load) {
+        this(mem, load, null);
+    }
+
+    /**
+     * @param mem host and JVM memory
+     * @param load host load averages
+     * @param cgroup resources of the JVM's control group or null
+     * @since 2.1.3
+     */
+    public Stats(final Memory mem, final Load load, final CgroupStats cgroup) {
+        this(mem, load, cgroup, null);
+    }
+
+    /**
+     * @param mem host and JVM memory
+     * @param load host load averages
+     * @param cgroup resources of the JVM's control group or null
+     * @param jvm JVM runtime statistics or null
+     * @since 2.1.3
+     */
     @JsonCreator
     public Stats(@JsonProperty("mem") final Memory mem,
-                 @JsonProperty("load") final Load load) {
+                 @JsonProperty("load") final Load load,
+                 @JsonProperty("cgroup") final CgroupStats cgroup,
+                 @JsonProperty("jvm") final JvmStats jvm) {
         this.mem = mem;
         this.load = load;
+        this.cgroup = cgroup;
+        this.jvm = jvm;
+    }
+
+    /**
+     * @return resources of the JVM's control group or null when not running
+     *         in one
+     * @since 2.1.3
+     */
+    public CgroupStats getCgroup() {
+        return cgroup;
+    }
+
+    /**
+     * @return JVM runtime statistics or null if they weren't sampled
+     * @since 2.1.3
+     */
+    public JvmStats getJvm() {
+        return jvm;
     }
 
     @Override
@@ -49,13 +95,15 @@ public class Stats implements Serializable {
         Stats stats = (Stats) o;
 
         if (mem != null ? !mem.equals(stats.mem) : stats.mem != null) return false;
-        return !(load != null ? !load.equals(stats.load) : stats.load != null);
+        if (load != null ? !load.equals(stats.load) : stats.load != null) return false;
+        if (!Objects.equals(cgroup, stats.cgroup)) return false;
+        return Objects.equals(jvm, stats.jvm);
 
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(mem, load);
+        return Objects.hash(mem, load, cgroup, jvm);
     }
 
     @Override
@@ -63,6 +111,8 @@ public class Stats implements Serializable {
         return "Stats{" +
                 "mem=" + mem +
                 ", load=" + load +
+                ", cgroup=" + cgroup +
+                ", jvm=" + jvm +
                 '}';
     }
 }
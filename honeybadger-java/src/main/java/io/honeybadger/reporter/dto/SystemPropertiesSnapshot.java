@@ -0,0 +1,222 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable copy of the system properties, minus the excluded ones, along
+ * with its JSON form. The system properties rarely change after startup, so
+ * notices share the same snapshot and its JSON is written into the notice
+ * as is, instead of copying and serializing hundreds of properties for
+ * every notice.
+ *
+ * A snapshot is replaced when the excluded properties change, when
+ * {@link System#setProperties(Properties)} installs other properties or when
+ * properties are added or removed. A changed value doesn't change the size,
+ * so the hash code of the properties is compared as well once the snapshot
+ * is older than {@link #REVALIDATE_INTERVAL_NANOS}.
+ *
+ * @since 2.1.3
+ */
+@JsonSerialize(using = SystemPropertiesSnapshot.Serializer.class)
+public final class SystemPropertiesSnapshot extends AbstractMap<String, String>
+        implements Serializable {
+    private static final long serialVersionUID = -2853317744389164208L;
+
+    /** Age after which a snapshot is compared with the properties in full. */
+    static final long REVALIDATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static volatile SystemPropertiesSnapshot current;
+
+    private final SortedMap<String, String> properties;
+    private final Set<String> excluded;
+    private final transient Properties source;
+    private final transient int sourceSize;
+    private final transient int sourceHash;
+    private transient volatile long validatedAtNanos;
+    private transient volatile SerializedString json;
+
+    private SystemPropertiesSnapshot(final Properties source, final Set<String> excluded,
+                                     final long nowNanos) {
+        final TreeMap<String, String> map = new TreeMap<>();
+        final int size;
+        final int hash;
+
+        // Properties is a Hashtable, so locking it keeps the copy consistent
+        synchronized (source) {
+            size = source.size();
+            hash = source.hashCode();
+
+            for (Map.Entry<Object, Object> entry : source.entrySet()) {
+                final Object key = entry.getKey();
+
+                if (key == null) {
+                    continue;
+                }
+
+                final String stringKey = Objects.toString(key);
+
+                // We skip all excluded properties
+                if (stringKey.isEmpty() || excluded.contains(stringKey)) {
+                    continue;
+                }
+
+                map.put(stringKey, Objects.toString(entry.getValue()));
+            }
+        }
+
+        this.properties = Collections.unmodifiableSortedMap(map);
+        this.excluded = excluded;
+        this.source = source;
+        this.sourceSize = size;
+        this.sourceHash = hash;
+        this.validatedAtNanos = nowNanos;
+    }
+
+    /**
+     * @param excludedSysProps names of the properties to leave out or null
+     * @return snapshot of the current system properties, shared with every
+     *         other caller excluding the same properties
+     */
+    public static SystemPropertiesSnapshot get(final Set<String> excludedSysProps) {
+        return get(System.getProperties(), excludedSysProps == null ?
+                Collections.emptySet() : excludedSysProps, System.nanoTime());
+    }
+
+    static SystemPropertiesSnapshot get(final Properties properties, final Set<String> excludedSysProps,
+                                        final long nowNanos) {
+        final SystemPropertiesSnapshot snapshot = current;
+
+        if (snapshot != null && snapshot.isValidFor(properties, excludedSysProps, nowNanos)) {
+            return snapshot;
+        }
+
+        final SystemPropertiesSnapshot fresh = new SystemPropertiesSnapshot(properties,
+                Collections.unmodifiableSet(new HashSet<>(excludedSysProps)), nowNanos);
+        current = fresh;
+
+        return fresh;
+    }
+
+    /**
+     * Forgets the current snapshot.
+     */
+    static void reset() {
+        current = null;
+    }
+
+    private boolean isValidFor(final Properties properties, final Set<String> excludedSysProps,
+                               final long now) {
+        if (properties != source || properties.size() != sourceSize ||
+                !excluded.equals(excludedSysProps)) {
+            return false;
+        }
+
+        if (now - validatedAtNanos < REVALIDATE_INTERVAL_NANOS) {
+            return true;
+        }
+
+        if (properties.hashCode() != sourceHash) {
+            return false;
+        }
+
+        validatedAtNanos = now;
+        return true;
+    }
+
+    /**
+     * @return the properties as a JSON object, serialized once per snapshot
+     */
+    SerializedString toJson() {
+        SerializedString serialized = json;
+
+        if (serialized == null) {
+            try {
+                serialized = new SerializedString(MAPPER.writeValueAsString(properties));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            json = serialized;
+        }
+
+        return serialized;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return properties.entrySet();
+    }
+
+    @Override
+    public String get(final Object key) {
+        return properties.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return properties.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return properties.size();
+    }
+
+    /**
+     * Java serialization writes the properties as a plain sorted map.
+     */
+    private Object writeReplace() {
+        return new TreeMap<>(properties);
+    }
+
+    /**
+     * Writes the pre-serialized JSON of a snapshot. Pretty printed output,
+     * trees and other formats get the properties one by one instead, since
+     * only a plain JSON generator can take the JSON as is.
+     */
+    static final class Serializer extends StdSerializer<SystemPropertiesSnapshot> {
+        private static final long serialVersionUID = 6361096312985458633L;
+
+        Serializer() {
+            super(SystemPropertiesSnapshot.class);
+        }
+
+        @Override
+        public void serialize(final SystemPropertiesSnapshot value, final JsonGenerator gen,
+                              final SerializerProvider provider) throws IOException {
+            if (!(gen instanceof JsonGeneratorImpl) || gen.getPrettyPrinter() != null) {
+                gen.writeStartObject();
+
+                for (Map.Entry<String, String> entry : value.properties.entrySet()) {
+                    gen.writeStringField(entry.getKey(), entry.getValue());
+                }
+
+                gen.writeEndObject();
+                return;
+            }
+
+            gen.writeRawValue(value.toJson());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.honeybadger.reporter.metrics;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * {@link ReporterMetrics} kept in memory: striped counters for the notice
+ * events, a {@link LatencyHistogram} of send latencies and a count for
+ * every response status code. Nothing is ever locked, so recording costs a
+ * few atomic increments.
+ *
+ * @since 2.1.3
+ */
+public class DefaultReporterMetrics implements ReporterMetrics {
+    /** Status codes from 0 to 599 are counted individually. */
+    private static final int STATUS_CODES = 600;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder excluded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder payloads = new LongAdder();
+    private final LongAdder payloadBytes = new LongAdder();
+    private final LongAdder networkErrors = new LongAdder();
+    private final AtomicLongArray statusCodes = new AtomicLongArray(STATUS_CODES);
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile IntSupplier queueDepth;
+
+    @Override
+    public void noticeSubmitted() {
+        submitted.increment();
+    }
+
+    @Override
+    public void noticeExcluded() {
+        excluded.increment();
+    }
+
+    @Override
+    public void noticeDropped() {
+        dropped.increment();
+    }
+
+    @Override
+    public void noticesDropped(final long count) {
+        dropped.add(count);
+    }
+
+    @Override
+    public void noticeRetried() {
+        retried.increment();
+    }
+
+    @Override
+    public void payloadSerialized(final long bytes) {
+        payloads.increment();
+        payloadBytes.add(bytes);
+    }
+
+    @Override
+    public void noticeSent(final long latencyNanos) {
+        latency.record(latencyNanos);
+    }
+
+    @Override
+    public void noticesSent(final long count, final long latencyNanos) {
+        latency.record(latencyNanos, count);
+    }
+
+    @Override
+    public void responseReceived(final int statusCode) {
+        if (statusCode < 0) {
+            networkErrors.increment();
+        } else if (statusCode < STATUS_CODES) {
+            statusCodes.incrementAndGet(statusCode);
+        } else {
+            // Not a valid status code, counted under 0
+            statusCodes.incrementAndGet(0);
+        }
+    }
+
+    @Override
+    public void bindQueueDepth(final IntSupplier depth) {
+        this.queueDepth = depth;
+    }
+
+    /**
+     * @return number of errors passed to the reporter
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return number of errors left out by exclusions, filters, sampling
+     *         or deduplication
+     */
+    public long getExcludedCount() {
+        return excluded.sum();
+    }
+
+    /**
+     * @return number of notices discarded without being delivered
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return number of requests made again after a failed attempt
+     */
+    public long getRetriedCount() {
+        return retried.sum();
+    }
+
+    /**
+     * @return number of notices accepted by the API
+     */
+    public long getSentCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * @return number of request payloads serialized
+     */
+    public long getPayloadCount() {
+        return payloads.sum();
+    }
+
+    /**
+     * @return total size in bytes of the serialized request payloads
+     */
+    public long getPayloadBytes() {
+        return payloadBytes.sum();
+    }
+
+    /**
+     * @return number of requests that failed without a response
+     */
+    public long getNetworkErrorCount() {
+        return networkErrors.sum();
+    }
+
+    /**
+     * @return number of responses by status code, only listing codes that
+     *         were received
+     */
+    public SortedMap<Integer, Long> getResponseCounts() {
+        final SortedMap<Integer, Long> counts = new TreeMap<>();
+
+        for (int code = 0; code < STATUS_CODES; code++) {
+            final long count = statusCodes.get(code);
+
+            if (count > 0) {
+                counts.put(code, count);
+            }
+        }
+
+        return Collections.unmodifiableSortedMap(counts);
+    }
+
+    /**
+     * @return number of notices waiting to be sent or 0 if no queue is bound
+     */
+    public int getQueueDepth() {
+        final IntSupplier depth = queueDepth;
+        return depth == null ? 0 : depth.getAsInt();
+    }
+
+    /**
+     * @return histogram of the time in nanoseconds from the first attempt
+     *         to send a notice to the response accepting it
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,164 @@
+package io.honeybadger.reporter.metrics;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes {@link DefaultReporterMetrics} as an MXBean on the platform
+ * MBean server, named {@code io.honeybadger:type=ReporterMetrics,name=...}.
+ * Attributes are read from the metrics when they are requested, so the
+ * adapter costs nothing between reads.
+ *
+ * @since 2.1.3
+ */
+public final class JmxMetricsAdapter implements ReporterMetricsMXBean, Closeable {
+    /** Domain and type of the registered names. */
+    public static final String OBJECT_NAME_PREFIX = "io.honeybadger:type=ReporterMetrics,name=";
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final DefaultReporterMetrics metrics;
+    private final MBeanServer server;
+    private final ObjectName objectName;
+
+    private JmxMetricsAdapter(final DefaultReporterMetrics metrics, final MBeanServer server,
+                              final ObjectName objectName) {
+        this.metrics = metrics;
+        this.server = server;
+        this.objectName = objectName;
+    }
+
+    /**
+     * Registers the metrics on the platform MBean server.
+     *
+     * @param metrics metrics to expose
+     * @param name value of the name key, unique among the reporters of the JVM
+     * @return registered adapter, which unregisters the MXBean when closed
+     * @throws JMException thrown when the MXBean can't be registered, for
+     *                     example because the name is already taken
+     */
+    public static JmxMetricsAdapter register(final DefaultReporterMetrics metrics, final String name)
+            throws JMException {
+        return register(metrics, name, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    static JmxMetricsAdapter register(final DefaultReporterMetrics metrics, final String name,
+                                      final MBeanServer server) throws JMException {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics must not be null");
+        }
+
+        final ObjectName objectName;
+
+        try {
+            objectName = new ObjectName(OBJECT_NAME_PREFIX + name);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Invalid MBean name: " + name, e);
+        }
+
+        final JmxMetricsAdapter adapter = new JmxMetricsAdapter(metrics, server, objectName);
+        server.registerMBean(adapter, objectName);
+
+        return adapter;
+    }
+
+    /**
+     * @return name the MXBean is registered under
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Unregisters the MXBean.
+     */
+    @Override
+    public void close() {
+        try {
+            server.unregisterMBean(objectName);
+        } catch (InstanceNotFoundException e) {
+            // Already unregistered
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to unregister " + objectName, e);
+        }
+    }
+
+    @Override
+    public long getSubmittedCount() {
+        return metrics.getSubmittedCount();
+    }
+
+    @Override
+    public long getExcludedCount() {
+        return metrics.getExcludedCount();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return metrics.getDroppedCount();
+    }
+
+    @Override
+    public long getRetriedCount() {
+        return metrics.getRetriedCount();
+    }
+
+    @Override
+    public long getSentCount() {
+        return metrics.getSentCount();
+    }
+
+    @Override
+    public long getPayloadBytes() {
+        return metrics.getPayloadBytes();
+    }
+
+    @Override
+    public long getNetworkErrorCount() {
+        return metrics.getNetworkErrorCount();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return metrics.getQueueDepth();
+    }
+
+    @Override
+    public double getLatencyMeanMillis() {
+        return metrics.getLatency().getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatency50thPercentileMillis() {
+        return metrics.getLatency().getValueAtPercentile(50.0) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatency99thPercentileMillis() {
+        return metrics.getLatency().getValueAtPercentile(99.0) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+        return metrics.getLatency().getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public Map<String, Long> getResponseCounts() {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+
+        for (Map.Entry<Integer, Long> count : metrics.getResponseCounts().entrySet()) {
+            counts.put(String.valueOf(count.getKey()), count.getValue());
+        }
+
+        return counts;
+    }
+}
@@ -0,0 +1,140 @@
+package io.honeybadger.reporter.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with a bounded relative error,
+ * laid out like HdrHistogram: values below 64 have a bucket each, and every
+ * further power of two is split into 32 buckets, so a value is reported at
+ * most about 3% above what was recorded. The whole range of long fits in
+ * under 2000 buckets.
+ *
+ * Recording is a single atomic increment of a bucket plus the count, sum
+ * and maximum, so it never blocks. Readers see each bucket atomically but
+ * not the histogram as a whole; a percentile computed while values are
+ * recorded may be off by those values.
+ *
+ * @since 2.1.3
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Index of the bucket holding Long.MAX_VALUE, plus one. */
+    private static final int BUCKETS = indexOf(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value value to record, negative values are recorded as 0
+     */
+    public void record(final long value) {
+        record(value, 1L);
+    }
+
+    /**
+     * @param value value to record, negative values are recorded as 0
+     * @param times number of times the value occurred
+     */
+    public void record(final long value, final long times) {
+        if (times <= 0) {
+            return;
+        }
+
+        final long recorded = Math.max(0L, value);
+
+        counts.addAndGet(indexOf(recorded), times);
+        count.add(times);
+        sum.add(recorded * times);
+
+        long current = max.get();
+
+        while (recorded > current && !max.compareAndSet(current, recorded)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return largest recorded value or 0 if none was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return mean of the recorded values or 0 if none was recorded
+     */
+    public double getMean() {
+        final long total = count.sum();
+        return total == 0 ? 0.0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100
+     * @return highest value equivalent to the one at the percentile, never
+     *         more than the maximum, or 0 if no value was recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        final long total = count.sum();
+
+        if (total == 0) {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Forgets all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+
+        count.reset();
+        sum.reset();
+        max.set(0L);
+    }
+
+    static int indexOf(final long value) {
+        final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = Math.max(0, magnitude - SUB_BUCKET_BITS);
+
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(final int index) {
+        final int shift = Math.max(0, index / SUB_BUCKETS - 1);
+        final long subBucket = index - (long) shift * SUB_BUCKETS;
+        // For the last bucket the shift wraps to Long.MIN_VALUE and the
+        // subtraction back to Long.MAX_VALUE
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,130 @@
+package io.honeybadger.reporter.metrics;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Receives the events of a reporter as it handles errors. Methods are
+ * called on application, sender and retry threads, so implementations must
+ * be thread safe and must not block.
+ *
+ * A notice is counted as submitted once, and then as excluded, sent or
+ * dropped at most once. Notices spooled because the API is unavailable are
+ * neither until they are sent from the spool. Each notice of a batch is
+ * counted on its own. The exception are repeats suppressed by
+ * deduplication: they are excluded, and also dropped if their fingerprint
+ * is forgotten before a later notice reports them.
+ *
+ * @since 2.1.3
+ */
+public interface ReporterMetrics {
+    /**
+     * Metrics that discard every event.
+     */
+    ReporterMetrics NOOP = new ReporterMetrics() {
+        @Override
+        public void noticeSubmitted() {
+        }
+
+        @Override
+        public void noticeExcluded() {
+        }
+
+        @Override
+        public void noticeDropped() {
+        }
+
+        @Override
+        public void noticeRetried() {
+        }
+
+        @Override
+        public void payloadSerialized(final long bytes) {
+        }
+
+        @Override
+        public void noticeSent(final long latencyNanos) {
+        }
+
+        @Override
+        public void responseReceived(final int statusCode) {
+        }
+
+        @Override
+        public void bindQueueDepth(final IntSupplier depth) {
+        }
+    };
+
+    /**
+     * An error was passed to the reporter.
+     */
+    void noticeSubmitted();
+
+    /**
+     * An error was left out by the excluded classes, a filter, sampling or
+     * deduplication.
+     */
+    void noticeExcluded();
+
+    /**
+     * A notice was discarded without being delivered, because the send
+     * queue was full, the reporter was closed or the API rejected it, or a
+     * suppressed repeat was lost when its fingerprint was forgotten.
+     */
+    void noticeDropped();
+
+    /**
+     * Several notices were discarded at once, for example the suppressed
+     * repeats of a forgotten fingerprint or the notices of a batch.
+     *
+     * @param count number of notices discarded
+     */
+    default void noticesDropped(final long count) {
+        for (long i = 0; i < count; i++) {
+            noticeDropped();
+        }
+    }
+
+    /**
+     * A request to the API is being made again after a failed attempt.
+     */
+    void noticeRetried();
+
+    /**
+     * @param bytes size of the JSON payload of a request before compression
+     */
+    void payloadSerialized(long bytes);
+
+    /**
+     * A notice was accepted by the API.
+     *
+     * @param latencyNanos time from the first attempt to the response
+     *                     accepting the notice, including retries, or the
+     *                     time of the request for a notice sent from the
+     *                     spool
+     */
+    void noticeSent(long latencyNanos);
+
+    /**
+     * Several notices were accepted by the API in a single response.
+     *
+     * @param count number of notices accepted
+     * @param latencyNanos time from the first attempt to the response
+     *                     accepting the notices, including retries
+     */
+    default void noticesSent(final long count, final long latencyNanos) {
+        for (long i = 0; i < count; i++) {
+            noticeSent(latencyNanos);
+        }
+    }
+
+    /**
+     * @param statusCode status code of a response from the API or -1 for a
+     *                   network error
+     */
+    void responseReceived(int statusCode);
+
+    /**
+     * @param depth supplies the number of notices waiting to be sent
+     */
+    void bindQueueDepth(IntSupplier depth);
+}
@@ -0,0 +1,77 @@
+package io.honeybadger.reporter.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link JmxMetricsAdapter}. Counts are totals
+ * since the reporter was created; latencies are in milliseconds.
+ *
+ * @since 2.1.3
+ */
+public interface ReporterMetricsMXBean {
+    /**
+     * @return number of errors passed to the reporter
+     */
+    long getSubmittedCount();
+
+    /**
+     * @return number of errors left out by exclusions, filters, sampling
+     *         or deduplication
+     */
+    long getExcludedCount();
+
+    /**
+     * @return number of notices discarded without being delivered
+     */
+    long getDroppedCount();
+
+    /**
+     * @return number of requests made again after a failed attempt
+     */
+    long getRetriedCount();
+
+    /**
+     * @return number of notices accepted by the API
+     */
+    long getSentCount();
+
+    /**
+     * @return total size in bytes of the serialized request payloads
+     */
+    long getPayloadBytes();
+
+    /**
+     * @return number of requests that failed without a response
+     */
+    long getNetworkErrorCount();
+
+    /**
+     * @return number of notices waiting to be sent
+     */
+    int getQueueDepth();
+
+    /**
+     * @return mean send latency
+     */
+    double getLatencyMeanMillis();
+
+    /**
+     * @return median send latency
+     */
+    double getLatency50thPercentileMillis();
+
+    /**
+     * @return 99th percentile of the send latency
+     */
+    double getLatency99thPercentileMillis();
+
+    /**
+     * @return highest send latency
+     */
+    double getLatencyMaxMillis();
+
+    /**
+     * @return number of responses by status code
+     */
+    Map<String, Long> getResponseCounts();
+}
@@ -0,0 +1,99 @@
+package io.honeybadger.reporter.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a one line summary of {@link DefaultReporterMetrics} to the log at
+ * INFO level, either on demand with {@link #dump()} or periodically from a
+ * daemon thread once {@link #start(long)} is called.
+ *
+ * @since 2.1.3
+ */
+public final class Slf4jMetricsAdapter implements Closeable {
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final DefaultReporterMetrics metrics;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param metrics metrics to write to the log
+     */
+    public Slf4jMetricsAdapter(final DefaultReporterMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Metrics must not be null");
+        }
+
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts writing the summary periodically. Does nothing if it was
+     * already started.
+     *
+     * @param intervalMillis time between two summaries
+     */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    public synchronized void start(final long intervalMillis) {
+        if (intervalMillis < 1) {
+            throw new IllegalArgumentException("Metrics log interval must be greater than 0");
+        }
+
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "honeybadger-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::dump, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the summary to the log now.
+     */
+    public void dump() {
+        if (logger.isInfoEnabled()) {
+            logger.info(summary());
+        }
+    }
+
+    /**
+     * @return one line summary of the metrics
+     */
+    public String summary() {
+        final LatencyHistogram latency = metrics.getLatency();
+
+        return String.format(Locale.ROOT, "Honeybadger reporter metrics: submitted=%d excluded=%d " +
+                        "sent=%d dropped=%d retried=%d queue_depth=%d network_errors=%d " +
+                        "payload_bytes=%d latency_ms[p50=%.1f p99=%.1f max=%.1f] responses=%s",
+                metrics.getSubmittedCount(), metrics.getExcludedCount(), metrics.getSentCount(),
+                metrics.getDroppedCount(), metrics.getRetriedCount(), metrics.getQueueDepth(),
+                metrics.getNetworkErrorCount(), metrics.getPayloadBytes(),
+                latency.getValueAtPercentile(50.0) / NANOS_PER_MILLI,
+                latency.getValueAtPercentile(99.0) / NANOS_PER_MILLI,
+                latency.getMax() / NANOS_PER_MILLI,
+                metrics.getResponseCounts());
+    }
+
+    /**
+     * Stops writing the summary periodically.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
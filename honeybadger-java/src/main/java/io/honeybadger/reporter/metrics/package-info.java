@@ -0,0 +1,16 @@
+/**
+ * Instrumentation of the reporter itself, so that degraded error reporting
+ * can be alerted on like any other dependency.
+ *
+ * {@link io.honeybadger.reporter.metrics.ReporterMetrics} is the extension
+ * point the reporters record their events through. The default
+ * implementation, {@link io.honeybadger.reporter.metrics.DefaultReporterMetrics},
+ * keeps counters and a lock-free latency histogram in memory and can be
+ * exposed over JMX with {@link io.honeybadger.reporter.metrics.JmxMetricsAdapter}
+ * or written to the log with
+ * {@link io.honeybadger.reporter.metrics.Slf4jMetricsAdapter}. A Micrometer
+ * bridge is available in the honeybadger-java-micrometer module.
+ *
+ * @since 2.1.3
+ */
+package io.honeybadger.reporter.metrics;
@@ -0,0 +1,588 @@
+package io.honeybadger.reporter.spool;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Durable {@link NoticeSpool} backed by an append-only log of memory-mapped
+ * segment files, so that undeliverable notices survive a restart of the JVM.
+ *
+ * Each record is framed as
+ * <pre>
+ * [int length][int CRC32 of payload][long timestamp][byte state][payload]
+ * </pre>
+ * The length is written last, so a reader never sees a partially written
+ * record as long as the process dies on its own. Torn writes left behind
+ * by a crash of the machine are caught by the checksum. Delivered records
+ * are marked in place by flipping their state byte.
+ *
+ * Appends are plain memory copies into the page cache. Nothing is forced
+ * to disk per record: when a sync interval is configured, dirty segments
+ * are forced together on a background thread (group commit), otherwise
+ * flushing is left to the operating system.
+ *
+ * On startup the existing segments are scanned and every record up to the
+ * first bad frame is recovered. Recovered segments are read only; new
+ * notices always go to a fresh segment. Whole segments are evicted, oldest
+ * first, when the spool grows past its maximum size or when all of their
+ * records have passed the maximum age.
+ *
+ * @since 2.1.3
+ */
+public class MappedFileNoticeSpool implements NoticeSpool {
+    /** Size of the frame that precedes each payload. */
+    static final int HEADER_SIZE = 4 + 4 + 8 + 1;
+
+    private static final int CRC_OFFSET = 4;
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final int STATE_OFFSET = 16;
+    private static final byte PENDING = 0;
+    private static final byte DELIVERED = 1;
+    private static final String SEGMENT_PREFIX = "notices-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String LOCK_FILE = "spool.lock";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxSize;
+    private final long maxAgeMillis;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong discarded = new AtomicLong();
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ScheduledExecutorService syncer;
+    private long totalBytes;
+    private long nextSequence;
+    private Segment peekedSegment;
+    private int peekedPosition;
+    private boolean closed;
+
+    /**
+     * Opens the spool in a directory and recovers the notices left in it.
+     *
+     * @param directory directory holding the segment files, created if
+     *                  missing
+     * @param segmentSize size in bytes of each segment file
+     * @param maxSize maximum size in bytes of all segment files together
+     * @param maxAgeMillis time after which a spooled notice is discarded or
+     *                     0 to keep notices until they are delivered
+     * @param syncIntervalMillis time between group commits or 0 to leave
+     *                           flushing to the operating system
+     * @throws IOException thrown when the directory can't be used
+     */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    public MappedFileNoticeSpool(final Path directory, final int segmentSize, final long maxSize,
+                                 final long maxAgeMillis, final long syncIntervalMillis)
+            throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Spool segment size must be greater than " + HEADER_SIZE);
+        }
+
+        if (maxSize < segmentSize) {
+            throw new IllegalArgumentException("Spool maximum size must not be less than the segment size");
+        }
+
+        if (maxAgeMillis < 0 || syncIntervalMillis < 0) {
+            throw new IllegalArgumentException("Spool maximum age and sync interval must not be negative");
+        }
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+        this.maxAgeMillis = maxAgeMillis;
+
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = acquireLock();
+
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+
+        if (syncIntervalMillis > 0) {
+            this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "honeybadger-spool-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.syncer.scheduleWithFixedDelay(this::sync, syncIntervalMillis,
+                    syncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.syncer = null;
+        }
+    }
+
+    /**
+     * Opens the spool configured by the durable spool settings of a
+     * configuration.
+     *
+     * @param config configuration with a spool directory
+     * @return new spool instance
+     * @throws IOException thrown when the directory can't be used
+     */
+    public static MappedFileNoticeSpool fromConfig(final ConfigContext config) throws IOException {
+        if (config.getSpoolDirectory() == null) {
+            throw new IllegalArgumentException("Spool directory must be set");
+        }
+
+        return new MappedFileNoticeSpool(Paths.get(config.getSpoolDirectory()),
+                valueOrDefault(config.getSpoolSegmentSize(),
+                        DefaultsConfigContext.DEFAULT_SPOOL_SEGMENT_SIZE),
+                valueOrDefault(config.getSpoolMaxSize(),
+                        DefaultsConfigContext.DEFAULT_SPOOL_MAX_SIZE),
+                valueOrDefault(config.getSpoolMaxAge(),
+                        DefaultsConfigContext.DEFAULT_SPOOL_MAX_AGE),
+                valueOrDefault(config.getSpoolSyncInterval(),
+                        DefaultsConfigContext.DEFAULT_SPOOL_SYNC_INTERVAL));
+    }
+
+    private FileLock acquireLock() throws IOException {
+        final FileLock acquired;
+
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lockChannel.close();
+            throw new IOException("Spool directory is already in use: " + directory, e);
+        }
+
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("Spool directory is already in use: " + directory);
+        }
+
+        return acquired;
+    }
+
+    private void recover() throws IOException {
+        final List<Long> sequences = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+
+                try {
+                    sequences.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring unexpected file in spool directory: {}", file);
+                }
+            }
+        }
+
+        Collections.sort(sequences);
+
+        final long oldest = oldestAcceptedTimestamp();
+
+        for (long sequence : sequences) {
+            nextSequence = sequence + 1;
+
+            final Segment segment = Segment.recover(segmentPath(sequence));
+
+            if (segment == null || segment.pending == 0) {
+                Files.deleteIfExists(segmentPath(sequence));
+                continue;
+            }
+
+            if (segment.newestTimestamp < oldest) {
+                discarded.addAndGet(segment.pending);
+                Files.deleteIfExists(segmentPath(sequence));
+                continue;
+            }
+
+            segments.addLast(segment);
+            totalBytes += segment.capacity();
+            size.addAndGet(segment.pending);
+        }
+
+        while (totalBytes > maxSize && !segments.isEmpty()) {
+            evict(segments.peekFirst());
+        }
+
+        if (size.get() > 0) {
+            logger.info("Recovered {} undelivered notices from {}", size.get(), directory);
+        }
+    }
+
+    @Override
+    public boolean offer(final byte[] notice) {
+        final int recordSize = HEADER_SIZE + notice.length;
+
+        synchronized (segments) {
+            if (closed || notice.length == 0 || recordSize > maxSize) {
+                discarded.incrementAndGet();
+                return false;
+            }
+
+            Segment active = segments.peekLast();
+
+            if (active == null || !active.hasRoom(recordSize)) {
+                final int capacity = Math.max(segmentSize, recordSize);
+
+                while (totalBytes + capacity > maxSize && !segments.isEmpty()) {
+                    evict(segments.peekFirst());
+                }
+
+                try {
+                    active = Segment.create(segmentPath(nextSequence), capacity);
+                } catch (IOException e) {
+                    logger.warn("Unable to create spool segment in {}", directory, e);
+                    discarded.incrementAndGet();
+                    return false;
+                }
+
+                nextSequence++;
+                segments.addLast(active);
+                totalBytes += capacity;
+            }
+
+            active.append(notice, System.currentTimeMillis());
+            size.incrementAndGet();
+            return true;
+        }
+    }
+
+    @Override
+    public byte[] peek() {
+        final long oldest = oldestAcceptedTimestamp();
+
+        synchronized (segments) {
+            Segment head;
+
+            while ((head = segments.peekFirst()) != null) {
+                final boolean active = head == segments.peekLast();
+
+                if (!active && head.newestTimestamp < oldest) {
+                    evict(head);
+                    continue;
+                }
+
+                while (head.readPosition < head.writePosition) {
+                    final int position = head.readPosition;
+
+                    if (head.state(position) == PENDING) {
+                        if (head.timestamp(position) >= oldest) {
+                            peekedSegment = head;
+                            peekedPosition = position;
+                            return head.payload(position);
+                        }
+
+                        head.markDelivered(position);
+                        size.decrementAndGet();
+                        discarded.incrementAndGet();
+                    }
+
+                    head.readPosition = position + HEADER_SIZE + head.length(position);
+                }
+
+                if (active) {
+                    return null;
+                }
+
+                delete(head);
+            }
+
+            return null;
+        }
+    }
+
+    @Override
+    public void remove() {
+        synchronized (segments) {
+            final Segment segment = peekedSegment;
+            peekedSegment = null;
+
+            // The segment may have been evicted since it was peeked
+            if (segment == null || segment.deleted) {
+                return;
+            }
+
+            segment.markDelivered(peekedPosition);
+            segment.readPosition = peekedPosition + HEADER_SIZE + segment.length(peekedPosition);
+            size.decrementAndGet();
+
+            if (segment.pending == 0 && segment != segments.peekLast()) {
+                delete(segment);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return discarded.get();
+    }
+
+    /**
+     * @return total size in bytes of the segment files
+     */
+    public long getSizeInBytes() {
+        synchronized (segments) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * Forces the records written since the last commit to disk.
+     */
+    public void sync() {
+        final List<Segment> dirty = new ArrayList<>();
+
+        synchronized (segments) {
+            for (Segment segment : segments) {
+                if (segment.dirty) {
+                    segment.dirty = false;
+                    dirty.add(segment);
+                }
+            }
+        }
+
+        // Forcing happens outside of the lock so that appends aren't held up
+        for (Segment segment : dirty) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * Commits outstanding writes and releases the spool directory. Spooled
+     * notices stay on disk for the next instance.
+     *
+     * @throws IOException thrown when the directory lock can't be released
+     */
+    @Override
+    public void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+
+        synchronized (segments) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+        }
+
+        sync();
+
+        synchronized (segments) {
+            segments.clear();
+            size.set(0);
+        }
+
+        try {
+            lock.release();
+        } finally {
+            lockChannel.close();
+        }
+    }
+
+    private void evict(final Segment segment) {
+        discarded.addAndGet(segment.pending);
+        size.addAndGet(-segment.pending);
+        delete(segment);
+    }
+
+    private void delete(final Segment segment) {
+        segments.remove(segment);
+        totalBytes -= segment.capacity();
+        segment.deleted = true;
+
+        if (segment == peekedSegment) {
+            peekedSegment = null;
+        }
+
+        /* The mapping itself is only released when the buffer is garbage
+         * collected, which doesn't keep the file from being unlinked. */
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            logger.warn("Unable to delete spool segment {}", segment.path, e);
+        }
+    }
+
+    private long oldestAcceptedTimestamp() {
+        return maxAgeMillis == 0 ? Long.MIN_VALUE : System.currentTimeMillis() - maxAgeMillis;
+    }
+
+    private Path segmentPath(final long sequence) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private static int valueOrDefault(final Integer value, final int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * A single memory-mapped segment file. All access is guarded by the
+     * spool's lock.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final boolean sealed;
+        private int writePosition;
+        private int readPosition;
+        private int pending;
+        private long newestTimestamp = Long.MIN_VALUE;
+        private boolean dirty;
+        private boolean deleted;
+
+        private Segment(final Path path, final MappedByteBuffer buffer, final boolean sealed) {
+            this.path = path;
+            this.buffer = buffer;
+            this.sealed = sealed;
+        }
+
+        static Segment create(final Path path, final int capacity) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), false);
+            }
+        }
+
+        /**
+         * Maps an existing segment and scans it up to the first frame that
+         * is incomplete or fails its checksum.
+         *
+         * @param path segment file
+         * @return recovered segment or null if the file holds no records
+         * @throws IOException thrown when the file can't be mapped
+         */
+        static Segment recover(final Path path) throws IOException {
+            final Segment segment;
+
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final long fileSize = channel.size();
+
+                if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                    return null;
+                }
+
+                segment = new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize), true);
+            }
+
+            int position = 0;
+
+            while (position <= segment.capacity() - HEADER_SIZE) {
+                final int length = segment.length(position);
+
+                if (length <= 0 || length > segment.capacity() - position - HEADER_SIZE ||
+                        segment.buffer.getInt(position + CRC_OFFSET) !=
+                                checksum(segment.buffer, position + HEADER_SIZE, length)) {
+                    break;
+                }
+
+                if (segment.state(position) == PENDING) {
+                    segment.pending++;
+                }
+
+                segment.newestTimestamp = Math.max(segment.newestTimestamp, segment.timestamp(position));
+                position += HEADER_SIZE + length;
+            }
+
+            segment.writePosition = position;
+            return segment;
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        boolean hasRoom(final int recordSize) {
+            return !sealed && capacity() - writePosition >= recordSize;
+        }
+
+        void append(final byte[] payload, final long timestamp) {
+            final int position = writePosition;
+            final ByteBuffer view = buffer.duplicate();
+            ((Buffer) view).position(position + HEADER_SIZE);
+            view.put(payload);
+
+            buffer.putInt(position + CRC_OFFSET, checksum(buffer, position + HEADER_SIZE, payload.length));
+            buffer.putLong(position + TIMESTAMP_OFFSET, timestamp);
+            buffer.put(position + STATE_OFFSET, PENDING);
+            // Publishing the length last makes the record visible
+            buffer.putInt(position, payload.length);
+
+            writePosition = position + HEADER_SIZE + payload.length;
+            newestTimestamp = Math.max(newestTimestamp, timestamp);
+            pending++;
+            dirty = true;
+        }
+
+        int length(final int position) {
+            return buffer.getInt(position);
+        }
+
+        long timestamp(final int position) {
+            return buffer.getLong(position + TIMESTAMP_OFFSET);
+        }
+
+        byte state(final int position) {
+            return buffer.get(position + STATE_OFFSET);
+        }
+
+        byte[] payload(final int position) {
+            final byte[] payload = new byte[length(position)];
+            final ByteBuffer view = buffer.duplicate();
+            ((Buffer) view).position(position + HEADER_SIZE);
+            view.get(payload);
+            return payload;
+        }
+
+        void markDelivered(final int position) {
+            buffer.put(position + STATE_OFFSET, DELIVERED);
+            pending--;
+            dirty = true;
+        }
+
+        private static int checksum(final ByteBuffer source, final int offset, final int length) {
+            final ByteBuffer view = source.duplicate();
+            ((Buffer) view).limit(offset + length);
+            ((Buffer) view).position(offset);
+
+            final CRC32 crc = new CRC32();
+            crc.update(view);
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.honeybadger.reporter.spool;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory {@link NoticeSpool}. When the spool is full the oldest
+ * notice is discarded to make room, on the assumption that recent errors
+ * are the most useful ones. Spooled notices are lost when the JVM exits.
+ *
+ * @since 2.1.3
+ */
+public class MemoryNoticeSpool implements NoticeSpool {
+    private final int capacity;
+    private final ConcurrentLinkedQueue<byte[]> notices = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong discarded = new AtomicLong();
+    private volatile byte[] peeked;
+
+    /**
+     * @param capacity maximum number of notices held
+     */
+    public MemoryNoticeSpool(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Spool capacity must be greater than 0");
+        }
+
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(final byte[] notice) {
+        notices.add(notice);
+
+        if (size.incrementAndGet() > capacity && notices.poll() != null) {
+            size.decrementAndGet();
+            discarded.incrementAndGet();
+        }
+
+        return true;
+    }
+
+    @Override
+    public byte[] peek() {
+        peeked = notices.peek();
+        return peeked;
+    }
+
+    @Override
+    public void remove() {
+        final byte[] notice = peeked;
+        peeked = null;
+
+        // Arrays compare by identity, so this only removes the peeked notice,
+        // which may already have been discarded to make room
+        if (notice != null && notices.remove(notice)) {
+            size.decrementAndGet();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return discarded.get();
+    }
+
+    @Override
+    public void close() {
+        notices.clear();
+        size.set(0);
+    }
+}
@@ -0,0 +1,42 @@
+package io.honeybadger.reporter.spool;
+
+import java.io.Closeable;
+
+/**
+ * First-in, first-out store of serialized notices waiting to be delivered.
+ * Any number of threads may add notices, but only a single thread at a time
+ * may consume them with {@link #peek()} and {@link #remove()}.
+ *
+ * @since 2.1.3
+ */
+public interface NoticeSpool extends Closeable {
+    /**
+     * Adds a notice to the end of the spool.
+     *
+     * @param notice JSON encoded notice
+     * @return true if the notice was stored, false if it was discarded
+     */
+    boolean offer(byte[] notice);
+
+    /**
+     * @return the oldest notice without removing it or null if the spool is
+     *         empty
+     */
+    byte[] peek();
+
+    /**
+     * Removes the oldest notice, which is the one returned by the preceding
+     * call to {@link #peek()}.
+     */
+    void remove();
+
+    /**
+     * @return number of notices in the spool
+     */
+    int size();
+
+    /**
+     * @return number of notices discarded because the spool was full
+     */
+    long getDiscardedCount();
+}
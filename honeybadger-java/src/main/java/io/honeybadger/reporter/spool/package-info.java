@@ -0,0 +1,8 @@
+/**
+ * Local storage for notices that couldn't be delivered because the
+ * Honeybadger API was unavailable. Spooled notices are kept in their
+ * serialized JSON form and are sent again once the API recovers.
+ *
+ * @since 2.1.3
+ */
+package io.honeybadger.reporter.spool;
@@ -0,0 +1,224 @@
+package io.honeybadger.reporter.stats;
+
+import io.honeybadger.reporter.dto.CgroupStats;
+import io.honeybadger.reporter.dto.Pressure;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the memory usage and limit, CPU throttling counters and pressure
+ * stall information of the control group the JVM runs in. Both the unified
+ * cgroup v2 hierarchy and the per-controller v1 hierarchies are supported;
+ * pressure stall information only exists in v2.
+ *
+ * The files are read with a {@link ProcFileParser}, so a sample doesn't
+ * allocate beyond the resulting DTOs. Not thread safe; {@link StatsSampler}
+ * samples from a single thread at a time.
+ *
+ * @since 2.1.3
+ */
+public final class CgroupStatsCollector {
+    /** Where the cgroup file system is usually mounted. */
+    public static final Path DEFAULT_ROOT = Paths.get("/sys/fs/cgroup");
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final long MEBIBYTE = 1_048_576L;
+    /** cgroup v1 reports an unlimited memory limit as a huge page aligned value. */
+    private static final long V1_UNLIMITED = 1L << 62;
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private static final byte[] NR_PERIODS = ProcFileParser.ascii("nr_periods");
+    private static final byte[] NR_THROTTLED = ProcFileParser.ascii("nr_throttled");
+    private static final byte[] THROTTLED_USEC = ProcFileParser.ascii("throttled_usec");
+    private static final byte[] THROTTLED_TIME = ProcFileParser.ascii("throttled_time");
+    private static final byte[] SOME = ProcFileParser.ascii("some");
+    private static final byte[] FULL = ProcFileParser.ascii("full");
+    private static final byte[] AVG10 = ProcFileParser.ascii("avg10=");
+    private static final byte[] AVG60 = ProcFileParser.ascii("avg60=");
+    private static final byte[] AVG300 = ProcFileParser.ascii("avg300=");
+
+    private final int version;
+    private final Path memoryDirectory;
+    private final Path cpuDirectory;
+    private final ProcFileParser parser = new ProcFileParser(BUFFER_SIZE);
+
+    private CgroupStatsCollector(final int version, final Path memoryDirectory,
+                                 final Path cpuDirectory) {
+        this.version = version;
+        this.memoryDirectory = memoryDirectory;
+        this.cpuDirectory = cpuDirectory;
+    }
+
+    /**
+     * Finds the control group of the JVM.
+     *
+     * @param root directory the cgroup file system is mounted on
+     * @param selfCgroup file listing the control groups of the process,
+     *                   normally {@code /proc/self/cgroup}
+     * @return collector or null if no cgroup file system is mounted
+     */
+    public static CgroupStatsCollector detect(final Path root, final Path selfCgroup) {
+        final List<String> memberships = readLines(selfCgroup);
+
+        if (Files.exists(root.resolve("cgroup.controllers"))) {
+            final Path directory = groupDirectory(root, membership(memberships, ""), "memory.current");
+            return new CgroupStatsCollector(2, directory, directory);
+        }
+
+        final Path memoryRoot = root.resolve("memory");
+        Path cpuRoot = root.resolve("cpu,cpuacct");
+
+        if (!Files.isDirectory(cpuRoot)) {
+            cpuRoot = root.resolve("cpu");
+        }
+
+        if (!Files.isDirectory(memoryRoot) && !Files.isDirectory(cpuRoot)) {
+            return null;
+        }
+
+        return new CgroupStatsCollector(1,
+                groupDirectory(memoryRoot, membership(memberships, "memory"), "memory.usage_in_bytes"),
+                groupDirectory(cpuRoot, membership(memberships, "cpu"), "cpu.stat"));
+    }
+
+    /**
+     * @return cgroup version, 1 or 2
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return current usage and limits of the control group
+     */
+    public CgroupStats sample() {
+        final Number usage;
+        final Number limit;
+        final Number throttledMicros;
+
+        if (version == 2) {
+            usage = mebibytes(readValue(memoryDirectory.resolve("memory.current")));
+            limit = mebibytes(readValue(memoryDirectory.resolve("memory.max")));
+        } else {
+            usage = mebibytes(readValue(memoryDirectory.resolve("memory.usage_in_bytes")));
+            final long v1Limit = readValue(memoryDirectory.resolve("memory.limit_in_bytes"));
+            limit = v1Limit >= V1_UNLIMITED ? null : mebibytes(v1Limit);
+        }
+
+        Number periods = null;
+        Number throttled = null;
+
+        if (parser.read(cpuDirectory.resolve("cpu.stat"))) {
+            periods = valueOrNull(parser.valueOf(NR_PERIODS));
+            throttled = valueOrNull(parser.valueOf(NR_THROTTLED));
+
+            if (version == 2) {
+                throttledMicros = valueOrNull(parser.valueOf(THROTTLED_USEC));
+            } else {
+                final long nanos = parser.valueOf(THROTTLED_TIME);
+                throttledMicros = nanos == ProcFileParser.MISSING ? null : nanos / NANOS_PER_MICRO;
+            }
+        } else {
+            throttledMicros = null;
+        }
+
+        return new CgroupStats(version, usage, limit, periods, throttled, throttledMicros,
+                pressure(cpuDirectory, "cpu.pressure"),
+                pressure(memoryDirectory, "memory.pressure"),
+                pressure(memoryDirectory, "io.pressure"));
+    }
+
+    private Pressure pressure(final Path directory, final String file) {
+        if (version != 2 || !parser.read(directory.resolve(file))) {
+            return null;
+        }
+
+        return new Pressure(
+                decimalOrNull(parser.decimalAfter(SOME, AVG10)),
+                decimalOrNull(parser.decimalAfter(SOME, AVG60)),
+                decimalOrNull(parser.decimalAfter(SOME, AVG300)),
+                decimalOrNull(parser.decimalAfter(FULL, AVG10)),
+                decimalOrNull(parser.decimalAfter(FULL, AVG60)),
+                decimalOrNull(parser.decimalAfter(FULL, AVG300)));
+    }
+
+    private long readValue(final Path file) {
+        return parser.read(file) ? parser.firstValue() : ProcFileParser.MISSING;
+    }
+
+    private static Long mebibytes(final long bytes) {
+        return bytes == ProcFileParser.MISSING ? null : bytes / MEBIBYTE;
+    }
+
+    private static Long valueOrNull(final long value) {
+        return value == ProcFileParser.MISSING ? null : value;
+    }
+
+    private static Double decimalOrNull(final double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Finds the path of the process's group in a hierarchy. Lines of
+     * {@code /proc/self/cgroup} look like {@code 4:memory:/kubepods/pod1} for
+     * v1 and {@code 0::/kubepods/pod1} for v2.
+     *
+     * @param controller controller of the hierarchy or an empty string for v2
+     * @return relative path of the group or null if it isn't listed
+     */
+    private static String membership(final List<String> lines, final String controller) {
+        for (String line : lines) {
+            final int first = line.indexOf(':');
+            final int second = line.indexOf(':', first + 1);
+
+            if (first < 0 || second < 0) {
+                continue;
+            }
+
+            final String controllers = line.substring(first + 1, second);
+            final boolean matches = controller.isEmpty() ? controllers.isEmpty() :
+                    ("," + controllers + ",").contains("," + controller + ",");
+
+            if (matches) {
+                return line.substring(second + 1);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Inside a container with its own cgroup namespace the hierarchy root is
+     * already the container's group, so the listed path is only used when it
+     * exists below the root.
+     */
+    private static Path groupDirectory(final Path hierarchy, final String group, final String probe) {
+        if (group != null) {
+            final String relative = group.startsWith("/") ? group.substring(1) : group;
+
+            if (!relative.isEmpty()) {
+                final Path directory = hierarchy.resolve(relative);
+
+                if (Files.exists(directory.resolve(probe))) {
+                    return directory;
+                }
+            }
+        }
+
+        return hierarchy;
+    }
+
+    private static List<String> readLines(final Path file) {
+        try {
+            return Files.readAllLines(file, StandardCharsets.US_ASCII);
+        } catch (IOException | SecurityException e) {
+            return Collections.emptyList();
+        }
+    }
+}
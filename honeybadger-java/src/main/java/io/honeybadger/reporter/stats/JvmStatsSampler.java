@@ -0,0 +1,247 @@
+package io.honeybadger.reporter.stats;
+
+import io.honeybadger.reporter.dto.JvmStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Samples JVM runtime statistics from the platform MXBeans:
+ * <ul>
+ *     <li>{@code gc} - collection count and time of each collector, in
+ *         total and since the previous sample</li>
+ *     <li>{@code threads} - live, daemon and peak threads, and deadlocked
+ *         threads if deadlock detection is enabled</li>
+ *     <li>{@code buffer_pools} - direct and mapped buffer usage</li>
+ *     <li>{@code memory_pools} - usage of each heap and non-heap pool</li>
+ * </ul>
+ * Further sections can be added with {@link #addSection(JvmStatsSection)}.
+ *
+ * Deadlock detection stops the JVM at a safepoint, so it is off unless
+ * enabled, and then only runs every {@value #DEADLOCK_CHECK_SAMPLES}
+ * samples; the samples in between report the last count found.
+ *
+ * @since 2.1.3
+ */
+public final class JvmStatsSampler {
+    /** Number of samples between two deadlock checks. */
+    public static final int DEADLOCK_CHECK_SAMPLES = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final List<JvmStatsSection> sections = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a sampler with the built-in sections, without deadlock
+     * detection.
+     */
+    public JvmStatsSampler() {
+        this(false);
+    }
+
+    /**
+     * Creates a sampler with the built-in sections.
+     *
+     * @param deadlockDetection true to count deadlocked threads
+     */
+    public JvmStatsSampler(final boolean deadlockDetection) {
+        sections.add(new GarbageCollectionSection());
+        sections.add(new ThreadSection(deadlockDetection));
+        sections.add(new BufferPoolSection());
+        sections.add(new MemoryPoolSection());
+    }
+
+    /**
+     * Adds a section, reported after the sections added before it.
+     *
+     * @param section section to add
+     */
+    public void addSection(final JvmStatsSection section) {
+        if (section == null) {
+            throw new IllegalArgumentException("Section must not be null");
+        }
+
+        sections.add(section);
+    }
+
+    /**
+     * @return statistics of all sections; a section that fails is left out
+     */
+    public synchronized JvmStats sample() {
+        final Map<String, Object> values = new LinkedHashMap<>();
+
+        for (JvmStatsSection section : sections) {
+            try {
+                final Object value = section.sample();
+
+                if (value != null) {
+                    values.put(section.getName(), value);
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Unable to sample JVM statistics section {}", section.getName(), e);
+            }
+        }
+
+        return new JvmStats(values);
+    }
+
+    private static Map<String, Number> usage(final MemoryUsage usage) {
+        final Map<String, Number> values = new LinkedHashMap<>();
+        values.put("used_bytes", usage.getUsed());
+        values.put("committed_bytes", usage.getCommitted());
+
+        if (usage.getMax() >= 0) {
+            values.put("max_bytes", usage.getMax());
+        }
+
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Collection counts and times, with deltas since the previous sample.
+     */
+    private static final class GarbageCollectionSection implements JvmStatsSection {
+        private final List<GarbageCollectorMXBean> collectors =
+                ManagementFactory.getGarbageCollectorMXBeans();
+        private final long[] lastCounts = new long[collectors.size()];
+        private final long[] lastTimes = new long[collectors.size()];
+
+        @Override
+        public String getName() {
+            return "gc";
+        }
+
+        @Override
+        public Object sample() {
+            final Map<String, Object> values = new LinkedHashMap<>();
+
+            for (int i = 0; i < collectors.size(); i++) {
+                final GarbageCollectorMXBean collector = collectors.get(i);
+                final long count = collector.getCollectionCount();
+                final long time = collector.getCollectionTime();
+
+                // Collectors that don't report a value return -1
+                if (count < 0) {
+                    continue;
+                }
+
+                final Map<String, Number> collectorValues = new LinkedHashMap<>();
+                collectorValues.put("count", count);
+                collectorValues.put("count_delta", count - lastCounts[i]);
+
+                if (time >= 0) {
+                    collectorValues.put("time_ms", time);
+                    collectorValues.put("time_delta_ms", time - lastTimes[i]);
+                    lastTimes[i] = time;
+                }
+
+                lastCounts[i] = count;
+                values.put(collector.getName(), Collections.unmodifiableMap(collectorValues));
+            }
+
+            return Collections.unmodifiableMap(values);
+        }
+    }
+
+    /**
+     * Thread counts, with deadlocks checked every few samples if enabled.
+     */
+    private static final class ThreadSection implements JvmStatsSection {
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final boolean deadlockDetection;
+        private int samplesUntilDeadlockCheck = 0;
+        private int deadlocked = 0;
+
+        ThreadSection(final boolean deadlockDetection) {
+            this.deadlockDetection = deadlockDetection;
+        }
+
+        @Override
+        public String getName() {
+            return "threads";
+        }
+
+        @Override
+        public Object sample() {
+            if (deadlockDetection && samplesUntilDeadlockCheck-- <= 0) {
+                final long[] ids = threads.findDeadlockedThreads();
+                deadlocked = ids == null ? 0 : ids.length;
+                samplesUntilDeadlockCheck = DEADLOCK_CHECK_SAMPLES - 1;
+            }
+
+            final Map<String, Number> values = new LinkedHashMap<>();
+            values.put("live", threads.getThreadCount());
+            values.put("daemon", threads.getDaemonThreadCount());
+            values.put("peak", threads.getPeakThreadCount());
+
+            if (deadlockDetection) {
+                values.put("deadlocked", deadlocked);
+            }
+
+            return Collections.unmodifiableMap(values);
+        }
+    }
+
+    /**
+     * Usage of the direct and mapped buffer pools.
+     */
+    private static final class BufferPoolSection implements JvmStatsSection {
+        private final List<BufferPoolMXBean> pools =
+                ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+
+        @Override
+        public String getName() {
+            return "buffer_pools";
+        }
+
+        @Override
+        public Object sample() {
+            final Map<String, Object> values = new LinkedHashMap<>();
+
+            for (BufferPoolMXBean pool : pools) {
+                final Map<String, Number> poolValues = new LinkedHashMap<>();
+                poolValues.put("count", pool.getCount());
+                poolValues.put("used_bytes", pool.getMemoryUsed());
+                poolValues.put("capacity_bytes", pool.getTotalCapacity());
+                values.put(pool.getName(), Collections.unmodifiableMap(poolValues));
+            }
+
+            return Collections.unmodifiableMap(values);
+        }
+    }
+
+    /**
+     * Usage of each memory pool, such as the eden space or the metaspace.
+     */
+    private static final class MemoryPoolSection implements JvmStatsSection {
+        private final List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+
+        @Override
+        public String getName() {
+            return "memory_pools";
+        }
+
+        @Override
+        public Object sample() {
+            final Map<String, Object> values = new LinkedHashMap<>();
+
+            for (MemoryPoolMXBean pool : pools) {
+                if (pool.isValid()) {
+                    values.put(pool.getName(), usage(pool.getUsage()));
+                }
+            }
+
+            return Collections.unmodifiableMap(values);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.honeybadger.reporter.stats;
+
+/**
+ * A named section of the JVM runtime statistics attached to notices. Sections
+ * are sampled by a {@link JvmStatsSampler} on its background thread, one
+ * sample at a time, so they may keep state between samples.
+ *
+ * @since 2.1.3
+ */
+public interface JvmStatsSection {
+    /**
+     * @return name the section is reported under
+     */
+    String getName();
+
+    /**
+     * @return current statistics of the section, as a value that serializes
+     *         to JSON and is not modified afterwards, or null to leave the
+     *         section out
+     */
+    Object sample();
+}
@@ -0,0 +1,244 @@
+package io.honeybadger.reporter.stats;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads small text files such as those in {@code /proc} into a reusable
+ * direct buffer and parses values out of it without allocating. Not thread
+ * safe: a parser holds the contents of the last file read.
+ *
+ * @since 2.1.3
+ */
+final class ProcFileParser {
+    /** Returned for a value that isn't present. */
+    static final long MISSING = Long.MIN_VALUE;
+    private static final long MAX_SCALE = 1_000_000_000_000_000L;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * @param capacity size of the buffer; longer files are cut off
+     */
+    ProcFileParser(final int capacity) {
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * @param text ASCII text
+     * @return the text as bytes, for use as a key
+     */
+    static byte[] ascii(final String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reads a file into the buffer, replacing the previous contents.
+     *
+     * @param file file to read
+     * @return true if the file was read, false if it doesn't exist or can't
+     *         be read, in which case the buffer is empty
+     */
+    boolean read(final Path file) {
+        ((Buffer) buffer).clear();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException | SecurityException e) {
+            ((Buffer) buffer).clear();
+            ((Buffer) buffer).limit(0);
+            return false;
+        }
+
+        ((Buffer) buffer).flip();
+        return true;
+    }
+
+    /**
+     * Finds the line starting with a key, followed by a colon, a space or an
+     * equals sign, and parses the integer after it, as in the
+     * {@code MemTotal:  32888732 kB} lines of {@code /proc/meminfo} or the
+     * {@code nr_throttled 5} lines of a cgroup's {@code cpu.stat}.
+     *
+     * @param key key at the start of the line
+     * @return value or {@link #MISSING} if there is no such line
+     */
+    long valueOf(final byte[] key) {
+        final int limit = buffer.limit();
+        int line = 0;
+
+        while (line < limit) {
+            if (matches(line, key, limit)) {
+                final int separator = line + key.length;
+                final byte next = buffer.get(separator);
+
+                if (next == ':' || next == ' ' || next == '\t' || next == '=') {
+                    return parseLong(skipBlanks(separator + 1, limit), limit);
+                }
+            }
+
+            line = nextLine(line, limit);
+        }
+
+        return MISSING;
+    }
+
+    /**
+     * Parses the integer that makes up the whole first line, as in a
+     * cgroup's {@code memory.current}.
+     *
+     * @return value or {@link #MISSING} if the line isn't a number
+     */
+    long firstValue() {
+        return parseLong(skipBlanks(0, buffer.limit()), buffer.limit());
+    }
+
+    /**
+     * Parses a decimal number out of the first line, as in the load
+     * averages of {@code /proc/loadavg}.
+     *
+     * @param field zero based index of the whitespace separated field
+     * @return value or NaN if the field isn't a number
+     */
+    double decimalField(final int field) {
+        final int limit = buffer.limit();
+        int position = skipBlanks(0, limit);
+
+        for (int i = 0; i < field && position < limit; i++) {
+            while (position < limit && !isBlank(buffer.get(position))) {
+                position++;
+            }
+
+            position = skipBlanks(position, limit);
+        }
+
+        return parseDecimal(position, limit);
+    }
+
+    /**
+     * Finds the line starting with a key and parses the decimal number
+     * following a field name within it, as in the
+     * {@code some avg10=0.31 avg60=0.12 avg300=0.02 total=1234} lines of a
+     * pressure stall information file.
+     *
+     * @param key key at the start of the line
+     * @param field name of the field, including its separator
+     * @return value or NaN if there is no such line or field
+     */
+    double decimalAfter(final byte[] key, final byte[] field) {
+        final int limit = buffer.limit();
+        int line = 0;
+
+        while (line < limit) {
+            final int end = nextLine(line, limit) - 1;
+
+            if (matches(line, key, limit) && buffer.get(line + key.length) == ' ') {
+                for (int position = line + key.length; position + field.length <= end; position++) {
+                    if (matches(position, field, limit)) {
+                        return parseDecimal(position + field.length, end);
+                    }
+                }
+
+                return Double.NaN;
+            }
+
+            line = end + 1;
+        }
+
+        return Double.NaN;
+    }
+
+    private boolean matches(final int position, final byte[] key, final int limit) {
+        if (position + key.length >= limit) {
+            return false;
+        }
+
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(position + i) != key[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int nextLine(final int position, final int limit) {
+        int next = position;
+
+        while (next < limit && buffer.get(next) != '\n') {
+            next++;
+        }
+
+        return next + 1;
+    }
+
+    private int skipBlanks(final int position, final int limit) {
+        int next = position;
+
+        while (next < limit && isBlank(buffer.get(next))) {
+            next++;
+        }
+
+        return next;
+    }
+
+    private static boolean isBlank(final byte value) {
+        return value == ' ' || value == '\t';
+    }
+
+    private long parseLong(final int position, final int limit) {
+        long value = 0;
+        int next = position;
+
+        while (next < limit && isDigit(buffer.get(next))) {
+            value = value * 10 + (buffer.get(next) - '0');
+            next++;
+        }
+
+        return next == position ? MISSING : value;
+    }
+
+    private double parseDecimal(final int position, final int limit) {
+        long whole = 0;
+        long fraction = 0;
+        long scale = 1;
+        int next = position;
+
+        while (next < limit && isDigit(buffer.get(next))) {
+            whole = whole * 10 + (buffer.get(next) - '0');
+            next++;
+        }
+
+        if (next == position) {
+            return Double.NaN;
+        }
+
+        if (next < limit && buffer.get(next) == '.') {
+            next++;
+
+            while (next < limit && isDigit(buffer.get(next))) {
+                // Digits beyond the precision of a double are ignored
+                if (scale < MAX_SCALE) {
+                    fraction = fraction * 10 + (buffer.get(next) - '0');
+                    scale *= 10;
+                }
+                next++;
+            }
+        }
+
+        return whole + (double) fraction / scale;
+    }
+
+    private static boolean isDigit(final byte value) {
+        return value >= '0' && value <= '9';
+    }
+}
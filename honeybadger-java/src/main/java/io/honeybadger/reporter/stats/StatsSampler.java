@@ -0,0 +1,330 @@
+package io.honeybadger.reporter.stats;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import io.honeybadger.reporter.dto.Load;
+import io.honeybadger.reporter.dto.Memory;
+import io.honeybadger.reporter.dto.Stats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples memory and load statistics on a fixed schedule and publishes them
+ * as an immutable {@link Stats} snapshot that notices point to, instead of
+ * reading {@code /proc} for every notice.
+ *
+ * {@code /proc/meminfo} and {@code /proc/loadavg} are read into a reusable
+ * direct buffer and parsed in place, so a sample allocates little more than
+ * the snapshot itself. Where these files don't exist, only the JVM memory
+ * values and the load average reported by the JVM are sampled. When the JVM
+ * runs in a control group, such as a container, its usage and limits are
+ * sampled too, as are the JVM runtime statistics of a {@link JvmStatsSampler}.
+ *
+ * @since 2.1.3
+ */
+public final class StatsSampler implements Closeable {
+    /** Default time between two samples. */
+    public static final long DEFAULT_INTERVAL_MILLIS = 1000L;
+
+    private static final Path PROC_DIRECTORY = Paths.get("/proc");
+    private static final int BUFFER_SIZE = 8192;
+    private static final long KIBIBYTES_PER_MEBIBYTE = 1024L;
+    private static final long MEBIBYTE = 1_048_576L;
+
+    private static final byte[] MEM_TOTAL = ProcFileParser.ascii("MemTotal");
+    private static final byte[] MEM_FREE = ProcFileParser.ascii("MemFree");
+    private static final byte[] BUFFERS = ProcFileParser.ascii("Buffers");
+    private static final byte[] CACHED = ProcFileParser.ascii("Cached");
+
+    private static final Object SHARED_LOCK = new Object();
+    private static volatile StatsSampler shared;
+    private static volatile StatsSampler unshared;
+    private static int references;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Path memInfo;
+    private final Path loadAverage;
+    private final ProcFileParser parser = new ProcFileParser(BUFFER_SIZE);
+    private final CgroupStatsCollector cgroup;
+    private final JvmStatsSampler jvm;
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final ScheduledExecutorService scheduler;
+    private final boolean sampleOnRead;
+    private volatile Stats current;
+
+    /**
+     * Takes a first sample and, if an interval is given, keeps sampling on
+     * a background thread.
+     *
+     * @param procDirectory directory holding {@code meminfo} and
+     *                      {@code loadavg}
+     * @param intervalMillis time between two samples or 0 to only sample
+     *                       when {@link #sample()} is called
+     */
+    public StatsSampler(final Path procDirectory, final long intervalMillis) {
+        this(procDirectory, null, intervalMillis);
+    }
+
+    /**
+     * Takes a first sample and, if an interval is given, keeps sampling on
+     * a background thread.
+     *
+     * @param procDirectory directory holding {@code meminfo} and
+     *                      {@code loadavg}
+     * @param cgroup collector of the JVM's control group statistics or null
+     * @param intervalMillis time between two samples or 0 to only sample
+     *                       when {@link #sample()} is called
+     */
+    public StatsSampler(final Path procDirectory, final CgroupStatsCollector cgroup,
+                        final long intervalMillis) {
+        this(procDirectory, cgroup, new JvmStatsSampler(), intervalMillis);
+    }
+
+    /**
+     * Takes a first sample and, if an interval is given, keeps sampling on
+     * a background thread.
+     *
+     * @param procDirectory directory holding {@code meminfo} and
+     *                      {@code loadavg}
+     * @param cgroup collector of the JVM's control group statistics or null
+     * @param jvm sampler of the JVM runtime statistics or null
+     * @param intervalMillis time between two samples or 0 to only sample
+     *                       when {@link #sample()} is called
+     */
+    public StatsSampler(final Path procDirectory, final CgroupStatsCollector cgroup,
+                        final JvmStatsSampler jvm, final long intervalMillis) {
+        this(procDirectory, cgroup, jvm, intervalMillis, false);
+    }
+
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private StatsSampler(final Path procDirectory, final CgroupStatsCollector cgroup,
+                         final JvmStatsSampler jvm, final long intervalMillis,
+                         final boolean sampleOnRead) {
+        if (intervalMillis < 0) {
+            throw new IllegalArgumentException("Sampling interval must not be negative");
+        }
+
+        this.memInfo = procDirectory.resolve("meminfo");
+        this.loadAverage = procDirectory.resolve("loadavg");
+        this.cgroup = cgroup;
+        this.jvm = jvm;
+        this.sampleOnRead = sampleOnRead;
+        sample();
+
+        if (intervalMillis > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "honeybadger-stats-sampler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleAtFixedRate(this::sampleQuietly, intervalMillis,
+                    intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * Returns the sampler shared by the open reporters. While no reporter is
+     * open, a sampler with the default settings is returned that samples
+     * whenever its snapshot is read.
+     *
+     * @return current statistics sampler
+     */
+    public static StatsSampler getInstance() {
+        final StatsSampler sampler = shared;
+        return sampler == null ? onDemand() : sampler;
+    }
+
+    /**
+     * Returns the sampler shared by the open reporters, starting it with the
+     * statistics settings of the configuration if no reporter holds it.
+     * Reporters that are open at the same time share the settings of the
+     * first one. Each call must be matched by a call to {@link #release()}.
+     *
+     * @param config configuration whose statistics settings are used if the
+     *               sampler isn't started yet
+     * @return sampler shared by the open reporters
+     */
+    public static StatsSampler acquire(final ConfigContext config) {
+        synchronized (SHARED_LOCK) {
+            if (shared == null) {
+                final Integer interval = config.getStatsSampleInterval();
+                shared = create(config, interval == null ? DEFAULT_INTERVAL_MILLIS : interval);
+            }
+
+            references++;
+            return shared;
+        }
+    }
+
+    /**
+     * Releases a sampler returned by {@link #acquire(ConfigContext)}. The
+     * sampler stops once every reporter that acquired it has released it.
+     */
+    public void release() {
+        synchronized (SHARED_LOCK) {
+            if (this != shared) {
+                return;
+            }
+
+            references--;
+
+            if (references == 0) {
+                shared = null;
+                close();
+            }
+        }
+    }
+
+    private static StatsSampler onDemand() {
+        StatsSampler sampler = unshared;
+
+        if (sampler == null) {
+            synchronized (SHARED_LOCK) {
+                sampler = unshared;
+
+                if (sampler == null) {
+                    sampler = create(new DefaultsConfigContext(), 0);
+                    unshared = sampler;
+                }
+            }
+        }
+
+        return sampler;
+    }
+
+    /**
+     * Creates a sampler for the process. Without an interval it takes a new
+     * sample every time its snapshot is read.
+     */
+    static StatsSampler create(final ConfigContext config, final long intervalMillis) {
+        final boolean jvmStats = !Boolean.FALSE.equals(config.isJvmStatsEnabled());
+        final boolean deadlocks = Boolean.TRUE.equals(config.isDeadlockDetectionEnabled());
+
+        return new StatsSampler(PROC_DIRECTORY,
+                CgroupStatsCollector.detect(CgroupStatsCollector.DEFAULT_ROOT,
+                        PROC_DIRECTORY.resolve("self/cgroup")),
+                jvmStats ? new JvmStatsSampler(deadlocks) : null,
+                intervalMillis, intervalMillis == 0);
+    }
+
+    /**
+     * @return sampler of the JVM runtime statistics or null
+     */
+    public JvmStatsSampler getJvmStatsSampler() {
+        return jvm;
+    }
+
+    /**
+     * @return latest snapshot, or a new one if the sampler doesn't sample in
+     *         the background but on every read
+     */
+    public Stats current() {
+        return sampleOnRead ? sample() : current;
+    }
+
+    /**
+     * Takes a sample and publishes it.
+     *
+     * @return new snapshot
+     */
+    public synchronized Stats sample() {
+        final Stats stats = new Stats(sampleMemory(), sampleLoad(),
+                cgroup == null ? null : cgroup.sample(),
+                jvm == null ? null : jvm.sample());
+        current = stats;
+        return stats;
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            logger.debug("Unable to sample statistics", e);
+        }
+    }
+
+    private Memory sampleMemory() {
+        Long total = null;
+        Long free = null;
+        Long buffers = null;
+        Long cached = null;
+        Long freeTotal = null;
+
+        if (parser.read(memInfo)) {
+            total = mebibytes(parser.valueOf(MEM_TOTAL));
+            free = mebibytes(parser.valueOf(MEM_FREE));
+            buffers = mebibytes(parser.valueOf(BUFFERS));
+            cached = mebibytes(parser.valueOf(CACHED));
+            freeTotal = zeroIfNull(free) + zeroIfNull(buffers) + zeroIfNull(cached);
+        }
+
+        final Runtime runtime = Runtime.getRuntime();
+
+        return new Memory(total, free, buffers, cached, freeTotal,
+                runtime.freeMemory() / MEBIBYTE,
+                runtime.maxMemory() / MEBIBYTE,
+                runtime.totalMemory() / MEBIBYTE,
+                memoryBean.getHeapMemoryUsage().getUsed() / MEBIBYTE,
+                memoryBean.getNonHeapMemoryUsage().getUsed() / MEBIBYTE);
+    }
+
+    private Load sampleLoad() {
+        if (parser.read(loadAverage)) {
+            final double one = parser.decimalField(0);
+            final double five = parser.decimalField(1);
+            final double fifteen = parser.decimalField(2);
+
+            if (!Double.isNaN(one) && !Double.isNaN(five) && !Double.isNaN(fifteen)) {
+                return new Load(one, five, fifteen);
+            }
+        }
+
+        return new Load(ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage(),
+                null, null);
+    }
+
+    private static Long mebibytes(final long kibibytes) {
+        return kibibytes == ProcFileParser.MISSING ? null : kibibytes / KIBIBYTES_PER_MEBIBYTE;
+    }
+
+    private static long zeroIfNull(final Long value) {
+        return value == null ? 0L : value;
+    }
+
+    /**
+     * @return number of reporters holding the shared sampler
+     */
+    static int references() {
+        synchronized (SHARED_LOCK) {
+            return references;
+        }
+    }
+
+    /**
+     * @return true while samples are taken in the background
+     */
+    boolean isSampling() {
+        return scheduler != null && !scheduler.isShutdown();
+    }
+
+    /**
+     * Stops sampling in the background. The last snapshot stays available.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * Background collection of the host and JVM statistics attached to
+ * notices. Statistics are sampled on a fixed schedule and published as an
+ * immutable snapshot, so attaching them to a notice costs a pointer copy
+ * no matter how many errors are reported.
+ *
+ * @since 2.1.3
+ */
+package io.honeybadger.reporter.stats;
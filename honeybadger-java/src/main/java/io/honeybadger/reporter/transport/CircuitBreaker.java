@@ -0,0 +1,232 @@
+package io.honeybadger.reporter.transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free circuit breaker guarding the Honeybadger API.
+ *
+ * While CLOSED, the outcome of every request is recorded in a sliding window
+ * of the most recent requests. Once the window is full and the share of
+ * failures in it reaches the threshold the circuit OPENs, and requests are
+ * refused until the open duration has passed. The next request is then let
+ * through as a trial (HALF_OPEN): if it succeeds the circuit closes with an
+ * empty window, otherwise it opens again.
+ *
+ * All state lives in atomics. Each transition replaces an immutable phase
+ * with a compare-and-set, so concurrent callers never block each other.
+ *
+ * @since 2.1.3
+ */
+public class CircuitBreaker {
+    /**
+     * Circuit states.
+     */
+    public enum State {
+        /** Requests flow normally. */
+        CLOSED,
+        /** Requests are refused. */
+        OPEN,
+        /** A single trial request is in flight. */
+        HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int failureRatePercent;
+    private final long openDurationNanos;
+    private final AtomicReference<Phase> phase;
+
+    /**
+     * @param windowSize number of recent requests the failure rate is
+     *                   computed over
+     * @param failureRatePercent percentage of failures that opens the circuit
+     * @param openDurationMillis time the circuit stays open before a trial
+     *                           request is allowed
+     */
+    public CircuitBreaker(final int windowSize, final int failureRatePercent,
+                          final long openDurationMillis) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Circuit breaker window size must be greater than 0");
+        }
+
+        if (failureRatePercent < 1 || failureRatePercent > 100) {
+            throw new IllegalArgumentException("Circuit breaker failure rate must be between 1 and 100");
+        }
+
+        if (openDurationMillis < 0) {
+            throw new IllegalArgumentException("Circuit breaker open duration must not be negative");
+        }
+
+        this.windowSize = windowSize;
+        this.failureRatePercent = failureRatePercent;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+        this.phase = new AtomicReference<>(closedPhase());
+    }
+
+    /**
+     * Asks whether a request may be sent. A caller that is granted a trial
+     * request must report its outcome.
+     *
+     * @return true if the request may be sent
+     */
+    public boolean tryAcquirePermission() {
+        while (true) {
+            final Phase current = phase.get();
+
+            if (current.state == State.CLOSED) {
+                return true;
+            }
+
+            // A trial that never reported back must not keep the circuit stuck
+            if (System.nanoTime() - current.sinceNanos < openDurationNanos) {
+                return false;
+            }
+
+            if (phase.compareAndSet(current, new Phase(State.HALF_OPEN, System.nanoTime(), null))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records a request that reached the API.
+     */
+    public void onSuccess() {
+        final Phase current = phase.get();
+
+        if (current.state == State.HALF_OPEN) {
+            phase.compareAndSet(current, closedPhase());
+        } else if (current.state == State.CLOSED) {
+            current.window.record(false);
+        }
+    }
+
+    /**
+     * Records a request that failed because the API was unavailable.
+     *
+     * @return true if this failure opened the circuit
+     */
+    public boolean onFailure() {
+        final Phase current = phase.get();
+
+        if (current.state == State.HALF_OPEN) {
+            return phase.compareAndSet(current, openPhase());
+        }
+
+        if (current.state == State.CLOSED) {
+            current.window.record(true);
+
+            if (current.window.isFull() &&
+                    current.window.failures() * 100 >= failureRatePercent * windowSize) {
+                return phase.compareAndSet(current, openPhase());
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return current state
+     */
+    public State getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * @return percentage of failures among the recent requests or -1 when
+     *         the window isn't full or the circuit isn't closed
+     */
+    public int getFailureRate() {
+        final Window window = phase.get().window;
+
+        if (window == null || !window.isFull()) {
+            return -1;
+        }
+
+        return window.failures() * 100 / windowSize;
+    }
+
+    /**
+     * @return time the circuit stays open before a trial request
+     */
+    public long getOpenDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(openDurationNanos);
+    }
+
+    private Phase closedPhase() {
+        return new Phase(State.CLOSED, System.nanoTime(), new Window(windowSize));
+    }
+
+    private Phase openPhase() {
+        return new Phase(State.OPEN, System.nanoTime(), null);
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{" +
+                "state=" + getState() +
+                ", failureRate=" + getFailureRate() +
+                '}';
+    }
+
+    /**
+     * Immutable state snapshot that is swapped atomically.
+     */
+    private static final class Phase {
+        private final State state;
+        private final long sinceNanos;
+        private final Window window;
+
+        Phase(final State state, final long sinceNanos, final Window window) {
+            this.state = state;
+            this.sinceNanos = sinceNanos;
+            this.window = window;
+        }
+    }
+
+    /**
+     * Ring of the most recent outcomes. Slots are claimed with an atomic
+     * cursor and the running counts are adjusted by the outcome each write
+     * replaces, so the counts are exact once writers have finished.
+     */
+    private static final class Window {
+        private static final int EMPTY = 0;
+        private static final int SUCCESS = 1;
+        private static final int FAILURE = 2;
+
+        private final AtomicIntegerArray slots;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Window(final int size) {
+            this.slots = new AtomicIntegerArray(size);
+        }
+
+        void record(final boolean failure) {
+            final int slot = (int) (cursor.getAndIncrement() % slots.length());
+            final int previous = slots.getAndSet(slot, failure ? FAILURE : SUCCESS);
+
+            if (previous == EMPTY) {
+                calls.incrementAndGet();
+            } else if (previous == FAILURE) {
+                failures.decrementAndGet();
+            }
+
+            if (failure) {
+                failures.incrementAndGet();
+            }
+        }
+
+        boolean isFull() {
+            return calls.get() >= slots.length();
+        }
+
+        int failures() {
+            return failures.get();
+        }
+    }
+}
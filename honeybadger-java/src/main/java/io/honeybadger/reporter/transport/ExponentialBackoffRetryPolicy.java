@@ -0,0 +1,148 @@
+package io.honeybadger.reporter.transport;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.utils.DateUtils;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry policy with exponential backoff and full jitter: the delay before
+ * retry n is a random value between zero and
+ * min(maximum delay, base delay * 2<sup>n - 1</sup>). A Retry-After header
+ * sent by the API takes precedence over the computed delay.
+ *
+ * Network errors, 408, 429 and 5xx responses are retried. Other 4xx
+ * responses mean that the request itself was rejected, so they are not.
+ * No retry is started once the elapsed time budget would be exceeded.
+ *
+ * A base delay of 0 retries without waiting; the reporter still makes the
+ * retry on its background thread rather than on the caller's.
+ *
+ * @since 2.1.3
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+    /** Doubling stops here so that the shift can't overflow. */
+    private static final int MAX_EXPONENT = 30;
+
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long maxElapsedMillis;
+
+    /**
+     * @param baseDelayMillis delay ceiling for the first retry or 0 to retry
+     *                        without waiting
+     * @param maxDelayMillis upper bound of the delay ceiling
+     * @param maxElapsedMillis time after the first attempt during which
+     *                         retries may start or 0 for no limit
+     */
+    public ExponentialBackoffRetryPolicy(final long baseDelayMillis,
+                                         final long maxDelayMillis,
+                                         final long maxElapsedMillis) {
+        if (baseDelayMillis < 0 || maxDelayMillis < 0 || maxElapsedMillis < 0) {
+            throw new IllegalArgumentException("Retry delays must not be negative");
+        }
+
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxElapsedMillis = maxElapsedMillis;
+    }
+
+    /**
+     * Creates a policy from the retry settings of a configuration.
+     *
+     * @param config configuration to read
+     * @return new policy instance
+     */
+    public static ExponentialBackoffRetryPolicy fromConfig(final ConfigContext config) {
+        return new ExponentialBackoffRetryPolicy(
+                valueOrDefault(config.getRetryBaseDelay(),
+                        DefaultsConfigContext.DEFAULT_RETRY_BASE_DELAY),
+                valueOrDefault(config.getRetryMaxDelay(),
+                        DefaultsConfigContext.DEFAULT_RETRY_MAX_DELAY),
+                valueOrDefault(config.getRetryMaxElapsed(),
+                        DefaultsConfigContext.DEFAULT_RETRY_MAX_ELAPSED));
+    }
+
+    @Override
+    public long delayBeforeRetry(final int failedAttempts, final long elapsedMillis,
+                                 final HttpResponse response, final IOException failure) {
+        if (response != null && !isRetryable(response.getStatusLine().getStatusCode())) {
+            return GIVE_UP;
+        }
+
+        long delay = response == null ? -1 : retryAfterMillis(response);
+
+        if (delay < 0) {
+            delay = jitteredDelay(failedAttempts);
+        }
+
+        if (maxElapsedMillis > 0 && elapsedMillis + delay > maxElapsedMillis) {
+            return GIVE_UP;
+        }
+
+        return delay;
+    }
+
+    /**
+     * @param statusCode HTTP status code of a failed attempt
+     * @return true if sending the same request again may succeed
+     */
+    public static boolean isRetryable(final int statusCode) {
+        if (statusCode == HttpStatus.SC_REQUEST_TIMEOUT || statusCode == 429) {
+            return true;
+        }
+
+        return statusCode < 400 || statusCode >= 500;
+    }
+
+    private long jitteredDelay(final int failedAttempts) {
+        if (baseDelayMillis == 0) {
+            return 0;
+        }
+
+        final int exponent = Math.min(Math.max(failedAttempts - 1, 0), MAX_EXPONENT);
+        final long ceiling = Math.min(maxDelayMillis, baseDelayMillis << exponent);
+
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * @param response response that may carry a Retry-After header
+     * @return delay requested by the server in milliseconds or -1 if the
+     *         header is missing or malformed
+     */
+    @SuppressWarnings("JavaUtilDate")
+    static long retryAfterMillis(final HttpResponse response) {
+        final Header header = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+
+        if (header == null || header.getValue() == null) {
+            return -1;
+        }
+
+        final String value = header.getValue().trim();
+
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(Long.parseLong(value), 0));
+        } catch (NumberFormatException e) {
+            final Date date = DateUtils.parseDate(value);
+
+            if (date == null) {
+                return -1;
+            }
+
+            return Math.max(date.getTime() - System.currentTimeMillis(), 0);
+        }
+    }
+
+    private static long valueOrDefault(final Integer value, final Integer defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+}
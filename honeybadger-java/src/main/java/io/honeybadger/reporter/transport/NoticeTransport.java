@@ -0,0 +1,26 @@
+package io.honeybadger.reporter.transport;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Executes HTTP requests against the Honeybadger API. Implementations are
+ * shared between threads and must be thread-safe.
+ *
+ * @since 2.1.3
+ */
+public interface NoticeTransport extends Closeable {
+    /**
+     * Executes a request and returns its response. The response entity, if
+     * any, must already be fully read so that it can be consumed after any
+     * underlying connection has been returned for reuse.
+     *
+     * @param request request to execute
+     * @return response with a repeatable entity
+     * @throws IOException thrown when a network exception was encountered
+     */
+    HttpResponse execute(HttpUriRequest request) throws IOException;
+}
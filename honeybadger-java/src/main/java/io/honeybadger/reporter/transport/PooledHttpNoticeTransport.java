@@ -0,0 +1,186 @@
+package io.honeybadger.reporter.transport;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NoticeTransport} backed by a single Apache HTTP Client instance and
+ * its {@link PoolingHttpClientConnectionManager}. Connections are kept alive
+ * between reports and TLS sessions are resumed from one shared SSL context,
+ * so only the first report to a host pays for a full handshake.
+ *
+ * Idle connections are evicted by a daemon thread owned by the client, which
+ * is stopped when the transport is closed.
+ *
+ * @since 2.1.3
+ */
+public class PooledHttpNoticeTransport implements NoticeTransport {
+    /**
+     * Pooled connections that have been idle for this long are checked
+     * before being reused, which catches connections the server has closed.
+     */
+    private static final int VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient client;
+    private final RequestConfig defaultRequestConfig;
+
+    public PooledHttpNoticeTransport(final ConfigContext config) {
+        final int maxPerRoute = valueOrDefault(config.getMaxConnectionsPerRoute(),
+                DefaultsConfigContext.DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+        final long idleTimeout = valueOrDefault(config.getConnectionIdleTimeout(),
+                DefaultsConfigContext.DEFAULT_CONNECTION_IDLE_TIMEOUT);
+
+        if (maxPerRoute < 1) {
+            throw new IllegalArgumentException("Honeybadger property " +
+                    "honeybadger.max_connections_per_route must be greater than 0");
+        }
+
+        if (idleTimeout < 1) {
+            throw new IllegalArgumentException("Honeybadger property " +
+                    "honeybadger.connection_idle_timeout must be greater than 0");
+        }
+
+        final Registry<ConnectionSocketFactory> socketFactories =
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", new SSLConnectionSocketFactory(
+                                SSLContexts.createSystemDefault(),
+                                SSLConnectionSocketFactory.getDefaultHostnameVerifier()))
+                        .build();
+
+        final SocketConfig.Builder socketConfig = SocketConfig.custom()
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true);
+
+        if (config.getSocketTimeout() != null) {
+            socketConfig.setSoTimeout(config.getSocketTimeout());
+        }
+
+        this.connectionManager = new PoolingHttpClientConnectionManager(socketFactories);
+        this.connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        this.connectionManager.setMaxTotal(maxPerRoute);
+        this.connectionManager.setDefaultSocketConfig(socketConfig.build());
+        this.connectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY_MILLIS);
+
+        final RequestConfig.Builder requestConfig = RequestConfig.custom();
+
+        if (config.getSocketTimeout() != null) {
+            requestConfig.setSocketTimeout(config.getSocketTimeout());
+        }
+
+        if (config.getConnectTimeout() != null) {
+            requestConfig.setConnectTimeout(config.getConnectTimeout());
+            // Don't wait forever for a connection when the pool is exhausted
+            requestConfig.setConnectionRequestTimeout(config.getConnectTimeout());
+        }
+
+        this.defaultRequestConfig = requestConfig.build();
+
+        this.client = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(defaultRequestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy(idleTimeout))
+                // Connections aren't tied to a user, so they can always be reused
+                .disableConnectionState()
+                // The reporter has its own retry policy
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public HttpResponse execute(final HttpUriRequest request) throws IOException {
+        final HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(requestConfig());
+
+        try (CloseableHttpResponse response = client.execute(request, context)) {
+            final HttpEntity entity = response.getEntity();
+
+            // Reading the body fully releases the connection back to the pool
+            if (entity != null) {
+                response.setEntity(new BufferedHttpEntity(entity));
+            }
+
+            return response;
+        }
+    }
+
+    /**
+     * @return number of connections currently kept open by the pool
+     */
+    public int getPooledConnectionCount() {
+        return connectionManager.getTotalStats().getAvailable() +
+                connectionManager.getTotalStats().getLeased();
+    }
+
+    /**
+     * The proxy is read from the standard system properties for every
+     * request so that it can be changed at runtime.
+     *
+     * @return request configuration with the current proxy settings applied
+     */
+    private RequestConfig requestConfig() {
+        final String proxyHost = System.getProperty("http.proxyHost");
+
+        if (proxyHost == null || proxyHost.isEmpty()) {
+            return defaultRequestConfig;
+        }
+
+        final int port = Integer.parseInt(System.getProperty("http.proxyPort"));
+
+        return RequestConfig.copy(defaultRequestConfig)
+                .setProxy(new HttpHost(proxyHost, port))
+                .build();
+    }
+
+    /**
+     * Honors a Keep-Alive header sent by the server, but never keeps a
+     * connection around for longer than the idle timeout.
+     */
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(final long idleTimeout) {
+        return (response, context) -> {
+            final long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+
+            if (serverKeepAlive > 0) {
+                return Math.min(serverKeepAlive, idleTimeout);
+            }
+
+            return idleTimeout;
+        };
+    }
+
+    private static <T> T valueOrDefault(final T value, final T defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+}
@@ -0,0 +1,30 @@
+package io.honeybadger.reporter.transport;
+
+import org.apache.http.HttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Decides whether and when a failed request to the Honeybadger API is sent
+ * again. The maximum number of attempts is governed separately by
+ * {@link io.honeybadger.reporter.config.ConfigContext#getMaximumErrorReportingRetries()}.
+ *
+ * @since 2.1.3
+ */
+public interface RetryPolicy {
+    /** Value returned when the request must not be retried. */
+    long GIVE_UP = -1L;
+
+    /**
+     * @param failedAttempts number of attempts that have failed so far
+     * @param elapsedMillis milliseconds since the first attempt started
+     * @param response response to the failed attempt or null if it failed
+     *                 with an exception
+     * @param failure exception thrown by the failed attempt or null if a
+     *                response was received
+     * @return milliseconds to wait before the next attempt, 0 to retry
+     *         immediately or {@link #GIVE_UP}
+     */
+    long delayBeforeRetry(int failedAttempts, long elapsedMillis,
+                          HttpResponse response, IOException failure);
+}
@@ -0,0 +1,12 @@
+/**
+ * Classes responsible for moving requests to and from the Honeybadger API.
+ *
+ * {@link io.honeybadger.reporter.transport.NoticeTransport} is the extension
+ * point used by the reporter and the notice loader. The default
+ * implementation, {@link io.honeybadger.reporter.transport.PooledHttpNoticeTransport},
+ * keeps connections alive between requests so that reports don't pay for a
+ * new TCP and TLS handshake every time.
+ *
+ * @since 2.1.3
+ */
+package io.honeybadger.reporter.transport;
@@ -0,0 +1,36 @@
+package io.honeybadger.reporter.dto;
+
+import java.util.stream.Stream;
+
+/**
+ * Captures the frames of the code that reported an error.
+ *
+ * This is the Java 9 implementation. The stack is walked lazily, so frames
+ * below the requested depth are never materialized.
+ *
+ * @since 2.1.3
+ */
+final class CallerFrames {
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private CallerFrames() {
+    }
+
+    /**
+     * @param maxDepth maximum number of frames or 0 for no limit
+     * @return frames of the caller of the reporter, innermost first
+     */
+    static StackTraceElement[] capture(final int maxDepth) {
+        return WALKER.walk(frames -> {
+            Stream<StackWalker.StackFrame> callers = frames.dropWhile(frame ->
+                    Backtrace.isReporterFrame(frame.getClassName()));
+
+            if (maxDepth > 0) {
+                callers = callers.limit(maxDepth);
+            }
+
+            return callers.map(StackWalker.StackFrame::toStackTraceElement)
+                    .toArray(StackTraceElement[]::new);
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package io.honeybadger.loader;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.dto.NoticeDetails;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class HoneybadgerNoticeLoaderTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void expandingRestoresFramesInCommon() {
+        Throwable inner = errorWith("Inner", null,
+                frame("fail", 9), frame("wrap", 6), frame("service", 2), frame("main", 3));
+        Throwable outer = errorWith("Outer", inner,
+                frame("wrap", 5), frame("service", 2), frame("main", 3));
+        Throwable e = errorWith("Highest level", outer,
+                frame("handle", 1), frame("service", 2), frame("main", 3));
+
+        StandardConfigContext fullConfig = new StandardConfigContext();
+        StandardConfigContext omittingConfig = new StandardConfigContext();
+        omittingConfig.setOmitCommonFramesEnabled(true);
+
+        JsonNode full = OBJECT_MAPPER.valueToTree(new NoticeDetails(fullConfig, e));
+        JsonNode omitted = OBJECT_MAPPER.valueToTree(new NoticeDetails(omittingConfig, e));
+
+        assertNotEquals(full, omitted);
+
+        HoneybadgerNoticeLoader.expandFramesInCommon(omitted);
+
+        assertEquals(full, omitted);
+    }
+
+    @Test
+    public void expandingRestoresFramesInCommonOfTruncatedBacktraces() {
+        Throwable cause = errorWith("Cause", null,
+                frame("fail", 9), frame("wrap", 6), frame("service", 2), frame("main", 3), frame("start", 7));
+        Throwable e = errorWith("Highest level", cause,
+                frame("handle", 1), frame("route", 8), frame("service", 2), frame("main", 3), frame("start", 7));
+
+        StandardConfigContext fullConfig = new StandardConfigContext();
+        fullConfig.setMaxBacktraceDepth(2);
+        StandardConfigContext omittingConfig = new StandardConfigContext();
+        omittingConfig.setMaxBacktraceDepth(2);
+        omittingConfig.setOmitCommonFramesEnabled(true);
+
+        JsonNode full = OBJECT_MAPPER.valueToTree(new NoticeDetails(fullConfig, e));
+        JsonNode omitted = OBJECT_MAPPER.valueToTree(new NoticeDetails(omittingConfig, e));
+
+        assertEquals(3, omitted.get("causes").get(0).get("frames_in_common").asInt());
+
+        HoneybadgerNoticeLoader.expandFramesInCommon(omitted);
+
+        assertEquals(full, omitted);
+    }
+
+    @Test
+    public void expandingCopiesPartOfASummaryOfOmittedFrames() {
+        Throwable cause = errorWith("Cause", null,
+                frame("fail", 9), frame("main", 3), frame("start", 7));
+        Throwable e = errorWith("Highest level", cause,
+                frame("handle", 1), frame("route", 8), frame("main", 3), frame("start", 7));
+
+        StandardConfigContext omittingConfig = new StandardConfigContext();
+        omittingConfig.setMaxBacktraceDepth(1);
+        omittingConfig.setOmitCommonFramesEnabled(true);
+
+        JsonNode omitted = OBJECT_MAPPER.valueToTree(new NoticeDetails(omittingConfig, e));
+        HoneybadgerNoticeLoader.expandFramesInCommon(omitted);
+
+        JsonNode backtrace = omitted.get("causes").get(0).get("backtrace");
+        assertEquals(2, backtrace.size());
+        assertEquals("com.example.Example.fail", backtrace.get(0).get("method").asText());
+        assertEquals("[2 truncated frames omitted]", backtrace.get(1).get("method").asText());
+    }
+
+    private static Throwable errorWith(final String message, final Throwable cause,
+                                       final StackTraceElement... frames) {
+        Throwable error = new RuntimeException(message, cause);
+        error.setStackTrace(frames);
+        return error;
+    }
+
+    private static StackTraceElement frame(final String method, final int line) {
+        return new StackTraceElement("com.example.Example", method, "Example.java", line);
+    }
+}
@@ -0,0 +1,235 @@
+package io.honeybadger.reporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.config.SystemSettingsConfigContext;
+import io.honeybadger.reporter.dto.Notice;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncNoticeReporterTest {
+    private final ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy");
+    private final BlockingReporter delegate = new BlockingReporter(config);
+    private AsyncNoticeReporter reporter;
+
+    class BlockingReporter extends HoneybadgerReporter {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        volatile Thread senderThread;
+
+        BlockingReporter(final ConfigContext configContext) {
+            super(configContext);
+        }
+
+        @Override
+        protected CompletableFuture<NoticeReportResult> sendNoticeAsync(final Notice notice,
+                                                                        final Throwable error) {
+            senderThread = Thread.currentThread();
+            started.countDown();
+
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            sent.add(error.getMessage());
+            return CompletableFuture.completedFuture(
+                    new NoticeReportResult(UUID.randomUUID(), notice, error));
+        }
+    }
+
+    @After
+    public void cleanup() {
+        delegate.release.countDown();
+
+        if (reporter != null) {
+            reporter.close();
+        }
+    }
+
+    @Test
+    public void sendsOnSenderThreadAndCompletesFuture() throws Exception {
+        reporter = new AsyncNoticeReporter(delegate, 4, 1,
+                AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST, 0);
+        delegate.release.countDown();
+
+        NoticeReportResult result = reporter.reportErrorAsync(new Exception("async"))
+                .get(10, TimeUnit.SECONDS);
+
+        assertNotNull(result);
+        assertNotNull(result.getId());
+        assertNotSame(Thread.currentThread(), delegate.senderThread);
+        assertTrue(delegate.senderThread.getName().startsWith("honeybadger-sender-"));
+    }
+
+    @Test
+    public void synchronousApiReturnsImmediately() throws Exception {
+        reporter = new AsyncNoticeReporter(delegate, 4, 1,
+                AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST, 0);
+
+        assertNull(reporter.reportError(new Exception("fire and forget")));
+        assertTrue(delegate.started.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void dropNewestDiscardsIncomingNoticeWhenFull() throws Exception {
+        reporter = new AsyncNoticeReporter(delegate, 1, 1,
+                AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST, 0);
+
+        CompletableFuture<NoticeReportResult> inFlight = reporter.reportErrorAsync(new Exception("1"));
+        assertTrue(delegate.started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<NoticeReportResult> queued = reporter.reportErrorAsync(new Exception("2"));
+        CompletableFuture<NoticeReportResult> dropped = reporter.reportErrorAsync(new Exception("3"));
+
+        assertTrue(dropped.isDone());
+        assertNull(dropped.get());
+        assertEquals(1, reporter.getDroppedCount());
+
+        delegate.release.countDown();
+        assertNotNull(inFlight.get(10, TimeUnit.SECONDS));
+        assertNotNull(queued.get(10, TimeUnit.SECONDS));
+        assertEquals("1", delegate.sent.get(0));
+        assertEquals("2", delegate.sent.get(1));
+    }
+
+    @Test
+    public void dropOldestDiscardsQueuedNoticeWhenFull() throws Exception {
+        reporter = new AsyncNoticeReporter(delegate, 1, 1,
+                AsyncNoticeReporter.OverflowPolicy.DROP_OLDEST, 0);
+
+        reporter.reportErrorAsync(new Exception("1"));
+        assertTrue(delegate.started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<NoticeReportResult> oldest = reporter.reportErrorAsync(new Exception("2"));
+        CompletableFuture<NoticeReportResult> newest = reporter.reportErrorAsync(new Exception("3"));
+
+        assertTrue(oldest.isDone());
+        assertNull(oldest.get());
+
+        delegate.release.countDown();
+        assertNotNull(newest.get(10, TimeUnit.SECONDS));
+        assertEquals("3", delegate.sent.get(1));
+    }
+
+    @Test
+    public void blockGivesUpAfterTimeout() throws Exception {
+        reporter = new AsyncNoticeReporter(delegate, 1, 1,
+                AsyncNoticeReporter.OverflowPolicy.BLOCK, 50);
+
+        reporter.reportErrorAsync(new Exception("1"));
+        assertTrue(delegate.started.await(10, TimeUnit.SECONDS));
+        reporter.reportErrorAsync(new Exception("2"));
+
+        long start = System.nanoTime();
+        CompletableFuture<NoticeReportResult> timedOut = reporter.reportErrorAsync(new Exception("3"));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("Reporting thread should have waited for room in the queue", waitedMillis >= 40);
+        assertNull(timedOut.get());
+        assertEquals(1, reporter.getDroppedCount());
+    }
+
+    @Test
+    public void excludedErrorsCompleteWithNull() throws Exception {
+        ConfigContext excluding = new SystemSettingsConfigContext().setApiKey("dummy")
+                .setExcludedClasses(Collections.singleton(IllegalStateException.class.getName()));
+        reporter = new AsyncNoticeReporter(new BlockingReporter(excluding), 1, 1,
+                AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST, 0);
+
+        assertNull(reporter.reportErrorAsync(new IllegalStateException()).get());
+    }
+
+    @Test
+    public void parsesOverflowPolicyFromConfiguration() {
+        assertEquals(AsyncNoticeReporter.OverflowPolicy.DROP_OLDEST,
+                AsyncNoticeReporter.OverflowPolicy.parse("drop_oldest"));
+        assertEquals(AsyncNoticeReporter.OverflowPolicy.BLOCK,
+                AsyncNoticeReporter.OverflowPolicy.parse("Block"));
+        assertEquals(AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST,
+                AsyncNoticeReporter.OverflowPolicy.parse("unknown"));
+    }
+
+    @Test
+    public void sendsFullBatchInSingleRequest() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices/batch", request -> new StubHoneybadgerServer.StubResponse(201,
+                    "[{\"id\":\"" + UUID.randomUUID() + "\"},{},{\"id\":\"" + UUID.randomUUID() + "\"}]"));
+            ConfigContext stubConfig = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+            reporter = new AsyncNoticeReporter(new HoneybadgerReporter(stubConfig), 10, 1,
+                    AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST, 0, 3, 10_000);
+
+            CompletableFuture<NoticeReportResult> first = reporter.reportErrorAsync(new Exception("1"));
+            CompletableFuture<NoticeReportResult> second = reporter.reportErrorAsync(new Exception("2"));
+            CompletableFuture<NoticeReportResult> third = reporter.reportErrorAsync(new Exception("3"));
+
+            assertNotNull(first.get(10, TimeUnit.SECONDS).getId());
+            assertNull("Items without an id map to a null result", second.get(10, TimeUnit.SECONDS));
+            assertNotNull(third.get(10, TimeUnit.SECONDS).getId());
+            assertEquals(1, server.getRequests().size());
+
+            JsonNode batch = new ObjectMapper().readTree(server.getRequests().get(0).body);
+            assertTrue(batch.isArray());
+            assertEquals(3, batch.size());
+            assertEquals("1", batch.get(0).get("error").get("message").textValue());
+            assertEquals("3", batch.get(2).get("error").get("message").textValue());
+        }
+    }
+
+    @Test
+    public void flushesPartialBatchAfterInterval() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices/batch", request -> new StubHoneybadgerServer.StubResponse(201,
+                    "[{\"id\":\"" + UUID.randomUUID() + "\"},{\"id\":\"" + UUID.randomUUID() + "\"}]"));
+            ConfigContext stubConfig = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+            reporter = new AsyncNoticeReporter(new HoneybadgerReporter(stubConfig), 10, 1,
+                    AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST, 0, 50, 200);
+
+            CompletableFuture<NoticeReportResult> first = reporter.reportErrorAsync(new Exception("1"));
+            CompletableFuture<NoticeReportResult> second = reporter.reportErrorAsync(new Exception("2"));
+
+            assertNotNull(first.get(10, TimeUnit.SECONDS));
+            assertNotNull(second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, server.getRequests().size());
+        }
+    }
+
+    @Test
+    public void fallsBackToIndividualRequestsWithoutBatchEndpoint() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request -> new StubHoneybadgerServer.StubResponse(201,
+                    "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext stubConfig = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+            reporter = new AsyncNoticeReporter(new HoneybadgerReporter(stubConfig), 10, 1,
+                    AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST, 0, 2, 10_000);
+
+            CompletableFuture<NoticeReportResult> first = reporter.reportErrorAsync(new Exception("1"));
+            CompletableFuture<NoticeReportResult> second = reporter.reportErrorAsync(new Exception("2"));
+
+            assertNotNull(first.get(10, TimeUnit.SECONDS).getId());
+            assertNotNull(second.get(10, TimeUnit.SECONDS).getId());
+            assertEquals("/v1/notices/batch", server.getRequests().get(0).path);
+            assertEquals("/v1/notices", server.getRequests().get(1).path);
+            assertEquals("/v1/notices", server.getRequests().get(2).path);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.honeybadger.reporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.transport.CircuitBreaker;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CircuitBreakerSpoolTest {
+    private volatile boolean available = false;
+
+    @Test
+    public void spoolsWhileOpenAndReplaysWhenApiRecovers() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request -> available ?
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}") :
+                    new StubHoneybadgerServer.StubResponse(503, "{}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri())
+                    .setCircuitBreakerWindowSize(2)
+                    .setCircuitBreakerOpenDuration(300)
+                    .getMaximumErrorReportingRetries(1);
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                assertNull(reporter.reportError(new Exception("trips the breaker")));
+                assertEquals(CircuitBreaker.State.OPEN, reporter.getCircuitBreaker().getState());
+                assertEquals(2, server.getRequests().size());
+
+                assertNull(reporter.reportError(new Exception("spooled 1")));
+                assertNull(reporter.reportError(new Exception("spooled 2")));
+                assertEquals("Open circuit sends nothing", 2, server.getRequests().size());
+                assertEquals("Failed notice is spooled too", 3, reporter.getSpool().size());
+
+                available = true;
+
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (reporter.getSpool().size() > 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(20);
+                }
+
+                assertEquals(0, reporter.getSpool().size());
+                assertEquals(CircuitBreaker.State.CLOSED, reporter.getCircuitBreaker().getState());
+            }
+
+            ObjectMapper mapper = new ObjectMapper();
+            assertEquals(5, server.getRequests().size());
+            assertEquals("trips the breaker", mapper.readTree(server.getRequests().get(2).body)
+                    .get("error").get("message").textValue());
+            assertEquals("spooled 1", mapper.readTree(server.getRequests().get(3).body)
+                    .get("error").get("message").textValue());
+            assertEquals("spooled 2", mapper.readTree(server.getRequests().get(4).body)
+                    .get("error").get("message").textValue());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.honeybadger.reporter;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.transport.PooledHttpNoticeTransport;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class ConnectionReuseTest {
+    @Test
+    public void reusesConnectionAcrossReports() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request -> new StubHoneybadgerServer.StubResponse(201,
+                    "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                for (int i = 0; i < 3; i++) {
+                    assertNotNull(reporter.reportError(new Exception("reuse " + i)));
+                }
+
+                PooledHttpNoticeTransport transport = (PooledHttpNoticeTransport) reporter.getTransport();
+                assertEquals(1, transport.getPooledConnectionCount());
+            }
+
+            assertEquals(3, server.getRequests().size());
+            int port = server.getRequests().get(0).remotePort;
+            for (StubHoneybadgerServer.ReceivedRequest request : server.getRequests()) {
+                assertEquals("All reports should share one connection", port, request.remotePort);
+                assertEquals("dummy", request.header("X-API-Key"));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyConnectionPool() {
+        new PooledHttpNoticeTransport(new StandardConfigContext("dummy").setMaxConnectionsPerRoute(0));
+    }
+}
@@ -0,0 +1,94 @@
+package io.honeybadger.reporter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class DeduplicationTest {
+    @Test
+    public void collapsesRepeatedErrorsIntoOneNotice() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request ->
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri())
+                    .setDedupWindow(200);
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                for (int i = 0; i < 4; i++) {
+                    NoticeReportResult result = reporter.reportError(newError(), null, null,
+                            null, "same-error");
+
+                    if (i == 0) {
+                        assertNotNull(result);
+                    } else {
+                        assertNull(result);
+                    }
+                }
+
+                assertEquals(1, server.getRequests().size());
+
+                Thread.sleep(250);
+                assertNotNull(reporter.reportError(newError(), null, null, null, "same-error"));
+            }
+
+            assertEquals(2, server.getRequests().size());
+
+            ObjectMapper mapper = new ObjectMapper();
+            assertNull(mapper.readTree(server.getRequests().get(0).body).get("details").get("Sampling"));
+
+            JsonNode sampling = mapper.readTree(server.getRequests().get(1).body)
+                    .get("details").get("Sampling");
+            assertEquals("4", sampling.get("occurrences").textValue());
+            assertEquals("0.25", sampling.get("sample_rate").textValue());
+        }
+    }
+
+    @Test
+    public void annotatesSampledNotices() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request ->
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri())
+                    .setSamplingRules("class:java.lang.Exception=0.5")
+                    .setSamplingPeriod(3600000);
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                int sent = 0;
+
+                for (int i = 0; i < 100; i++) {
+                    String fingerprint = "fingerprint-" + i;
+                    boolean sampled = reporter.getSamplingPolicy().isSampled(fingerprint, 0.5,
+                            System.currentTimeMillis());
+                    NoticeReportResult result = reporter.reportError(newError(), null, null,
+                            null, fingerprint);
+
+                    assertEquals(sampled, result != null);
+                    if (sampled) {
+                        sent++;
+                    }
+                }
+
+                assertEquals(sent, server.getRequests().size());
+            }
+
+            JsonNode sampling = new ObjectMapper().readTree(server.getRequests().get(0).body)
+                    .get("details").get("Sampling");
+            assertEquals("1", sampling.get("occurrences").textValue());
+            assertEquals("0.5", sampling.get("sample_rate").textValue());
+        }
+    }
+
+    private static Exception newError() {
+        return new Exception("repeated");
+    }
+}
@@ -0,0 +1,60 @@
+package io.honeybadger.reporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.spool.MappedFileNoticeSpool;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DurableSpoolTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private volatile boolean available = false;
+
+    @Test
+    public void deliversNoticeAfterRestartWhenAllRetriesFailed() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request -> available ?
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}") :
+                    new StubHoneybadgerServer.StubResponse(503, "{}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri())
+                    .setCircuitBreakerEnabled(false)
+                    .setSpoolDirectory(folder.getRoot().getAbsolutePath())
+                    .getMaximumErrorReportingRetries(1);
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                assertTrue(reporter.getSpool() instanceof MappedFileNoticeSpool);
+                assertNull(reporter.reportError(new Exception("survives a restart")));
+                assertEquals(2, server.getRequests().size());
+                assertEquals(1, reporter.getSpool().size());
+            }
+
+            available = true;
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (reporter.getSpool().size() > 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(20);
+                }
+
+                assertEquals(0, reporter.getSpool().size());
+            }
+
+            assertEquals(3, server.getRequests().size());
+            assertEquals("survives a restart", new ObjectMapper()
+                    .readTree(server.getRequests().get(2).body)
+                    .get("error").get("message").textValue());
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package io.honeybadger.reporter;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import io.honeybadger.reporter.config.ConfigContext;
 import io.honeybadger.reporter.config.SystemSettingsConfigContext;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpVersion;
-import org.apache.http.client.fluent.FakeResponse;
 import org.apache.http.client.fluent.Response;
 import org.apache.http.impl.DefaultHttpResponseFactory;
 import org.apache.http.protocol.BasicHttpContext;
@@ -14,8 +16,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 
 public class HoneyBadgerReporterTest {
@@ -29,7 +38,7 @@ public class HoneyBadgerReporterTest {
         }
 
         @Override
-        protected Response sendToHoneybadger(final String jsonError) throws IOException {
+        protected HttpResponse sendToHoneybadger(final HttpEntity jsonError) throws IOException {
             attemptCount = attemptCount + 1;
             logger.info("We Tried: " + attemptCount);
 
@@ -45,24 +54,51 @@ public class HoneyBadgerReporterTest {
         }
 
         @Override
-        protected Response sendToHoneybadger(final String jsonError) throws IOException {
+        protected HttpResponse sendToHoneybadger(final HttpEntity jsonError) throws IOException {
             attemptCount = attemptCount + 1;
             logger.info("We Tried: " + attemptCount);
-            return new FakeResponse(
-                    new DefaultHttpResponseFactory().newHttpResponse(
-                        HttpVersion.HTTP_1_1,
-                        500,
-                        new BasicHttpContext()
-                    )
+            return new DefaultHttpResponseFactory().newHttpResponse(
+                    HttpVersion.HTTP_1_1,
+                    500,
+                    new BasicHttpContext()
             );
         }
     }
 
+    class LegacyReporter extends HoneybadgerReporter {
+        int attemptCount = 0;
+        String lastJson;
+
+        public LegacyReporter(ConfigContext configContext) {
+            super(configContext);
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        protected Response sendToHoneybadger(final String jsonError) throws IOException {
+            attemptCount = attemptCount + 1;
+            lastJson = jsonError;
+
+            throw new IOException("staged IO exception");
+        }
+    }
+
+    @Test
+    public void sendsUncompressedNoticesToLegacyOverride() throws Exception {
+        ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy")
+                .setGzipRequestsEnabled(true)
+                .setGzipThreshold(0);
+        LegacyReporter reporter = new LegacyReporter(config);
+        assertNull(reporter.reportError(new Exception("Legacy override")));
+        assertEquals(4, reporter.attemptCount);
+        assertTrue(reporter.lastJson, reporter.lastJson.contains("Legacy override"));
+    }
+
     @Test
     public void retriesUpTo3TimesWithDefaultConfig() throws Exception {
         ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy");
         ExceptionThrowingReporter reporter = new ExceptionThrowingReporter(config);
-        reporter.reportError(new Exception("Always fail"));
+        assertNull(reporter.reportError(new Exception("Always fail")));
         assertEquals(4, reporter.attemptCount);
         assertEquals(3, (long)config.getMaximumErrorReportingRetries());
     }
@@ -72,7 +108,7 @@ public class HoneyBadgerReporterTest {
         ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy")
                 .getMaximumErrorReportingRetries(5);
         ExceptionThrowingReporter reporter = new ExceptionThrowingReporter(config);
-        reporter.reportError(new Exception("Always fail"));
+        assertNull(reporter.reportError(new Exception("Always fail")));
         assertEquals(6, reporter.attemptCount);
         assertEquals(5, (long)config.getMaximumErrorReportingRetries());
     }
@@ -82,7 +118,7 @@ public class HoneyBadgerReporterTest {
         ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy")
                 .getMaximumErrorReportingRetries(0);
         ExceptionThrowingReporter reporter = new ExceptionThrowingReporter(config);
-        reporter.reportError(new Exception("Always fail"));
+        assertNull(reporter.reportError(new Exception("Always fail")));
         assertEquals(1, reporter.attemptCount);
         assertEquals(0, (long)config.getMaximumErrorReportingRetries());
     }
@@ -100,11 +136,21 @@ public class HoneyBadgerReporterTest {
         new ExceptionThrowingReporter(config);
     }
 
+    @Test
+    public void rejectsStatsSampleIntervalLessThan0() throws Exception {
+        ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy")
+                .setStatsSampleInterval(-1);
+
+        thrown.expect(IllegalArgumentException.class);
+
+        new ExceptionThrowingReporter(config);
+    }
+
     @Test
     public void retriesWithUnexpectedHttp500Response() throws Exception {
         ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy");
         BadResponseGivingReporter reporter = new BadResponseGivingReporter(config);
-        reporter.reportError(new Exception("Always fail"));
+        assertNull(reporter.reportError(new Exception("Always fail")));
         assertEquals(4, reporter.attemptCount);
     }
 
@@ -113,8 +159,57 @@ public class HoneyBadgerReporterTest {
         ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy")
                 .getMaximumErrorReportingRetries(0);
         BadResponseGivingReporter reporter = new BadResponseGivingReporter(config);
-        reporter.reportError(new Exception("Always fail"));
+        assertNull(reporter.reportError(new Exception("Always fail")));
         assertEquals(1, reporter.attemptCount);
         assertEquals(0, (long)config.getMaximumErrorReportingRetries());
     }
+
+    @Test
+    public void samplesByTheTagsOfTheReportedError() throws Exception {
+        ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy")
+                .getMaximumErrorReportingRetries(0)
+                .setSamplingRules("tag:noisy=0");
+        BadResponseGivingReporter reporter = new BadResponseGivingReporter(config);
+
+        assertNull(reporter.reportError(new Exception("Noisy"), null, null,
+                Collections.singleton("noisy")));
+        assertEquals(0, reporter.attemptCount);
+
+        assertNull(reporter.reportError(new Exception("Quiet"), null, null,
+                Collections.singleton("quiet")));
+        assertEquals(1, reporter.attemptCount);
+    }
+
+    @Test
+    public void closeWaitsForRetryBeingSent() throws Exception {
+        ConfigContext config = new SystemSettingsConfigContext().setApiKey("dummy")
+                .setRetryBaseDelay(1);
+        CountDownLatch retrying = new CountDownLatch(1);
+        AtomicBoolean retrySent = new AtomicBoolean();
+        HoneybadgerReporter reporter = new HoneybadgerReporter(config) {
+            private int attemptCount = 0;
+
+            @Override
+            protected HttpResponse sendToHoneybadger(final HttpEntity jsonError) throws IOException {
+                if (attemptCount++ > 0) {
+                    retrying.countDown();
+                    // A blocking socket write doesn't react to interrupts either
+                    Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS);
+                    retrySent.set(true);
+                }
+
+                throw new IOException("staged IO exception");
+            }
+        };
+        Exception error = new Exception("Retried while closing");
+
+        CompletableFuture<NoticeReportResult> result = reporter.sendNoticeAsync(
+                reporter.buildNotice(error, null, null, null, null), error);
+        assertTrue(retrying.await(5, TimeUnit.SECONDS));
+        reporter.close();
+
+        assertTrue(retrySent.get());
+        assertNull(result.getNow(null));
+        assertTrue(result.isDone());
+    }
 }
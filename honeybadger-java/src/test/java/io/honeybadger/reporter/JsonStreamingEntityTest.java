@@ -0,0 +1,171 @@
+package io.honeybadger.reporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JsonStreamingEntityTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void replaysIdenticalPayloadWithKnownLength() throws Exception {
+        char[] filler = new char[3 * ReplayBuffer.SEGMENT_SIZE];
+        Arrays.fill(filler, 'x');
+        Object value = Collections.singletonMap("message", new String(filler));
+
+        try (JsonStreamingEntity entity = new JsonStreamingEntity(MAPPER, value, true)) {
+            assertTrue(entity.isRepeatable());
+            assertEquals(-1, entity.getContentLength());
+
+            ByteArrayOutputStream first = new ByteArrayOutputStream();
+            entity.writeTo(first);
+            ByteArrayOutputStream second = new ByteArrayOutputStream();
+            entity.writeTo(second);
+
+            assertArrayEquals(MAPPER.writeValueAsBytes(value), first.toByteArray());
+            assertArrayEquals(first.toByteArray(), second.toByteArray());
+            assertEquals(first.size(), entity.getContentLength());
+            assertFalse(entity.isChunked());
+        }
+    }
+
+    @Test
+    public void returnsSegmentsToPoolOnClose() throws Exception {
+        char[] filler = new char[2 * ReplayBuffer.SEGMENT_SIZE];
+        Arrays.fill(filler, 'y');
+        JsonStreamingEntity entity = new JsonStreamingEntity(MAPPER, new String(filler), true);
+        entity.writeTo(new ByteArrayOutputStream());
+
+        int pooledBefore = ReplayBuffer.pooledSegments();
+        entity.close();
+
+        assertTrue(ReplayBuffer.pooledSegments() > pooledBefore);
+    }
+
+    @Test
+    public void singleShotEntityDoesNotBuffer() throws Exception {
+        try (JsonStreamingEntity entity = new JsonStreamingEntity(MAPPER, "once", false)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            entity.writeTo(out);
+
+            assertFalse(entity.isRepeatable());
+            assertEquals(-1, entity.getContentLength());
+            assertEquals("\"once\"", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void retriedNoticeIsResentUnchanged() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            AtomicInteger attempts = new AtomicInteger();
+            server.respond("/v1/notices", request -> attempts.incrementAndGet() == 1 ?
+                    new StubHoneybadgerServer.StubResponse(500, "{}") :
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                assertNotNull(reporter.reportError(new Exception("retry me")));
+            }
+
+            assertEquals(2, server.getRequests().size());
+            assertArrayEquals(server.getRequests().get(0).body, server.getRequests().get(1).body);
+            assertEquals("retry me", MAPPER.readTree(server.getRequests().get(1).body)
+                    .get("error").get("message").textValue());
+        }
+    }
+
+    @Test
+    public void skipsCompressionBelowThreshold() throws Exception {
+        try (JsonStreamingEntity entity = new JsonStreamingEntity(MAPPER, "tiny", true,
+                true, 6, 1024)) {
+            assertFalse(entity.isCompressed());
+            assertNull(entity.getContentEncoding());
+            assertEquals(6, entity.getContentLength());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            entity.writeTo(out);
+            assertEquals("\"tiny\"", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void compressesAboveThresholdAndReplaysCompressedBytes() throws Exception {
+        char[] filler = new char[64 * 1024];
+        Arrays.fill(filler, 'z');
+        String value = new String(filler);
+
+        try (JsonStreamingEntity entity = new JsonStreamingEntity(MAPPER, value, true,
+                true, 9, 1024)) {
+            assertTrue(entity.isCompressed());
+            assertEquals("gzip", entity.getContentEncoding().getValue());
+
+            ByteArrayOutputStream first = new ByteArrayOutputStream();
+            entity.writeTo(first);
+            ByteArrayOutputStream second = new ByteArrayOutputStream();
+            entity.writeTo(second);
+
+            assertTrue(first.size() < filler.length / 10);
+            assertArrayEquals(first.toByteArray(), second.toByteArray());
+            assertEquals("\"" + value + "\"", gunzip(first.toByteArray()));
+        }
+    }
+
+    @Test
+    public void sendsGzipEncodedNoticeWhenEnabled() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request -> new StubHoneybadgerServer.StubResponse(201,
+                    "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri())
+                    .setGzipRequestsEnabled(true)
+                    .setGzipThreshold(256);
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                assertNotNull(reporter.reportError(new Exception("compress me")));
+            }
+
+            StubHoneybadgerServer.ReceivedRequest request = server.getRequests().get(0);
+            assertEquals("gzip", request.header("Content-Encoding"));
+            assertEquals("compress me", MAPPER.readTree(gunzip(request.body))
+                    .get("error").get("message").textValue());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidCompressionLevel() {
+        new HoneybadgerReporter(new StandardConfigContext("dummy").setGzipLevel(10));
+    }
+
+    private static String gunzip(final byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.honeybadger.reporter;
+
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.dto.Details;
+import io.honeybadger.reporter.dto.Notice;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NoticeFilterTest {
+    @Test
+    public void rejectedErrorsAreNotCountedAsOccurrences() throws Exception {
+        StandardConfigContext config = new StandardConfigContext("dummy");
+        config.setDedupWindow(60000);
+        List<String> seen = new ArrayList<>();
+
+        try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+            reporter.addFilter(candidate -> {
+                seen.add(candidate.getGroupingFingerprint());
+                return !"ignored".equals(candidate.getMessage());
+            });
+
+            assertNull(reporter.buildNotice(new Exception(), null, "ignored",
+                    Collections.emptySet(), "same-error"));
+            assertNull(reporter.buildNotice(new Exception(), null, "ignored",
+                    Collections.emptySet(), "same-error"));
+
+            Notice notice = reporter.buildNotice(new Exception(), null, "reported",
+                    Collections.emptySet(), "same-error");
+
+            assertNotNull("The first accepted occurrence is admitted", notice);
+            assertNull("Only the accepted occurrence was counted",
+                    notice.getDetails() == null ? null : notice.getDetails().get(Details.SAMPLING_SECTION));
+            assertEquals(3, seen.size());
+            assertEquals("same-error", seen.get(0));
+        }
+    }
+
+    @Test
+    public void noticesAreEnrichedWhenSent() throws Exception {
+        StandardConfigContext config = new StandardConfigContext("dummy");
+        config.setSamplingRules("class:java.lang.Exception=1.0");
+
+        try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+            Notice notice = reporter.buildNotice(new Exception("lazy"), null, null,
+                    Collections.emptySet(), null);
+
+            assertNull("Server details are only added when the notice is sent", notice.getServer());
+
+            // Enrichment happens on the sender thread for queued notices
+            CompletableFuture.runAsync(notice::enrich).get();
+
+            assertNotNull(notice.getServer());
+            assertTrue(notice.getDetails().containsKey("System Properties"));
+            assertTrue(notice.getDetails().containsKey("MDC Properties"));
+            assertEquals("Default details come first",
+                    "System Properties", notice.getDetails().keySet().iterator().next());
+
+            notice.enrich();
+            assertEquals(2, notice.getDetails().size());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.honeybadger.reporter;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import io.honeybadger.reporter.metrics.DefaultReporterMetrics;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReporterMetricsTest {
+    @Test
+    public void countsSentRetriedAndExcludedNotices() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            AtomicInteger attempts = new AtomicInteger();
+            server.respond("/v1/notices", request -> attempts.incrementAndGet() == 1 ?
+                    new StubHoneybadgerServer.StubResponse(500, "{}") :
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri())
+                    .setRetryBaseDelay(0)
+                    .setExcludedClasses(Collections.singleton("java.lang.IllegalStateException"));
+            DefaultReporterMetrics metrics = new DefaultReporterMetrics();
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config, null, null, metrics)) {
+                assertNotNull(reporter.reportError(new Exception("sent")));
+                reporter.reportError(new IllegalStateException("excluded"));
+            }
+
+            assertEquals(2, metrics.getSubmittedCount());
+            assertEquals(1, metrics.getExcludedCount());
+            assertEquals(1, metrics.getSentCount());
+            assertEquals(1, metrics.getRetriedCount());
+            assertEquals(0, metrics.getDroppedCount());
+            assertEquals(1L, (long) metrics.getResponseCounts().get(500));
+            assertEquals(1L, (long) metrics.getResponseCounts().get(201));
+            assertEquals(1, metrics.getPayloadCount());
+            assertTrue(metrics.getPayloadBytes() > 0);
+            assertTrue(metrics.getLatency().getMax() > 0);
+        }
+    }
+
+    @Test
+    public void countsRejectedNoticeAsDropped() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request -> new StubHoneybadgerServer.StubResponse(422, "{}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+            DefaultReporterMetrics metrics = new DefaultReporterMetrics();
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config, null, null, metrics)) {
+                reporter.reportError(new Exception("invalid"));
+            }
+
+            assertEquals(1, metrics.getDroppedCount());
+            assertEquals(0, metrics.getSentCount());
+            assertEquals(1L, (long) metrics.getResponseCounts().get(422));
+        }
+    }
+
+    @Test
+    public void countsRepeatsOfForgottenFingerprintsAsDropped() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request ->
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri())
+                    .setDedupWindow(60000)
+                    .setDedupMaxFingerprints(1);
+            DefaultReporterMetrics metrics = new DefaultReporterMetrics();
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config, null, null, metrics)) {
+                reporter.reportError(new Exception(), null, null, null, "first");
+                reporter.reportError(new Exception(), null, null, null, "first");
+                reporter.reportError(new Exception(), null, null, null, "second");
+            }
+
+            assertEquals(3, metrics.getSubmittedCount());
+            assertEquals(1, metrics.getExcludedCount());
+            assertEquals(2, metrics.getSentCount());
+            assertEquals("Suppressed repeat of the forgotten fingerprint", 1, metrics.getDroppedCount());
+        }
+    }
+
+    @Test
+    public void asyncReporterReportsQueueDepthAndOverflow() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}");
+            });
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+            DefaultReporterMetrics metrics = new DefaultReporterMetrics();
+            HoneybadgerReporter delegate = new HoneybadgerReporter(config, null, null, metrics);
+
+            try (AsyncNoticeReporter reporter = new AsyncNoticeReporter(delegate, 1, 1,
+                    AsyncNoticeReporter.OverflowPolicy.DROP_NEWEST, 0)) {
+                for (int i = 0; i < 5; i++) {
+                    reporter.reportError(new Exception("burst " + i));
+                }
+
+                assertTrue(metrics.getQueueDepth() <= 1);
+                assertEquals(reporter.getDroppedCount(), metrics.getDroppedCount());
+                assertTrue(metrics.getDroppedCount() >= 3);
+
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (metrics.getSentCount() + metrics.getDroppedCount() < 5 &&
+                        System.nanoTime() < deadline) {
+                    Thread.sleep(20);
+                }
+            }
+
+            assertEquals(5, metrics.getSubmittedCount());
+            assertEquals(5, metrics.getSentCount() + metrics.getDroppedCount());
+        }
+    }
+}
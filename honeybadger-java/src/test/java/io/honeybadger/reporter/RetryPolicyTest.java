@@ -0,0 +1,77 @@
+package io.honeybadger.reporter;
+
+import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+    @Test
+    public void doesNotRetryRejectedNotice() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            server.respond("/v1/notices", request -> new StubHoneybadgerServer.StubResponse(422, "{}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                assertNull(reporter.reportError(new Exception("invalid")));
+            }
+
+            assertEquals(1, server.getRequests().size());
+        }
+    }
+
+    @Test
+    public void backsOffOnSchedulerWithoutBlockingCaller() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            AtomicInteger attempts = new AtomicInteger();
+            server.respond("/v1/notices", request -> attempts.incrementAndGet() < 3 ?
+                    new StubHoneybadgerServer.StubResponse(503, "{}") :
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri())
+                    .setRetryBaseDelay(200);
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                Exception error = new Exception("later");
+                NoticeReportResult result = reporter.sendNoticeAsync(
+                        reporter.buildNotice(error, null, null, null, null), error)
+                        .get(10, TimeUnit.SECONDS);
+
+                assertNotNull(result.getId());
+            }
+
+            assertEquals(3, server.getRequests().size());
+        }
+    }
+
+    @Test
+    public void honorsRetryAfterHeader() throws Exception {
+        try (StubHoneybadgerServer server = new StubHoneybadgerServer()) {
+            AtomicInteger attempts = new AtomicInteger();
+            server.respond("/v1/notices", request -> attempts.incrementAndGet() == 1 ?
+                    new StubHoneybadgerServer.StubResponse(429, "{}").header("Retry-After", "1") :
+                    new StubHoneybadgerServer.StubResponse(201, "{\"id\":\"" + UUID.randomUUID() + "\"}"));
+            ConfigContext config = new StandardConfigContext("dummy")
+                    .setHoneybadgerUrl(server.getUri());
+
+            try (HoneybadgerReporter reporter = new HoneybadgerReporter(config)) {
+                long start = System.nanoTime();
+                assertNotNull("The caller gets the result of the retry",
+                        reporter.reportError(new Exception("throttled")));
+                long callerMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                assertEquals(2, server.getRequests().size());
+                assertTrue(callerMillis >= 1000);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.honeybadger.reporter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Local stand-in for the Honeybadger API used by tests that need to exercise
+ * the HTTP path. Every request is recorded and answered by a handler that can
+ * be replaced per path.
+ */
+class StubHoneybadgerServer implements AutoCloseable {
+    /**
+     * A request received by the stub.
+     */
+    static final class ReceivedRequest {
+        final String path;
+        final Map<String, List<String>> headers;
+        final byte[] body;
+        final int remotePort;
+
+        ReceivedRequest(final String path, final Map<String, List<String>> headers,
+                        final byte[] body, final int remotePort) {
+            this.path = path;
+            this.headers = headers;
+            this.body = body;
+            this.remotePort = remotePort;
+        }
+
+        String header(final String name) {
+            for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+                if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(name)) {
+                    return entry.getValue().get(0);
+                }
+            }
+
+            return null;
+        }
+
+        String bodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Canned response returned by the stub.
+     */
+    static final class StubResponse {
+        final int status;
+        final String body;
+        final Map<String, String> headers = new ConcurrentHashMap<>();
+
+        StubResponse(final int status, final String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        StubResponse header(final String name, final String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+
+    private final HttpServer server;
+    private final List<ReceivedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Map<String, Function<ReceivedRequest, StubResponse>> handlers =
+            new ConcurrentHashMap<>();
+
+    StubHoneybadgerServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI getUri() {
+        return URI.create(String.format("http://%s:%d",
+                server.getAddress().getHostString(), server.getAddress().getPort()));
+    }
+
+    StubHoneybadgerServer respond(final String path,
+                                  final Function<ReceivedRequest, StubResponse> handler) {
+        handlers.put(path, handler);
+        return this;
+    }
+
+    List<ReceivedRequest> getRequests() {
+        return requests;
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final ReceivedRequest request = new ReceivedRequest(
+                exchange.getRequestURI().getPath(),
+                exchange.getRequestHeaders(),
+                readFully(exchange.getRequestBody()),
+                exchange.getRemoteAddress().getPort());
+        requests.add(request);
+
+        final Function<ReceivedRequest, StubResponse> handler = handlers.get(request.path);
+        final StubResponse response = handler == null ?
+                new StubResponse(404, "{}") : handler.apply(request);
+        final byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        for (Map.Entry<String, String> header : response.headers.entrySet()) {
+            exchange.getResponseHeaders().add(header.getKey(), header.getValue());
+        }
+        exchange.sendResponseHeaders(response.status, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
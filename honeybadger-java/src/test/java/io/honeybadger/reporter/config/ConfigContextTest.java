@@ -0,0 +1,102 @@
+package io.honeybadger.reporter.config;
+
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/** Verifies implementations written against the original interface get the defaults */
+public class ConfigContextTest {
+    private final ConfigContext legacy = new ConfigContext() {
+        @Override
+        public String getEnvironment() {
+            return "test";
+        }
+
+        @Override
+        public URI getHoneybadgerUrl() {
+            return URI.create("https://api.honeybadger.io");
+        }
+
+        @Override
+        public String getApiKey() {
+            return "dummy";
+        }
+
+        @Override
+        public Set<String> getExcludedSysProps() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<String> getExcludedParams() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<String> getExcludedClasses() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public String getApplicationPackage() {
+            return null;
+        }
+
+        @Override
+        public String getHoneybadgerReadApiKey() {
+            return null;
+        }
+
+        @Override
+        public Boolean isFeedbackFormDisplayed() {
+            return false;
+        }
+
+        @Override
+        public String getFeedbackFormPath() {
+            return null;
+        }
+
+        @Override
+        public String getHttpProxyHost() {
+            return null;
+        }
+
+        @Override
+        public Integer getHttpProxyPort() {
+            return null;
+        }
+
+        @Override
+        public Integer getMaximumErrorReportingRetries() {
+            return 3;
+        }
+
+        @Override
+        public Integer getSocketTimeout() {
+            return null;
+        }
+
+        @Override
+        public Integer getConnectTimeout() {
+            return null;
+        }
+    };
+
+    @Test
+    public void newPropertiesDefaultToDefaultsConfigContext() {
+        DefaultsConfigContext defaults = new DefaultsConfigContext();
+
+        assertEquals(defaults.getAsyncQueueCapacity(), legacy.getAsyncQueueCapacity());
+        assertEquals(defaults.getRetryMaxElapsed(), legacy.getRetryMaxElapsed());
+        assertEquals(defaults.isCircuitBreakerEnabled(), legacy.isCircuitBreakerEnabled());
+        assertEquals(defaults.getDedupWindow(), legacy.getDedupWindow());
+        assertEquals(defaults.getStatsSampleInterval(), legacy.getStatsSampleInterval());
+        assertNull(legacy.getSpoolDirectory());
+    }
+}
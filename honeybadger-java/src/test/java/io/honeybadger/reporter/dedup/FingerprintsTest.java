@@ -0,0 +1,52 @@
+package io.honeybadger.reporter.dedup;
+
+import io.honeybadger.reporter.dto.ApplicationPackageMatcher;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class FingerprintsTest {
+    @Test
+    public void explicitFingerprintWins() {
+        assertEquals("custom", Fingerprints.of(new RuntimeException(), "custom", null, 5));
+    }
+
+    @Test
+    public void usesTopApplicationFrames() {
+        RuntimeException error = new RuntimeException();
+        error.setStackTrace(new StackTraceElement[] {
+                new StackTraceElement("java.util.HashMap", "get", "HashMap.java", 1),
+                new StackTraceElement("com.example.Service", "call", "Service.java", 10),
+                new StackTraceElement("com.example.Controller", "handle", "Controller.java", 20),
+                new StackTraceElement("com.example.Main", "main", "Main.java", 30)
+        });
+
+        assertEquals("java.lang.RuntimeException|com.example.Service.call:10|com.example.Controller.handle:20",
+                Fingerprints.of(error, null, ApplicationPackageMatcher.compile("com.example", null), 2));
+    }
+
+    @Test
+    public void fallsBackToTopFramesWithoutApplicationFrames() {
+        RuntimeException error = new RuntimeException();
+        error.setStackTrace(new StackTraceElement[] {
+                new StackTraceElement("java.util.HashMap", "get", "HashMap.java", 1)
+        });
+
+        assertEquals("java.lang.RuntimeException|java.util.HashMap.get:1",
+                Fingerprints.of(error, null, ApplicationPackageMatcher.compile("com.example", null), 5));
+    }
+
+    @Test
+    public void messageIsNotPartOfFingerprint() {
+        String[] fingerprints = new String[2];
+
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = Fingerprints.of(new RuntimeException("message " + i), null, null, 5);
+        }
+
+        assertEquals(fingerprints[0], fingerprints[1]);
+        assertNotEquals(Fingerprints.of(new IllegalStateException(), null, null, 5),
+                Fingerprints.of(new IllegalArgumentException(), null, null, 5));
+    }
+}
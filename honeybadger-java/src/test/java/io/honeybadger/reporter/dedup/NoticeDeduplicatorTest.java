@@ -0,0 +1,130 @@
+package io.honeybadger.reporter.dedup;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NoticeDeduplicatorTest {
+    @Test
+    public void collapsesRepeatsWithinWindow() throws Exception {
+        NoticeDeduplicator deduplicator = new NoticeDeduplicator(100, 10, 0, 0);
+
+        assertEquals(1, deduplicator.admit("a"));
+        assertEquals(NoticeDeduplicator.SUPPRESSED, deduplicator.admit("a"));
+        assertEquals(NoticeDeduplicator.SUPPRESSED, deduplicator.admit("a"));
+        assertEquals("Other fingerprints are independent", 1, deduplicator.admit("b"));
+
+        Thread.sleep(150);
+
+        assertEquals("Next notice stands for the suppressed repeats", 3, deduplicator.admit("a"));
+        assertEquals(2, deduplicator.getSuppressedCount());
+    }
+
+    @Test
+    public void appliesPerFingerprintLimit() {
+        NoticeDeduplicator deduplicator = new NoticeDeduplicator(0, 10, 2, 0);
+
+        assertEquals(1, deduplicator.admit("a"));
+        assertEquals(1, deduplicator.admit("a"));
+        assertEquals(NoticeDeduplicator.SUPPRESSED, deduplicator.admit("a"));
+        assertEquals(1, deduplicator.admit("b"));
+    }
+
+    @Test
+    public void appliesGlobalLimit() {
+        NoticeDeduplicator deduplicator = new NoticeDeduplicator(0, 10, 0, 2);
+
+        assertEquals(1, deduplicator.admit("a"));
+        assertEquals(1, deduplicator.admit("b"));
+        assertEquals(NoticeDeduplicator.SUPPRESSED, deduplicator.admit("c"));
+    }
+
+    @Test
+    public void forgetsLeastRecentlySeenFingerprints() {
+        NoticeDeduplicator deduplicator = new NoticeDeduplicator(60000, 2, 0, 0);
+
+        deduplicator.admit("a");
+        deduplicator.admit("b");
+        deduplicator.admit("a");
+        deduplicator.admit("c");
+
+        assertEquals(2, deduplicator.getFingerprintCount());
+        assertEquals("Recently seen fingerprint is kept", NoticeDeduplicator.SUPPRESSED,
+                deduplicator.admit("a"));
+        assertEquals("Evicted fingerprint starts over", 1, deduplicator.admit("b"));
+    }
+
+    @Test
+    public void countsSuppressedOccurrencesOfForgottenFingerprints() {
+        AtomicLong lost = new AtomicLong();
+        NoticeDeduplicator deduplicator = new NoticeDeduplicator(60000, 1, 0, 0, lost::addAndGet);
+
+        deduplicator.admit("a");
+        deduplicator.admit("a");
+        deduplicator.admit("a");
+        deduplicator.admit("b");
+
+        assertEquals(1, deduplicator.getFingerprintCount());
+        assertEquals(2, deduplicator.getEvictedCount());
+        assertEquals(2, lost.get());
+        assertEquals("Forgotten fingerprint starts over", 1, deduplicator.admit("a"));
+    }
+
+    @Test
+    public void staysBoundedUnderConcurrentUse() throws Exception {
+        AtomicLong lost = new AtomicLong();
+        NoticeDeduplicator deduplicator = new NoticeDeduplicator(60000, 16, 0, 0, lost::addAndGet);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    long reported = 0;
+
+                    for (int i = 0; i < 10000; i++) {
+                        reported += deduplicator.admit("fingerprint-" + (i % 64));
+                    }
+
+                    return reported;
+                }));
+            }
+
+            long reported = 0;
+            for (Future<Long> future : futures) {
+                reported += future.get(10, TimeUnit.SECONDS);
+            }
+
+            long pending = 40000 - reported - lost.get();
+
+            assertTrue(deduplicator.getFingerprintCount() <= 16);
+            assertEquals(lost.get(), deduplicator.getEvictedCount());
+            assertTrue("Every occurrence is reported, pending or lost", pending >= 0);
+            assertTrue(pending <= deduplicator.getSuppressedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void tokenBucketAllowsBurstThenRefills() {
+        TokenBucket bucket = new TokenBucket(60, 3);
+        long now = System.nanoTime();
+
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertEquals(false, bucket.tryAcquire(now));
+        assertTrue("One token per second is added", bucket.tryAcquire(now + 1_000_000_000L));
+    }
+}
@@ -0,0 +1,74 @@
+package io.honeybadger.reporter.dedup;
+
+import io.honeybadger.reporter.dto.Request;
+import org.junit.Test;
+
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SamplingPolicyTest {
+    private static final long PERIOD = 60000;
+
+    @Test
+    public void firstMatchingRuleDecidesRate() {
+        SamplingPolicy policy = new SamplingPolicy(
+                "class:java.net.SocketTimeoutException=0.01, class:java.io.IOException=0.5, " +
+                        "tag:noisy=0.1, url:https://example.com/health*=0", PERIOD);
+
+        assertEquals(0.01, policy.sampleRate(new SocketTimeoutException(), null, null), 0.0);
+        assertEquals("Superclasses match", 0.5,
+                policy.sampleRate(new java.io.FileNotFoundException(), null, null), 0.0);
+        assertEquals(0.1, policy.sampleRate(new IllegalStateException(),
+                Collections.singleton("noisy"), null), 0.0);
+        assertEquals(0.0, policy.sampleRate(new IllegalStateException(), null,
+                request("https://example.com/health/db")), 0.0);
+        assertEquals(1.0, policy.sampleRate(new IllegalStateException(), null,
+                request("https://example.com/orders")), 0.0);
+    }
+
+    @Test
+    public void samplingIsDeterministicAcrossInstances() {
+        SamplingPolicy first = new SamplingPolicy("class:java.lang.Exception=0.5", PERIOD);
+        SamplingPolicy second = new SamplingPolicy("class:java.lang.Exception=0.5", PERIOD);
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.isSampled("fingerprint-" + i, 0.5, now),
+                    second.isSampled("fingerprint-" + i, 0.5, now));
+        }
+    }
+
+    @Test
+    public void sendsShareOfFingerprintsMatchingRate() {
+        SamplingPolicy policy = new SamplingPolicy("tag:noisy=0.1", PERIOD);
+        int sampled = 0;
+
+        for (int i = 0; i < 10000; i++) {
+            if (policy.isSampled("fingerprint-" + i, 0.1, 0)) {
+                sampled++;
+            }
+        }
+
+        assertTrue("Sampled " + sampled, sampled > 800 && sampled < 1200);
+        assertTrue(policy.isSampled("any", 1.0, 0));
+        assertFalse(policy.isSampled("any", 0.0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRateOutOfRange() {
+        new SamplingPolicy("class:java.io.IOException=2", PERIOD);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownRuleKind() {
+        new SamplingPolicy("method:foo=0.5", PERIOD);
+    }
+
+    private static Request request(final String url) {
+        return new Request(null, url, null, null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package io.honeybadger.reporter.dto;
+
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ApplicationPackageMatcherTest {
+    @Test
+    public void matchesNothingWithoutPackages() {
+        ApplicationPackageMatcher matcher = ApplicationPackageMatcher.compile(null, "com.example.vendor");
+
+        assertFalse(matcher.matches("com.example.Service"));
+        assertFalse(matcher.matches(""));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    public void matchesAnyOfSeveralPackages() {
+        ApplicationPackageMatcher matcher = ApplicationPackageMatcher.compile("com.example, org.acme", null);
+
+        assertTrue(matcher.matches("com.example.Service.run"));
+        assertTrue(matcher.matches("org.acme.web.Controller.get"));
+        assertFalse(matcher.matches("org.apache.catalina.Valve.invoke"));
+        assertFalse("A prefix of a package doesn't match", matcher.matches("com.exam"));
+    }
+
+    @Test
+    public void longestPrefixDecides() {
+        ApplicationPackageMatcher matcher = ApplicationPackageMatcher.compile(
+                "com.example,com.example.vendor.patched",
+                "com.example.vendor");
+
+        assertTrue(matcher.matches("com.example.Service"));
+        assertFalse(matcher.matches("com.example.vendor.json.Parser"));
+        assertTrue(matcher.matches("com.example.vendor.patched.Parser"));
+    }
+
+    @Test
+    public void excludedPrefixWinsOverSameIncludedPrefix() {
+        ApplicationPackageMatcher matcher = ApplicationPackageMatcher.compile("com.example", "com.example");
+
+        assertFalse(matcher.matches("com.example.Service"));
+    }
+
+    @Test
+    public void sharesMatcherBetweenCallersWithSamePackages() {
+        StandardConfigContext config = new StandardConfigContext();
+        config.setApplicationPackage("com.example");
+        StandardConfigContext other = new StandardConfigContext();
+        other.setApplicationPackage("com.example");
+
+        ApplicationPackageMatcher matcher = ApplicationPackageMatcher.forConfig(config);
+        assertSame(matcher, ApplicationPackageMatcher.forConfig(other));
+
+        other.setExcludedApplicationPackages("com.example.vendor");
+        ApplicationPackageMatcher excluding = ApplicationPackageMatcher.forConfig(other);
+
+        assertFalse(excluding.matches("com.example.vendor.Parser"));
+        assertSame(matcher, ApplicationPackageMatcher.forConfig(config));
+    }
+}
@@ -0,0 +1,74 @@
+package io.honeybadger.reporter.dto;
+
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BacktraceElementCacheTest {
+    private static final StackTraceElement FRAME =
+            new StackTraceElement("io.honeybadger.Example", "run", "Example.java", 42);
+
+    @Test
+    public void sharesElementsForSameFrame() {
+        BacktraceElementCache cache = new BacktraceElementCache(16);
+        StandardConfigContext config = new StandardConfigContext();
+
+        BacktraceElement first = cache.get(config, FRAME);
+        BacktraceElement second = cache.get(config,
+                new StackTraceElement("io.honeybadger.Example", "run", "Example.java", 42));
+
+        assertSame(first, second);
+        assertEquals("io.honeybadger.Example.run", first.getMethod());
+        assertEquals("42", first.getNumber());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void rebuildsElementWhenApplicationPackageChanges() {
+        BacktraceElementCache cache = new BacktraceElementCache(16);
+        StandardConfigContext config = new StandardConfigContext();
+
+        BacktraceElement before = cache.get(config, FRAME);
+        config.setApplicationPackage("io.honeybadger");
+        BacktraceElement after = cache.get(config, FRAME);
+
+        assertNotSame(before, after);
+        assertEquals("all", before.getContext());
+        assertEquals("app", after.getContext());
+        assertNotSame("Other configurations get their own elements",
+                after, cache.get(new StandardConfigContext(), FRAME));
+    }
+
+    @Test
+    public void staysBoundedAndKeepsRecentFrames() {
+        BacktraceElementCache cache = new BacktraceElementCache(4);
+        StandardConfigContext config = new StandardConfigContext();
+
+        BacktraceElement hot = cache.get(config, FRAME);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(config, new StackTraceElement("Example", "method" + i, "Example.java", i));
+            assertSame(hot, cache.get(config, FRAME));
+        }
+
+        assertTrue("Cache size " + cache.size(), cache.size() <= 8);
+    }
+
+    @Test
+    public void backtraceUsesSharedCache() {
+        StandardConfigContext config = new StandardConfigContext();
+        Exception error = new Exception();
+
+        Backtrace first = new Backtrace(config, error);
+        Backtrace second = new Backtrace(config, error);
+
+        assertEquals(first, second);
+        assertSame(first.get(0), second.get(0));
+    }
+}
@@ -0,0 +1,86 @@
+package io.honeybadger.reporter.dto;
+
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BacktraceTest {
+    @Test
+    public void truncatesToMaxDepth() {
+        StandardConfigContext config = new StandardConfigContext();
+        config.setMaxBacktraceDepth(2);
+
+        Backtrace backtrace = new Backtrace(config, errorWith(
+                frame("a", 1), frame("b", 2), frame("c", 3), frame("d", 4)));
+
+        assertEquals(3, backtrace.size());
+        assertEquals("Example.a", backtrace.get(0).getMethod());
+        assertEquals("Example.b", backtrace.get(1).getMethod());
+        assertEquals("[2 truncated frames omitted]", backtrace.get(2).getMethod());
+    }
+
+    @Test
+    public void collapsesRecursion() {
+        StandardConfigContext config = new StandardConfigContext();
+        config.setCollapseRepeatedFramesEnabled(true);
+
+        Backtrace backtrace = new Backtrace(config, errorWith(
+                frame("top", 1),
+                frame("even", 10), frame("odd", 20),
+                frame("even", 10), frame("odd", 20),
+                frame("even", 10), frame("odd", 20),
+                frame("main", 30)));
+
+        assertEquals(5, backtrace.size());
+        assertEquals("Example.top", backtrace.get(0).getMethod());
+        assertEquals("Example.even", backtrace.get(1).getMethod());
+        assertEquals("Example.odd", backtrace.get(2).getMethod());
+        assertEquals("[4 recursive frames omitted]", backtrace.get(3).getMethod());
+        assertEquals("Example.main", backtrace.get(4).getMethod());
+    }
+
+    @Test
+    public void collapsesReflectionFrames() {
+        StandardConfigContext config = new StandardConfigContext();
+        config.setCollapseRepeatedFramesEnabled(true);
+
+        Backtrace backtrace = new Backtrace(config, errorWith(
+                frame("target", 1),
+                new StackTraceElement("jdk.internal.reflect.NativeMethodAccessorImpl", "invoke0", null, -2),
+                new StackTraceElement("jdk.internal.reflect.NativeMethodAccessorImpl", "invoke", null, 62),
+                new StackTraceElement("java.lang.reflect.Method", "invoke", "Method.java", 566),
+                frame("caller", 2)));
+
+        assertEquals(3, backtrace.size());
+        assertEquals("[3 reflection frames omitted]", backtrace.get(1).getMethod());
+    }
+
+    @Test
+    public void keepsFramesWhenCollapsingIsDisabled() {
+        Backtrace backtrace = new Backtrace(new StandardConfigContext(), errorWith(
+                frame("even", 10), frame("even", 10), frame("even", 10)));
+
+        assertEquals(3, backtrace.size());
+    }
+
+    @Test
+    public void reportsCallerFramesForErrorWithoutStack() {
+        Exception error = new Exception("preallocated", null, false, false) { };
+
+        NoticeDetails details = new NoticeDetails(new StandardConfigContext(), error);
+
+        assertEquals(BacktraceTest.class.getName() + ".reportsCallerFramesForErrorWithoutStack",
+                details.getBacktrace().get(0).getMethod());
+    }
+
+    private static StackTraceElement frame(final String method, final int line) {
+        return new StackTraceElement("Example", method, "Example.java", line);
+    }
+
+    private static Exception errorWith(final StackTraceElement... frames) {
+        Exception error = new Exception();
+        error.setStackTrace(frames);
+        return error;
+    }
+}
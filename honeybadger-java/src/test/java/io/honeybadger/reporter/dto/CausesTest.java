@@ -1,9 +1,11 @@
 package io.honeybadger.reporter.dto;
 
 import io.honeybadger.reporter.config.ConfigContext;
+import io.honeybadger.reporter.config.StandardConfigContext;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -58,4 +60,89 @@ public class CausesTest {
         assertEquals("The fourth cause class should be stored first",
                 cause4.getMessage(), causes.get(0).getMessage());
     }
+
+    @Test
+    public void keepsAllFramesByDefault() {
+        StandardConfigContext standardConfig = new StandardConfigContext();
+        Throwable cause = errorWith("Cause", null, frame("wrap", 5), frame("service", 2), frame("main", 3));
+        Throwable e = errorWith("Highest level", cause, frame("handle", 1), frame("service", 2), frame("main", 3));
+
+        Causes causes = new Causes(standardConfig, e);
+
+        assertEquals(3, causes.get(0).getBacktrace().size());
+        assertNull(causes.get(0).getFramesInCommon());
+    }
+
+    @Test
+    public void omitsFramesSharedWithEnclosingError() {
+        StandardConfigContext standardConfig = new StandardConfigContext();
+        standardConfig.setOmitCommonFramesEnabled(true);
+
+        Throwable inner = errorWith("Inner", null,
+                frame("fail", 9), frame("wrap", 6), frame("service", 2), frame("main", 3));
+        Throwable outer = errorWith("Outer", inner,
+                frame("wrap", 5), frame("service", 2), frame("main", 3));
+        Throwable e = errorWith("Highest level", outer,
+                frame("handle", 1), frame("service", 2), frame("main", 3));
+
+        Causes causes = new Causes(standardConfig, e);
+
+        Cause innerCause = causes.get(0);
+        assertEquals(2, innerCause.getBacktrace().size());
+        assertEquals("com.example.Example.wrap", innerCause.getBacktrace().get(1).getMethod());
+        assertEquals(Integer.valueOf(2), innerCause.getFramesInCommon());
+
+        Cause outerCause = causes.get(1);
+        assertEquals(1, outerCause.getBacktrace().size());
+        assertEquals("com.example.Example.wrap", outerCause.getBacktrace().get(0).getMethod());
+        assertEquals(Integer.valueOf(2), outerCause.getFramesInCommon());
+    }
+
+    @Test
+    public void comparesFramesBeforeLimitingTheDepth() {
+        StandardConfigContext standardConfig = new StandardConfigContext();
+        standardConfig.setOmitCommonFramesEnabled(true);
+        standardConfig.setMaxBacktraceDepth(2);
+
+        Throwable cause = errorWith("Cause", null, frame("fail", 9), frame("wrap", 6), frame("retry", 4),
+                frame("service", 2), frame("main", 3), frame("start", 7));
+        Throwable e = errorWith("Highest level", cause, frame("handle", 1), frame("route", 8),
+                frame("service", 2), frame("main", 3), frame("start", 7));
+
+        Causes causes = new Causes(standardConfig, e);
+        Cause reported = causes.get(0);
+
+        assertEquals("Shared frames are counted before truncation",
+                Integer.valueOf(3), reported.getFramesInCommon());
+        assertEquals(3, reported.getBacktrace().size());
+        assertEquals("com.example.Example.fail", reported.getBacktrace().get(0).getMethod());
+        assertEquals("com.example.Example.wrap", reported.getBacktrace().get(1).getMethod());
+        assertEquals("Only the frames of the cause itself are truncated",
+                "[1 truncated frames omitted]", reported.getBacktrace().get(2).getMethod());
+    }
+
+    @Test
+    public void omitsNothingWithoutSharedFrames() {
+        StandardConfigContext standardConfig = new StandardConfigContext();
+        standardConfig.setOmitCommonFramesEnabled(true);
+
+        Throwable cause = errorWith("Cause", null, frame("run", 1), frame("thread", 2));
+        Throwable e = errorWith("Highest level", cause, frame("handle", 1), frame("main", 3));
+
+        Causes causes = new Causes(standardConfig, e);
+
+        assertEquals(2, causes.get(0).getBacktrace().size());
+        assertNull(causes.get(0).getFramesInCommon());
+    }
+
+    static Throwable errorWith(final String message, final Throwable cause,
+                               final StackTraceElement... frames) {
+        Throwable error = new RuntimeException(message, cause);
+        error.setStackTrace(frames);
+        return error;
+    }
+
+    static StackTraceElement frame(final String method, final int line) {
+        return new StackTraceElement("com.example.Example", method, "Example.java", line);
+    }
 }
@@ -0,0 +1,31 @@
+package io.honeybadger.reporter.dto;
+
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class DeferredNoticeTest {
+    @Test
+    public void reportsTheTimeAndStatsOfCreationWhenEnrichedLater() {
+        Stats stats = new Stats();
+        Notice notice = Notice.deferred(new StandardConfigContext("dummy"),
+                Instant.parse("2020-02-29T12:34:56Z"), stats);
+
+        assertNull(notice.getServer());
+
+        notice.enrich();
+
+        assertEquals("2020-02-29T12:34Z", notice.getServer().getTime());
+        assertSame(stats, notice.getServer().getStats());
+
+        ServerDetails server = notice.getServer();
+        notice.enrich();
+
+        assertSame("Enriching again keeps the server details", server, notice.getServer());
+    }
+}
@@ -0,0 +1,89 @@
+package io.honeybadger.reporter.dto;
+
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class HostIdentityTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void reset() {
+        HostIdentity.reset();
+    }
+
+    @Test
+    public void snapshotIsSharedByNotices() {
+        HostIdentity snapshot = HostIdentity.refresh();
+
+        assertSame(snapshot, HostIdentity.get());
+        assertSame(snapshot, HostIdentity.get());
+        assertEquals(ServerDetails.pid(), snapshot.getPid());
+        assertEquals(ServerDetails.projectRoot(), snapshot.getProjectRoot());
+
+        ServerDetails details = new ServerDetails(new StandardConfigContext());
+        assertEquals(snapshot.getHostname(), details.getHostname());
+        assertEquals(snapshot.getPid(), details.getPid());
+    }
+
+    @Test
+    public void firstLookupRunsInTheBackground() throws Exception {
+        HostIdentity.reset();
+
+        HostIdentity provisional = HostIdentity.get();
+        assertNotNull(provisional.getHostname());
+        assertEquals(ServerDetails.pid(), provisional.getPid());
+
+        long deadline = System.currentTimeMillis() + 10000;
+        HostIdentity snapshot = HostIdentity.get();
+
+        while (!isCurrent(snapshot)) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Host identity was not looked up");
+            }
+            Thread.sleep(10);
+            snapshot = HostIdentity.get();
+        }
+
+        assertEquals(ServerDetails.hostname(), snapshot.getHostname());
+    }
+
+    @Test
+    public void provisionalHostnameComesFromTheKernel() {
+        Assume.assumeTrue(System.getenv("HOSTNAME") == null && System.getenv("COMPUTERNAME") == null);
+        Assume.assumeTrue(Files.isReadable(Paths.get("/proc/sys/kernel/hostname")));
+
+        assertNotEquals("unknown", HostIdentity.provisional().getHostname());
+    }
+
+    @Test
+    public void readsHostnameFromTheFirstFileThatHasOne() throws Exception {
+        Path missing = folder.getRoot().toPath().resolve("missing");
+        Path blank = folder.newFile("blank").toPath();
+        Path hostname = folder.newFile("hostname").toPath();
+        Files.write(blank, "  \n".getBytes(StandardCharsets.UTF_8));
+        Files.write(hostname, " web-1 \nignored\n".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("web-1", HostIdentity.hostnameFromFiles(missing, blank, hostname));
+        assertNull(HostIdentity.hostnameFromFiles(missing, blank));
+    }
+
+    private static boolean isCurrent(final HostIdentity snapshot) {
+        return HostIdentity.get() == snapshot;
+    }
+}
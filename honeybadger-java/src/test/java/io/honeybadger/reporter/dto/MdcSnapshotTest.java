@@ -0,0 +1,89 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MdcSnapshotTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void keepsTheEntriesInOrder() throws Exception {
+        Map<String, String> mdc = mdc("trace_id", "abc", "user", "42");
+        MdcSnapshot snapshot = MdcSnapshot.of(mdc, 100);
+
+        assertEquals(mdc, snapshot);
+        assertEquals("42", snapshot.get("user"));
+        assertNull(snapshot.get("missing"));
+        assertEquals(0, snapshot.getOmittedCount());
+        assertEquals("{\"trace_id\":\"abc\",\"user\":\"42\"}", mapper.writeValueAsString(snapshot));
+    }
+
+    @Test
+    public void leavesOutEntriesBeyondTheSizeLimit() throws Exception {
+        MdcSnapshot snapshot = MdcSnapshot.of(
+                mdc("a", "1", "span", "0123456789", "b", "2"), 6);
+
+        assertEquals(1, snapshot.getOmittedCount());
+        assertEquals(mdc("a", "1", "b", "2", MdcSnapshot.OMITTED_KEY, "1"), snapshot);
+        assertEquals("{\"a\":\"1\",\"b\":\"2\",\"" + MdcSnapshot.OMITTED_KEY + "\":\"1\"}",
+                mapper.writeValueAsString(snapshot));
+    }
+
+    @Test
+    public void keepsEveryEntryWithoutSizeLimit() throws Exception {
+        MdcSnapshot snapshot = MdcSnapshot.of(
+                mdc("a", "1", "span", "0123456789", "b", "2"), 0);
+
+        assertEquals(0, snapshot.getOmittedCount());
+        assertEquals(mdc("a", "1", "span", "0123456789", "b", "2"), snapshot);
+    }
+
+    @Test
+    public void capturesAnEmptyMdc() throws Exception {
+        StandardConfigContext config = new StandardConfigContext();
+        config.setMdcAllowedKeys("trace_id, user");
+
+        assertTrue(MdcSnapshot.capture(config).isEmpty());
+        assertTrue(MdcSnapshot.of(null, 10).isEmpty());
+        assertEquals("{}", mapper.writeValueAsString(MdcSnapshot.of(null, 10)));
+    }
+
+    @Test
+    public void serializesAsAPlainMap() throws Exception {
+        MdcSnapshot snapshot = MdcSnapshot.of(mdc("a", "1"), 100);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(snapshot);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(LinkedHashMap.class, in.readObject().getClass());
+        }
+
+        assertEquals(MdcSnapshot.Serializer.class,
+                mapper.getSerializerProviderInstance().findValueSerializer(MdcSnapshot.class).getClass());
+    }
+
+    private static Map<String, String> mdc(final String... entries) {
+        Map<String, String> map = new LinkedHashMap<>();
+
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put(entries[i], entries[i + 1]);
+        }
+
+        return map;
+    }
+}
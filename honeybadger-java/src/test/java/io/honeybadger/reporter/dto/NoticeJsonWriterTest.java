@@ -0,0 +1,188 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Golden tests comparing the writer byte for byte with the bean serializers.
+ */
+public class NoticeJsonWriterTest {
+    private final ObjectMapper reference = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final ObjectMapper writer = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .registerModule(NoticeJsonWriter.module());
+
+    @Test
+    public void writesNoticesWithTheWriter() throws Exception {
+        assertEquals("Serializer", writer.getSerializerProviderInstance()
+                .findValueSerializer(Notice.class).getClass().getSimpleName());
+        assertNotEquals("Serializer", writer.getSerializerProviderInstance()
+                .findValueSerializer(NoticeSubclass.class).getClass().getSimpleName());
+    }
+
+    @Test
+    public void matchesACompleteNotice() throws Exception {
+        StandardConfigContext config = new StandardConfigContext();
+        config.setApplicationPackage("io.honeybadger");
+        config.setOmitCommonFramesEnabled(true);
+
+        Notice notice = new Notice(config);
+        RuntimeException error = new RuntimeException("outer \"quoted\" é中\n",
+                new IllegalStateException("inner", new IllegalArgumentException()));
+        notice.setError(new NoticeDetails(config, error,
+                new LinkedHashSet<>(Arrays.asList("b", "a")), "message \t ", "fingerprint"));
+        notice.setRequest(request(config));
+        notice.setSampling(3, 0.25);
+        Map<String, String> extra = new LinkedHashMap<>();
+        extra.put("key", "value");
+        extra.put("null", null);
+        notice.getDetails().put("Extra", extra);
+
+        assertSameJson(notice);
+    }
+
+    @Test
+    public void matchesAMinimalNotice() throws Exception {
+        StandardConfigContext config = new StandardConfigContext();
+        Notice notice = Notice.deferred(config);
+        notice.setError(new NoticeDetails(config, new RuntimeException((String) null)));
+
+        assertSameJson(notice);
+        assertSameJson(notice.enrich());
+
+        notice.setServer(null);
+        notice.setNotifier(null);
+        assertSameJson(notice);
+    }
+
+    @Test
+    public void matchesANoticeWithAnId() throws Exception {
+        StandardConfigContext config = new StandardConfigContext();
+        CgiData cgiData = new CgiData();
+        cgiData.setRequestMethod("POST");
+        Notice notice = new Notice(config, 42L, cgiData, request(config));
+
+        assertSameJson(notice);
+    }
+
+    @Test
+    public void matchesEveryKindOfNumber() throws Exception {
+        Pressure pressure = new Pressure(1.5, null, 3, 4L, 5.0f, new BigDecimal("6.25"));
+        CgroupStats cgroup = new CgroupStats(2, 100L, null, (short) 7, (byte) 8,
+                new BigInteger("123456789012345678901234567890"), pressure, null, pressure);
+        Memory mem = new Memory(1, 2L, 3.5, 4.5f, null, new AtomicLong(6), 7, 8, 9, 10);
+
+        Map<String, Object> sections = new LinkedHashMap<>();
+        sections.put("numbers", Collections.unmodifiableMap(mapOf("int", 1, "long", 2L,
+                "double", 0.1, "nested", Collections.singletonMap("flag", true))));
+        sections.put("keys", Collections.singletonMap(1, "not a string key"));
+        sections.put("sorted", new TreeMap<>(Collections.singletonMap("b", "c")));
+        sections.put("list", Arrays.asList(1, "two", null));
+
+        Notice notice = new Notice(new StandardConfigContext());
+        notice.setServer(new ServerDetails("test", "host", "/root", 123, "2024-01-01T00:00Z",
+                new Stats(mem, new Load(0.1, null, 2), cgroup, new JvmStats(sections))));
+
+        assertSameJson(notice);
+    }
+
+    @Test
+    public void handsSubclassesBackToJackson() throws Exception {
+        StandardConfigContext config = new StandardConfigContext();
+        Notice notice = new Notice(config);
+        notice.setError(new NoticeDetails(config, new RuntimeException("error")) {
+            private static final long serialVersionUID = 1L;
+
+            public String getExtra() {
+                return "extra";
+            }
+        });
+        notice.setNotifier(new Notifier() {
+            private static final long serialVersionUID = 1L;
+
+            public String getLanguage() {
+                return "java";
+            }
+        });
+
+        assertSameJson(notice);
+        assertSameJson(new NoticeSubclass(config));
+    }
+
+    @Test
+    public void matchesABatchOfNotices() throws Exception {
+        StandardConfigContext config = new StandardConfigContext();
+        Notice first = new Notice(config).setError(new NoticeDetails(config, new RuntimeException("1")));
+        Notice second = new Notice(config).setError(new NoticeDetails(config, new Error("2")));
+
+        assertArrayEquals(reference.writeValueAsBytes(Arrays.asList(first, second)),
+                writer.writeValueAsBytes(Arrays.asList(first, second)));
+    }
+
+    private void assertSameJson(final Notice notice) throws Exception {
+        assertEquals(reference.writeValueAsString(notice), writer.writeValueAsString(notice));
+        assertArrayEquals(reference.writeValueAsBytes(notice), writer.writeValueAsBytes(notice));
+    }
+
+    private static Request request(final StandardConfigContext config) {
+        Context context = new Context();
+        context.setUsername("user");
+        context.put("empty", null);
+
+        Params params = new Params(config.getExcludedParams());
+        params.put("q", "search");
+        params.put("missing", null);
+
+        Session session = new Session();
+        session.put("count", 3);
+        session.put("nested", mapOf("a", 1));
+
+        CgiData cgiData = new CgiData();
+        cgiData.setRequestMethod("GET");
+        cgiData.setServerPort(8080);
+        cgiData.setContentLength(12L);
+        cgiData.put("NULL", null);
+
+        return new Request(context, "http://example.com/path?q=search", params, session, cgiData);
+    }
+
+    private static Map<String, Object> mapOf(final Object... entries) {
+        Map<String, Object> map = new HashMap<>();
+
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put((String) entries[i], entries[i + 1]);
+        }
+
+        return map;
+    }
+
+    private static final class NoticeSubclass extends Notice {
+        private static final long serialVersionUID = 1L;
+
+        NoticeSubclass(final StandardConfigContext config) {
+            super(config);
+        }
+
+        public String getExtra() {
+            return "extra";
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.honeybadger.reporter.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.config.StandardConfigContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SystemPropertiesSnapshotTest {
+    private static final Set<String> EXCLUDED = Collections.singleton("secret");
+    private static final long INTERVAL = SystemPropertiesSnapshot.REVALIDATE_INTERVAL_NANOS;
+
+    private final Properties properties = new Properties();
+
+    @Before
+    public void setup() {
+        SystemPropertiesSnapshot.reset();
+        properties.setProperty("b", "2");
+        properties.setProperty("a", "1");
+        properties.setProperty("secret", "hunter2");
+    }
+
+    @After
+    public void teardown() {
+        SystemPropertiesSnapshot.reset();
+    }
+
+    @Test
+    public void leavesOutExcludedPropertiesAndSortsTheRest() {
+        SystemPropertiesSnapshot snapshot = SystemPropertiesSnapshot.get(properties, EXCLUDED, 0L);
+
+        assertEquals("[a, b]", snapshot.keySet().toString());
+        assertFalse(snapshot.containsKey("secret"));
+        assertEquals("{\"a\":\"1\",\"b\":\"2\"}", snapshot.toJson().getValue());
+    }
+
+    @Test
+    public void sharesTheSnapshotWhileNothingChanges() {
+        SystemPropertiesSnapshot first = SystemPropertiesSnapshot.get(properties, EXCLUDED, 0L);
+
+        assertSame(first, SystemPropertiesSnapshot.get(properties, EXCLUDED, 1L));
+        assertSame(first, SystemPropertiesSnapshot.get(properties, EXCLUDED, INTERVAL * 2));
+        assertSame(first.toJson(), SystemPropertiesSnapshot.get(properties, EXCLUDED, 3L).toJson());
+    }
+
+    @Test
+    public void replacesTheSnapshotWhenPropertiesAreAddedOrExclusionsChange() {
+        SystemPropertiesSnapshot first = SystemPropertiesSnapshot.get(properties, EXCLUDED, 0L);
+        properties.setProperty("c", "3");
+
+        SystemPropertiesSnapshot second = SystemPropertiesSnapshot.get(properties, EXCLUDED, 1L);
+        assertNotSame(first, second);
+        assertEquals("3", second.get("c"));
+
+        SystemPropertiesSnapshot third = SystemPropertiesSnapshot.get(properties,
+                Collections.singleton("c"), 2L);
+        assertNotSame(second, third);
+        assertEquals("hunter2", third.get("secret"));
+    }
+
+    @Test
+    public void detectsChangedValuesOnceTheSnapshotIsOld() {
+        SystemPropertiesSnapshot first = SystemPropertiesSnapshot.get(properties, EXCLUDED, 0L);
+        properties.setProperty("a", "changed");
+
+        assertSame(first, SystemPropertiesSnapshot.get(properties, EXCLUDED, INTERVAL - 1));
+
+        SystemPropertiesSnapshot second = SystemPropertiesSnapshot.get(properties, EXCLUDED, INTERVAL);
+        assertNotSame(first, second);
+        assertEquals("changed", second.get("a"));
+    }
+
+    @Test
+    public void serializesLikeAPlainMap() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Details details = new Details(new StandardConfigContext());
+        details.addDefaultDetails(Collections.emptyMap());
+
+        Map<String, String> systemProperties = details.get("System Properties");
+        JsonNode expected = mapper.valueToTree(new TreeMap<>(systemProperties));
+
+        assertEquals(expected, mapper.readTree(mapper.writeValueAsString(details)).get("System Properties"));
+        assertEquals(expected, mapper.readTree(mapper.writerWithDefaultPrettyPrinter()
+                .writeValueAsString(details)).get("System Properties"));
+        assertEquals(expected, mapper.valueToTree(details).get("System Properties"));
+        assertEquals(SystemPropertiesSnapshot.Serializer.class,
+                mapper.getSerializerProviderInstance().findValueSerializer(SystemPropertiesSnapshot.class).getClass());
+    }
+}
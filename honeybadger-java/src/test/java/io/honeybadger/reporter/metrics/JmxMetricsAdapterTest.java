@@ -0,0 +1,56 @@
+package io.honeybadger.reporter.metrics;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JmxMetricsAdapterTest {
+    @Test
+    public void exposesMetricsAsAttributes() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        DefaultReporterMetrics metrics = new DefaultReporterMetrics();
+        metrics.noticeSubmitted();
+        metrics.noticeSubmitted();
+        metrics.noticeExcluded();
+        metrics.noticeSent(TimeUnit.MILLISECONDS.toNanos(8));
+        metrics.responseReceived(201);
+        metrics.responseReceived(-1);
+        metrics.bindQueueDepth(() -> 3);
+
+        try (JmxMetricsAdapter adapter = JmxMetricsAdapter.register(metrics, "test", server)) {
+            ObjectName name = new ObjectName("io.honeybadger:type=ReporterMetrics,name=test");
+
+            assertEquals(name, adapter.getObjectName());
+            assertEquals(2L, server.getAttribute(name, "SubmittedCount"));
+            assertEquals(1L, server.getAttribute(name, "ExcludedCount"));
+            assertEquals(1L, server.getAttribute(name, "SentCount"));
+            assertEquals(1L, server.getAttribute(name, "NetworkErrorCount"));
+            assertEquals(3, server.getAttribute(name, "QueueDepth"));
+            assertEquals(8.0, (Double) server.getAttribute(name, "LatencyMaxMillis"), 0.001);
+            assertEquals(1L, (long) adapter.getResponseCounts().get("201"));
+        }
+
+        assertFalse(server.isRegistered(new ObjectName(JmxMetricsAdapter.OBJECT_NAME_PREFIX + "test")));
+    }
+
+    @Test
+    public void slf4jSummaryListsCounts() {
+        DefaultReporterMetrics metrics = new DefaultReporterMetrics();
+        metrics.noticeSubmitted();
+        metrics.noticeDropped();
+        metrics.responseReceived(503);
+
+        String summary = new Slf4jMetricsAdapter(metrics).summary();
+
+        assertTrue(summary, summary.contains("submitted=1"));
+        assertTrue(summary, summary.contains("dropped=1"));
+        assertTrue(summary, summary.contains("responses={503=1}"));
+    }
+}
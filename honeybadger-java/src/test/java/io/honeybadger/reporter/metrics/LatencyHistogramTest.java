@@ -0,0 +1,108 @@
+package io.honeybadger.reporter.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+    @Test
+    public void bucketsCoverEveryValueWithBoundedError() {
+        long[] values = {0, 1, 63, 64, 65, 1000, 123456789L, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+
+            assertTrue(value + " exceeds its bucket", value <= highest);
+            assertTrue(value + " is reported too high", highest - value <= Math.max(1, value / 32));
+        }
+
+        assertEquals(Long.MAX_VALUE,
+                LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void computesPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000L, histogram.getMax());
+        assertEquals(500_500.0, histogram.getMean(), 0.001);
+        assertEquals(500_000.0, histogram.getValueAtPercentile(50.0), 500_000 / 32.0);
+        assertEquals(990_000.0, histogram.getValueAtPercentile(99.0), 990_000 / 32.0);
+        assertEquals(1_000_000L, histogram.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void recordsValueSeveralTimesAtOnce() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000L, 3);
+        histogram.record(5000L, 1);
+        histogram.record(9000L, 0);
+
+        assertEquals(4, histogram.getCount());
+        assertEquals(5000L, histogram.getMax());
+        assertEquals(2000.0, histogram.getMean(), 0.001);
+        assertEquals(1000.0, histogram.getValueAtPercentile(75.0), 1000 / 32.0);
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+        assertEquals(0, histogram.getValueAtPercentile(99.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidPercentile() {
+        new LatencyHistogram().getValueAtPercentile(101.0);
+    }
+
+    @Test
+    public void recordsConcurrentlyWithoutLosingValues() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 4;
+        int perThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(i);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        start.countDown();
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread, histogram.getCount());
+        assertEquals(perThread - 1, histogram.getMax());
+    }
+}
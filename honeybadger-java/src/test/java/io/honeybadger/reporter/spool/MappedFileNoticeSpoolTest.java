@@ -0,0 +1,211 @@
+package io.honeybadger.reporter.spool;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class MappedFileNoticeSpoolTest {
+    private static final int SEGMENT_SIZE = 256;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void returnsNoticesInOrderAcrossSegments() throws Exception {
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 0)) {
+            for (int i = 0; i < 20; i++) {
+                spool.offer(notice(i));
+            }
+
+            assertEquals(20, spool.size());
+
+            for (int i = 0; i < 20; i++) {
+                assertArrayEquals(notice(i), spool.peek());
+                assertArrayEquals("Peek is repeatable", notice(i), spool.peek());
+                spool.remove();
+            }
+
+            assertNull(spool.peek());
+            assertEquals(0, spool.size());
+            assertEquals("Consumed segments are deleted", 1, segmentFiles().size());
+        }
+    }
+
+    @Test
+    public void recoversUndeliveredNoticesAfterRestart() throws Exception {
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 0)) {
+            for (int i = 0; i < 5; i++) {
+                spool.offer(notice(i));
+            }
+
+            spool.peek();
+            spool.remove();
+            spool.peek();
+            spool.remove();
+        }
+
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 0)) {
+            assertEquals(3, spool.size());
+            assertArrayEquals(notice(2), spool.peek());
+            spool.remove();
+
+            spool.offer(notice(5));
+        }
+
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 0)) {
+            assertEquals(3, spool.size());
+
+            for (int i = 3; i <= 5; i++) {
+                assertArrayEquals(notice(i), spool.peek());
+                spool.remove();
+            }
+
+            assertNull(spool.peek());
+        }
+    }
+
+    @Test
+    public void recoveryStopsAtCorruptRecord() throws Exception {
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 0)) {
+            spool.offer(notice(0));
+            spool.offer(notice(1));
+            spool.offer(notice(2));
+        }
+
+        // Flip a payload byte of the second record, as a torn write would
+        int secondPayload = MappedFileNoticeSpool.HEADER_SIZE * 2 + notice(0).length;
+
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(secondPayload);
+            int value = file.read();
+            file.seek(secondPayload);
+            file.write(value ^ 0xFF);
+        }
+
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 0)) {
+            assertEquals(1, spool.size());
+            assertArrayEquals(notice(0), spool.peek());
+            spool.remove();
+            assertNull(spool.peek());
+        }
+    }
+
+    @Test
+    public void recoveryIgnoresTruncatedSegment() throws Exception {
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 0)) {
+            spool.offer(notice(0));
+            spool.offer(notice(1));
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.setLength(MappedFileNoticeSpool.HEADER_SIZE * 2 + notice(0).length + 3);
+        }
+
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 0)) {
+            assertEquals(1, spool.size());
+            assertArrayEquals(notice(0), spool.peek());
+        }
+    }
+
+    @Test
+    public void evictsOldestSegmentsWhenFull() throws Exception {
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 2, 0)) {
+            for (int i = 0; i < 40; i++) {
+                spool.offer(notice(i));
+            }
+
+            assertEquals(SEGMENT_SIZE * 2, spool.getSizeInBytes());
+            assertEquals(40, spool.size() + spool.getDiscardedCount());
+
+            assertFalse("Oldest notices were evicted", Arrays.equals(notice(0), spool.peek()));
+
+            int expected = 40 - spool.size();
+            for (int i = expected; i < 40; i++) {
+                assertArrayEquals(notice(i), spool.peek());
+                spool.remove();
+            }
+        }
+    }
+
+    @Test
+    public void discardsExpiredNotices() throws Exception {
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 16, 1)) {
+            spool.offer(notice(0));
+            Thread.sleep(20);
+
+            assertNull(spool.peek());
+            assertEquals(0, spool.size());
+            assertEquals(1, spool.getDiscardedCount());
+        }
+    }
+
+    @Test
+    public void groupCommitForcesSegments() throws Exception {
+        try (MappedFileNoticeSpool spool = new MappedFileNoticeSpool(folder.getRoot().toPath(),
+                SEGMENT_SIZE, SEGMENT_SIZE * 4, 0, 10)) {
+            spool.offer(notice(0));
+            Thread.sleep(50);
+            spool.sync();
+        }
+
+        try (MappedFileNoticeSpool spool = open(SEGMENT_SIZE * 4, 0)) {
+            assertArrayEquals(notice(0), spool.peek());
+        }
+    }
+
+    @Test
+    public void directoryCanOnlyBeOpenedOnce() throws Exception {
+        MappedFileNoticeSpool first = open(SEGMENT_SIZE * 4, 0);
+
+        try {
+            thrown.expect(IOException.class);
+            thrown.expectMessage("Spool directory is already in use");
+
+            open(SEGMENT_SIZE * 4, 0);
+        } finally {
+            first.close();
+        }
+    }
+
+    private MappedFileNoticeSpool open(final long maxSize, final long maxAgeMillis) throws IOException {
+        return new MappedFileNoticeSpool(folder.getRoot().toPath(), SEGMENT_SIZE, maxSize,
+                maxAgeMillis, 0);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder.getRoot().toPath(), "*.spool")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        Collections.sort(files);
+        return files;
+    }
+
+    private static byte[] notice(final int number) {
+        return String.format("{\"notice\":%02d}", number).getBytes(StandardCharsets.UTF_8);
+    }
+}
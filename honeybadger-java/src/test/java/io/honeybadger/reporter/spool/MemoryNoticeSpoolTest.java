@@ -0,0 +1,39 @@
+package io.honeybadger.reporter.spool;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MemoryNoticeSpoolTest {
+    @Test
+    public void discardsOldestWhenFull() {
+        MemoryNoticeSpool spool = new MemoryNoticeSpool(2);
+        spool.offer(new byte[] {1});
+        spool.offer(new byte[] {2});
+        spool.offer(new byte[] {3});
+
+        assertEquals(2, spool.size());
+        assertEquals(1, spool.getDiscardedCount());
+        assertArrayEquals(new byte[] {2}, spool.peek());
+        spool.remove();
+        assertArrayEquals(new byte[] {3}, spool.peek());
+        spool.remove();
+        assertNull(spool.peek());
+        assertEquals(0, spool.size());
+    }
+
+    @Test
+    public void removeDoesNotDropNoticeWhenPeekedOneWasDiscarded() {
+        MemoryNoticeSpool spool = new MemoryNoticeSpool(1);
+        spool.offer(new byte[] {1});
+        spool.peek();
+        spool.offer(new byte[] {2});
+
+        spool.remove();
+
+        assertEquals(1, spool.size());
+        assertArrayEquals(new byte[] {2}, spool.peek());
+    }
+}
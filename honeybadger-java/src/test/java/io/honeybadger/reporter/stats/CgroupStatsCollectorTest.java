@@ -0,0 +1,101 @@
+package io.honeybadger.reporter.stats;
+
+import io.honeybadger.reporter.dto.CgroupStats;
+import io.honeybadger.reporter.dto.Stats;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.honeybadger.reporter.stats.StatsSamplerTest.fixture;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CgroupStatsCollectorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsCgroupV2() throws Exception {
+        CgroupStatsCollector collector = CgroupStatsCollector.detect(fixture("cgroup/v2"),
+                fixture("cgroup/v2-self-cgroup"));
+
+        assertEquals(2, collector.getVersion());
+
+        CgroupStats stats = collector.sample();
+        assertEquals(256L, stats.getMemoryUsage());
+        assertEquals(512L, stats.getMemoryLimit());
+        assertEquals(120L, stats.getCpuPeriods());
+        assertEquals(30L, stats.getCpuThrottledPeriods());
+        assertEquals(450000L, stats.getCpuThrottledMicros());
+
+        assertEquals(1.5, stats.getCpuPressure().getSomeAvg10());
+        assertEquals(0.0, stats.getCpuPressure().getFullAvg300());
+        assertEquals(12.34, stats.getMemoryPressure().getSomeAvg10());
+        assertEquals(5.0, stats.getMemoryPressure().getSomeAvg60());
+        assertEquals(0.9, stats.getMemoryPressure().getFullAvg300());
+        assertEquals(0.07, stats.getIoPressure().getFullAvg300());
+    }
+
+    @Test
+    public void readsCgroupV1() throws Exception {
+        CgroupStatsCollector collector = CgroupStatsCollector.detect(fixture("cgroup/v1"),
+                fixture("cgroup/v1-self-cgroup"));
+
+        assertEquals(1, collector.getVersion());
+
+        CgroupStats stats = collector.sample();
+        assertEquals(100L, stats.getMemoryUsage());
+        assertNull("A huge limit means unlimited", stats.getMemoryLimit());
+        assertEquals(50L, stats.getCpuPeriods());
+        assertEquals(5L, stats.getCpuThrottledPeriods());
+        assertEquals(2500L, stats.getCpuThrottledMicros());
+        assertNull("cgroup v1 has no pressure stall information", stats.getMemoryPressure());
+    }
+
+    @Test
+    public void usesRootInsideCgroupNamespace() throws Exception {
+        Path root = folder.getRoot().toPath();
+        write(root.resolve("cgroup.controllers"), "memory");
+        write(root.resolve("memory.current"), "1048576");
+        write(root.resolve("memory.max"), "max");
+
+        // The host path of the group isn't visible inside the namespace
+        Path self = folder.newFile("self").toPath();
+        write(self, "0::/kubepods/burstable/pod1234/abcdef\n");
+
+        CgroupStats stats = CgroupStatsCollector.detect(root, self).sample();
+
+        assertEquals(1L, stats.getMemoryUsage());
+        assertNull("A max limit means unlimited", stats.getMemoryLimit());
+        assertNull(stats.getCpuPeriods());
+        assertNull(stats.getCpuPressure());
+    }
+
+    @Test
+    public void findsNothingWithoutCgroupFileSystem() throws Exception {
+        assertNull(CgroupStatsCollector.detect(folder.getRoot().toPath(),
+                folder.getRoot().toPath().resolve("missing")));
+    }
+
+    @Test
+    public void samplerAttachesCgroupStats() throws Exception {
+        CgroupStatsCollector collector = CgroupStatsCollector.detect(fixture("cgroup/v2"),
+                fixture("cgroup/v2-self-cgroup"));
+
+        try (StatsSampler sampler = new StatsSampler(fixture("proc"), collector, 0)) {
+            Stats stats = sampler.current();
+
+            assertNotNull(stats.getCgroup());
+            assertEquals(512L, stats.getCgroup().getMemoryLimit());
+        }
+    }
+
+    private static void write(final Path file, final String contents) throws Exception {
+        Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,122 @@
+package io.honeybadger.reporter.stats;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.honeybadger.reporter.dto.JvmStats;
+import io.honeybadger.reporter.dto.Stats;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JvmStatsSamplerTest {
+    @Test
+    public void samplesBuiltInSections() {
+        JvmStats stats = new JvmStatsSampler().sample();
+
+        assertEquals(Arrays.asList("gc", "threads", "buffer_pools", "memory_pools"),
+                new ArrayList<>(stats.getSections().keySet()));
+
+        Map<?, ?> threads = (Map<?, ?>) stats.getSection("threads");
+        assertTrue(((Number) threads.get("live")).intValue() > 0);
+        assertFalse("Deadlock detection is off by default", threads.containsKey("deadlocked"));
+
+        Map<?, ?> bufferPools = (Map<?, ?>) stats.getSection("buffer_pools");
+        assertTrue(bufferPools.containsKey("direct"));
+
+        Map<?, ?> memoryPools = (Map<?, ?>) stats.getSection("memory_pools");
+        assertFalse(memoryPools.isEmpty());
+    }
+
+    @Test
+    public void countsDeadlockedThreadsWhenEnabled() {
+        Map<?, ?> threads = (Map<?, ?>) new JvmStatsSampler(true).sample().getSection("threads");
+
+        assertEquals(0, threads.get("deadlocked"));
+    }
+
+    @Test
+    public void reportsCollectionsSinceThePreviousSample() {
+        JvmStatsSampler sampler = new JvmStatsSampler();
+        Map<?, ?> before = (Map<?, ?>) sampler.sample().getSection("gc");
+        System.gc();
+        Map<?, ?> after = (Map<?, ?>) sampler.sample().getSection("gc");
+
+        long totalBefore = 0;
+        long totalAfter = 0;
+        long deltas = 0;
+
+        for (Object name : after.keySet()) {
+            Map<?, ?> collector = (Map<?, ?>) after.get(name);
+            totalAfter += ((Number) collector.get("count")).longValue();
+            deltas += ((Number) collector.get("count_delta")).longValue();
+            totalBefore += ((Number) ((Map<?, ?>) before.get(name)).get("count")).longValue();
+        }
+
+        assertEquals(totalAfter - totalBefore, deltas);
+    }
+
+    @Test
+    public void leavesOutFailingSections() {
+        JvmStatsSampler sampler = new JvmStatsSampler();
+        sampler.addSection(section("custom", Collections.singletonMap("value", 42)));
+        sampler.addSection(section("broken", null));
+        sampler.addSection(new JvmStatsSection() {
+            @Override
+            public String getName() {
+                return "failing";
+            }
+
+            @Override
+            public Object sample() {
+                throw new IllegalStateException("failing on purpose");
+            }
+        });
+
+        JvmStats stats = sampler.sample();
+
+        assertEquals(Collections.singletonMap("value", 42), stats.getSection("custom"));
+        assertNull(stats.getSection("broken"));
+        assertNull(stats.getSection("failing"));
+    }
+
+    @Test
+    public void serializesSectionsAsProperties() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JvmStatsSampler jvm = new JvmStatsSampler();
+        jvm.addSection(section("custom", Collections.singletonMap("value", 42)));
+
+        try (StatsSampler sampler = new StatsSampler(StatsSamplerTest.fixture("proc"), null, jvm, 0)) {
+            Stats stats = sampler.current();
+            JsonNode json = mapper.valueToTree(stats);
+
+            assertEquals(42, json.at("/jvm/custom/value").asInt());
+            assertNotNull(json.at("/jvm/threads/live").numberValue());
+
+            Stats read = mapper.treeToValue(json, Stats.class);
+            assertEquals(Collections.singletonMap("value", 42), read.getJvm().getSection("custom"));
+        }
+    }
+
+    private static JvmStatsSection section(final String name, final Object value) {
+        return new JvmStatsSection() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Object sample() {
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package io.honeybadger.reporter.stats;
+
+import io.honeybadger.reporter.config.DefaultsConfigContext;
+import io.honeybadger.reporter.dto.Stats;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StatsSamplerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parsesProcFiles() throws Exception {
+        try (StatsSampler sampler = new StatsSampler(fixture("proc"), 0)) {
+            Stats stats = sampler.current();
+
+            assertEquals(32117L, stats.getMem().getTotal());
+            assertEquals(408L, stats.getMem().getFree());
+            assertEquals(613L, stats.getMem().getBuffers());
+            assertEquals(15275L, stats.getMem().getCached());
+            assertEquals(16296L, stats.getMem().getFreeTotal());
+            assertNotNull(stats.getMem().getVmMax());
+
+            assertEquals(0.52, stats.getLoad().getOne());
+            assertEquals(1.25, stats.getLoad().getFive());
+            assertEquals(2.75, stats.getLoad().getFifteen());
+        }
+    }
+
+    @Test
+    public void fallsBackWithoutProcFiles() throws Exception {
+        try (StatsSampler sampler = new StatsSampler(folder.getRoot().toPath(), 0)) {
+            Stats stats = sampler.current();
+
+            assertNull(stats.getMem().getTotal());
+            assertNull(stats.getMem().getFreeTotal());
+            assertNotNull(stats.getMem().getVmHeap());
+            assertNull(stats.getLoad().getFive());
+        }
+    }
+
+    @Test
+    public void noticesShareTheSnapshotUntilTheNextSample() throws Exception {
+        Path proc = folder.getRoot().toPath();
+        write(proc.resolve("loadavg"), "1.00 2.00 3.00 1/100 42\n");
+
+        try (StatsSampler sampler = new StatsSampler(proc, 0)) {
+            Stats first = sampler.current();
+            assertSame(first, sampler.current());
+
+            write(proc.resolve("loadavg"), "4.50 2.00 3.00 1/100 42\n");
+            Stats second = sampler.sample();
+
+            assertNotSame(first, second);
+            assertSame(second, sampler.current());
+            assertEquals(4.5, second.getLoad().getOne());
+        }
+    }
+
+    @Test
+    public void samplesInTheBackground() throws Exception {
+        Path proc = folder.getRoot().toPath();
+        write(proc.resolve("loadavg"), "1.00 2.00 3.00 1/100 42\n");
+
+        try (StatsSampler sampler = new StatsSampler(proc, 10)) {
+            write(proc.resolve("loadavg"), "9.00 2.00 3.00 1/100 42\n");
+            long deadline = System.currentTimeMillis() + 5000;
+
+            while (!Double.valueOf(9.0).equals(sampler.current().getLoad().getOne())) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new AssertionError("No sample was taken in the background");
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    public void sharedSamplerStopsWhenTheLastReporterReleasesIt() {
+        StatsSampler first = StatsSampler.acquire(new DefaultsConfigContext());
+        StatsSampler second = StatsSampler.acquire(new DefaultsConfigContext());
+        // Reporters of other tests that weren't closed still hold the sampler
+        boolean heldByOthers = StatsSampler.references() > 2;
+
+        assertSame(first, second);
+        assertSame(first, StatsSampler.getInstance());
+
+        first.release();
+        assertTrue(second.isSampling());
+
+        second.release();
+        assertEquals(heldByOthers, second.isSampling());
+        assertEquals(heldByOthers, StatsSampler.getInstance() == second);
+    }
+
+    @Test
+    public void samplesOnEveryReadWithoutInterval() {
+        try (StatsSampler sampler = StatsSampler.create(new DefaultsConfigContext(), 0)) {
+            assertFalse(sampler.isSampling());
+            assertNotSame(sampler.current(), sampler.current());
+        }
+    }
+
+    @Test
+    public void parsesLargeAndTruncatedValues() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("values");
+        write(file, "key:\t123456789012\nshort 7\nempty:\n0.123456789012345678901 2");
+        ProcFileParser parser = new ProcFileParser(64);
+
+        parser.read(file);
+        assertEquals(123456789012L, parser.valueOf(ProcFileParser.ascii("key")));
+        assertEquals(7L, parser.valueOf(ProcFileParser.ascii("short")));
+        assertEquals(ProcFileParser.MISSING, parser.valueOf(ProcFileParser.ascii("empty")));
+        assertEquals(ProcFileParser.MISSING, parser.valueOf(ProcFileParser.ascii("sho")));
+
+        write(file, "0.123456789012345678901 2");
+        parser.read(file);
+        assertEquals(0.123456789012345678, parser.decimalField(0), 1e-15);
+        assertEquals(2.0, parser.decimalField(1), 0.0);
+        assertEquals(Double.NaN, parser.decimalField(2), 0.0);
+    }
+
+    static Path fixture(final String name) throws URISyntaxException {
+        return Paths.get(StatsSamplerTest.class.getClassLoader().getResource(name).toURI());
+    }
+
+    private static void write(final Path file, final String contents) throws Exception {
+        Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+    }
+}
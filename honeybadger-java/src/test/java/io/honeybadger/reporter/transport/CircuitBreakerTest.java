@@ -0,0 +1,62 @@
+package io.honeybadger.reporter.transport;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+    @Test
+    public void opensOnceWindowFailureRateIsReached() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 50, 60_000);
+
+        breaker.onSuccess();
+        assertFalse(breaker.onFailure());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue("Window is full with 2 of 4 failed", breaker.onFailure());
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void slidingWindowForgetsOldFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 75, 60_000);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(50, breaker.getFailureRate());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(0, breaker.getFailureRate());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void halfOpenAllowsSingleTrial() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 100, 50);
+        breaker.onFailure();
+        assertFalse(breaker.tryAcquirePermission());
+
+        Thread.sleep(80);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse("Only one trial may be in flight", breaker.tryAcquirePermission());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(80);
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(-1, breaker.getFailureRate());
+    }
+}
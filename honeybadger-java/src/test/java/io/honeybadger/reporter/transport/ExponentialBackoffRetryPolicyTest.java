@@ -0,0 +1,71 @@
+package io.honeybadger.reporter.transport;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.impl.DefaultHttpResponseFactory;
+import org.apache.http.protocol.BasicHttpContext;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExponentialBackoffRetryPolicyTest {
+    private static HttpResponse response(final int status) {
+        return new DefaultHttpResponseFactory().newHttpResponse(
+                HttpVersion.HTTP_1_1, status, new BasicHttpContext());
+    }
+
+    @Test
+    public void classifiesStatusCodes() {
+        assertTrue(ExponentialBackoffRetryPolicy.isRetryable(429));
+        assertTrue(ExponentialBackoffRetryPolicy.isRetryable(408));
+        assertTrue(ExponentialBackoffRetryPolicy.isRetryable(500));
+        assertTrue(ExponentialBackoffRetryPolicy.isRetryable(503));
+        assertFalse(ExponentialBackoffRetryPolicy.isRetryable(400));
+        assertFalse(ExponentialBackoffRetryPolicy.isRetryable(401));
+        assertFalse(ExponentialBackoffRetryPolicy.isRetryable(413));
+    }
+
+    @Test
+    public void jitteredDelayStaysBelowExponentialCeiling() {
+        RetryPolicy policy = new ExponentialBackoffRetryPolicy(100, 1000, 0);
+
+        for (int i = 0; i < 100; i++) {
+            long first = policy.delayBeforeRetry(1, 0, null, new IOException());
+            long third = policy.delayBeforeRetry(3, 0, response(503), null);
+            long tenth = policy.delayBeforeRetry(10, 0, null, new IOException());
+
+            assertTrue(first >= 0 && first <= 100);
+            assertTrue(third >= 0 && third <= 400);
+            assertTrue(tenth >= 0 && tenth <= 1000);
+        }
+    }
+
+    @Test
+    public void givesUpWhenBudgetIsSpentOrRequestIsRejected() {
+        RetryPolicy policy = new ExponentialBackoffRetryPolicy(0, 1000, 5000);
+
+        assertEquals(RetryPolicy.GIVE_UP, policy.delayBeforeRetry(1, 0, response(400), null));
+        assertEquals(0, policy.delayBeforeRetry(1, 4000, response(500), null));
+
+        HttpResponse throttled = response(429);
+        throttled.addHeader("Retry-After", "2");
+        assertEquals(2000, policy.delayBeforeRetry(1, 1000, throttled, null));
+        assertEquals(RetryPolicy.GIVE_UP, policy.delayBeforeRetry(1, 4000, throttled, null));
+    }
+
+    @Test
+    public void parsesRetryAfterDate() {
+        HttpResponse response = response(503);
+        response.addHeader("Retry-After", DateUtils.formatDate(new Date(System.currentTimeMillis() + 60_000)));
+
+        long delay = ExponentialBackoffRetryPolicy.retryAfterMillis(response);
+
+        assertTrue(delay > 55_000 && delay <= 60_000);
+    }
+}